@@ -0,0 +1,109 @@
+package com.taskmanagement.cli.command;
+
+import com.taskmanagement.cli.config.UserSession;
+import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ShellService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.Availability;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellMethodAvailability;
+import org.springframework.shell.standard.ShellOption;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@ShellComponent
+public class AnalyticsShellCommand {
+
+    @Autowired
+    private APIService apiService;
+
+    @Autowired
+    private UserSession userSession;
+
+    @Autowired
+    private ShellService shellService;
+
+    @ShellMethod(key = "velocity", value = "Show team velocity over the last closed sprints")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void velocity(
+            @ShellOption(value = {"-n", "--sprints"}, help = "Number of closed sprints", defaultValue = "6") int sprints
+    ) {
+        try {
+            shellService.printHeading("Velocity over the last " + sprints + " closed sprints");
+
+            Map<String, Object> velocity = apiService.get("/analytics/velocity?sprints=" + sprints, Map.class);
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> rows = (List<Map<String, Object>>) velocity.get("sprints");
+            if (rows == null || rows.isEmpty()) {
+                shellService.printInfo("No closed sprints yet");
+                return;
+            }
+
+            List<String[]> tableData = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                tableData.add(new String[]{
+                        String.valueOf(row.get("sprintId")),
+                        String.valueOf(row.get("sprintName")),
+                        String.valueOf(row.get("endDate")),
+                        String.valueOf(row.get("capacityPoints")),
+                        String.valueOf(row.get("committedPoints")),
+                        String.valueOf(row.get("completedPoints")),
+                        String.format("%.1f", ((Number) row.get("rollingAveragePoints")).doubleValue())
+                });
+            }
+
+            String[] headers = {"ID", "Sprint", "End Date", "Capacity", "Committed", "Completed", "3 Sprint Avg"};
+            shellService.printTable(headers, tableData.toArray(new String[0][]));
+            shellService.printInfo(String.format("Average velocity: %.1f points",
+                    ((Number) velocity.get("averageVelocity")).doubleValue()));
+        } catch (Exception e) {
+            shellService.printError("Error fetching velocity: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "workload", value = "Show open story points per team member")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void workload(
+            @ShellOption(value = {"-sp", "--sprint"}, help = "Only count tasks in this sprint", defaultValue = ShellOption.NULL) Integer sprintId
+    ) {
+        try {
+            shellService.printHeading(sprintId != null ? "Workload in sprint " + sprintId : "Workload");
+
+            String uri = "/analytics/workload" + (sprintId != null ? "?sprintId=" + sprintId : "");
+            Object[] rows = apiService.get(uri, Object[].class);
+            if (rows.length == 0) {
+                shellService.printInfo("No active users found");
+                return;
+            }
+
+            List<String[]> tableData = new ArrayList<>();
+            for (Object rowObj : rows) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> row = (Map<String, Object>) rowObj;
+                tableData.add(new String[]{
+                        String.valueOf(row.get("rank")),
+                        String.valueOf(row.get("userName")),
+                        String.valueOf(row.get("openTasks")),
+                        String.valueOf(row.get("openPoints")),
+                        String.valueOf(row.get("activeSprintPoints")),
+                        String.valueOf(row.get("overdueTasks")),
+                        String.format("%.0f%%", ((Number) row.get("shareOfOpenPoints")).doubleValue() * 100)
+                });
+            }
+
+            String[] headers = {"Rank", "Name", "Open Tasks", "Open Points", "In Active Sprints", "Overdue", "Share"};
+            shellService.printTable(headers, tableData.toArray(new String[0][]));
+        } catch (Exception e) {
+            shellService.printError("Error fetching workload: " + e.getMessage());
+        }
+    }
+
+    public Availability isUserLoggedIn() {
+        return userSession.isAuthenticated()
+                ? Availability.available()
+                : Availability.unavailable("you are not logged in. Please use 'login' command first");
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskmanagement.cli.command;
+
+import com.taskmanagement.cli.config.UserSession;
+import com.taskmanagement.cli.service.ReferenceCache;
+import com.taskmanagement.cli.service.ShellService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.Availability;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellMethodAvailability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@ShellComponent
+public class CacheShellCommand {
+
+    @Autowired
+    private UserSession userSession;
+
+    @Autowired
+    private ShellService shellService;
+
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    // for when something was changed from outside this CLI and should show up before its ttl runs out
+    @ShellMethod(key = "cache-refresh", value = "Fetch statuses, priorities, roles, users, sprints and epics again")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void refreshCache() {
+        try {
+            shellService.printHeading("Refreshing cached lookups...");
+
+            Map<ReferenceCache.Kind, Integer> counts = referenceCache.refresh();
+
+            List<String[]> tableData = new ArrayList<>();
+            counts.forEach((kind, count) -> tableData.add(new String[]{kind.name().toLowerCase(), String.valueOf(count)}));
+
+            String[] headers = {"List", "Cached"};
+            shellService.printTable(headers, tableData.toArray(new String[0][]));
+            shellService.printSuccess("Cache refreshed");
+        } catch (Exception e) {
+            shellService.printError("Error refreshing cache: " + e.getMessage());
+        }
+    }
+
+    public Availability isUserLoggedIn() {
+        return userSession.isAuthenticated()
+                ? Availability.available()
+                : Availability.unavailable("you are not logged in. Please use 'login' command first");
+    }
+}
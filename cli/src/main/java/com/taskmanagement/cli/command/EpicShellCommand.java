@@ -2,6 +2,7 @@ package com.taskmanagement.cli.command;
 
 import com.taskmanagement.cli.config.UserSession;
 import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ReferenceCache;
 import com.taskmanagement.cli.service.ShellService;
 import com.taskmanagement.cli.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
 import org.springframework.shell.standard.ShellOption;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +33,9 @@ public class EpicShellCommand {
     @Autowired
     private ShellService shellService;
 
+    @Autowired
+    private ReferenceCache referenceCache;
+
     @ShellMethod(key = "epic-search", value = "Search for epics by name")
     @ShellMethodAvailability("isUserLoggedIn")
     public void searchEpics(@ShellOption(help = "Name to search for") String name) {
@@ -45,15 +51,10 @@ public class EpicShellCommand {
                     @SuppressWarnings("unchecked")
                     Map<String, Object> epic = (Map<String, Object>) epicObj;
 
-                    String[] row = new String[3];
-                    row[0] = String.valueOf(epic.get("id"));
-                    row[1] = String.valueOf(epic.get("name"));
-                    row[2] = String.valueOf(epic.get("ownerName"));
-
-                    tableData.add(row);
+                    tableData.add(progressRow(epic));
                 }
 
-                String[] headers = {"ID", "Name", "Owner Name"};
+                String[] headers = {"ID", "Name", "Owner Name", "Done", "In Progress", "Points Done", "Latest Due"};
                 shellService.printTable(headers, tableData.toArray(new String[0][]));
             }
         } catch (Exception e) {
@@ -76,15 +77,10 @@ public class EpicShellCommand {
                     @SuppressWarnings("unchecked")
                     Map<String, Object> epic = (Map<String, Object>) epicObj;
 
-                    String[] row = new String[3];
-                    row[0] = String.valueOf(epic.get("id"));
-                    row[1] = String.valueOf(epic.get("name"));
-                    row[2] = String.valueOf(epic.get("ownerName"));
-
-                    tableData.add(row);
+                    tableData.add(progressRow(epic));
                 }
 
-                String[] headers = {"ID", "Name", "Owner Name"};
+                String[] headers = {"ID", "Name", "Owner Name", "Done", "In Progress", "Points Done", "Latest Due"};
                 shellService.printTable(headers, tableData.toArray(new String[0][]));
             }
         } catch (Exception e) {
@@ -92,6 +88,32 @@ public class EpicShellCommand {
         }
     }
 
+    // the epic list and search both carry the progress rollups, no task fetch per epic
+    private String[] progressRow(Map<String, Object> epic) {
+        String[] row = new String[7];
+        row[0] = String.valueOf(epic.get("id"));
+        row[1] = String.valueOf(epic.get("name"));
+        row[2] = String.valueOf(epic.get("ownerName"));
+        row[3] = epic.get("doneTasks") + "/" + epic.get("totalTasks");
+        row[4] = String.valueOf(epic.get("inProgressTasks"));
+        row[5] = formatPointsProgress(epic.get("storyPointsByStatus"));
+        row[6] = epic.get("latestDueDate") != null ? String.valueOf(epic.get("latestDueDate")) : "-";
+        return row;
+    }
+
+    // done points out of all points, the server sends them per status
+    private String formatPointsProgress(Object pointsByStatus) {
+        if (!(pointsByStatus instanceof Map<?, ?> points)) {
+            return "-";
+        }
+        int total = 0;
+        for (Object value : points.values()) {
+            total += ((Number) value).intValue();
+        }
+        Object done = points.get("DONE");
+        return (done != null ? ((Number) done).intValue() : 0) + "/" + total;
+    }
+
     @ShellMethod(key = "epic-create", value = "Create a new epic")
     @ShellMethodAvailability("isUserLoggedIn")
     public void createEpic(
@@ -105,7 +127,7 @@ public class EpicShellCommand {
         try {
             shellService.printHeading("Creating new epic...");
 
-            Object[] users = apiService.get("/users/search?name=" + ownerName, Object[].class);
+            Object[] users = referenceCache.findByName(ReferenceCache.Kind.USERS, ownerName).toArray();
 
             if (users.length == 0) {
                 shellService.printError("No user found with name containing: " + ownerName);
@@ -131,6 +153,7 @@ public class EpicShellCommand {
             epic.put("targetEndDate", parseDate(targetEndDate));
 
             Object createdEpic = apiService.post("/epics", epic, Object.class);
+            referenceCache.invalidate(ReferenceCache.Kind.EPICS);
             shellService.printSuccess("Epic created successfully!");
 
             @SuppressWarnings("unchecked")
@@ -195,6 +218,7 @@ public class EpicShellCommand {
             }
 
             apiService.put("/epics/" + epicId, updatedEpic, Object.class);
+            referenceCache.invalidate(ReferenceCache.Kind.EPICS);
             shellService.printSuccess("Epic updated successfully!");
 
         } catch (Exception e) {
@@ -202,32 +226,94 @@ public class EpicShellCommand {
         }
     }
 
-    @ShellMethod(key = "epic-delete", value = "Delete an epic")
+    @ShellMethod(key = "epic-clone", value = "Copy an epic and its tasks into a new epic")
     @ShellMethodAvailability("isUserLoggedIn")
-    public void deleteEpic(@ShellOption(help = "Epic ID") String epicId) {
+    public void cloneEpic(
+            @ShellOption(help = "Epic ID") String epicId,
+            @ShellOption(value = {"-n", "--name"}, help = "Name of the copy", defaultValue = ShellOption.NULL) String name,
+            @ShellOption(value = {"-sd", "--shift-days"}, help = "Days to move every date forward by", defaultValue = "0") Integer shiftDays,
+            @ShellOption(value = {"-r", "--reset-status"}, help = "Start every copied task in BACKLOG", defaultValue = "false") boolean resetStatus
+    ) {
         try {
-            shellService.printHeading("Reassigning tasks before deleting epic...");
+            shellService.printHeading("Cloning epic...");
 
-            Object[] tasks = apiService.get("/tasks?epicId=" + epicId, Object[].class);
+            String uri = "/epics/" + epicId + "/clone?shiftDays=" + shiftDays + "&resetStatus=" + resetStatus
+                    + (name != null ? "&name=" + URLEncoder.encode(name, StandardCharsets.UTF_8) : "");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> clone = apiService.post(uri, Map.of(), Map.class);
+            referenceCache.invalidate(ReferenceCache.Kind.EPICS);
+            shellService.printSuccess(String.format("Created epic %s (%s) with %s tasks",
+                    clone.get("id"), clone.get("name"), clone.get("clonedTasks")));
 
-            if (tasks.length > 0) {
-                for (Object taskObj : tasks) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> task = (Map<String, Object>) taskObj;
+        } catch (Exception e) {
+            shellService.printError("Error cloning epic: " + e.getMessage());
+        }
+    }
 
-                    Map<String, Object> updates = new HashMap<>();
-                    updates.put("epicId", null);
+    @ShellMethod(key = "epic-critical-path", value = "Show the longest chain of dependent tasks in an epic or sprint")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void criticalPath(
+            @ShellOption(help = "Epic ID, or Sprint ID with --sprint") String id,
+            @ShellOption(value = {"-s", "--sprint"}, help = "Read the ID as a sprint", defaultValue = "false") boolean sprint) {
+        try {
+            shellService.printHeading("Fetching critical path...");
 
-                    apiService.patch("/tasks/" + task.get("id") + "/remove-epic", updates, Void.class);
-                }
-                shellService.printInfo("All associated tasks have been unlinked from the epic.");
-            } else {
-                shellService.printInfo("No tasks linked to this epic.");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = apiService.get((sprint ? "/sprints/" : "/epics/") + id + "/critical-path", Map.class);
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> path = (List<Map<String, Object>>) result.get("criticalPath");
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> late = (List<Map<String, Object>>) result.get("lateTasks");
+
+            shellService.printInfo("Remaining work: " + result.get("totalHours") + " hours");
+            shellService.printInfo("Earliest finish: " + result.get("earliestFinish"));
+            if (path == null || path.isEmpty()) {
+                shellService.printInfo("No open work with estimated hours left.");
+                return;
             }
 
+            String[] headers = {"ID", "Title", "Assigned To", "Status", "Hours", "Earliest Finish", "Due Date"};
+            shellService.printTable(headers, scheduleRows(path));
+
+            if (late != null && !late.isEmpty()) {
+                shellService.printWarning(late.size() + " task(s) cannot finish before their due date:");
+                shellService.printTable(headers, scheduleRows(late));
+            }
+
+        } catch (Exception e) {
+            shellService.printError("Error fetching critical path: " + e.getMessage());
+        }
+    }
+
+    private String[][] scheduleRows(List<Map<String, Object>> tasks) {
+        List<String[]> rows = new ArrayList<>();
+        for (Map<String, Object> task : tasks) {
+            rows.add(new String[]{
+                    String.valueOf(task.get("taskId")),
+                    String.valueOf(task.get("title")),
+                    String.valueOf(task.get("assignedToName")),
+                    String.valueOf(task.get("statusName")),
+                    String.valueOf(task.get("estimatedHours")),
+                    String.valueOf(task.get("earliestFinish")),
+                    String.valueOf(task.get("dueDate"))
+            });
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    @ShellMethod(key = "epic-delete", value = "Delete an epic")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void deleteEpic(
+            @ShellOption(help = "Epic ID") String epicId,
+            @ShellOption(help = "Also delete the epic's tasks instead of unlinking them", defaultValue = "false") boolean cascade) {
+        try {
+            // the server unlinks or deletes the tasks in the same transaction as the epic
             shellService.printHeading("Deleting epic...");
-            apiService.delete("/epics/" + epicId, Void.class);
-            shellService.printSuccess("Epic deleted successfully!");
+            apiService.delete("/epics/" + epicId + (cascade ? "?cascade=true" : ""), Void.class);
+            referenceCache.invalidate(ReferenceCache.Kind.EPICS);
+            shellService.printSuccess(cascade
+                    ? "Epic and its tasks deleted successfully!"
+                    : "Epic deleted successfully! Its tasks have been unlinked from the epic.");
 
         } catch (Exception e) {
             shellService.printError("Error deleting epic: " + e.getMessage());
@@ -0,0 +1,80 @@
+package com.taskmanagement.cli.command;
+
+import com.taskmanagement.cli.config.UserSession;
+import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ShellService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.Availability;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellMethodAvailability;
+import org.springframework.shell.standard.ShellOption;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+@ShellComponent
+public class ExportShellCommand {
+
+    @Autowired
+    private APIService apiService;
+
+    @Autowired
+    private UserSession userSession;
+
+    @Autowired
+    private ShellService shellService;
+
+    @ShellMethod(key = "export", value = "Export tasks, comments, sprints or epics to a CSV file")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void export(
+            @ShellOption(help = "What to export: tasks, comments, sprints or epics") String entity,
+            @ShellOption(value = {"-o", "--output"}, help = "Output file", defaultValue = ShellOption.NULL) String output,
+            @ShellOption(value = {"-z", "--gzip"}, help = "Gzip the file", defaultValue = "false") boolean gzip,
+            @ShellOption(value = {"-a", "--assignee"}, help = "Assignee ID", defaultValue = ShellOption.NULL) String assigneeId,
+            @ShellOption(value = {"-s", "--status"}, help = "Status ID", defaultValue = ShellOption.NULL) Integer statusId,
+            @ShellOption(value = {"-p", "--priority"}, help = "Priority ID", defaultValue = ShellOption.NULL) Integer priorityId,
+            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID", defaultValue = ShellOption.NULL) Integer sprintId,
+            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID", defaultValue = ShellOption.NULL) Integer epicId
+    ) {
+        try {
+            Path target = Paths.get(output != null ? output : entity + (gzip ? ".csv.gz" : ".csv"));
+
+            List<String> params = new ArrayList<>();
+            if (gzip) {
+                params.add("gzip=true");
+            }
+            if (assigneeId != null) {
+                params.add("assignedToId=" + assigneeId);
+            }
+            if (statusId != null) {
+                params.add("statusId=" + statusId);
+            }
+            if (priorityId != null) {
+                params.add("priorityId=" + priorityId);
+            }
+            if (sprintId != null) {
+                params.add("sprintId=" + sprintId);
+            }
+            if (epicId != null) {
+                params.add("epicId=" + epicId);
+            }
+
+            String uri = "/export/" + entity + (params.isEmpty() ? "" : "?" + String.join("&", params));
+
+            shellService.printHeading("Exporting " + entity + " to " + target + "...");
+            long bytes = apiService.download(uri, target);
+            shellService.printSuccess("Wrote " + bytes + " bytes to " + target.toAbsolutePath());
+        } catch (Exception e) {
+            shellService.printError("Error exporting " + entity + ": " + e.getMessage());
+        }
+    }
+
+    public Availability isUserLoggedIn() {
+        return userSession.isAuthenticated()
+                ? Availability.available()
+                : Availability.unavailable("you are not logged in. Please use 'login' command first");
+    }
+}
@@ -3,6 +3,7 @@ package com.taskmanagement.cli.command;
 import com.taskmanagement.cli.config.UserSession;
 import com.taskmanagement.cli.service.APIService;
 import com.taskmanagement.cli.service.OAuthService;
+import com.taskmanagement.cli.service.ReferenceCache;
 import com.taskmanagement.cli.service.ShellService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.standard.ShellComponent;
@@ -29,6 +30,9 @@ public class LoginShellCommand {
     @Autowired
     private ShellService shellService;
 
+    @Autowired
+    private ReferenceCache referenceCache;
+
     @ShellMethod(key = "login", value = "Authenticate with Google")
     public void login(@ShellOption(value = {"--headless"}, help = "Run in headless mode (provide token manually)", defaultValue = "false") boolean headless) {
         try {
@@ -77,6 +81,7 @@ public class LoginShellCommand {
                 userSession.setUserName(name);
                 userSession.setUserEmail(email);
                 userSession.saveToFile();
+                referenceCache.clear();
 
                 shellService.printSuccess("Successfully authenticated as " + name + " (" + email + ")");
             } catch (Exception e) {
@@ -92,6 +97,7 @@ public class LoginShellCommand {
         if (userSession.isAuthenticated()) {
             String name = userSession.getUserName();
             userSession.clearSession();
+            referenceCache.clear();
             shellService.printSuccess("Signed out successfully. Goodbye, " + name + "!");
         } else {
             shellService.printWarning("You are not currently signed in.");
@@ -2,12 +2,15 @@ package com.taskmanagement.cli.command;
 
 import com.taskmanagement.cli.config.UserSession;
 import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ReferenceCache;
 import com.taskmanagement.cli.service.ShellService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.Availability;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.*;
 
@@ -25,6 +28,9 @@ public class SprintShellCommands {
     @Autowired
     private APIService apiService;
 
+    @Autowired
+    private ReferenceCache referenceCache;
+
 
     @ShellMethod(key = "sprint-list", value = "List all sprints")
     @ShellMethodAvailability("isUserLoggedIn")
@@ -120,7 +126,7 @@ public class SprintShellCommands {
         }
 
         try {
-            List<Map<String, Object>> sprints = apiService.get("/sprints", List.class);
+            List<Map<String, Object>> sprints = referenceCache.get(ReferenceCache.Kind.SPRINTS);
             if (sprints == null || sprints.isEmpty()) {
                 shellService.printInfo("No sprints available.");
                 return;
@@ -159,6 +165,7 @@ public class SprintShellCommands {
             Map<String, Object> sprintStatus = apiService.get("/sprints/" + sprintId, Map.class);
             sprintStatus.put("active", true);
             apiService.put("/sprints/" + sprintId, sprintStatus, Void.class);
+            referenceCache.invalidate(ReferenceCache.Kind.SPRINTS);
             shellService.printSuccess("Sprint with ID " + sprintId + " has been started successfully!");
         } catch (Exception e) {
             shellService.printError("Error could not start the sprint: " + e.getMessage());
@@ -173,7 +180,7 @@ public class SprintShellCommands {
             return;
         }
         try {
-            List<Map<String, Object>> sprints = apiService.get("/sprints", List.class);
+            List<Map<String, Object>> sprints = referenceCache.get(ReferenceCache.Kind.SPRINTS);
             if (sprints == null || sprints.isEmpty()) {
                 shellService.printInfo("No sprints available.");
                 return;
@@ -209,12 +216,30 @@ public class SprintShellCommands {
             return;
         }
 
-        // End the sprint
+        shellService.printInfo("Enter a Sprint ID to roll unfinished tasks into (leave empty to keep them):");
+        String rolloverInput = scanner.nextLine().trim();
+        Integer rolloverSprintId = null;
+        if (!rolloverInput.isEmpty()) {
+            try {
+                rolloverSprintId = Integer.parseInt(rolloverInput);
+            } catch (NumberFormatException e) {
+                shellService.printError("Invalid Sprint ID. Please enter a valid integer.");
+                return;
+            }
+        }
+
+        // End the sprint, the server moves all unfinished tasks in one go
         try {
-            Map<String, Object> sprintStatus = apiService.get("/sprints/" + sprintId, Map.class);
-            sprintStatus.put("active", false);
-            apiService.put("/sprints/" + sprintId, sprintStatus, Void.class);
+            String uri = "/sprints/" + sprintId + "/end" + (rolloverSprintId != null ? "?rolloverSprintId=" + rolloverSprintId : "");
+            Map<String, Object> summary = apiService.post(uri, Map.of(), Map.class);
+            referenceCache.invalidate(ReferenceCache.Kind.SPRINTS);
             shellService.printSuccess("Sprint with ID " + sprintId + " has been ended successfully!");
+            shellService.printInfo("Completed: " + summary.get("completedTasks") + " tasks, "
+                    + summary.get("completedPoints") + " points");
+            if (summary.get("rolloverSprintId") != null) {
+                shellService.printInfo("Rolled over to sprint " + summary.get("rolloverSprintId") + ": "
+                        + summary.get("rolledOverTasks") + " tasks, " + summary.get("rolledOverPoints") + " points");
+            }
         } catch (Exception e) {
             shellService.printError("Error could not end the sprint: " + e.getMessage());
         }
@@ -278,6 +303,7 @@ public class SprintShellCommands {
             }
 
             apiService.put("/sprints/" + sprintId, sprintEdit, Void.class);
+            referenceCache.invalidate(ReferenceCache.Kind.SPRINTS);
             shellService.printSuccess("Sprint with ID " + sprintId + " has been updated successfully!");
 
         } catch (Exception e) {
@@ -317,7 +343,7 @@ public class SprintShellCommands {
                 return;
             }
 
-            Map<String, Object> user = apiService.get("/users/" + ownerId, Map.class);
+            Map<String, Object> user = referenceCache.findById(ReferenceCache.Kind.USERS, ownerId.toString());
             if (user == null || user.isEmpty()) {
                 shellService.printError("Error retrieving user details for owner/scrum master.");
                 return;
@@ -360,7 +386,7 @@ public class SprintShellCommands {
 
             try {
                 // Search for the Scrum Master by name using the API
-                Object[] users = apiService.get("/users/search?name=" + scrumMasterName, Object[].class);
+                Object[] users = referenceCache.findByName(ReferenceCache.Kind.USERS, scrumMasterName).toArray();
 
                 if (users != null && users.length > 0) {  // Ensure users is not null before accessing length
                     // Assuming the first user is the correct one
@@ -417,6 +443,7 @@ public class SprintShellCommands {
 
         try {
             Map<String, Object> response = apiService.post("/sprints", sprintData, Map.class);
+            referenceCache.invalidate(ReferenceCache.Kind.SPRINTS);
 
             if (response != null) {
                 shellService.printSuccess("Sprint created successfully!");
@@ -429,6 +456,224 @@ public class SprintShellCommands {
         }
     }
 
+    @ShellMethod(key = "sprint-board", value = "Show a sprint's tasks by status with assignee totals")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void sprintBoard() {
+        Scanner scanner = new Scanner(System.in);
+        shellService.printInfo("Enter the Sprint ID to show the board for:");
+
+        int sprintId;
+        try {
+            sprintId = Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            shellService.printError("Invalid Sprint ID. Please enter a valid integer.");
+            return;
+        }
+
+        try {
+            // one request for everything, the sprint, tasks, stats and scrum master used to be four
+            Map<String, Object> board = apiService.get("/sprints/" + sprintId + "/board", Map.class);
+            Map<String, Object> sprint = (Map<String, Object>) board.get("sprint");
+            List<Map<String, Object>> columns = (List<Map<String, Object>>) board.get("columns");
+            List<Map<String, Object>> assignees = (List<Map<String, Object>>) board.get("assignees");
+            Map<String, Object> commentCounts = (Map<String, Object>) board.get("commentCounts");
+
+            shellService.printHeading(String.format("%s (%s to %s), scrum master %s",
+                    sprint.get("name"), sprint.get("startDate"), sprint.get("endDate"), board.get("scrumMasterName")));
+            shellService.printInfo("Goal: " + sprint.get("goal"));
+            shellService.printInfo(String.format("%s tasks, %s of %s points done, capacity %s",
+                    board.get("totalTasks"), board.get("completedPoints"), board.get("totalPoints"), sprint.get("capacityPoints")));
+
+            for (Map<String, Object> column : columns) {
+                List<Map<String, Object>> tasks = (List<Map<String, Object>>) column.get("tasks");
+                shellService.printHeading(String.format("%s: %s tasks, %s points",
+                        column.get("statusName"), column.get("taskCount"), column.get("points")));
+                if (tasks.isEmpty()) {
+                    continue;
+                }
+
+                List<String[]> tableData = new ArrayList<>();
+                for (Map<String, Object> task : tasks) {
+                    String taskId = String.valueOf(task.get("id"));
+                    tableData.add(new String[]{
+                            taskId,
+                            String.valueOf(task.get("title")),
+                            String.valueOf(task.get("assignedToName")),
+                            String.valueOf(task.get("storyPoints")),
+                            String.valueOf(task.get("dueDate")),
+                            String.valueOf(commentCounts.getOrDefault(taskId, 0))
+                    });
+                }
+                shellService.printTable(new String[]{"ID", "Title", "Assigned To", "Points", "Due Date", "Comments"},
+                        tableData.toArray(new String[0][]));
+            }
+
+            if (!assignees.isEmpty()) {
+                List<String[]> tableData = new ArrayList<>();
+                for (Map<String, Object> assignee : assignees) {
+                    tableData.add(new String[]{
+                            String.valueOf(assignee.get("name")),
+                            String.valueOf(assignee.get("taskCount")),
+                            String.valueOf(assignee.get("points")),
+                            String.valueOf(assignee.get("completedPoints"))
+                    });
+                }
+                shellService.printHeading("Assignees");
+                shellService.printTable(new String[]{"Name", "Tasks", "Points", "Done"}, tableData.toArray(new String[0][]));
+            }
+        } catch (Exception e) {
+            shellService.printError("Error could not fetch the sprint board: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "sprint-burndown", value = "Show the burndown chart of a sprint")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void sprintBurndown() {
+        Scanner scanner = new Scanner(System.in);
+        shellService.printInfo("Enter the Sprint ID to show the burndown for:");
+
+        int sprintId;
+        try {
+            sprintId = Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            shellService.printError("Invalid Sprint ID. Please enter a valid integer.");
+            return;
+        }
+
+        try {
+            Map<String, Object> burndown = apiService.get("/sprints/" + sprintId + "/burndown", Map.class);
+            List<Map<String, Object>> points = (List<Map<String, Object>>) burndown.get("points");
+
+            shellService.printHeading("Burndown for " + burndown.get("sprintName"));
+            if (points == null || points.isEmpty()) {
+                shellService.printInfo("No burndown data recorded for this sprint yet.");
+                return;
+            }
+
+            // bars are scaled to the largest value so the chart fits the terminal
+            double max = 1;
+            for (Map<String, Object> point : points) {
+                max = Math.max(max, ((Number) point.get("totalPoints")).doubleValue());
+                max = Math.max(max, ((Number) point.get("idealRemainingPoints")).doubleValue());
+            }
+
+            for (Map<String, Object> point : points) {
+                int remaining = ((Number) point.get("remainingPoints")).intValue();
+                double ideal = ((Number) point.get("idealRemainingPoints")).doubleValue();
+                shellService.printInfo(String.format("%s %s %3d (ideal %.1f)",
+                        point.get("date"), burndownBar(remaining / max, ideal / max), remaining, ideal));
+            }
+            shellService.printInfo("# remaining points, | ideal line");
+        } catch (Exception e) {
+            shellService.printError("Error could not fetch the sprint burndown: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "sprint-plan", value = "Suggest backlog tasks that fill a sprint's capacity and optionally add them")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void planSprint() {
+        Scanner scanner = new Scanner(System.in);
+        shellService.printInfo("Enter the Sprint ID to plan:");
+
+        int sprintId;
+        try {
+            sprintId = Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            shellService.printError("Invalid Sprint ID. Please enter a valid integer.");
+            return;
+        }
+
+        try {
+            Map<String, Object> plan = apiService.get("/sprints/" + sprintId + "/plan", Map.class);
+            List<Map<String, Object>> tasks = (List<Map<String, Object>>) plan.get("tasks");
+
+            shellService.printHeading(String.format("Sprint %d: %s of %s points used, %d backlog candidates",
+                    sprintId, plan.get("currentPoints"), plan.get("capacityPoints"), plan.get("candidateCount")));
+            if (tasks == null || tasks.isEmpty()) {
+                shellService.printInfo("Nothing in the backlog fits this sprint.");
+                return;
+            }
+
+            List<String[]> tableData = new ArrayList<>();
+            for (Map<String, Object> task : tasks) {
+                tableData.add(new String[]{
+                        String.valueOf(task.get("taskId")),
+                        String.valueOf(task.get("title")),
+                        String.valueOf(task.get("storyPoints")),
+                        String.valueOf(task.get("priorityName")),
+                        String.valueOf(task.get("dueDate"))
+                });
+            }
+            shellService.printTable(new String[]{"ID", "Title", "Points", "Priority", "Due Date"},
+                    tableData.toArray(new String[0][]));
+            shellService.printInfo("Planned points: " + plan.get("plannedPoints"));
+
+            shellService.printInfo("Add these tasks to the sprint? (y/n)");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                return;
+            }
+
+            // the server plans again and applies in one go, the backlog may have changed meanwhile
+            Map<String, Object> applied = apiService.post("/sprints/" + sprintId + "/plan", Map.of(), Map.class);
+            List<?> appliedTasks = (List<?>) applied.get("tasks");
+            shellService.printSuccess(String.format("Added %d tasks (%s points) to sprint %d",
+                    appliedTasks.size(), applied.get("plannedPoints"), sprintId));
+        } catch (Exception e) {
+            shellService.printError("Error could not plan the sprint: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "sprint-clone", value = "Copy a sprint and its tasks into a new sprint")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void cloneSprint() {
+        Scanner scanner = new Scanner(System.in);
+        shellService.printInfo("Enter the Sprint ID to clone:");
+
+        int sprintId;
+        int shiftDays;
+        try {
+            sprintId = Integer.parseInt(scanner.nextLine().trim());
+            shellService.printInfo("Enter the number of days to move the dates forward by (leave empty for 0):");
+            String shiftInput = scanner.nextLine().trim();
+            shiftDays = shiftInput.isEmpty() ? 0 : Integer.parseInt(shiftInput);
+        } catch (NumberFormatException e) {
+            shellService.printError("Invalid number. Please enter a valid integer.");
+            return;
+        }
+
+        shellService.printInfo("Enter a name for the new sprint (leave empty for a copy of the old name):");
+        String name = scanner.nextLine().trim();
+        shellService.printInfo("Start every copied task in TODO? (y/n)");
+        boolean resetStatus = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        try {
+            String uri = "/sprints/" + sprintId + "/clone?shiftDays=" + shiftDays + "&resetStatus=" + resetStatus
+                    + (name.isEmpty() ? "" : "&name=" + URLEncoder.encode(name, StandardCharsets.UTF_8));
+            Map<String, Object> clone = apiService.post(uri, Map.of(), Map.class);
+            referenceCache.invalidate(ReferenceCache.Kind.SPRINTS);
+            shellService.printSuccess(String.format("Created sprint %s (%s) with %s tasks",
+                    clone.get("id"), clone.get("name"), clone.get("clonedTasks")));
+        } catch (Exception e) {
+            shellService.printError("Error could not clone the sprint: " + e.getMessage());
+        }
+    }
+
+    private String burndownBar(double remaining, double ideal) {
+        int width = 40;
+        int filled = (int) Math.round(remaining * width);
+        int idealAt = Math.min(width - 1, (int) Math.round(ideal * width));
+
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            if (i == idealAt) {
+                bar.append('|');
+            } else {
+                bar.append(i < filled ? '#' : ' ');
+            }
+        }
+        return bar.toString();
+    }
+
     public Availability isUserLoggedIn() {
         return userSession.isAuthenticated()
                 ? Availability.available()
@@ -2,15 +2,22 @@ package com.taskmanagement.cli.command;
 
 import com.taskmanagement.cli.config.UserSession;
 import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ReferenceCache;
 import com.taskmanagement.cli.service.ShellService;
 import com.taskmanagement.cli.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.shell.Availability;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
 import org.springframework.shell.standard.ShellOption;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,6 +36,9 @@ public class TaskShellCommand {
     @Autowired
     private ShellService shellService;
 
+    @Autowired
+    private ReferenceCache referenceCache;
+
     @ShellMethod(key = "task-list", value = "List all tasks")
     @ShellMethodAvailability("isUserLoggedIn")
     public void listTasks() {
@@ -51,55 +61,40 @@ public class TaskShellCommand {
     public void createTask(
             @ShellOption(value = {"-t", "--title"}, help = "Task title") String title,
             @ShellOption(value = {"-d", "--desc"}, help = "Task description") String description,
-            @ShellOption(value = {"-a", "--assignee"}, help = "Assignee name") String assigneeName,
+            @ShellOption(value = {"-a", "--assignee"}, help = "Assignee name or email") String assigneeName,
             @ShellOption(value = {"-s", "--status"}, help = "Status name") String statusName,
             @ShellOption(value = {"-p", "--priority"}, help = "Priority name") String priorityName,
             @ShellOption(value = {"-due", "--due-date"}, help = "Due date (YYYY-MM-DD)") String dueDate,
-            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID", defaultValue = ShellOption.NULL) Integer epicId,
-            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID", defaultValue = ShellOption.NULL) Integer sprintId,
+            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID or name", defaultValue = ShellOption.NULL) String epic,
+            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID or name", defaultValue = ShellOption.NULL) String sprint,
             @ShellOption(value = {"-pts", "--story-points"}, help = "Story points", defaultValue = "0") Integer storyPoints,
-            @ShellOption(value = {"-hrs", "--estimated-hours"}, help = "Estimated hours", defaultValue = "0") Integer estimatedHours
+            @ShellOption(value = {"-hrs", "--estimated-hours"}, help = "Estimated hours", defaultValue = "0") Integer estimatedHours,
+            @ShellOption(value = {"--parent"}, help = "Parent task ID, makes this a subtask", defaultValue = ShellOption.NULL) Integer parentTaskId
     ) {
         try {
             shellService.printHeading("Creating new task...");
 
-            Object[] users = apiService.get("/users/search?name=" + assigneeName, Object[].class);
-
-            if (users.length == 0) {
-                shellService.printError("No user found with name containing: " + assigneeName);
-                return;
-            }
-
-            if (users.length > 1) {
-                shellService.printWarning("Multiple users found with that name. Please be more specific:");
-                displayUsersTable(users);
-                return;
-            }
-
-            Integer statusId = getStatusIdByName(statusName);
-
-            Integer priorityId = getPriorityIdByName(priorityName);
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> user = (Map<String, Object>)users[0];
-            String assigneeId = String.valueOf(user.get("id"));
-
+            // the server turns the names into ids, an assignee name that fits several users comes back as an error
             Map<String, Object> task = new HashMap<>();
             task.put("title", title);
             task.put("description", description);
-            task.put("assignedToId", assigneeId);
-            task.put("statusId", statusId);
-            task.put("priorityId", priorityId);
+            task.put("assignee", assigneeName);
+            task.put("statusName", statusName);
+            task.put("priorityName", priorityName);
             task.put("dueDate", DateUtils.parseDate(dueDate));
             task.put("storyPoints", storyPoints);
             task.put("estimatedHours", estimatedHours);
 
-            if (epicId != null) {
-                task.put("epicId", epicId);
+            if (epic != null) {
+                task.put("epicId", referenceCache.resolveId(ReferenceCache.Kind.EPICS, epic));
             }
 
-            if (sprintId != null) {
-                task.put("sprintId", sprintId);
+            if (sprint != null) {
+                task.put("sprintId", referenceCache.resolveId(ReferenceCache.Kind.SPRINTS, sprint));
+            }
+
+            if (parentTaskId != null) {
+                task.put("parentTaskId", parentTaskId);
             }
 
             Object createdTask = apiService.post("/tasks", task, Object.class);
@@ -146,77 +141,74 @@ public class TaskShellCommand {
             if (task.get("sprintName") != null) {
                 shellService.printInfo("Sprint: " + task.get("sprintName") + " (" + task.get("sprintId") + ")");
             }
+
+            if (task.get("parentTaskId") != null) {
+                shellService.printInfo("Parent Task: " + task.get("parentTaskId"));
+            }
         } catch (Exception e) {
             shellService.printError("Error fetching task: " + e.getMessage());
         }
     }
 
+    @ShellMethod(key = "task-subtree", value = "Show a task with all of its subtasks")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void getTaskSubtree(@ShellOption(help = "Task ID") String taskId) {
+        try {
+            shellService.printHeading("Fetching subtasks...");
+
+            Object treeObj = apiService.get("/tasks/" + taskId + "/subtree", Object.class);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> tree = (Map<String, Object>) treeObj;
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> root = (Map<String, Object>) tree.get("task");
+            shellService.printHeading("Task " + root.get("id") + ": " + root.get("title"));
+            shellService.printInfo("Subtasks: " + root.get("completedSubtasks") + "/" + root.get("subtaskCount") + " done");
+            shellService.printInfo("Subtask Points: " + root.get("completedSubtaskPoints") + "/" + root.get("subtaskPoints") + " done");
+
+            List<String[]> tableData = new ArrayList<>();
+            addSubtaskRows(tree, 0, tableData);
+            String[] headers = {"ID", "Title", "Assigned To", "Status", "Points", "Subtasks Done"};
+            shellService.printTable(headers, tableData.toArray(new String[0][]));
+        } catch (Exception e) {
+            shellService.printError("Error fetching subtasks: " + e.getMessage());
+        }
+    }
+
     @ShellMethod(key = "task-update", value = "Update a task")
     @ShellMethodAvailability("isUserLoggedIn")
     public void updateTask(
             @ShellOption(help = "Task ID") String taskId,
             @ShellOption(value = {"-t", "--title"}, help = "Task title", defaultValue = ShellOption.NULL) String title,
             @ShellOption(value = {"-d", "--desc"}, help = "Task description", defaultValue = ShellOption.NULL) String description,
-            @ShellOption(value = {"-a", "--assignee"}, help = "Assignee name", defaultValue = ShellOption.NULL) String assigneeName,
+            @ShellOption(value = {"-a", "--assignee"}, help = "Assignee name or email", defaultValue = ShellOption.NULL) String assigneeName,
             @ShellOption(value = {"-s", "--status"}, help = "Status name", defaultValue = ShellOption.NULL) String statusName,
             @ShellOption(value = {"-p", "--priority"}, help = "Priority name", defaultValue = ShellOption.NULL) String priorityName,
             @ShellOption(value = {"-due", "--due-date"}, help = "Due date (YYYY-MM-DD)", defaultValue = ShellOption.NULL) String dueDate,
-            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID", defaultValue = ShellOption.NULL) Integer epicId,
-            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID", defaultValue = ShellOption.NULL) Integer sprintId,
+            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID or name, 0 takes the task out of its epic", defaultValue = ShellOption.NULL) String epic,
+            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID or name, 0 moves it back to the backlog", defaultValue = ShellOption.NULL) String sprint,
             @ShellOption(value = {"-pts", "--story-points"}, help = "Story points", defaultValue = ShellOption.NULL) Integer storyPoints,
-            @ShellOption(value = {"-hrs", "--estimated-hours"}, help = "Estimated hours", defaultValue = ShellOption.NULL) Integer estimatedHours
+            @ShellOption(value = {"-hrs", "--estimated-hours"}, help = "Estimated hours", defaultValue = ShellOption.NULL) Integer estimatedHours,
+            @ShellOption(value = {"--parent"}, help = "Parent task ID, 0 makes it a top level task", defaultValue = ShellOption.NULL) Integer parentTaskId
     ) {
         try {
             shellService.printHeading("Updating task...");
 
-            Object currentTaskObj = apiService.get("/tasks/" + taskId, Object.class);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> currentTask = (Map<String, Object>) currentTaskObj;
-
-            Map<String, Object> updatedTask = new HashMap<>(currentTask);
-            if (title != null) updatedTask.put("title", title);
-            if (description != null) updatedTask.put("description", description);
-
-            if (assigneeName != null) {
-                Object[] users = apiService.get("/users/search?name=" + assigneeName, Object[].class);
-
-                if (users.length == 0) {
-                    shellService.printError("No user found with name containing: " + assigneeName);
-                    return;
-                }
-
-                if (users.length > 1) {
-                    shellService.printWarning("Multiple users found with that name. Please be more specific:");
-                    displayUsersTable(users);
-                    return;
-                }
-
-                @SuppressWarnings("unchecked")
-                Map<String, Object> user = (Map<String, Object>)users[0];
-                String assigneeId = String.valueOf(user.get("id"));
-                updatedTask.put("assignedToId", assigneeId);
-            }
-
-            if (statusName != null) {
-                Integer statusId = getStatusIdByName(statusName);
-                updatedTask.put("statusId", statusId);
-            }
-
-            if (priorityName != null) {
-                Integer priorityId = getPriorityIdByName(priorityName);
-                updatedTask.put("priorityId", priorityId);
-            }
-            if (dueDate != null) updatedTask.put("dueDate", DateUtils.parseDate(dueDate));
-            if (epicId != null) updatedTask.put("epicId", epicId);
-            if (sprintId != null) updatedTask.put("sprintId", sprintId);
-            if (storyPoints != null) updatedTask.put("storyPoints", storyPoints);
-            if (estimatedHours != null) updatedTask.put("estimatedHours", estimatedHours);
-
-            if (updatedTask.get("dueDate") instanceof String) {
-                updatedTask.put("dueDate", DateUtils.parseDate((String)updatedTask.get("dueDate")));
-            }
-
-            apiService.put("/tasks/" + taskId, updatedTask, Object.class);
+            // only the fields given are sent, the server keeps the rest and resolves the names in the same request
+            Map<String, Object> changes = new HashMap<>();
+            if (title != null) changes.put("title", title);
+            if (description != null) changes.put("description", description);
+            if (assigneeName != null) changes.put("assignee", assigneeName);
+            if (statusName != null) changes.put("statusName", statusName);
+            if (priorityName != null) changes.put("priorityName", priorityName);
+            if (dueDate != null) changes.put("dueDate", DateUtils.parseDate(dueDate));
+            if (epic != null) changes.put("epicId", referenceCache.resolveId(ReferenceCache.Kind.EPICS, epic));
+            if (sprint != null) changes.put("sprintId", referenceCache.resolveId(ReferenceCache.Kind.SPRINTS, sprint));
+            if (storyPoints != null) changes.put("storyPoints", storyPoints);
+            if (estimatedHours != null) changes.put("estimatedHours", estimatedHours);
+            if (parentTaskId != null) changes.put("parentTaskId", parentTaskId);
+
+            apiService.patch("/tasks/" + taskId, changes, Object.class);
             shellService.printSuccess("Task updated successfully!");
 
         } catch (Exception e) {
@@ -228,14 +220,13 @@ public class TaskShellCommand {
     @ShellMethodAvailability("isUserLoggedIn")
     public void changeTaskStatus(
             @ShellOption(help = "Task ID") String taskId,
-            @ShellOption(help = "Status ID") String statusName
+            @ShellOption(help = "Status name") String statusName
     ) {
         try {
             shellService.printHeading("Changing task status...");
 
-            Integer statusId = getStatusIdByName(statusName);
-
-            Object updatedTask = apiService.patch("/tasks/" + taskId + "/status/" + statusId, null, Object.class);
+            Object updatedTask = apiService.patch("/tasks/" + taskId + "/status?name="
+                    + URLEncoder.encode(statusName, StandardCharsets.UTF_8), null, Object.class);
             shellService.printSuccess("Task status changed successfully!");
 
             @SuppressWarnings("unchecked")
@@ -251,29 +242,13 @@ public class TaskShellCommand {
     @ShellMethodAvailability("isUserLoggedIn")
     public void assignTask(
             @ShellOption(help = "Task ID") String taskId,
-            @ShellOption(help = "Assignee name") String assigneeName
+            @ShellOption(help = "Assignee name or email") String assigneeName
     ) {
         try {
             shellService.printHeading("Assigning task...");
 
-            Object[] users = apiService.get("/users/search?name=" + assigneeName, Object[].class);
-
-            if (users.length == 0) {
-                shellService.printError("No user found with name containing: " + assigneeName);
-                return;
-            }
-
-            if (users.length > 1) {
-                shellService.printWarning("Multiple users found with that name. Please be more specific:");
-                displayUsersTable(users);
-                return;
-            }
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> user = (Map<String, Object>)users[0];
-            String assigneeId = String.valueOf(user.get("id"));
-
-            Object updatedTask = apiService.patch("/tasks/" + taskId + "/assign/" + assigneeId, null, Object.class);
+            Object updatedTask = apiService.patch("/tasks/" + taskId + "/assign?assignee="
+                    + URLEncoder.encode(assigneeName, StandardCharsets.UTF_8), null, Object.class);
             shellService.printSuccess("Task assigned successfully!");
 
             @SuppressWarnings("unchecked")
@@ -365,8 +340,8 @@ public class TaskShellCommand {
             @ShellOption(value = {"-a", "--assignee"}, help = "Assignee name", defaultValue = ShellOption.NULL) String assigneeName,
             @ShellOption(value = {"-s", "--status"}, help = "Status ID", defaultValue = ShellOption.NULL) String statusName,
             @ShellOption(value = {"-p", "--priority"}, help = "Priority name", defaultValue = ShellOption.NULL) String priorityName,
-            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint name", defaultValue = ShellOption.NULL) Integer sprintId,
-            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID", defaultValue = ShellOption.NULL) Integer epicId
+            @ShellOption(value = {"-sp", "--sprint"}, help = "Sprint ID or name", defaultValue = ShellOption.NULL) String sprint,
+            @ShellOption(value = {"-e", "--epic"}, help = "Epic ID or name", defaultValue = ShellOption.NULL) String epic
     ) {
         try {
             shellService.printHeading("Filtering tasks...");
@@ -374,7 +349,7 @@ public class TaskShellCommand {
             Map<String, Object> filterParams = new HashMap<>();
 
             if (assigneeName != null) {
-                Object[] users = apiService.get("/users/search?name=" + assigneeName, Object[].class);
+                Object[] users = referenceCache.findByName(ReferenceCache.Kind.USERS, assigneeName).toArray();
 
                 if (users.length == 0) {
                     shellService.printError("No user found with name containing: " + assigneeName);
@@ -412,8 +387,8 @@ public class TaskShellCommand {
                     return;
                 }
             }
-            if (sprintId != null) filterParams.put("sprintId", sprintId);
-            if (epicId != null) filterParams.put("epicId", epicId);
+            if (sprint != null) filterParams.put("sprintId", referenceCache.resolveId(ReferenceCache.Kind.SPRINTS, sprint));
+            if (epic != null) filterParams.put("epicId", referenceCache.resolveId(ReferenceCache.Kind.EPICS, epic));
 
             Object[] tasks = apiService.post("/tasks/filter", filterParams, Object[].class);
 
@@ -446,6 +421,64 @@ public class TaskShellCommand {
         }
     }
 
+    @ShellMethod(key = "task-dashboard", value = "Show your open, overdue and recently updated tasks")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void dashboard(
+            @ShellOption(value = {"--hours"}, help = "Hours window for recent updates", defaultValue = "24") Integer hours) {
+        try {
+            shellService.printHeading("Fetching your dashboard...");
+
+            // what task-my, task-overdue and task-recent show, in one request
+            @SuppressWarnings("unchecked")
+            Map<String, Object> dashboard = apiService.get("/me/dashboard?hours=" + hours, Map.class);
+            List<?> open = (List<?>) dashboard.get("openTasks");
+            List<?> overdue = (List<?>) dashboard.get("overdueTasks");
+            List<?> recent = (List<?>) dashboard.get("recentTasks");
+
+            shellService.printHeading(String.format("Open tasks (%d, %s points)", open.size(), dashboard.get("openPoints")));
+            if (open.isEmpty()) {
+                shellService.printInfo("You have no active tasks");
+            } else {
+                displayTasksTable(open.toArray());
+            }
+
+            if (!overdue.isEmpty()) {
+                shellService.printWarning(overdue.size() + " of them are overdue:");
+                displayTasksTable(overdue.toArray());
+            }
+
+            shellService.printHeading("Updated in the last " + hours + " hours");
+            if (recent.isEmpty()) {
+                shellService.printInfo("None of your tasks were updated in the last " + hours + " hours");
+            } else {
+                displayTasksTable(recent.toArray());
+            }
+        } catch (Exception e) {
+            shellService.printError("Error fetching your dashboard: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "task-depends-on", value = "Mark a task as waiting on another task")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void dependsOn(
+            @ShellOption(help = "Task ID") String taskId,
+            @ShellOption(help = "ID of the task it waits on") String dependsOnId,
+            @ShellOption(value = {"-r", "--remove"}, help = "Remove the dependency instead", defaultValue = "false") boolean remove) {
+        try {
+            String uri = "/tasks/" + taskId + "/dependencies/" + dependsOnId;
+            if (remove) {
+                apiService.delete(uri, Void.class);
+                shellService.printSuccess("Task " + taskId + " no longer depends on task " + dependsOnId);
+            } else {
+                // the server refuses links that would make a cycle
+                apiService.post(uri, Map.of(), Void.class);
+                shellService.printSuccess("Task " + taskId + " now depends on task " + dependsOnId);
+            }
+        } catch (Exception e) {
+            shellService.printError("Error updating dependency: " + e.getMessage());
+        }
+    }
+
     @ShellMethod(key = "task-delete", value = "Delete a task")
     @ShellMethodAvailability("isUserLoggedIn")
     public void deleteTask(@ShellOption(help = "Task ID") String taskId) {
@@ -557,7 +590,7 @@ public class TaskShellCommand {
         try {
             shellService.printHeading("Fetching Available Statuses...");
 
-            Object[] statuses = apiService.get("/tasks/statuses", Object[].class);
+            Object[] statuses = referenceCache.get(ReferenceCache.Kind.STATUSES).toArray();
             if (statuses.length == 0) {
                 shellService.printInfo("No statuses found");
             } else {
@@ -606,7 +639,7 @@ public class TaskShellCommand {
         try {
             shellService.printHeading("Fetching Available Priorities...");
 
-            Object[] priorities = apiService.get("/tasks/priorities", Object[].class);
+            Object[] priorities = referenceCache.get(ReferenceCache.Kind.PRIORITIES).toArray();
             if (priorities.length == 0) {
                 shellService.printInfo("No priorities found");
             } else {
@@ -632,6 +665,84 @@ public class TaskShellCommand {
         }
     }
 
+    @ShellMethod(key = "task-import", value = "Import tasks from a CSV or NDJSON file")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void importTasks(
+            @ShellOption(value = {"-f", "--file"}, help = "Path to a .csv or .ndjson file") String filePath,
+            @ShellOption(value = {"-w", "--wait"}, help = "Wait for the import to finish", defaultValue = "true") boolean wait
+    ) {
+        try {
+            Path file = Paths.get(filePath);
+            if (!Files.isRegularFile(file)) {
+                shellService.printError("File not found: " + filePath);
+                return;
+            }
+
+            MediaType contentType = filePath.toLowerCase().endsWith(".csv")
+                    ? MediaType.parseMediaType("text/csv")
+                    : MediaType.APPLICATION_NDJSON;
+
+            shellService.printHeading("Uploading " + file.getFileName() + "...");
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> taskImport = apiService.postFile("/tasks/import", file, contentType, Map.class);
+            Object importId = taskImport.get("id");
+            shellService.printSuccess("Import " + importId + " started");
+
+            if (!wait) {
+                shellService.printInfo("Check progress with: task-import-status " + importId);
+                return;
+            }
+
+            // poll until the server reports the import as finished
+            String status = String.valueOf(taskImport.get("status"));
+            while ("PENDING".equals(status) || "RUNNING".equals(status)) {
+                Thread.sleep(1000);
+                taskImport = apiService.get("/tasks/import/" + importId, Map.class);
+                status = String.valueOf(taskImport.get("status"));
+                shellService.printInfo("Processed " + taskImport.get("processedRows") + " rows, "
+                        + taskImport.get("failedRows") + " failed");
+            }
+
+            displayImport(taskImport);
+        } catch (Exception e) {
+            shellService.printError("Error importing tasks: " + e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "task-import-status", value = "Show progress and errors of a task import")
+    @ShellMethodAvailability("isUserLoggedIn")
+    public void importStatus(@ShellOption(help = "Import ID") String importId) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> taskImport = apiService.get("/tasks/import/" + importId, Map.class);
+            displayImport(taskImport);
+        } catch (Exception e) {
+            shellService.printError("Error fetching import: " + e.getMessage());
+        }
+    }
+
+    private void displayImport(Map<String, Object> taskImport) {
+        shellService.printHeading("Import " + taskImport.get("id") + ": " + taskImport.get("status"));
+        shellService.printInfo("Processed: " + taskImport.get("processedRows"));
+        shellService.printInfo("Imported: " + taskImport.get("importedRows"));
+        shellService.printInfo("Failed: " + taskImport.get("failedRows"));
+
+        if (taskImport.get("message") != null) {
+            shellService.printError(String.valueOf(taskImport.get("message")));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) taskImport.get("errors");
+        if (errors != null && !errors.isEmpty()) {
+            List<String[]> tableData = new ArrayList<>();
+            for (Map<String, Object> error : errors) {
+                tableData.add(new String[]{String.valueOf(error.get("rowNumber")), String.valueOf(error.get("message"))});
+            }
+            shellService.printTable(new String[]{"Row", "Error"}, tableData.toArray(new String[0][]));
+        }
+    }
+
     private void displayTasksTable(Object[] tasks) {
         List<String[]> tableData = new ArrayList<>();
 
@@ -653,6 +764,25 @@ public class TaskShellCommand {
         shellService.printTable(headers, tableData.toArray(new String[0][]));
     }
 
+    // depth first, so each subtask is listed right below its parent and indented by its depth
+    @SuppressWarnings("unchecked")
+    private void addSubtaskRows(Map<String, Object> node, int depth, List<String[]> tableData) {
+        Map<String, Object> task = (Map<String, Object>) node.get("task");
+
+        String[] row = new String[6];
+        row[0] = String.valueOf(task.get("id"));
+        row[1] = "  ".repeat(depth) + task.get("title");
+        row[2] = String.valueOf(task.get("assignedToName"));
+        row[3] = String.valueOf(task.get("statusName"));
+        row[4] = String.valueOf(task.get("storyPoints"));
+        row[5] = task.get("completedSubtasks") + "/" + task.get("subtaskCount");
+        tableData.add(row);
+
+        for (Object subtask : (List<Object>) node.get("subtasks")) {
+            addSubtaskRows((Map<String, Object>) subtask, depth + 1, tableData);
+        }
+    }
+
     private void displayUsersTable(Object[] users) {
         List<String[]> tableData = new ArrayList<>();
 
@@ -673,22 +803,7 @@ public class TaskShellCommand {
     }
 
     private Integer getStatusIdByName(String statusName) throws Exception {
-        Object[] statuses = apiService.get("/tasks/statuses", Object[].class);
-
-        List<Map<String, Object>> matchingStatuses = new ArrayList<>();
-        for (Object statusObj : statuses) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> status = (Map<String, Object>) statusObj;
-            String name = String.valueOf(status.get("name"));
-
-            if (name.equalsIgnoreCase(statusName)) {
-                return Integer.valueOf(String.valueOf(status.get("id")));
-            }
-
-            if (name.toLowerCase().contains(statusName.toLowerCase())) {
-                matchingStatuses.add(status);
-            }
-        }
+        List<Map<String, Object>> matchingStatuses = referenceCache.findByName(ReferenceCache.Kind.STATUSES, statusName);
 
         if (matchingStatuses.isEmpty()) {
             shellService.printError("No status found with name containing: " + statusName);
@@ -708,22 +823,7 @@ public class TaskShellCommand {
     }
 
     private Integer getPriorityIdByName(String priorityName) throws Exception {
-        Object[] priorities = apiService.get("/tasks/priorities", Object[].class);
-
-        List<Map<String, Object>> matchingPriorities = new ArrayList<>();
-        for (Object priorityObj : priorities) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> priority = (Map<String, Object>) priorityObj;
-            String name = String.valueOf(priority.get("name"));
-
-            if (name.equalsIgnoreCase(priorityName)) {
-                return Integer.valueOf(String.valueOf(priority.get("id")));
-            }
-
-            if (name.toLowerCase().contains(priorityName.toLowerCase())) {
-                matchingPriorities.add(priority);
-            }
-        }
+        List<Map<String, Object>> matchingPriorities = referenceCache.findByName(ReferenceCache.Kind.PRIORITIES, priorityName);
 
         if (matchingPriorities.isEmpty()) {
             shellService.printError("No priority found with name containing: " + priorityName);
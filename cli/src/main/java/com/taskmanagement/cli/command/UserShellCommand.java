@@ -1,6 +1,7 @@
 package com.taskmanagement.cli.command;
 import com.taskmanagement.cli.config.UserSession;
 import com.taskmanagement.cli.service.APIService;
+import com.taskmanagement.cli.service.ReferenceCache;
 import com.taskmanagement.cli.service.ShellService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +26,9 @@ public class UserShellCommand {
     @Autowired
     private ShellService shellService;
 
+    @Autowired
+    private ReferenceCache referenceCache;
+
     @ShellMethod(key = "user-list", value = "List all users")
     @ShellMethodAvailability("isUserLoggedIn")
     public void listUsers() {
@@ -111,6 +115,7 @@ public class UserShellCommand {
 
             Map<String, Object> userUpdateData = createUpdateData(userId, roleId);
             apiService.put("/users/" + userId, userUpdateData, Object.class);
+            referenceCache.invalidate(ReferenceCache.Kind.USERS);
             shellService.printSuccess("User updated successfully!");
 
 
@@ -139,7 +144,7 @@ public class UserShellCommand {
 
     private List<String> fetchAvailableRoles() {
         try {
-            Object[] roles = apiService.get("/roles", Object[].class);
+            Object[] roles = referenceCache.get(ReferenceCache.Kind.ROLES).toArray();
             List<String> roleNames = new ArrayList<>();
 
             for (Object roleObj : roles) {
@@ -163,7 +168,7 @@ public class UserShellCommand {
             }
 
             roleName = roleName.trim().toLowerCase();
-            Object[] roles = apiService.get("/roles", Object[].class);
+            Object[] roles = referenceCache.get(ReferenceCache.Kind.ROLES).toArray();
 
             for (Object roleObj : roles) {
                 @SuppressWarnings("unchecked")
@@ -250,7 +255,35 @@ public class UserShellCommand {
 
     @ShellMethod(key = "user-deactivate", value = "Deactivate a user")
     @ShellMethodAvailability("isUserLoggedIn")
-    public void deactivateUser(@ShellOption(help = "Name of the user to deactivate") String name) {
+    public void deactivateUser(
+            @ShellOption(help = "Name of the user to deactivate") String name,
+            @ShellOption(help = "Who takes over the user's open tasks: USER, ROUND_ROBIN or LEAST_LOADED", defaultValue = ShellOption.NULL) String reassign,
+            @ShellOption(help = "ID of the user taking over every open task, for USER", defaultValue = ShellOption.NULL) String to,
+            @ShellOption(help = "Role whose active users share the open tasks, for ROUND_ROBIN and LEAST_LOADED", defaultValue = ShellOption.NULL) String role) {
+        Map<String, Object> reassignment = new HashMap<>();
+        if (reassign != null) {
+            String policy = reassign.trim().toUpperCase().replace('-', '_');
+            if (!List.of("USER", "ROUND_ROBIN", "LEAST_LOADED").contains(policy)) {
+                shellService.printError("Unknown reassignment policy: " + reassign + ". Use USER, ROUND_ROBIN or LEAST_LOADED.");
+                return;
+            }
+            if (policy.equals("USER") && to == null) {
+                shellService.printError("--to is required when reassigning to a single user.");
+                return;
+            }
+            if (!policy.equals("USER") && role == null) {
+                shellService.printError("--role is required for " + policy + " reassignment.");
+                return;
+            }
+            reassignment.put("policy", policy);
+            if (to != null) {
+                reassignment.put("targetUserId", to.trim());
+            }
+            if (role != null) {
+                reassignment.put("roleName", role.trim().toUpperCase());
+            }
+        }
+
         try {
             shellService.printHeading("Searching for user by name: " + name);
 
@@ -295,13 +328,22 @@ public class UserShellCommand {
                 return;
             }
 
-            Map<String, Object> userUpdateData = new HashMap<>();
-            userUpdateData.put("id", userId);
-            userUpdateData.put("isActive", false);
-
-            apiService.put("/users/" + userId, userUpdateData, Object.class);
+            // deactivation and any reassignment happen in one request
+            @SuppressWarnings("unchecked")
+            Map<String, Object> summary = apiService.put("/users/" + userId + "/deactivate", reassignment, Map.class);
+            referenceCache.invalidate(ReferenceCache.Kind.USERS);
             shellService.printSuccess("User " + selectedUser.get("name") + " deactivated successfully!");
 
+            Object reassigned = summary != null ? summary.get("reassignedTasks") : null;
+            if (reassigned instanceof Number count && count.intValue() > 0) {
+                shellService.printInfo("Reassigned " + count + " open tasks (" + summary.get("reassignedPoints") + " points):");
+                @SuppressWarnings("unchecked")
+                Map<String, Object> reassignedTo = (Map<String, Object>) summary.get("reassignedTo");
+                reassignedTo.forEach((assigneeId, tasks) -> shellService.printInfo("  " + assigneeId + ": " + tasks + " tasks"));
+            } else if (reassign == null) {
+                shellService.printInfo("Open tasks were left with the user, pass --reassign to hand them over.");
+            }
+
         } catch (Exception e) {
             shellService.printError("Error deactivating user: " + e.getMessage());
         }
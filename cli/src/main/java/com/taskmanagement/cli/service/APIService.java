@@ -6,12 +6,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanagement.cli.config.UserSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -92,6 +101,44 @@ public class APIService {
         }
     }
 
+    // streams a file from disk as the request body, nothing is buffered in memory
+    public <T> T postFile(String uri, Path file, MediaType contentType, Class<T> responseType) {
+        try {
+            return webClient.post()
+                    .uri(uri)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + userSession.getToken())
+                    .contentType(contentType)
+                    .body(BodyInserters.fromResource(new FileSystemResource(file)))
+                    .retrieve()
+                    .bodyToMono(responseType)
+                    .block();
+        } catch (WebClientResponseException ex) {
+            handleApiError(ex);
+            return null;
+        }
+    }
+
+    // response buffers go straight into a file channel, the body is never collected in memory
+    public long download(String uri, Path target) {
+        try {
+            Flux<DataBuffer> body = webClient.get()
+                    .uri(uri)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + userSession.getToken())
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class);
+
+            DataBufferUtils.write(body, target,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                    .block();
+            return Files.size(target);
+        } catch (WebClientResponseException ex) {
+            handleApiError(ex);
+            return 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write " + target + ": " + e.getMessage());
+        }
+    }
+
     public <T> T put(String uri, Object body, Class<T> responseType) {
         try {
             return webClient.put()
@@ -0,0 +1,282 @@
+package com.taskmanagement.cli.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.cli.config.UserSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.*;
+
+// statuses, priorities, roles, users and the latest sprints and epics, kept in a file next to the session file so
+// commands that turn a name into an id don't ask the server for the same lists every time. nothing is read until a
+// command needs it. a name that is not in the cache reloads that list once before it counts as not found
+@Service
+public class ReferenceCache {
+    private static final String CACHE_FILE = ".taskmanagement-cache";
+    // bumped whenever the layout of the file changes, a file with another version is thrown away
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECENT = 50;
+
+    public enum Kind {
+        STATUSES("/tasks/statuses", Duration.ofHours(24), 0, "id", "name", "displayOrder"),
+        PRIORITIES("/tasks/priorities", Duration.ofHours(24), 0, "id", "name", "value"),
+        ROLES("/roles", Duration.ofHours(24), 0, "id", "name"),
+        USERS("/users", Duration.ofHours(1), 0, "id", "name", "email", "isActive"),
+        SPRINTS("/sprints", Duration.ofMinutes(10), RECENT,
+                "id", "name", "goal", "capacityPoints", "startDate", "endDate", "active", "scrumMasterId"),
+        EPICS("/epics", Duration.ofMinutes(10), RECENT, "id", "name", "ownerName");
+
+        private final String uri;
+        private final Duration ttl;
+        // only the highest ids are kept when above 0
+        private final int keep;
+        private final List<String> fields;
+
+        Kind(String uri, Duration ttl, int keep, String... fields) {
+            this.uri = uri;
+            this.ttl = ttl;
+            this.keep = keep;
+            this.fields = List.of(fields);
+        }
+    }
+
+    private final APIService apiService;
+    private final UserSession userSession;
+    private final String apiBaseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // null until the first lookup reads the file
+    private CacheFile cache;
+
+    @Autowired
+    public ReferenceCache(APIService apiService, UserSession userSession, @Value("${cli.api.base-url}") String apiBaseUrl) {
+        this.apiService = apiService;
+        this.userSession = userSession;
+        this.apiBaseUrl = apiBaseUrl;
+    }
+
+    // what the file holds, for sprints and epics only the latest ones
+    public synchronized List<Map<String, Object>> get(Kind kind) {
+        Entry entry = fresh(kind);
+        if (entry == null) {
+            fetch(kind);
+            entry = load().entries.get(kind.name());
+        }
+        return entry.items(kind);
+    }
+
+    // exact name first, otherwise every name containing it. a miss fetches the list again, it may be new. the file
+    // holds only the latest sprints and epics, so for those only an exact match is answered from it, an older one
+    // may contain the name as well
+    public synchronized List<Map<String, Object>> findByName(Kind kind, String name) {
+        Entry entry = fresh(kind);
+        if (entry != null) {
+            List<Map<String, Object>> matches = match(entry.items(kind), name);
+            if (!matches.isEmpty() && (kind.keep == 0 || isExact(matches.get(0), name))) {
+                return matches;
+            }
+        }
+        return match(fetch(kind), name);
+    }
+
+    public synchronized Map<String, Object> findById(Kind kind, String id) {
+        Entry entry = fresh(kind);
+        if (entry != null) {
+            Map<String, Object> found = byId(entry.items(kind), id);
+            if (found != null) {
+                return found;
+            }
+        }
+        return byId(fetch(kind), id);
+    }
+
+    // numbers are ids already, anything else is looked up by name and has to match exactly one
+    public Integer resolveId(Kind kind, String idOrName) {
+        String trimmed = idOrName.trim();
+        if (trimmed.matches("\\d+")) {
+            return Integer.valueOf(trimmed);
+        }
+
+        List<Map<String, Object>> matches = findByName(kind, trimmed);
+        String what = kind.name().toLowerCase().substring(0, kind.name().length() - 1);
+        if (matches.isEmpty()) {
+            throw new IllegalArgumentException("No " + what + " found with name containing: " + trimmed);
+        }
+        if (matches.size() > 1) {
+            StringJoiner names = new StringJoiner(", ");
+            matches.forEach(match -> names.add(match.get("name") + " (" + match.get("id") + ")"));
+            throw new IllegalArgumentException("'" + trimmed + "' matches " + matches.size() + " " + what + "s: " + names
+                    + ". Use the ID or the full name");
+        }
+        return Integer.valueOf(String.valueOf(matches.get(0).get("id")));
+    }
+
+    // after a write from this CLI, the next lookup fetches the list again
+    public synchronized void invalidate(Kind kind) {
+        if (load().entries.remove(kind.name()) != null) {
+            save();
+        }
+    }
+
+    // fetches every list now, returns how many of each are held
+    public synchronized Map<Kind, Integer> refresh() {
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            fetch(kind);
+            counts.put(kind, load().entries.get(kind.name()).rows.size());
+        }
+        return counts;
+    }
+
+    // the cache belongs to the logged in user, it goes with the session
+    public synchronized void clear() {
+        cache = new CacheFile();
+        try {
+            Files.deleteIfExists(getCacheFile());
+        } catch (IOException e) {
+            System.err.println("Error removing reference cache: " + e.getMessage());
+        }
+    }
+
+    // returns everything the server sent, the lookup that asked is answered from the whole list. only the file
+    // is limited to the latest sprints and epics, an older one is fetched again when it is asked for
+    private List<Map<String, Object>> fetch(Kind kind) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> items = apiService.get(kind.uri, List.class);
+        List<Map<String, Object>> fetched = items != null ? items : List.of();
+
+        List<Map<String, Object>> kept = new ArrayList<>(fetched);
+        if (kind.keep > 0 && kept.size() > kind.keep) {
+            kept.sort(Comparator.comparingLong((Map<String, Object> item) -> ((Number) item.get("id")).longValue()).reversed());
+            kept = new ArrayList<>(kept.subList(0, kind.keep));
+        }
+
+        Entry entry = new Entry();
+        entry.fetchedAt = System.currentTimeMillis();
+        entry.rows = new ArrayList<>();
+        for (Map<String, Object> item : kept) {
+            List<Object> row = new ArrayList<>(kind.fields.size());
+            kind.fields.forEach(field -> row.add(item.get(field)));
+            entry.rows.add(row);
+        }
+        load().entries.put(kind.name(), entry);
+        save();
+        return fetched;
+    }
+
+    // null when the list was never fetched or is older than its ttl
+    private Entry fresh(Kind kind) {
+        Entry entry = load().entries.get(kind.name());
+        if (entry == null || System.currentTimeMillis() - entry.fetchedAt > kind.ttl.toMillis()) {
+            return null;
+        }
+        return entry;
+    }
+
+    private static List<Map<String, Object>> match(List<Map<String, Object>> items, String name) {
+        String wanted = name.trim().toLowerCase();
+        List<Map<String, Object>> exact = new ArrayList<>();
+        List<Map<String, Object>> partial = new ArrayList<>();
+        for (Map<String, Object> item : items) {
+            String itemName = String.valueOf(item.get("name")).toLowerCase();
+            if (itemName.equals(wanted)) {
+                exact.add(item);
+            } else if (itemName.contains(wanted)) {
+                partial.add(item);
+            }
+        }
+        return exact.isEmpty() ? partial : exact;
+    }
+
+    private static boolean isExact(Map<String, Object> item, String name) {
+        return String.valueOf(item.get("name")).equalsIgnoreCase(name.trim());
+    }
+
+    private static Map<String, Object> byId(List<Map<String, Object>> items, String id) {
+        for (Map<String, Object> item : items) {
+            if (String.valueOf(item.get("id")).equals(id)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    // read on first use. a file from another version, server or user starts out empty
+    private CacheFile load() {
+        if (cache != null) {
+            return cache;
+        }
+        cache = new CacheFile();
+        Path file = getCacheFile();
+        if (Files.exists(file)) {
+            try {
+                CacheFile read = objectMapper.readValue(file.toFile(), CacheFile.class);
+                if (read.version == FORMAT_VERSION && Objects.equals(read.server, apiBaseUrl)
+                        && Objects.equals(read.userEmail, userSession.getUserEmail())) {
+                    cache = read;
+                }
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable reference cache: " + e.getMessage());
+            }
+        }
+        cache.version = FORMAT_VERSION;
+        cache.server = apiBaseUrl;
+        cache.userEmail = userSession.getUserEmail();
+        return cache;
+    }
+
+    // written to a temporary file first so a command that gets killed never leaves half a cache behind
+    private void save() {
+        Path file = getCacheFile();
+        Path temp = file.resolveSibling(CACHE_FILE + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), cache);
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                temp.toFile().setReadable(false, false);
+                temp.toFile().setReadable(true, true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving reference cache: " + e.getMessage());
+        }
+    }
+
+    private Path getCacheFile() {
+        return Paths.get(System.getProperty("user.home"), CACHE_FILE);
+    }
+
+    // rows hold the values of Kind.fields in order, the field names are not repeated for every item
+    static class CacheFile {
+        public int version;
+        public String server;
+        public String userEmail;
+        public Map<String, Entry> entries = new HashMap<>();
+    }
+
+    static class Entry {
+        public long fetchedAt;
+        public List<List<Object>> rows;
+
+        List<Map<String, Object>> items(Kind kind) {
+            List<Map<String, Object>> items = new ArrayList<>(rows.size());
+            for (List<Object> row : rows) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                for (int i = 0; i < kind.fields.size() && i < row.size(); i++) {
+                    item.put(kind.fields.get(i), row.get(i));
+                }
+                items.add(item);
+            }
+            return items;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+-- Partition pruning benchmark for V9 and V17.
+--
+-- Builds two copies of the same generated tasks data in a scratch schema, a plain heap table with btree indexes
+-- (the layout before V9) and a monthly partitioned table with the indexes V9 and V17 leave on it, then runs the
+-- same queries against both. Nothing outside the bench schema is touched.
+--
+--   psql "$DATABASE_URL" -v rows=2000000 -f server/benchmark/partition_pruning.sql
+--
+-- Compare "Execution Time" and "Buffers: shared" between each pair of plans. The partitioned plans should list only
+-- the partitions the range covers (or "Subplans Removed") and read far fewer buffers. The lookup by id is the
+-- price of the layout: it can't be pruned, so the partitioned plan lists one index scan per partition where the
+-- plain table needs one. Paste the plans of a run on production sized data into the pull request that changes
+-- the partitioning, the numbers depend too much on the machine to be kept here. Needs the V17 migration for
+-- create_monthly_partitions.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 2000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+-- bench only, so create_monthly_partitions does not see the real partitions in public
+SET search_path = bench;
+
+-- three years of tasks, created in time order like the real table, due a few weeks after creation
+CREATE TABLE bench.generated AS
+SELECT g AS id,
+       ts AS created_at,
+       ts + (random() * INTERVAL '20 days') AS updated_at,
+       ts + (7 + random() * 28) * INTERVAL '1 day' AS due_date,
+       CASE WHEN ts < NOW() - INTERVAL '30 days' AND random() < 0.9
+            THEN ts + (random() * INTERVAL '30 days') END AS completed_at,
+       (random() * 12)::INT + 1 AS story_points,
+       md5(g::TEXT) AS title
+FROM generate_series(1, :rows) AS g,
+     LATERAL (SELECT NOW() - INTERVAL '3 years' + (g::FLOAT / :rows) * INTERVAL '3 years' AS ts) t;
+
+CREATE TABLE bench.tasks_plain (LIKE bench.generated);
+INSERT INTO bench.tasks_plain SELECT * FROM bench.generated;
+ALTER TABLE bench.tasks_plain ADD PRIMARY KEY (id);
+CREATE INDEX ON bench.tasks_plain (created_at);
+CREATE INDEX ON bench.tasks_plain (due_date) WHERE completed_at IS NULL AND due_date IS NOT NULL;
+
+CREATE TABLE bench.tasks (LIKE bench.generated) PARTITION BY RANGE (created_at);
+CREATE TABLE bench.tasks_default PARTITION OF bench.tasks DEFAULT;
+SELECT public.create_monthly_partitions('tasks', (NOW() - INTERVAL '3 years')::DATE, 3);
+INSERT INTO bench.tasks SELECT * FROM bench.generated;
+ALTER TABLE bench.tasks ADD PRIMARY KEY (id, created_at);
+CREATE INDEX ON bench.tasks USING BRIN (created_at);
+CREATE INDEX ON bench.tasks (due_date) WHERE completed_at IS NULL AND due_date IS NOT NULL;
+
+VACUUM ANALYZE bench.tasks_plain;
+VACUUM ANALYZE bench.tasks;
+
+SELECT 'tasks_plain' AS layout, pg_size_pretty(SUM(pg_relation_size(indexrelid))) AS index_size
+FROM pg_index WHERE indrelid = 'bench.tasks_plain'::regclass
+UNION ALL
+SELECT 'tasks (partitioned)', pg_size_pretty(SUM(pg_relation_size(i.indexrelid)))
+FROM pg_inherits p JOIN pg_index i ON i.indrelid = p.inhrelid
+WHERE p.inhparent = 'bench.tasks'::regclass;
+
+\echo '--- tasks created in the last two weeks'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(*), SUM(story_points) FROM bench.tasks_plain WHERE created_at >= NOW() - INTERVAL '14 days';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT COUNT(*), SUM(story_points) FROM bench.tasks WHERE created_at >= NOW() - INTERVAL '14 days';
+
+\echo '--- one month of history, the shape of a burndown or velocity query'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT date_trunc('day', completed_at), COUNT(*) FROM bench.tasks_plain
+WHERE created_at >= NOW() - INTERVAL '400 days' AND created_at < NOW() - INTERVAL '370 days'
+GROUP BY 1;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT date_trunc('day', completed_at), COUNT(*) FROM bench.tasks
+WHERE created_at >= NOW() - INTERVAL '400 days' AND created_at < NOW() - INTERVAL '370 days'
+GROUP BY 1;
+
+-- the id says nothing about created_at, every partition's primary key is probed
+\echo '--- one task by id, findById'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.tasks_plain WHERE id = :rows / 2;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bench.tasks WHERE id = :rows / 2;
+
+\echo '--- overdue, findByDueDateBeforeAndCompletedAtIsNull with the creation window it implies'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM bench.tasks_plain
+WHERE due_date < NOW() AND completed_at IS NULL AND created_at >= NOW() - INTERVAL '90 days';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT id FROM bench.tasks
+WHERE due_date < NOW() AND completed_at IS NULL AND created_at >= NOW() - INTERVAL '90 days';
+
+DROP SCHEMA bench CASCADE;
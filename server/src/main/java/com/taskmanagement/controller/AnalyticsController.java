@@ -0,0 +1,54 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.CycleTimeDTO;
+import com.taskmanagement.dto.VelocityDTO;
+import com.taskmanagement.dto.WorkloadDTO;
+import com.taskmanagement.service.AnalyticsService;
+import com.taskmanagement.service.CycleTimeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final CycleTimeService cycleTimeService;
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(CycleTimeService cycleTimeService, AnalyticsService analyticsService) {
+        this.cycleTimeService = cycleTimeService;
+        this.analyticsService = analyticsService;
+    }
+
+    // time spent per status and cycle/lead time for a sprint or a user, the caller when neither is given
+    @GetMapping("/cycle-time")
+    public ResponseEntity<CycleTimeDTO> getCycleTime(
+            @RequestParam(required = false) Integer sprintId,
+            @RequestParam(required = false) UUID userId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID requesterId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting cycle time for sprint {} user {}", requesterId, sprintId, userId);
+        return ResponseEntity.ok(cycleTimeService.getCycleTime(sprintId, userId, requesterId));
+    }
+
+    // completed points of the last closed sprints, oldest first
+    @GetMapping("/velocity")
+    public ResponseEntity<VelocityDTO> getVelocity(@RequestParam(defaultValue = "6") int sprints) {
+        return ResponseEntity.ok(analyticsService.getVelocity(sprints));
+    }
+
+    // open story points per active user, optionally only those in one sprint
+    @GetMapping("/workload")
+    public ResponseEntity<List<WorkloadDTO>> getWorkload(@RequestParam(required = false) Integer sprintId) {
+        return ResponseEntity.ok(analyticsService.getWorkload(sprintId));
+    }
+}
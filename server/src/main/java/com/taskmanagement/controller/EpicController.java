@@ -1,9 +1,13 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.dto.CriticalPathDTO;
 import com.taskmanagement.dto.EpicDTO;
 import org.slf4j.Logger;
 import com.taskmanagement.model.Epic;
+import com.taskmanagement.service.CloneService;
 import com.taskmanagement.service.EpicService;
+import com.taskmanagement.service.TaskDependencyService;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,9 +26,13 @@ public class EpicController {
     // general epics controller
     private static final Logger logger = LoggerFactory.getLogger(EpicController.class);
     private final EpicService epicService;
+    private final CloneService cloneService;
+    private final TaskDependencyService taskDependencyService;
 
-    public EpicController(EpicService epicService) {
+    public EpicController(EpicService epicService, CloneService cloneService, TaskDependencyService taskDependencyService) {
         this.epicService = epicService;
+        this.cloneService = cloneService;
+        this.taskDependencyService = taskDependencyService;
     }
 
     // only owners and admins can create epics, call on epic service
@@ -56,14 +64,38 @@ public class EpicController {
         return ResponseEntity.ok(updatedEpic);
     }
 
-    // delete requires admin or owner
+    // delete requires admin or owner, cascade also deletes the epic's tasks instead of detaching them
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @epicService.isOwner(#id, authentication.principal.username)")
-    public ResponseEntity<Void> deleteEpic(@PathVariable Integer id) {
-        epicService.deleteEpic(id);
+    public ResponseEntity<Void> deleteEpic(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "false") boolean cascade,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        epicService.deleteEpic(id, cascade, UUID.fromString(userDetails.getUsername()));
         return ResponseEntity.noContent().build();
     }
 
+    // same roles as creating an epic, the copy has the source's owner
+    @PostMapping("/{id}/clone")
+    @PreAuthorize("hasRole('PRODUCT_OWNER') or hasRole('ADMIN')")
+    public ResponseEntity<CloneDTO> cloneEpic(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "0") int shiftDays,
+            @RequestParam(defaultValue = "false") boolean resetStatus,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} cloning epic {}", userId, id);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(cloneService.cloneEpic(id, name, shiftDays, resetStatus, userId));
+    }
+
+    // longest chain of dependent tasks in the epic and the tasks that will miss their due date
+    @GetMapping("/{id}/critical-path")
+    public ResponseEntity<CriticalPathDTO> getCriticalPath(@PathVariable Integer id) {
+        return ResponseEntity.ok(taskDependencyService.getEpicCriticalPath(id));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<EpicDTO>> searchEpicsByName(
             @RequestParam String name,
@@ -0,0 +1,62 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // csv download of tasks, comments, sprints or epics, optionally gzipped
+    @GetMapping("/{entity}")
+    @PreAuthorize("hasRole('SCRUM_MASTER') or hasRole('ADMIN') or hasRole('PRODUCT_OWNER')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String entity,
+            @RequestParam(required = false) UUID assignedToId,
+            @RequestParam(required = false) Integer statusId,
+            @RequestParam(required = false) Integer priorityId,
+            @RequestParam(required = false) Integer sprintId,
+            @RequestParam(required = false) Integer epicId,
+            @RequestParam(required = false) List<String> anyLabels,
+            @RequestParam(required = false) List<String> allLabels,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} exporting {}", userId, entity);
+
+        exportService.validateExport(entity);
+
+        TaskFilterDTO filterDTO = new TaskFilterDTO(assignedToId, statusId, priorityId, sprintId, epicId);
+        filterDTO.setAnyLabels(anyLabels);
+        filterDTO.setAllLabels(allLabels);
+        StreamingResponseBody body = out -> exportService.export(entity, filterDTO, gzip, out, userId);
+
+        String fileName = entity + (gzip ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.DashboardDTO;
+import com.taskmanagement.service.DashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+// views of the calling user's own work
+@RestController
+@RequestMapping("/api/me")
+public class MeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeController.class);
+
+    private final DashboardService dashboardService;
+
+    public MeController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // open, overdue and recently updated tasks in one request
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardDTO> getDashboard(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting their dashboard", userId);
+        return ResponseEntity.ok(dashboardService.getDashboard(userId, hours, limit));
+    }
+}
@@ -1,9 +1,23 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.dto.BurndownDTO;
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.dto.CriticalPathDTO;
+import com.taskmanagement.dto.SprintBoardDTO;
 import com.taskmanagement.dto.SprintDTO;
+import com.taskmanagement.dto.SprintEndSummaryDTO;
+import com.taskmanagement.dto.SprintPlanDTO;
+import com.taskmanagement.service.BurndownService;
+import com.taskmanagement.service.CloneService;
+import com.taskmanagement.service.SprintBoardService;
+import com.taskmanagement.service.SprintPlanningService;
 import com.taskmanagement.service.SprintService;
+import com.taskmanagement.service.TaskDependencyService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,9 +28,21 @@ import java.util.UUID;
 public class SprintController {
 
     private final SprintService sprintService;
+    private final BurndownService burndownService;
+    private final SprintPlanningService sprintPlanningService;
+    private final CloneService cloneService;
+    private final TaskDependencyService taskDependencyService;
+    private final SprintBoardService sprintBoardService;
 
-    public SprintController(SprintService sprintService) {
+    public SprintController(SprintService sprintService, BurndownService burndownService,
+                            SprintPlanningService sprintPlanningService, CloneService cloneService,
+                            TaskDependencyService taskDependencyService, SprintBoardService sprintBoardService) {
         this.sprintService = sprintService;
+        this.burndownService = burndownService;
+        this.sprintPlanningService = sprintPlanningService;
+        this.cloneService = cloneService;
+        this.taskDependencyService = taskDependencyService;
+        this.sprintBoardService = sprintBoardService;
     }
 
     // need scrum master to create sprints
@@ -51,9 +77,56 @@ public class SprintController {
         return ResponseEntity.ok(sprintDTO);
     }
 
+    // unfinished tasks move to rolloverSprintId when it is given
     @PostMapping("/{sprintId}/end")
-    public ResponseEntity<SprintDTO> endSprint(@PathVariable Integer sprintId) {
-        SprintDTO sprintDTO = sprintService.endSprint(sprintId);
-        return ResponseEntity.ok(sprintDTO);
+    public ResponseEntity<SprintEndSummaryDTO> endSprint(@PathVariable Integer sprintId,
+                                                         @RequestParam(required = false) Integer rolloverSprintId) {
+        SprintEndSummaryDTO summary = sprintService.endSprint(sprintId, rolloverSprintId);
+        return ResponseEntity.ok(summary);
+    }
+
+    // sprint, its tasks by status, assignee totals and comment counts in one response
+    @GetMapping("/{sprintId}/board")
+    public ResponseEntity<SprintBoardDTO> getBoard(@PathVariable Integer sprintId) {
+        return ResponseEntity.ok(sprintBoardService.getBoard(sprintId));
+    }
+
+    // one point per day, read from the daily snapshots
+    @GetMapping("/{sprintId}/burndown")
+    public ResponseEntity<BurndownDTO> getBurndown(@PathVariable Integer sprintId) {
+        BurndownDTO burndown = burndownService.getBurndown(sprintId);
+        return ResponseEntity.ok(burndown);
+    }
+
+    // same as the epic critical path, over the tasks in the sprint
+    @GetMapping("/{sprintId}/critical-path")
+    public ResponseEntity<CriticalPathDTO> getCriticalPath(@PathVariable Integer sprintId) {
+        return ResponseEntity.ok(taskDependencyService.getSprintCriticalPath(sprintId));
+    }
+
+    // preview of the backlog tasks that best fill the sprint's free capacity
+    @GetMapping("/{sprintId}/plan")
+    public ResponseEntity<SprintPlanDTO> planSprint(@PathVariable Integer sprintId) {
+        return ResponseEntity.ok(sprintPlanningService.planSprint(sprintId));
+    }
+
+    // plans again and moves the chosen tasks into the sprint in one batch
+    @PostMapping("/{sprintId}/plan")
+    @PreAuthorize("hasRole('SCRUM_MASTER') or hasRole('ADMIN')")
+    public ResponseEntity<SprintPlanDTO> applySprintPlan(@PathVariable Integer sprintId) {
+        return ResponseEntity.ok(sprintPlanningService.applySprintPlan(sprintId));
+    }
+
+    // copies the sprint and its tasks into a new sprint that is not started yet
+    @PostMapping("/{sprintId}/clone")
+    @PreAuthorize("hasRole('SCRUM_MASTER') or hasRole('ADMIN')")
+    public ResponseEntity<CloneDTO> cloneSprint(@PathVariable Integer sprintId,
+                                                @RequestParam(required = false) String name,
+                                                @RequestParam(defaultValue = "0") int shiftDays,
+                                                @RequestParam(defaultValue = "false") boolean resetStatus,
+                                                @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(cloneService.cloneSprint(sprintId, name, shiftDays, resetStatus, userId));
     }
 }
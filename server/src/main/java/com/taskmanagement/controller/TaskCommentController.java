@@ -28,10 +28,11 @@ public class TaskCommentController {
     @GetMapping("/task/{taskId}")
     public ResponseEntity<List<TaskCommentDTO>> getCommentsByTaskId(
             @PathVariable Integer taskId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting comments for task {}", userId, taskId);
-        return ResponseEntity.ok(commentService.getCommentsByTaskId(taskId, userId));
+        return ResponseEntity.ok(commentService.getCommentsByTaskId(taskId, userId, includeArchived));
     }
 
     @PostMapping
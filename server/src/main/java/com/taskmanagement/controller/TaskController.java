@@ -2,16 +2,21 @@ package com.taskmanagement.controller;
 
 import com.taskmanagement.dto.TaskDTO;
 import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.dto.TaskPatchDTO;
 import com.taskmanagement.dto.TaskPriorityDTO;
 import com.taskmanagement.dto.TaskStatusDTO;
+import com.taskmanagement.dto.TaskTreeDTO;
+import com.taskmanagement.service.TaskDependencyService;
 import com.taskmanagement.service.TaskService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -25,16 +30,20 @@ public class TaskController {
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
     private final TaskService taskService;
+    private final TaskDependencyService taskDependencyService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskDependencyService taskDependencyService) {
         this.taskService = taskService;
+        this.taskDependencyService = taskDependencyService;
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<TaskDTO>> getAllTasks(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting all tasks", userId);
-        return ResponseEntity.ok(taskService.getAllTasks(userId));
+        return ResponseEntity.ok(taskService.getAllTasks(userId, includeArchived));
     }
 
     // apply a filter DTO to filter for certain tasks
@@ -47,14 +56,59 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getTasksByFilter(filterDTO, userId));
     }
 
+    // all matching tasks as ndjson, written while they are read so large exports do not sit in memory
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @RequestParam(required = false) UUID assignedToId,
+            @RequestParam(required = false) Integer statusId,
+            @RequestParam(required = false) Integer priorityId,
+            @RequestParam(required = false) Integer sprintId,
+            @RequestParam(required = false) Integer epicId,
+            @RequestParam(required = false) List<String> anyLabels,
+            @RequestParam(required = false) List<String> allLabels,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} streaming tasks", userId);
+
+        TaskFilterDTO filterDTO = new TaskFilterDTO(assignedToId, statusId, priorityId, sprintId, epicId);
+        filterDTO.setAnyLabels(anyLabels);
+        filterDTO.setAllLabels(allLabels);
+        StreamingResponseBody body = out -> taskService.writeTasksAsNdjson(filterDTO, out, userId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // count and point totals for a filter
+    @PostMapping("/filter/stats")
+    public ResponseEntity<Map<String, Long>> getFilterStats(
+            @RequestBody TaskFilterDTO filterDTO,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting filter stats", userId);
+        return ResponseEntity.ok(taskService.getFilterStats(filterDTO, userId));
+    }
+
+    // label -> number of tasks in the filter carrying it, most used first
+    @PostMapping("/filter/labels")
+    public ResponseEntity<Map<String, Long>> getLabelCounts(
+            @RequestBody TaskFilterDTO filterDTO,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting label counts", userId);
+        return ResponseEntity.ok(taskService.getLabelCounts(filterDTO, userId));
+    }
+
     // get tasks for assignee
     @GetMapping("/assignee/{assigneeId}")
     public ResponseEntity<List<TaskDTO>> getTasksByAssignee(
             @PathVariable UUID assigneeId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting tasks for assignee {}", userId, assigneeId);
-        return ResponseEntity.ok(taskService.getTasksByAssignee(assigneeId, userId));
+        return ResponseEntity.ok(taskService.getTasksByAssignee(assigneeId, userId, includeArchived));
     }
 
     // list current users tasks
@@ -69,20 +123,22 @@ public class TaskController {
     @GetMapping("/epic/{epicId}")
     public ResponseEntity<List<TaskDTO>> getTasksByEpic(
             @PathVariable Integer epicId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting tasks for epic {}", userId, epicId);
-        return ResponseEntity.ok(taskService.getTasksByEpic(epicId, userId));
+        return ResponseEntity.ok(taskService.getTasksByEpic(epicId, userId, includeArchived));
     }
 
     // get tasks for a certain sprint
     @GetMapping("/sprint/{sprintId}")
     public ResponseEntity<List<TaskDTO>> getTasksBySprint(
             @PathVariable Integer sprintId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting tasks for sprint {}", userId, sprintId);
-        return ResponseEntity.ok(taskService.getTasksBySprint(sprintId, userId));
+        return ResponseEntity.ok(taskService.getTasksBySprint(sprintId, userId, includeArchived));
     }
 
     // go get details for a certain sprint how many of each category
@@ -117,10 +173,21 @@ public class TaskController {
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTaskById(
             @PathVariable Integer id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} requesting task {}", userId, id);
-        return ResponseEntity.ok(taskService.getTaskById(id, userId));
+        return ResponseEntity.ok(taskService.getTaskById(id, userId, includeArchived));
+    }
+
+    // the task with all of its subtasks nested below it
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<TaskTreeDTO> getTaskSubtree(
+            @PathVariable Integer id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting subtree of task {}", userId, id);
+        return ResponseEntity.ok(taskService.getTaskSubtree(id, userId));
     }
 
     // creating task
@@ -145,6 +212,17 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(taskDTO, userId));
     }
 
+    // only the fields that are sent change, assignee, status and priority may be given by name
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskDTO> patchTask(
+            @PathVariable Integer id,
+            @Valid @RequestBody TaskPatchDTO patch,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} patching task {}", userId, id);
+        return ResponseEntity.ok(taskService.patchTask(id, patch, userId));
+    }
+
     // updating task status
     @PatchMapping("/{id}/status/{statusId}")
     public ResponseEntity<TaskDTO> changeTaskStatus(
@@ -156,6 +234,17 @@ public class TaskController {
         return ResponseEntity.ok(taskService.changeTaskStatus(id, statusId, userId));
     }
 
+    // same by status name
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<TaskDTO> changeTaskStatusByName(
+            @PathVariable Integer id,
+            @RequestParam String name,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} changing status of task {} to {}", userId, id, name);
+        return ResponseEntity.ok(taskService.changeTaskStatusByName(id, name, userId));
+    }
+
     // assign task to certain
     @PatchMapping("/{id}/assign/{assigneeId}")
     public ResponseEntity<TaskDTO> assignTask(
@@ -167,6 +256,17 @@ public class TaskController {
         return ResponseEntity.ok(taskService.assignTask(id, assigneeId, userId));
     }
 
+    // assignee is an email or a name, ambiguous names are refused
+    @PatchMapping("/{id}/assign")
+    public ResponseEntity<TaskDTO> assignTaskByName(
+            @PathVariable Integer id,
+            @RequestParam String assignee,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} assigning task {} to {}", userId, id, assignee);
+        return ResponseEntity.ok(taskService.assignTaskByName(id, assignee, userId));
+    }
+
     // add task to a certain sprint
     @PatchMapping("/{id}/add-to-sprint/{sprintId}")
     @PreAuthorize("hasRole('SCRUM_MASTER') or hasRole('ADMIN') or hasRole('PRODUCT_OWNER')")
@@ -224,6 +324,29 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    // task {id} cannot start before {dependsOnId} is done, refused when it would make a cycle
+    @PostMapping("/{id}/dependencies/{dependsOnId}")
+    public ResponseEntity<Void> addDependency(
+            @PathVariable Integer id,
+            @PathVariable Integer dependsOnId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} making task {} depend on task {}", userId, id, dependsOnId);
+        taskDependencyService.addDependency(id, dependsOnId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/dependencies/{dependsOnId}")
+    public ResponseEntity<Void> removeDependency(
+            @PathVariable Integer id,
+            @PathVariable Integer dependsOnId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} removing dependency of task {} on task {}", userId, id, dependsOnId);
+        taskDependencyService.removeDependency(id, dependsOnId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     // get possible statuses
     @GetMapping("/statuses")
     public ResponseEntity<List<TaskStatusDTO>> getAllStatuses(@AuthenticationPrincipal UserDetails userDetails) {
@@ -244,10 +367,11 @@ public class TaskController {
     @GetMapping("/search")
     public ResponseEntity<List<TaskDTO>> searchTasksByTitle(
             @RequestParam String title,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
         UUID userId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} searching tasks by title containing: {}", userId, title);
-        return ResponseEntity.ok(taskService.searchTasksByTitle(title, userId));
+        return ResponseEntity.ok(taskService.searchTasksByTitle(title, userId, includeArchived));
     }
 
     // remove epic from task
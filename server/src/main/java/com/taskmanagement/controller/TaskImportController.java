@@ -0,0 +1,54 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskImportDTO;
+import com.taskmanagement.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tasks/import")
+public class TaskImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportController.class);
+
+    private final TaskImportService importService;
+
+    public TaskImportController(TaskImportService importService) {
+        this.importService = importService;
+    }
+
+    // body is the raw file, format comes from the content type
+    @PostMapping(consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('SCRUM_MASTER') or hasRole('ADMIN') or hasRole('PRODUCT_OWNER')")
+    public ResponseEntity<TaskImportDTO> startImport(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        String format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? "ndjson" : "csv";
+        logger.info("User {} starting {} task import", userId, format);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(importService.startImport(request.getInputStream(), format, userId));
+    }
+
+    // progress and the first row errors
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskImportDTO> getImport(
+            @PathVariable Integer id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        UUID userId = UUID.fromString(userDetails.getUsername());
+        logger.info("User {} requesting task import {}", userId, id);
+        return ResponseEntity.ok(importService.getImport(id, userId));
+    }
+}
@@ -1,6 +1,8 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.dto.ReassignmentDTO;
 import com.taskmanagement.dto.UserDTO;
+import com.taskmanagement.dto.UserDeactivationDTO;
 import com.taskmanagement.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,23 +82,18 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    // the body is optional, without one the user's open tasks keep their assignee
     @PutMapping("/{id}/deactivate")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> deactivateUser(
+    public ResponseEntity<UserDeactivationDTO> deactivateUser(
             @PathVariable UUID id,
+            @RequestBody(required = false) ReassignmentDTO reassignment,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         UUID requesterId = UUID.fromString(userDetails.getUsername());
         logger.info("User {} deactivating user with ID {}", requesterId, id);
 
-        boolean success = userService.deactivateUser(id);
-
-        if (success) {
-            return ResponseEntity.ok("User with ID " + id + " has been deactivated successfully.");
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body("No user found with the ID: " + id);
-        }
+        return ResponseEntity.ok(userService.deactivateUser(id, reassignment));
     }
 
 
@@ -0,0 +1,14 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class BoardAssigneeDTO {
+    private UUID userId;
+    private String name;
+    private int taskCount;
+    private int points;
+    private int completedPoints;
+}
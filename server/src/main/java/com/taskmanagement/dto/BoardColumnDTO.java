@@ -0,0 +1,14 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BoardColumnDTO {
+    private Integer statusId;
+    private String statusName;
+    private int taskCount;
+    private int points;
+    private List<TaskDTO> tasks;
+}
@@ -0,0 +1,15 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+public class BurndownDTO {
+    private int sprintId;
+    private String sprintName;
+    private ZonedDateTime startDate;
+    private ZonedDateTime endDate;
+    private List<BurndownPointDTO> points;
+}
@@ -0,0 +1,15 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BurndownPointDTO {
+    private LocalDate date;
+    private int totalPoints;
+    private int completedPoints;
+    private int remainingPoints;
+    // straight line from the first day's total down to zero on the end date
+    private double idealRemainingPoints;
+}
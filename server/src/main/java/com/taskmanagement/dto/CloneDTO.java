@@ -0,0 +1,16 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+// result of cloning an epic or a sprint together with its tasks
+@Data
+public class CloneDTO {
+    private int sourceId;
+    private int id;
+    private String name;
+    private ZonedDateTime startDate;
+    private ZonedDateTime endDate;
+    private int clonedTasks;
+}
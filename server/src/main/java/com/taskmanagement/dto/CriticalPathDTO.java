@@ -0,0 +1,24 @@
+package com.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Data
+public class CriticalPathDTO {
+    private Integer epicId;
+    private Integer sprintId;
+
+    // remaining estimated hours along the longest chain of dependencies
+    private long totalHours;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    private ZonedDateTime earliestFinish;
+
+    private List<ScheduledTaskDTO> criticalPath;
+
+    // open tasks anywhere in the epic or sprint that cannot make their due date
+    private List<ScheduledTaskDTO> lateTasks;
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class CycleTimeDTO {
+    private Integer sprintId;
+    private UUID userId;
+    private int completedTasks;
+    private Double averageCycleTimeHours;
+    private Double averageLeadTimeHours;
+    // status name -> average hours a task stayed in it, in board order
+    private Map<String, Double> averageHoursInStatus;
+}
@@ -0,0 +1,18 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// the caller's own work, what task-my, task-overdue and task-recent showed one request each
+@Data
+public class DashboardDTO {
+    // soonest due first
+    private List<TaskDTO> openTasks;
+    // the open tasks already past their due date, most overdue first
+    private List<TaskDTO> overdueTasks;
+    // the caller's tasks updated inside the window, finished ones included, newest first
+    private List<TaskDTO> recentTasks;
+    private int openPoints;
+    private int recentHours;
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.ZonedDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Setter
@@ -20,6 +21,13 @@ public class EpicDTO {
     private ZonedDateTime startDate;
     private ZonedDateTime targetEndDate;
 
+    // read only rollups of the epic's tasks
+    private Integer totalTasks;
+    private Integer doneTasks;
+    private Integer inProgressTasks;
+    private Map<String, Integer> storyPointsByStatus;
+    private ZonedDateTime latestDueDate;
+
     public EpicDTO() {
     }
 
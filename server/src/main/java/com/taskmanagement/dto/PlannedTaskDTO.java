@@ -0,0 +1,15 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+@Data
+public class PlannedTaskDTO {
+    private Integer taskId;
+    private String title;
+    private int storyPoints;
+    private String priorityName;
+    private String statusName;
+    private ZonedDateTime dueDate;
+}
@@ -0,0 +1,22 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+// where a deactivated user's open tasks go
+@Data
+public class ReassignmentDTO {
+    public enum Policy {
+        // everything to targetUserId
+        USER,
+        // spread evenly over the active users with roleName, in turn
+        ROUND_ROBIN,
+        // each task to whoever with roleName has the fewest open story points at that moment
+        LEAST_LOADED
+    }
+
+    private Policy policy;
+    private UUID targetUserId;
+    private String roleName;
+}
@@ -0,0 +1,27 @@
+package com.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+// a task placed on the dependency schedule, start and finish assume work on the epic or sprint starts now
+@Data
+public class ScheduledTaskDTO {
+    private Integer taskId;
+    private String title;
+    private String statusName;
+    private String assignedToName;
+    private int estimatedHours;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    private ZonedDateTime earliestStart;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    private ZonedDateTime earliestFinish;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private ZonedDateTime dueDate;
+
+    private boolean late;
+}
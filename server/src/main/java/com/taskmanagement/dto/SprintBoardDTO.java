@@ -0,0 +1,22 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// everything the sprint board shows, built in one request
+@Data
+public class SprintBoardDTO {
+    private SprintDTO sprint;
+    private String scrumMasterName;
+    // every status in display order, empty ones included
+    private List<BoardColumnDTO> columns;
+    // most points first
+    private List<BoardAssigneeDTO> assignees;
+    // by task id, tasks without comments are left out
+    private Map<Integer, Long> commentCounts;
+    private int totalTasks;
+    private int totalPoints;
+    private int completedPoints;
+}
@@ -0,0 +1,14 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+@Data
+public class SprintEndSummaryDTO {
+    private SprintDTO sprint;
+    private int completedTasks;
+    private int completedPoints;
+    // null when nothing was rolled over
+    private Integer rolloverSprintId;
+    private int rolledOverTasks;
+    private int rolledOverPoints;
+}
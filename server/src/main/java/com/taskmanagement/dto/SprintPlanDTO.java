@@ -0,0 +1,18 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SprintPlanDTO {
+    private int sprintId;
+    private int capacityPoints;
+    private int currentPoints;
+    private int plannedPoints;
+    private int candidateCount;
+    // false when the backlog was too large for the exact solver and the greedy one was used
+    private boolean exact;
+    private boolean applied;
+    private List<PlannedTaskDTO> tasks;
+}
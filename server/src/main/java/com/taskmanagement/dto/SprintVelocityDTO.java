@@ -0,0 +1,18 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+@Data
+public class SprintVelocityDTO {
+    private int sprintId;
+    private String sprintName;
+    private ZonedDateTime endDate;
+    private int capacityPoints;
+    private int committedPoints;
+    private int completedPoints;
+    private int completedTasks;
+    // completed points averaged over this sprint and the two closed before it
+    private double rollingAveragePoints;
+}
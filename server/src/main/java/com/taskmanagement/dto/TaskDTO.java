@@ -1,12 +1,15 @@
 package com.taskmanagement.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -17,12 +20,15 @@ public class TaskDTO {
 
     private Integer sprintId;
 
+    private Integer parentTaskId;
+
     private UUID createdById;
 
-    @NotNull(message = "Assigned user ID is required")
     private UUID assignedToId;
 
-    @NotNull(message = "Priority ID is required")
+    // email or name, only read when assignedToId is not given
+    private String assignee;
+
     private Integer priorityId;
 
     @NotBlank(message = "Title is required")
@@ -31,7 +37,6 @@ public class TaskDTO {
     @NotBlank(message = "Description is required")
     private String description;
 
-    @NotNull(message = "Status ID is required")
     private Integer statusId;
 
     @Min(value = 0, message = "Story points must be a positive number")
@@ -47,10 +52,37 @@ public class TaskDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private ZonedDateTime completedAt;
 
+    // trimmed and lower cased on save, left as they are when an update sends none
+    private List<String> labels;
+
     private String assignedToName;
+    // also accepted on writes in place of statusId and priorityId
     private String statusName;
     private String priorityName;
     private String epicName;
     private String sprintName;
 
-}
\ No newline at end of file
+    // rolled up over every subtask below this one, not just the direct ones
+    private int subtaskCount;
+    private int completedSubtasks;
+    private int subtaskPoints;
+    private int completedSubtaskPoints;
+
+    @JsonIgnore
+    @AssertTrue(message = "Assigned user ID or assignee is required")
+    public boolean isAssigneeGiven() {
+        return assignedToId != null || assignee != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Status ID or status name is required")
+    public boolean isStatusGiven() {
+        return statusId != null || statusName != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Priority ID or priority name is required")
+    public boolean isPriorityGiven() {
+        return priorityId != null || priorityName != null;
+    }
+}
@@ -2,6 +2,7 @@ package com.taskmanagement.dto;
 
 import lombok.Data;
 
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -11,6 +12,10 @@ public class TaskFilterDTO {
     private Integer priorityId;
     private Integer sprintId;
     private Integer epicId;
+    // tasks with at least one of anyLabels and every one of allLabels, either may be left out
+    private List<String> anyLabels;
+    private List<String> allLabels;
+    private boolean includeArchived;
 
     public TaskFilterDTO() {
     }
@@ -0,0 +1,25 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class TaskImportDTO {
+    private Integer id;
+    private UUID createdById;
+    private String format;
+    private String status;
+    private int processedRows;
+    private int importedRows;
+    private int failedRows;
+    private String message;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime completedAt;
+
+    // first 100 row errors, enough to fix a file without paging
+    private List<TaskImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+@Data
+public class TaskImportErrorDTO {
+    private int rowNumber;
+    private String message;
+
+    public TaskImportErrorDTO() {
+    }
+
+    public TaskImportErrorDTO(int rowNumber, String message) {
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+}
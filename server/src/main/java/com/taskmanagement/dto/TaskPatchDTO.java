@@ -0,0 +1,45 @@
+package com.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// the fields of a task to change, everything left null stays as it is. names are resolved on the server,
+// an id wins when both are given
+@Data
+public class TaskPatchDTO {
+    private String title;
+    private String description;
+
+    private UUID assignedToId;
+    // email or name
+    private String assignee;
+
+    private Integer statusId;
+    private String statusName;
+
+    private Integer priorityId;
+    private String priorityName;
+
+    @Min(value = 0, message = "Story points must be a positive number")
+    private Integer storyPoints;
+
+    @Min(value = 0, message = "Estimated hours must be a positive number")
+    private Integer estimatedHours;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private ZonedDateTime dueDate;
+
+    // 0 takes the task out of its epic
+    private Integer epicId;
+    // 0 moves the task back to the backlog
+    private Integer sprintId;
+    // 0 moves the task to the top level
+    private Integer parentTaskId;
+
+    private List<String> labels;
+}
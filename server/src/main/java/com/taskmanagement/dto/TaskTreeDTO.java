@@ -0,0 +1,12 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TaskTreeDTO {
+    private TaskDTO task;
+    private List<TaskTreeDTO> subtasks = new ArrayList<>();
+}
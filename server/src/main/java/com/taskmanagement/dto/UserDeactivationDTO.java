@@ -0,0 +1,15 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class UserDeactivationDTO {
+    private UserDTO user;
+    private int reassignedTasks;
+    private int reassignedPoints;
+    // new assignee id to number of tasks it received
+    private Map<String, Integer> reassignedTo = new LinkedHashMap<>();
+}
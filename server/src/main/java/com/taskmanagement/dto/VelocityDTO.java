@@ -0,0 +1,12 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VelocityDTO {
+    private Integer latestClosedSprintId;
+    private double averageVelocity;
+    private List<SprintVelocityDTO> sprints;
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class WorkloadDTO {
+    private UUID userId;
+    private String userName;
+    private int openTasks;
+    private int openPoints;
+    private int activeSprintPoints;
+    private int overdueTasks;
+    private double shareOfOpenPoints;
+    private int rank;
+}
@@ -0,0 +1,24 @@
+package com.taskmanagement.event;
+
+import lombok.Getter;
+
+import java.time.ZonedDateTime;
+
+// published by TaskDueTracker on the leader instance when a task enters the due-soon window or goes overdue
+@Getter
+public class TaskDueEvent {
+    public enum Kind {
+        DUE_SOON,
+        OVERDUE
+    }
+
+    private final Integer taskId;
+    private final ZonedDateTime dueDate;
+    private final Kind kind;
+
+    public TaskDueEvent(Integer taskId, ZonedDateTime dueDate, Kind kind) {
+        this.taskId = taskId;
+        this.dueDate = dueDate;
+        this.kind = kind;
+    }
+}
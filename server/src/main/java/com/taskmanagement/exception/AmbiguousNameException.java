@@ -0,0 +1,12 @@
+package com.taskmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// a name given in place of an id that matches more than one thing
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class AmbiguousNameException extends RuntimeException {
+    public AmbiguousNameException(String message) {
+        super(message);
+    }
+}
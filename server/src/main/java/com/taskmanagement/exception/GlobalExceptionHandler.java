@@ -43,6 +43,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
     }
 
+    // names that match more than one user
+    @ExceptionHandler(AmbiguousNameException.class)
+    public ResponseEntity<ApiErrorResponse> handleAmbiguousNameException(
+            AmbiguousNameException ex, WebRequest request) {
+        ApiErrorResponse error = new ApiErrorResponse();
+        error.setStatus(HttpStatus.BAD_REQUEST.value());
+        error.setMessage(ex.getMessage());
+        error.setPath(request.getDescription(false));
+        error.setTimestamp(new Date().getTime());
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     //validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidationException(
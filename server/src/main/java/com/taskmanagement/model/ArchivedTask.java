@@ -0,0 +1,82 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// a task moved out of the hot tables by the archiver, read only
+@Data
+@Entity
+@Table(name = "tasks_archive")
+public class ArchivedTask {
+    @Id
+    private Integer id;
+
+    @Column(name = "parent_task_id")
+    private Integer parentTaskId;
+
+    @Column(name = "epic_id")
+    private Integer epicId;
+
+    @Column(name = "sprint_id")
+    private Integer sprintId;
+
+    @Column(name = "created_by_id", nullable = false)
+    private UUID createdById;
+
+    @Column(name = "assigned_to_id", nullable = false)
+    private UUID assignedToId;
+
+    @Column(name = "priority_id", nullable = false)
+    private Integer priorityId;
+
+    @Column(name = "status_id", nullable = false)
+    private Integer statusId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "story_points", nullable = false)
+    private int storyPoints;
+
+    @Column(name = "estimated_hours", nullable = false)
+    private int estimatedHours;
+
+    @Column(name = "due_date", nullable = false)
+    private ZonedDateTime dueDate;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedAt;
+
+    @Column(nullable = false)
+    private String[] labels = new String[0];
+
+    @Column(name = "assigned_to_name", nullable = false)
+    private String assignedToName;
+
+    @Column(name = "status_name", nullable = false)
+    private String statusName;
+
+    @Column(name = "priority_name", nullable = false)
+    private String priorityName;
+
+    @Column(name = "epic_name")
+    private String epicName;
+
+    @Column(name = "sprint_name")
+    private String sprintName;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+}
@@ -0,0 +1,36 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "task_comments_archive")
+public class ArchivedTaskComment {
+    @Id
+    private Integer id;
+
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "user_name", nullable = false)
+    private String userName;
+
+    @Column(nullable = false)
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+}
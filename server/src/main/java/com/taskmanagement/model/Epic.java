@@ -7,6 +7,9 @@ import java.time.ZonedDateTime;
 @Entity
 @Table(name = "epics")
 @Data
+// epics get serialized with their owner so the owner role has to come along too
+@NamedEntityGraph(name = "Epic.withOwner", attributeNodes = @NamedAttributeNode(value = "owner", subgraph = "owner"),
+        subgraphs = @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("role")))
 public class Epic {
 
    @Id
@@ -19,7 +22,7 @@ public class Epic {
    @Column(nullable = false)
    private String description;
 
-   @ManyToOne(fetch = FetchType.EAGER)
+   @ManyToOne(fetch = FetchType.LAZY)
    @JoinColumn(name = "owner_id", nullable = false)
    private User owner;
 
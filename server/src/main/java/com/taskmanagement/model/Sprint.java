@@ -19,7 +19,7 @@ public class Sprint {
     @Column(nullable = false)
     private String goal;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "scrum_master_id", nullable = false)
     private User scrumMaster;
 
@@ -0,0 +1,33 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+@Data
+@Entity
+@IdClass(SprintBurndownId.class)
+@Table(name = "sprint_burndown")
+public class SprintBurndown {
+    @Id
+    @Column(name = "sprint_id")
+    private Integer sprintId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(name = "total_points", nullable = false)
+    private int totalPoints;
+
+    @Column(name = "completed_points", nullable = false)
+    private int completedPoints;
+
+    @Column(name = "remaining_points", nullable = false)
+    private int remainingPoints;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+}
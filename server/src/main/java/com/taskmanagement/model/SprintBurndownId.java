@@ -0,0 +1,16 @@
+package com.taskmanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintBurndownId implements Serializable {
+    private Integer sprintId;
+    private LocalDate snapshotDate;
+}
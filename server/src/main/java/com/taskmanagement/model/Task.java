@@ -2,6 +2,8 @@ package com.taskmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
@@ -9,6 +11,22 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "tasks")
+// fetch plans per use case, everything is lazy by default so pick one of these in the repository
+@NamedEntityGraph(name = "Task.list", attributeNodes = {
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode("priority"),
+        @NamedAttributeNode("epic"),
+        @NamedAttributeNode("sprint")
+})
+@NamedEntityGraph(name = "Task.detail", attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode("priority"),
+        @NamedAttributeNode("epic"),
+        @NamedAttributeNode("sprint")
+})
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,15 +40,22 @@ public class Task {
     @JoinColumn(name = "sprint_id")
     private Sprint sprint;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // the closure table under it is kept by TaskHierarchyService, this is only the direct link
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_task_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Task parentTask;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_id", nullable = false)
     private User assignedTo;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "priority_id", nullable = false)
     private TaskPriority priority;
 
@@ -40,7 +65,7 @@ public class Task {
     @Column(nullable = false)
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
     private TaskStatus status;
 
@@ -56,6 +81,10 @@ public class Task {
     @Column(name = "completed_at")
     private ZonedDateTime completedAt;
 
+    // free-form, stored trimmed and lower case
+    @Column(nullable = false)
+    private String[] labels = new String[0];
+
     @Column(name = "created_at", nullable = false)
     private ZonedDateTime createdAt;
 
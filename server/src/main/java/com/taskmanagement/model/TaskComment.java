@@ -9,16 +9,18 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "task_comments")
+// comment list only needs the author, task is only ever read by id
+@NamedEntityGraph(name = "TaskComment.list", attributeNodes = @NamedAttributeNode("user"))
 public class TaskComment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
     private Task task;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -0,0 +1,53 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// one bulk import run, the counters are updated as chunks get processed so clients can poll progress
+@Data
+@Entity
+@Table(name = "task_imports")
+public class TaskImport {
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "created_by_id", nullable = false)
+    private UUID createdById;
+
+    @Column(nullable = false, length = 10)
+    private String format;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private int importedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private int failedRows;
+
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+    }
+}
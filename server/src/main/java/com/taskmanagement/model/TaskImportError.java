@@ -0,0 +1,31 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "task_import_errors")
+public class TaskImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "import_id", nullable = false)
+    private Integer importId;
+
+    @Column(name = "row_number", nullable = false)
+    private int rowNumber;
+
+    @Column(nullable = false)
+    private String message;
+
+    public TaskImportError() {
+    }
+
+    public TaskImportError(Integer importId, int rowNumber, String message) {
+        this.importId = importId;
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+}
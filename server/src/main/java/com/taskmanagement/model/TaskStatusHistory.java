@@ -0,0 +1,42 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Immutable
+@Table(name = "task_status_history")
+public class TaskStatusHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    @Column(name = "from_status_id")
+    private Integer fromStatusId;
+
+    @Column(name = "to_status_id", nullable = false)
+    private Integer toStatusId;
+
+    @Column(name = "sprint_id")
+    private Integer sprintId;
+
+    @Column(name = "assigned_to_id", nullable = false)
+    private UUID assignedToId;
+
+    @Column(name = "changed_by_id", nullable = false)
+    private UUID changedById;
+
+    @Column(name = "changed_at", nullable = false)
+    private ZonedDateTime changedAt;
+
+    @Column(name = "seconds_in_previous_status")
+    private Long secondsInPreviousStatus;
+}
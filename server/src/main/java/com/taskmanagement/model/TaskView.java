@@ -0,0 +1,98 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// flat read model of a task, written by the services whenever a task or one of the names it shows changes
+@Data
+@Entity
+@Table(name = "task_view")
+public class TaskView {
+    @Id
+    @Column(name = "task_id")
+    private Integer taskId;
+
+    @Column(name = "epic_id")
+    private Integer epicId;
+
+    @Column(name = "sprint_id")
+    private Integer sprintId;
+
+    @Column(name = "parent_task_id")
+    private Integer parentTaskId;
+
+    @Column(name = "created_by_id", nullable = false)
+    private UUID createdById;
+
+    @Column(name = "assigned_to_id", nullable = false)
+    private UUID assignedToId;
+
+    @Column(name = "priority_id", nullable = false)
+    private Integer priorityId;
+
+    @Column(name = "status_id", nullable = false)
+    private Integer statusId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "story_points", nullable = false)
+    private int storyPoints;
+
+    @Column(name = "estimated_hours", nullable = false)
+    private int estimatedHours;
+
+    @Column(name = "due_date", nullable = false)
+    private ZonedDateTime dueDate;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedAt;
+
+    @Column(nullable = false)
+    private String[] labels = new String[0];
+
+    @Column(name = "assigned_to_name", nullable = false)
+    private String assignedToName;
+
+    @Column(name = "status_name", nullable = false)
+    private String statusName;
+
+    @Column(name = "priority_name", nullable = false)
+    private String priorityName;
+
+    @Column(name = "epic_name")
+    private String epicName;
+
+    @Column(name = "sprint_name")
+    private String sprintName;
+
+    // totals over the whole subtree below the task, only ever changed by deltas in TaskHierarchyRepository
+    // so saving a view never writes them back
+    @Column(name = "subtask_count", nullable = false, insertable = false, updatable = false)
+    private int subtaskCount;
+
+    @Column(name = "completed_subtasks", nullable = false, insertable = false, updatable = false)
+    private int completedSubtasks;
+
+    @Column(name = "subtask_points", nullable = false, insertable = false, updatable = false)
+    private int subtaskPoints;
+
+    @Column(name = "completed_subtask_points", nullable = false, insertable = false, updatable = false)
+    private int completedSubtaskPoints;
+
+    // needed for the recently updated list, the task's own updated_at is only set on flush
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = ZonedDateTime.now();
+    }
+}
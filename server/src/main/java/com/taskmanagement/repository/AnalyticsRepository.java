@@ -0,0 +1,114 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.SprintVelocityDTO;
+import com.taskmanagement.dto.WorkloadDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// team level planning numbers, each one a single aggregate query with window functions on top
+@Repository
+public class AnalyticsRepository {
+
+    private static final String CLOSED_SPRINTS = "NOT is_active AND end_date <= NOW()";
+
+    private static final String LATEST_CLOSED_SPRINT_SQL =
+            "SELECT id FROM sprints WHERE " + CLOSED_SPRINTS + " ORDER BY end_date DESC, id DESC LIMIT 1";
+
+    // archived tasks are exactly the ones old closed sprints were made of, so they are read too.
+    // only work finished by the sprint's end date counts towards its velocity. unfinished tasks leave a sprint when
+    // they are rolled over, what it committed to is the total of its last burndown row, written as it ended.
+    // sprints closed before burndown was recorded fall back to the tasks still in them
+    private static final String VELOCITY_SQL =
+            "WITH closed AS ( " +
+            "    SELECT id, name, end_date, capacity_points FROM sprints WHERE " + CLOSED_SPRINTS + " " +
+            "    ORDER BY end_date DESC, id DESC LIMIT ?), " +
+            "final_burndown AS ( " +
+            "    SELECT DISTINCT ON (sprint_id) sprint_id, total_points FROM sprint_burndown " +
+            "    WHERE sprint_id IN (SELECT id FROM closed) ORDER BY sprint_id, snapshot_date DESC), " +
+            "sprint_tasks AS ( " +
+            "    SELECT sprint_id, story_points, completed_at FROM tasks WHERE sprint_id IN (SELECT id FROM closed) " +
+            "    UNION ALL " +
+            "    SELECT sprint_id, story_points, completed_at FROM tasks_archive WHERE sprint_id IN (SELECT id FROM closed)), " +
+            "per_sprint AS ( " +
+            "    SELECT c.id, c.name, c.end_date, c.capacity_points, " +
+            "           COALESCE(MAX(b.total_points), SUM(t.story_points), 0) AS committed_points, " +
+            "           COALESCE(SUM(t.story_points) FILTER (WHERE t.completed_at <= c.end_date), 0) AS completed_points, " +
+            "           COUNT(t.sprint_id) FILTER (WHERE t.completed_at <= c.end_date) AS completed_tasks " +
+            "    FROM closed c " +
+            "    LEFT JOIN sprint_tasks t ON t.sprint_id = c.id " +
+            "    LEFT JOIN final_burndown b ON b.sprint_id = c.id " +
+            "    GROUP BY c.id, c.name, c.end_date, c.capacity_points) " +
+            "SELECT id, name, end_date, capacity_points, committed_points, completed_points, completed_tasks, " +
+            "       AVG(completed_points) OVER (ORDER BY end_date, id ROWS BETWEEN 2 PRECEDING AND CURRENT ROW) " +
+            "FROM per_sprint ORDER BY end_date, id";
+
+    // open work per active user, the share and rank are taken over the whole team in the same pass
+    private static final String WORKLOAD_SQL =
+            "SELECT u.id, u.name, " +
+            "       COUNT(t.id) AS open_tasks, " +
+            "       COALESCE(SUM(t.story_points), 0) AS open_points, " +
+            "       COALESCE(SUM(t.story_points) FILTER (WHERE s.is_active), 0) AS active_sprint_points, " +
+            "       COUNT(t.id) FILTER (WHERE t.due_date < NOW()) AS overdue_tasks, " +
+            "       COALESCE(SUM(t.story_points), 0)::FLOAT / NULLIF(SUM(SUM(t.story_points)) OVER (), 0) AS share, " +
+            "       RANK() OVER (ORDER BY COALESCE(SUM(t.story_points), 0) DESC) AS load_rank " +
+            "FROM users u " +
+            "LEFT JOIN tasks t ON t.assigned_to_id = u.id AND t.completed_at IS NULL " +
+            "    AND (CAST(? AS INT) IS NULL OR t.sprint_id = ?) " +
+            "LEFT JOIN sprints s ON s.id = t.sprint_id " +
+            "WHERE u.is_active " +
+            "GROUP BY u.id, u.name " +
+            "ORDER BY load_rank, u.name";
+
+    private static final RowMapper<SprintVelocityDTO> VELOCITY_ROW = (rs, rowNum) -> {
+        SprintVelocityDTO dto = new SprintVelocityDTO();
+        dto.setSprintId(rs.getInt(1));
+        dto.setSprintName(rs.getString(2));
+        Timestamp endDate = rs.getTimestamp(3);
+        dto.setEndDate(endDate.toInstant().atZone(ZoneId.systemDefault()));
+        dto.setCapacityPoints(rs.getInt(4));
+        dto.setCommittedPoints(rs.getInt(5));
+        dto.setCompletedPoints(rs.getInt(6));
+        dto.setCompletedTasks(rs.getInt(7));
+        dto.setRollingAveragePoints(rs.getDouble(8));
+        return dto;
+    };
+
+    private static final RowMapper<WorkloadDTO> WORKLOAD_ROW = (rs, rowNum) -> {
+        WorkloadDTO dto = new WorkloadDTO();
+        dto.setUserId(rs.getObject(1, UUID.class));
+        dto.setUserName(rs.getString(2));
+        dto.setOpenTasks(rs.getInt(3));
+        dto.setOpenPoints(rs.getInt(4));
+        dto.setActiveSprintPoints(rs.getInt(5));
+        dto.setOverdueTasks(rs.getInt(6));
+        dto.setShareOfOpenPoints(rs.getDouble(7));
+        dto.setRank(rs.getInt(8));
+        return dto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Integer> findLatestClosedSprintId() {
+        return jdbcTemplate.queryForList(LATEST_CLOSED_SPRINT_SQL, Integer.class).stream().findFirst();
+    }
+
+    // oldest first
+    public List<SprintVelocityDTO> findVelocity(int sprints) {
+        return jdbcTemplate.query(VELOCITY_SQL, VELOCITY_ROW, sprints);
+    }
+
+    public List<WorkloadDTO> findWorkload(Integer sprintId) {
+        return jdbcTemplate.query(WORKLOAD_SQL, WORKLOAD_ROW, sprintId, sprintId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanagement.model.ArchivedTaskComment;
+
+@Repository
+public interface ArchivedTaskCommentRepository extends JpaRepository<ArchivedTaskComment, Integer> {
+    List<ArchivedTaskComment> findByTaskIdOrderByCreatedAtDesc(Integer taskId);
+}
@@ -0,0 +1,29 @@
+package com.taskmanagement.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanagement.model.ArchivedTask;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Integer> {
+    List<ArchivedTask> findByAssignedToId(UUID assignedToId);
+
+    List<ArchivedTask> findByEpicId(Integer epicId);
+
+    List<ArchivedTask> findBySprintId(Integer sprintId);
+
+    // archived tasks keep the epic name they were done under, only the link goes
+    @Modifying
+    @Query("UPDATE ArchivedTask a SET a.epicId = NULL WHERE a.epicId = :epicId")
+    int detachEpic(@Param("epicId") Integer epicId);
+
+    @Query("SELECT a FROM ArchivedTask a WHERE LOWER(a.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    List<ArchivedTask> findByTitleContainingIgnoreCase(@Param("title") String title);
+}
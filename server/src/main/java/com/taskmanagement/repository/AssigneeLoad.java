@@ -0,0 +1,15 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+// open tasks and story points currently assigned to one user
+@Data
+@AllArgsConstructor
+public class AssigneeLoad {
+    private UUID userId;
+    private long openTasks;
+    private long openPoints;
+}
@@ -0,0 +1,12 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// number of comments on one task
+@Data
+@AllArgsConstructor
+public class CommentCount {
+    private Integer taskId;
+    private long comments;
+}
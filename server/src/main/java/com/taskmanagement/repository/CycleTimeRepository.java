@@ -0,0 +1,66 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// status_time_aggregates and throughput_aggregates are only ever added to, one upsert per scope per transition
+@Repository
+public class CycleTimeRepository {
+    public static final String SPRINT = "SPRINT";
+    public static final String USER = "USER";
+
+    private static final String ADD_STATUS_TIME_SQL =
+            "INSERT INTO status_time_aggregates (scope, scope_id, status_id, total_seconds, exits) " +
+            "VALUES (?, ?, ?, ?, 1) " +
+            "ON CONFLICT (scope, scope_id, status_id) DO UPDATE " +
+            "SET total_seconds = status_time_aggregates.total_seconds + EXCLUDED.total_seconds, " +
+            "    exits = status_time_aggregates.exits + 1";
+
+    private static final String ADD_COMPLETION_SQL =
+            "INSERT INTO throughput_aggregates (scope, scope_id, completed_tasks, total_cycle_seconds, total_lead_seconds) " +
+            "VALUES (?, ?, 1, ?, ?) " +
+            "ON CONFLICT (scope, scope_id) DO UPDATE " +
+            "SET completed_tasks = throughput_aggregates.completed_tasks + 1, " +
+            "    total_cycle_seconds = throughput_aggregates.total_cycle_seconds + EXCLUDED.total_cycle_seconds, " +
+            "    total_lead_seconds = throughput_aggregates.total_lead_seconds + EXCLUDED.total_lead_seconds";
+
+    private static final String FIND_STATUS_TIMES_SQL =
+            "SELECT s.name, a.total_seconds, a.exits " +
+            "FROM status_time_aggregates a " +
+            "JOIN task_statuses s ON s.id = a.status_id " +
+            "WHERE a.scope = ? AND a.scope_id = ? " +
+            "ORDER BY s.display_order";
+
+    private static final String FIND_THROUGHPUT_SQL =
+            "SELECT completed_tasks, total_cycle_seconds, total_lead_seconds " +
+            "FROM throughput_aggregates WHERE scope = ? AND scope_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CycleTimeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addStatusTime(String scope, String scopeId, Integer statusId, long seconds) {
+        jdbcTemplate.update(ADD_STATUS_TIME_SQL, scope, scopeId, statusId, seconds);
+    }
+
+    public void addCompletion(String scope, String scopeId, long cycleSeconds, long leadSeconds) {
+        jdbcTemplate.update(ADD_COMPLETION_SQL, scope, scopeId, cycleSeconds, leadSeconds);
+    }
+
+    public List<StatusTimeTotal> findStatusTimes(String scope, String scopeId) {
+        return jdbcTemplate.query(FIND_STATUS_TIMES_SQL,
+                (rs, rowNum) -> new StatusTimeTotal(rs.getString(1), rs.getLong(2), rs.getInt(3)),
+                scope, scopeId);
+    }
+
+    public Optional<ThroughputTotal> findThroughput(String scope, String scopeId) {
+        return jdbcTemplate.query(FIND_THROUGHPUT_SQL,
+                (rs, rowNum) -> new ThroughputTotal(rs.getInt(1), rs.getLong(2), rs.getLong(3)),
+                scope, scopeId).stream().findFirst();
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// taskId cannot start before dependsOnId is finished
+@Data
+@AllArgsConstructor
+public class DependencyEdge {
+    private int taskId;
+    private int dependsOnId;
+}
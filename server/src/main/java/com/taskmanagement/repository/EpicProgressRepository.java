@@ -0,0 +1,139 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// epic_status_totals and epic_progress are adjusted by deltas, a task leaving an epic or status is subtracted
+// from the old row and added to the new one
+@Repository
+public class EpicProgressRepository {
+
+    private static final String ADD_SQL =
+            "INSERT INTO epic_status_totals (epic_id, status_id, tasks, story_points) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (epic_id, status_id) DO UPDATE " +
+            "SET tasks = epic_status_totals.tasks + EXCLUDED.tasks, " +
+            "    story_points = epic_status_totals.story_points + EXCLUDED.story_points";
+
+    private static final String EXTEND_DUE_DATE_SQL =
+            "INSERT INTO epic_progress (epic_id, latest_due_date) VALUES (?, ?) " +
+            "ON CONFLICT (epic_id) DO UPDATE " +
+            "SET latest_due_date = GREATEST(epic_progress.latest_due_date, EXCLUDED.latest_due_date)";
+
+    // only when the task that left held the latest due date, the rest of the epic has to be looked at again.
+    // the task is excluded by id because its task_view row may not be flushed yet
+    private static final String SHRINK_DUE_DATE_SQL =
+            "UPDATE epic_progress SET latest_due_date = ( " +
+            "    SELECT MAX(due_date) FROM ( " +
+            "        SELECT due_date FROM task_view WHERE epic_id = ? AND task_id <> ? " +
+            "        UNION ALL " +
+            "        SELECT due_date FROM tasks_archive WHERE epic_id = ?) d) " +
+            "WHERE epic_id = ? AND latest_due_date <= ?";
+
+    // the import's staged rows are still there after publish, whatever was rejected is already deleted from them
+    private static final String ADD_IMPORTED_SQL =
+            "INSERT INTO epic_status_totals (epic_id, status_id, tasks, story_points) " +
+            "SELECT epic_id, status_id, COUNT(*), SUM(story_points) " +
+            "FROM task_import_staging WHERE import_id = ? AND epic_id IS NOT NULL " +
+            "GROUP BY epic_id, status_id " +
+            "ON CONFLICT (epic_id, status_id) DO UPDATE " +
+            "SET tasks = epic_status_totals.tasks + EXCLUDED.tasks, " +
+            "    story_points = epic_status_totals.story_points + EXCLUDED.story_points";
+
+    private static final String EXTEND_IMPORTED_DUE_DATES_SQL =
+            "INSERT INTO epic_progress (epic_id, latest_due_date) " +
+            "SELECT epic_id, MAX(due_date) FROM task_import_staging WHERE import_id = ? AND epic_id IS NOT NULL " +
+            "GROUP BY epic_id " +
+            "ON CONFLICT (epic_id) DO UPDATE " +
+            "SET latest_due_date = GREATEST(epic_progress.latest_due_date, EXCLUDED.latest_due_date)";
+
+    // tasks written in bulk straight to tasks and task_view, such as clones
+    private static final String ADD_TASKS_SQL =
+            "INSERT INTO epic_status_totals (epic_id, status_id, tasks, story_points) " +
+            "SELECT epic_id, status_id, COUNT(*), SUM(story_points) " +
+            "FROM task_view WHERE task_id = ANY(?) AND epic_id IS NOT NULL " +
+            "GROUP BY epic_id, status_id " +
+            "ON CONFLICT (epic_id, status_id) DO UPDATE " +
+            "SET tasks = epic_status_totals.tasks + EXCLUDED.tasks, " +
+            "    story_points = epic_status_totals.story_points + EXCLUDED.story_points";
+
+    private static final String EXTEND_TASK_DUE_DATES_SQL =
+            "INSERT INTO epic_progress (epic_id, latest_due_date) " +
+            "SELECT epic_id, MAX(due_date) FROM task_view WHERE task_id = ANY(?) AND epic_id IS NOT NULL " +
+            "GROUP BY epic_id " +
+            "ON CONFLICT (epic_id) DO UPDATE " +
+            "SET latest_due_date = GREATEST(epic_progress.latest_due_date, EXCLUDED.latest_due_date)";
+
+    private static final String FIND_STATUS_TOTALS_SQL =
+            "SELECT t.epic_id, s.name, t.tasks, t.story_points " +
+            "FROM epic_status_totals t " +
+            "JOIN task_statuses s ON s.id = t.status_id " +
+            "WHERE t.epic_id = ANY(?) AND t.tasks > 0 " +
+            "ORDER BY t.epic_id, s.display_order";
+
+    private static final String FIND_LATEST_DUE_DATES_SQL =
+            "SELECT epic_id, latest_due_date FROM epic_progress WHERE epic_id = ANY(?) AND latest_due_date IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EpicProgressRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(Integer epicId, Integer statusId, int tasks, int storyPoints) {
+        jdbcTemplate.update(ADD_SQL, epicId, statusId, tasks, storyPoints);
+    }
+
+    public void extendDueDate(Integer epicId, ZonedDateTime dueDate) {
+        jdbcTemplate.update(EXTEND_DUE_DATE_SQL, epicId, Timestamp.from(dueDate.toInstant()));
+    }
+
+    public void shrinkDueDate(Integer epicId, Integer removedTaskId, ZonedDateTime removedDueDate) {
+        jdbcTemplate.update(SHRINK_DUE_DATE_SQL, epicId, removedTaskId, epicId, epicId,
+                Timestamp.from(removedDueDate.toInstant()));
+    }
+
+    public void addImported(Integer importId) {
+        jdbcTemplate.update(ADD_IMPORTED_SQL, importId);
+        jdbcTemplate.update(EXTEND_IMPORTED_DUE_DATES_SQL, importId);
+    }
+
+    public void addTasks(Collection<Integer> taskIds) {
+        Integer[] ids = taskIds.toArray(new Integer[0]);
+        jdbcTemplate.update(ADD_TASKS_SQL, ps -> ps.setArray(1, toArray(ps.getConnection(), ids)));
+        jdbcTemplate.update(EXTEND_TASK_DUE_DATES_SQL, ps -> ps.setArray(1, toArray(ps.getConnection(), ids)));
+    }
+
+    public List<EpicStatusTotal> findStatusTotals(Collection<Integer> epicIds) {
+        Integer[] ids = epicIds.toArray(new Integer[0]);
+        return jdbcTemplate.query(FIND_STATUS_TOTALS_SQL,
+                ps -> ps.setArray(1, toArray(ps.getConnection(), ids)),
+                (rs, rowNum) -> new EpicStatusTotal(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getInt(4)));
+    }
+
+    public Map<Integer, ZonedDateTime> findLatestDueDates(Collection<Integer> epicIds) {
+        Integer[] ids = epicIds.toArray(new Integer[0]);
+        Map<Integer, ZonedDateTime> dueDates = new HashMap<>();
+        jdbcTemplate.query(FIND_LATEST_DUE_DATES_SQL,
+                ps -> ps.setArray(1, toArray(ps.getConnection(), ids)),
+                rs -> {
+                    dueDates.put(rs.getInt(1), rs.getTimestamp(2).toInstant().atZone(ZoneId.systemDefault()));
+                });
+        return dueDates;
+    }
+
+    private static Array toArray(Connection connection, Integer[] ids) throws SQLException {
+        return connection.createArrayOf("integer", ids);
+    }
+}
@@ -3,20 +3,33 @@ package com.taskmanagement.repository;
 import com.taskmanagement.dto.EpicDTO;
 import com.taskmanagement.model.Epic;
 import com.taskmanagement.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EpicRepository extends JpaRepository<Epic, Integer> {
+    // epic entities are returned straight from the controller, owner has to be loaded up front
+    @Override
+    @EntityGraph("Epic.withOwner")
+    List<Epic> findAll();
+
+    @Override
+    @EntityGraph("Epic.withOwner")
+    Optional<Epic> findById(Integer id);
+
+    @EntityGraph("Epic.withOwner")
     List<Epic> findByOwner(User owner);
 
     @Query("SELECT new com.taskmanagement.dto.EpicDTO(e.id, e.name, e.owner.name) FROM Epic e")
     List<EpicDTO> findAllWithOwner();
 
+    @EntityGraph("Epic.withOwner")
     @Query("SELECT e FROM Epic e WHERE LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Epic> findByNameContainingIgnoreCase(@Param("name") String name);
 }
@@ -0,0 +1,14 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// number of tasks and story points one epic has in one status
+@Data
+@AllArgsConstructor
+public class EpicStatusTotal {
+    private int epicId;
+    private String statusName;
+    private int tasks;
+    private int storyPoints;
+}
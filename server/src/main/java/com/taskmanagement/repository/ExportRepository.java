@@ -0,0 +1,129 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+// COPY ... TO STDOUT straight into the caller's stream, postgres formats the csv and nothing is held in memory.
+// COPY takes no bind parameters so filters are inlined. UUIDs and integers go in as they are, labels as escaped
+// string literals
+@Repository
+public class ExportRepository {
+
+    private static final String TASKS_SQL =
+            "SELECT v.task_id AS id, v.title, v.description, v.status_name AS status, v.priority_name AS priority, " +
+            "v.assigned_to_id, v.assigned_to_name, v.created_by_id, v.story_points, v.estimated_hours, " +
+            "v.due_date, v.completed_at, v.epic_id, v.epic_name, v.sprint_id, v.sprint_name, v.labels, v.updated_at " +
+            "FROM task_view v";
+
+    private static final String COMMENTS_SQL =
+            "SELECT c.id, c.task_id, v.title AS task_title, c.user_id, u.name AS user_name, c.content, " +
+            "c.created_at, c.updated_at " +
+            "FROM task_comments c " +
+            "JOIN task_view v ON v.task_id = c.task_id " +
+            "JOIN users u ON u.id = c.user_id";
+
+    private static final String SPRINTS_SQL =
+            "SELECT s.id, s.name, s.goal, s.scrum_master_id, u.name AS scrum_master_name, s.capacity_points, " +
+            "s.start_date, s.end_date, s.is_active, s.created_at, s.updated_at " +
+            "FROM sprints s " +
+            "JOIN users u ON u.id = s.scrum_master_id";
+
+    private static final String EPICS_SQL =
+            "SELECT e.id, e.name, e.description, e.owner_id, u.name AS owner_name, e.story_points, " +
+            "e.start_date, e.target_end_date, e.actual_end_date, e.created_at, e.updated_at " +
+            "FROM epics e " +
+            "JOIN users u ON u.id = e.owner_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long copyOut(String entity, TaskFilterDTO filter, OutputStream out) {
+        String sql = "COPY (" + buildQuery(entity, filter) + ") TO STDOUT WITH (FORMAT csv, HEADER)";
+
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    String buildQuery(String entity, TaskFilterDTO filter) {
+        List<String> conditions = new ArrayList<>();
+        String select;
+        String orderBy;
+
+        switch (entity) {
+            case "tasks", "comments" -> {
+                select = entity.equals("tasks") ? TASKS_SQL : COMMENTS_SQL;
+                orderBy = entity.equals("tasks") ? "v.task_id" : "c.id";
+                if (filter.getAssignedToId() != null) {
+                    conditions.add("v.assigned_to_id = '" + filter.getAssignedToId() + "'");
+                }
+                if (filter.getStatusId() != null) {
+                    conditions.add("v.status_id = " + filter.getStatusId());
+                }
+                if (filter.getPriorityId() != null) {
+                    conditions.add("v.priority_id = " + filter.getPriorityId());
+                }
+                if (filter.getSprintId() != null) {
+                    conditions.add("v.sprint_id = " + filter.getSprintId());
+                }
+                if (filter.getEpicId() != null) {
+                    conditions.add("v.epic_id = " + filter.getEpicId());
+                }
+                if (filter.getAnyLabels() != null && !filter.getAnyLabels().isEmpty()) {
+                    conditions.add("v.labels && " + textArray(filter.getAnyLabels()));
+                }
+                if (filter.getAllLabels() != null && !filter.getAllLabels().isEmpty()) {
+                    conditions.add("v.labels @> " + textArray(filter.getAllLabels()));
+                }
+            }
+            case "sprints" -> {
+                select = SPRINTS_SQL;
+                orderBy = "s.id";
+                if (filter.getSprintId() != null) {
+                    conditions.add("s.id = " + filter.getSprintId());
+                }
+            }
+            case "epics" -> {
+                select = EPICS_SQL;
+                orderBy = "e.id";
+                if (filter.getEpicId() != null) {
+                    conditions.add("e.id = " + filter.getEpicId());
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown export: " + entity);
+        }
+
+        StringBuilder sql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY ").append(orderBy).toString();
+    }
+
+    // labels are free text. E'' strings treat a backslash as an escape whatever standard_conforming_strings is set
+    // to, so backslashes and quotes are both escaped and nothing can end the literal early
+    static String textArray(List<String> values) {
+        StringJoiner array = new StringJoiner(", ", "ARRAY[", "]::text[]");
+        for (String value : values) {
+            array.add("E'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'");
+        }
+        return array.toString();
+    }
+}
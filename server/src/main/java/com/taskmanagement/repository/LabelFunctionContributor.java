@@ -0,0 +1,25 @@
+package com.taskmanagement.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+// the postgres array operators for the label filters, criteria queries have no way to spell them.
+// kept as operators rather than the arrayoverlap()/arraycontains() functions, only the operators use the GIN index.
+// a bound String[] arrives as varchar[], hence the cast. registered through META-INF/services
+public class LabelFunctionContributor implements FunctionContributor {
+
+    public static final String LABELS_OVERLAP = "labels_overlap";
+    public static final String LABELS_CONTAIN = "labels_contain";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+
+        functionContributions.getFunctionRegistry().registerPattern(LABELS_OVERLAP, "(?1 && CAST(?2 AS text[]))", booleanType);
+        functionContributions.getFunctionRegistry().registerPattern(LABELS_CONTAIN, "(?1 @> CAST(?2 AS text[]))", booleanType);
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.SprintBurndown;
+import com.taskmanagement.model.SprintBurndownId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SprintBurndownRepository extends JpaRepository<SprintBurndown, SprintBurndownId> {
+    String SNAPSHOT_SQL =
+            "INSERT INTO sprint_burndown (sprint_id, snapshot_date, total_points, completed_points, remaining_points, updated_at) " +
+            "SELECT s.id, CURRENT_DATE, " +
+            "       COALESCE(SUM(v.story_points), 0), " +
+            "       COALESCE(SUM(v.story_points) FILTER (WHERE v.completed_at IS NOT NULL), 0), " +
+            "       COALESCE(SUM(v.story_points) FILTER (WHERE v.completed_at IS NULL), 0), " +
+            "       NOW() " +
+            "FROM sprints s " +
+            "LEFT JOIN task_view v ON v.sprint_id = s.id ";
+
+    String UPSERT_SQL =
+            "GROUP BY s.id " +
+            "ON CONFLICT (sprint_id, snapshot_date) DO UPDATE " +
+            "SET total_points = EXCLUDED.total_points, " +
+            "    completed_points = EXCLUDED.completed_points, " +
+            "    remaining_points = EXCLUDED.remaining_points, " +
+            "    updated_at = EXCLUDED.updated_at";
+
+    List<SprintBurndown> findBySprintIdOrderBySnapshotDate(Integer sprintId);
+
+    // native so hibernate flushes pending task_view changes first, inactive sprints are left alone
+    @Transactional
+    @Modifying
+    @Query(value = SNAPSHOT_SQL + "WHERE s.id = :sprintId AND s.is_active " + UPSERT_SQL, nativeQuery = true)
+    int snapshotIfActive(@Param("sprintId") Integer sprintId);
+
+    @Transactional
+    @Modifying
+    @Query(value = SNAPSHOT_SQL + "WHERE s.id = :sprintId " + UPSERT_SQL, nativeQuery = true)
+    int snapshot(@Param("sprintId") Integer sprintId);
+
+    @Transactional
+    @Modifying
+    @Query(value = SNAPSHOT_SQL + "WHERE s.is_active " + UPSERT_SQL, nativeQuery = true)
+    int snapshotAllActive();
+}
@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import com.taskmanagement.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.taskmanagement.model.Sprint;
@@ -13,4 +15,8 @@ import com.taskmanagement.model.Sprint;
 public interface SprintRepository extends JpaRepository<Sprint, Integer> {
     Optional<Sprint> findByScrumMaster(User scrumMasterName);
 
+    // the board shows the scrum master's name, fetched with the sprint instead of a second round trip
+    @Query("SELECT s FROM Sprint s JOIN FETCH s.scrumMaster WHERE s.id = :id")
+    Optional<Sprint> findWithScrumMasterById(@Param("id") Integer id);
+
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.taskmanagement.repository;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// an import row with every reference already resolved to an id, ready to be copied into task_import_staging
+@Data
+public class StagedTaskRow {
+    private int rowNumber;
+    private Integer epicId;
+    private Integer sprintId;
+    private UUID createdById;
+    private UUID assignedToId;
+    private Integer priorityId;
+    private Integer statusId;
+    private String title;
+    private String description;
+    private int storyPoints;
+    private int estimatedHours;
+    private ZonedDateTime dueDate;
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// running total of the time tasks spent in one status before leaving it
+@Data
+@AllArgsConstructor
+public class StatusTimeTotal {
+    private String statusName;
+    private long totalSeconds;
+    private int exits;
+}
@@ -0,0 +1,25 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// number of tasks and story points below a task, and how much of that is done
+@Data
+@AllArgsConstructor
+public class SubtreeTotals {
+    public static final SubtreeTotals EMPTY = new SubtreeTotals(0, 0, 0, 0);
+
+    private int tasks;
+    private int completedTasks;
+    private int points;
+    private int completedPoints;
+
+    public SubtreeTotals plus(SubtreeTotals other) {
+        return new SubtreeTotals(tasks + other.tasks, completedTasks + other.completedTasks,
+                points + other.points, completedPoints + other.completedPoints);
+    }
+
+    public SubtreeTotals negate() {
+        return new SubtreeTotals(-tasks, -completedTasks, -points, -completedPoints);
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+// moves tasks and their comments into the archive tables, one call per batch inside the caller's transaction
+@Repository
+public class TaskArchiveRepository {
+
+    // skip locked so a batch never waits on a task somebody is editing, it gets picked up next run.
+    // a task with open subtasks anywhere below it stays until they are done, archiving it would move them up
+    private static final String SELECT_BATCH_SQL =
+            "SELECT t.id FROM tasks t " +
+            "WHERE t.completed_at < ? " +
+            "  AND NOT EXISTS (SELECT 1 FROM task_closure c " +
+            "                  JOIN task_view v ON v.task_id = c.descendant_id " +
+            "                  WHERE c.ancestor_id = t.id AND v.completed_at IS NULL) " +
+            "ORDER BY t.completed_at LIMIT ? FOR UPDATE OF t SKIP LOCKED";
+
+    private static final String ARCHIVE_TASKS_SQL =
+            "INSERT INTO tasks_archive (id, parent_task_id, epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, status_id, " +
+            "                           title, description, story_points, estimated_hours, due_date, completed_at, " +
+            "                           assigned_to_name, status_name, priority_name, epic_name, sprint_name, " +
+            "                           labels, created_at, updated_at) " +
+            "SELECT t.id, t.parent_task_id, t.epic_id, t.sprint_id, t.created_by_id, t.assigned_to_id, t.priority_id, t.status_id, " +
+            "       t.title, t.description, t.story_points, t.estimated_hours, t.due_date, t.completed_at, " +
+            "       u.name, s.name, p.name, e.name, sp.name, t.labels, t.created_at, t.updated_at " +
+            "FROM tasks t " +
+            "JOIN users u ON u.id = t.assigned_to_id " +
+            "JOIN task_statuses s ON s.id = t.status_id " +
+            "JOIN task_priorities p ON p.id = t.priority_id " +
+            "LEFT JOIN epics e ON e.id = t.epic_id " +
+            "LEFT JOIN sprints sp ON sp.id = t.sprint_id " +
+            "WHERE t.id = ANY(?)";
+
+    private static final String ARCHIVE_COMMENTS_SQL =
+            "INSERT INTO task_comments_archive (id, task_id, user_id, user_name, content, created_at, updated_at) " +
+            "SELECT c.id, c.task_id, c.user_id, u.name, c.content, c.created_at, c.updated_at " +
+            "FROM task_comments c " +
+            "JOIN users u ON u.id = c.user_id " +
+            "WHERE c.task_id = ANY(?)";
+
+    // comments and the task_view row go with the task through the delete_task_dependents trigger
+    private static final String DELETE_TASKS_SQL = "DELETE FROM tasks WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Integer> lockCompletedBefore(ZonedDateTime cutoff, int batchSize) {
+        return jdbcTemplate.queryForList(SELECT_BATCH_SQL, Integer.class,
+                Timestamp.from(cutoff.toInstant()), batchSize);
+    }
+
+    public int archive(List<Integer> taskIds) {
+        Integer[] ids = taskIds.toArray(new Integer[0]);
+
+        int archived = jdbcTemplate.update(ARCHIVE_TASKS_SQL, ps -> ps.setArray(1, toArray(ps.getConnection(), ids)));
+        jdbcTemplate.update(ARCHIVE_COMMENTS_SQL, ps -> ps.setArray(1, toArray(ps.getConnection(), ids)));
+        jdbcTemplate.update(DELETE_TASKS_SQL, ps -> ps.setArray(1, toArray(ps.getConnection(), ids)));
+        return archived;
+    }
+
+    private static Array toArray(Connection connection, Integer[] ids) throws SQLException {
+        return connection.createArrayOf("integer", ids);
+    }
+}
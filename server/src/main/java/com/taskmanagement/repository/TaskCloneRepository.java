@@ -0,0 +1,117 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+// copies every task of an epic or sprint with one INSERT ... SELECT, the task_view rows, the task_closure rows and the
+// first task_status_history row of each copy are filled in the same statement the way an import is published
+@Repository
+public class TaskCloneRepository {
+
+    // %1$s and %2$s are the epic_id and sprint_id of the copies, %3$s the column the source tasks are picked by.
+    // copies are created by the cloning user, inactive assignees are replaced by them too.
+    // the ids of the copies are drawn up front so a copied subtask can point at the copy of its parent, a subtask
+    // whose parent is not copied becomes a top level task. tree is the task_closure of the copies built from those
+    // links, the subtree totals of each copy's task_view row are summed over it
+    private static final String CLONE_SQL =
+            "WITH RECURSIVE copies AS ( " +
+            "    SELECT t.*, u.is_active AS assignee_active, nextval('tasks_id_seq') AS copy_id " +
+            "    FROM tasks t " +
+            "    JOIN users u ON u.id = t.assigned_to_id " +
+            "    WHERE t.%3$s = ? " +
+            "), links AS ( " +
+            "    SELECT c.copy_id, p.copy_id AS parent_copy_id FROM copies c JOIN copies p ON p.id = c.parent_task_id " +
+            "), tree AS ( " +
+            "    SELECT parent_copy_id AS ancestor_id, copy_id AS descendant_id, 1 AS depth FROM links " +
+            "    UNION ALL " +
+            "    SELECT l.parent_copy_id, tr.descendant_id, tr.depth + 1 FROM tree tr JOIN links l ON l.copy_id = tr.ancestor_id " +
+            "), inserted AS ( " +
+            "    INSERT INTO tasks (id, parent_task_id, epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, " +
+            "                       title, description, status_id, story_points, estimated_hours, due_date, completed_at, labels) " +
+            "    SELECT t.copy_id, l.parent_copy_id, %1$s, %2$s, ?, CASE WHEN t.assignee_active THEN t.assigned_to_id ELSE ? END, " +
+            "           t.priority_id, t.title, t.description, " +
+            "           CASE WHEN ? THEN (SELECT id FROM task_statuses WHERE name = ?) ELSE t.status_id END, " +
+            "           t.story_points, t.estimated_hours, t.due_date + make_interval(days => ?), " +
+            "           CASE WHEN ? THEN NULL ELSE t.completed_at END, t.labels " +
+            "    FROM copies t " +
+            "    LEFT JOIN links l ON l.copy_id = t.copy_id " +
+            "    ORDER BY t.id " +
+            "    RETURNING * " +
+            "), closure AS ( " +
+            "    INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "    SELECT ancestor_id, descendant_id, depth FROM tree " +
+            "), history AS ( " +
+            "    INSERT INTO task_status_history (task_id, from_status_id, to_status_id, sprint_id, assigned_to_id, " +
+            "                                     changed_by_id, changed_at) " +
+            "    SELECT id, NULL, status_id, sprint_id, assigned_to_id, created_by_id, created_at FROM inserted " +
+            ") " +
+            "INSERT INTO task_view (task_id, parent_task_id, epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, " +
+            "                       status_id, title, description, story_points, estimated_hours, due_date, completed_at, " +
+            "                       assigned_to_name, status_name, priority_name, epic_name, sprint_name, labels, updated_at, " +
+            "                       subtask_count, completed_subtasks, subtask_points, completed_subtask_points) " +
+            "SELECT i.id, i.parent_task_id, i.epic_id, i.sprint_id, i.created_by_id, i.assigned_to_id, i.priority_id, " +
+            "       i.status_id, i.title, i.description, i.story_points, i.estimated_hours, i.due_date, i.completed_at, " +
+            "       u.name, s.name, p.name, e.name, sp.name, i.labels, i.updated_at, " +
+            "       COALESCE(st.subtask_count, 0), COALESCE(st.completed_subtasks, 0), " +
+            "       COALESCE(st.subtask_points, 0), COALESCE(st.completed_subtask_points, 0) " +
+            "FROM inserted i " +
+            "JOIN users u ON u.id = i.assigned_to_id " +
+            "JOIN task_statuses s ON s.id = i.status_id " +
+            "JOIN task_priorities p ON p.id = i.priority_id " +
+            "LEFT JOIN epics e ON e.id = i.epic_id " +
+            "LEFT JOIN sprints sp ON sp.id = i.sprint_id " +
+            "LEFT JOIN (SELECT tr.ancestor_id, COUNT(*) AS subtask_count, COUNT(d.completed_at) AS completed_subtasks, " +
+            "                  SUM(d.story_points) AS subtask_points, " +
+            "                  SUM(CASE WHEN d.completed_at IS NOT NULL THEN d.story_points ELSE 0 END) AS completed_subtask_points " +
+            "           FROM tree tr JOIN inserted d ON d.id = tr.descendant_id " +
+            "           GROUP BY tr.ancestor_id) st ON st.ancestor_id = i.id " +
+            "RETURNING task_id";
+
+    // an epic's copy goes to the new epic outside any sprint, a sprint's copy keeps the epics of its tasks
+    private static final String CLONE_EPIC_TASKS_SQL = String.format(CLONE_SQL, "?", "NULL", "epic_id");
+    private static final String CLONE_SPRINT_TASKS_SQL = String.format(CLONE_SQL, "t.epic_id", "?", "sprint_id");
+
+    // epics the copy of a sprint would push over their story point capacity. a copy keeps its parent only when the
+    // parent is copied too, so a subtask adds nothing when its parent is in the sprint and the same epic
+    private static final String EPICS_OVER_CAPACITY_SQL =
+            "SELECT e.name " +
+            "FROM (SELECT v.epic_id, SUM(v.story_points) AS adding FROM task_view v " +
+            "      WHERE v.sprint_id = ? AND v.epic_id IS NOT NULL AND (v.parent_task_id IS NULL OR NOT EXISTS (" +
+            "          SELECT 1 FROM task_view p WHERE p.task_id = v.parent_task_id " +
+            "          AND p.sprint_id = v.sprint_id AND p.epic_id = v.epic_id)) " +
+            "      GROUP BY v.epic_id) a " +
+            "JOIN epics e ON e.id = a.epic_id " +
+            "LEFT JOIN (SELECT epic_id, SUM(story_points) AS points FROM " + TaskViewRepository.COUNTED_EPIC_TASKS + " c " +
+            "           GROUP BY epic_id) ex ON ex.epic_id = e.id " +
+            "WHERE e.story_points > 0 " +
+            "  AND COALESCE(ex.points, 0) + a.adding > e.story_points " +
+            "ORDER BY e.name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskCloneRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // resetStatus is the status name every copy starts in, null keeps the original status and completion
+    public List<Integer> cloneEpicTasks(Integer sourceEpicId, Integer targetEpicId, UUID clonedById,
+                                        String resetStatus, int shiftDays) {
+        return jdbcTemplate.queryForList(CLONE_EPIC_TASKS_SQL, Integer.class,
+                sourceEpicId, targetEpicId, clonedById, clonedById, resetStatus != null, resetStatus, shiftDays,
+                resetStatus != null);
+    }
+
+    public List<Integer> cloneSprintTasks(Integer sourceSprintId, Integer targetSprintId, UUID clonedById,
+                                          String resetStatus, int shiftDays) {
+        return jdbcTemplate.queryForList(CLONE_SPRINT_TASKS_SQL, Integer.class,
+                sourceSprintId, targetSprintId, clonedById, clonedById, resetStatus != null, resetStatus, shiftDays,
+                resetStatus != null);
+    }
+
+    public List<String> findEpicsOverCapacity(Integer sourceSprintId) {
+        return jdbcTemplate.queryForList(EPICS_OVER_CAPACITY_SQL, String.class, sourceSprintId);
+    }
+}
@@ -3,14 +3,25 @@ package com.taskmanagement.repository;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.taskmanagement.model.TaskComment;
 
 @Repository
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Integer> {
+    @EntityGraph("TaskComment.list")
     List<TaskComment> findByTaskId(Integer taskId);
+    @EntityGraph("TaskComment.list")
     List<TaskComment> findByTaskIdOrderByCreatedAtDesc(Integer taskId);
+    @EntityGraph("TaskComment.list")
     List<TaskComment> findByUserId(UUID userId);
+
+    // tasks without comments have no row
+    @Query("SELECT new com.taskmanagement.repository.CommentCount(c.task.id, COUNT(c)) " +
+            "FROM TaskComment c WHERE c.task.sprint.id = :sprintId GROUP BY c.task.id")
+    List<CommentCount> countBySprintId(@Param("sprintId") Integer sprintId);
 }
\ No newline at end of file
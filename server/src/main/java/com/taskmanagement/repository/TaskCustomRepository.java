@@ -1,56 +1,123 @@
 package com.taskmanagement.repository;
 
-import com.taskmanagement.model.Task;
+import com.taskmanagement.model.ArchivedTask;
+import com.taskmanagement.model.TaskView;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 // had to add this to get filtering to work instead of via query
+// filters run against task_view so there are no joins, every column here has its own index
 @Repository
 public class TaskCustomRepository {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final String ANY_LABELS = "anyLabels";
+    private static final String ALL_LABELS = "allLabels";
+
     @PersistenceContext
     private EntityManager entityManager;
 
-    public List<Task> findTasksByFilters(UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId) {
+    public List<TaskView> findTasksByFilters(UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId,
+                                             List<String> anyLabels, List<String> allLabels) {
+        CriteriaQuery<TaskView> query = buildFilterQuery(TaskView.class, assignedToId, statusId, priorityId, sprintId, epicId, anyLabels, allLabels);
+        query.orderBy(entityManager.getCriteriaBuilder().asc(query.getRoots().iterator().next().get("taskId")));
+        return bindLabels(entityManager.createQuery(query), anyLabels, allLabels).getResultList();
+    }
+
+    // tasks_archive has the same filter columns, only used when a caller asks for archived tasks too
+    public List<ArchivedTask> findArchivedTasksByFilters(UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId,
+                                                         List<String> anyLabels, List<String> allLabels) {
+        CriteriaQuery<ArchivedTask> query = buildFilterQuery(ArchivedTask.class, assignedToId, statusId, priorityId, sprintId, epicId, anyLabels, allLabels);
+        return bindLabels(entityManager.createQuery(query), anyLabels, allLabels).getResultList();
+    }
+
+    // same filters but read through a cursor, each row is detached once it has been handed out
+    // so the persistence context does not grow with the result. caller must close the stream
+    public Stream<TaskView> streamTasksByFilters(UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId,
+                                                 List<String> anyLabels, List<String> allLabels) {
+        CriteriaQuery<TaskView> query = buildFilterQuery(TaskView.class, assignedToId, statusId, priorityId, sprintId, epicId, anyLabels, allLabels);
+        query.orderBy(entityManager.getCriteriaBuilder().asc(query.getRoots().iterator().next().get("taskId")));
+
+        return bindLabels(entityManager.createQuery(query), anyLabels, allLabels)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(view -> {
+                    entityManager.detach(view);
+                    return view;
+                });
+    }
+
+    private <T> CriteriaQuery<T> buildFilterQuery(Class<T> entityClass, UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId,
+                                                  List<String> anyLabels, List<String> allLabels) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Task> query = cb.createQuery(Task.class);
-        Root<Task> task = query.from(Task.class);
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> task = query.from(entityClass);
 
         List<Predicate> predicates = new ArrayList<>();
 
         if (assignedToId != null) {
-            predicates.add(cb.equal(task.get("assignedTo").get("id"), assignedToId));
+            predicates.add(cb.equal(task.get("assignedToId"), assignedToId));
         }
 
         if (statusId != null) {
-            predicates.add(cb.equal(task.get("status").get("id"), statusId));
+            predicates.add(cb.equal(task.get("statusId"), statusId));
         }
 
         if (priorityId != null) {
-            predicates.add(cb.equal(task.get("priority").get("id"), priorityId));
+            predicates.add(cb.equal(task.get("priorityId"), priorityId));
         }
 
         if (sprintId != null) {
-            predicates.add(cb.equal(task.get("sprint").get("id"), sprintId));
+            predicates.add(cb.equal(task.get("sprintId"), sprintId));
         }
 
         if (epicId != null) {
-            predicates.add(cb.equal(task.get("epic").get("id"), epicId));
+            predicates.add(cb.equal(task.get("epicId"), epicId));
+        }
+
+        // && and @> on the labels array, both served by its GIN index
+        if (hasLabels(anyLabels)) {
+            predicates.add(cb.isTrue(cb.function(LabelFunctionContributor.LABELS_OVERLAP, Boolean.class,
+                    task.get("labels"), cb.parameter(String[].class, ANY_LABELS))));
+        }
+
+        if (hasLabels(allLabels)) {
+            predicates.add(cb.isTrue(cb.function(LabelFunctionContributor.LABELS_CONTAIN, Boolean.class,
+                    task.get("labels"), cb.parameter(String[].class, ALL_LABELS))));
         }
 
         if (!predicates.isEmpty()) {
             query.where(predicates.toArray(new Predicate[0]));
         }
 
-        return entityManager.createQuery(query).getResultList();
+        return query;
+    }
+
+    // labels go in as bound arrays so the statement text does not change with them
+    private static <T> TypedQuery<T> bindLabels(TypedQuery<T> query, List<String> anyLabels, List<String> allLabels) {
+        if (hasLabels(anyLabels)) {
+            query.setParameter(ANY_LABELS, anyLabels.toArray(new String[0]));
+        }
+        if (hasLabels(allLabels)) {
+            query.setParameter(ALL_LABELS, allLabels.toArray(new String[0]));
+        }
+        return query;
+    }
+
+    private static boolean hasLabels(List<String> labels) {
+        return labels != null && !labels.isEmpty();
     }
-}
\ No newline at end of file
+}
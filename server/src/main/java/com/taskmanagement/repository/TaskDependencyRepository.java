@@ -0,0 +1,80 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+// task_dependencies through plain sql, the cycle check walks the links in one recursive query
+@Repository
+public class TaskDependencyRepository {
+
+    static final long LOCK_KEY = 0x7461736b646570L;
+
+    // held until the transaction ends, two links added at the same time could otherwise close a cycle together
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    // everything dependsOnId waits on, directly or not. UNION rather than UNION ALL stops on rows already seen
+    private static final String DEPENDS_ON_SQL =
+            "WITH RECURSIVE upstream(id) AS ( " +
+            "    SELECT depends_on_id FROM task_dependencies WHERE task_id = ? " +
+            "    UNION " +
+            "    SELECT d.depends_on_id FROM task_dependencies d JOIN upstream u ON d.task_id = u.id) " +
+            "SELECT EXISTS (SELECT 1 FROM upstream WHERE id = ?)";
+
+    private static final String ADD_SQL =
+            "INSERT INTO task_dependencies (task_id, depends_on_id, created_by_id) VALUES (?, ?, ?) " +
+            "ON CONFLICT (task_id, depends_on_id) DO NOTHING";
+
+    private static final String REMOVE_SQL =
+            "DELETE FROM task_dependencies WHERE task_id = ? AND depends_on_id = ?";
+
+    // links with both ends in the same epic or sprint, %s is the task_view column
+    private static final String FIND_IN_SCOPE_SQL =
+            "SELECT d.task_id, d.depends_on_id FROM task_dependencies d " +
+            "JOIN task_view a ON a.task_id = d.task_id " +
+            "JOIN task_view b ON b.task_id = d.depends_on_id " +
+            "WHERE a.%1$s = ? AND b.%1$s = ?";
+
+    private static final String FIND_FOR_TASK_SQL =
+            "SELECT task_id, depends_on_id FROM task_dependencies WHERE task_id = ? OR depends_on_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskDependencyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void lock() {
+        jdbcTemplate.queryForObject(LOCK_SQL, Object.class, LOCK_KEY);
+    }
+
+    // true when taskId is somewhere upstream of dependsOnId
+    public boolean dependsOn(Integer dependsOnId, Integer taskId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(DEPENDS_ON_SQL, Boolean.class, dependsOnId, taskId));
+    }
+
+    public boolean add(Integer taskId, Integer dependsOnId, UUID createdById) {
+        return jdbcTemplate.update(ADD_SQL, taskId, dependsOnId, createdById) > 0;
+    }
+
+    public boolean remove(Integer taskId, Integer dependsOnId) {
+        return jdbcTemplate.update(REMOVE_SQL, taskId, dependsOnId) > 0;
+    }
+
+    public List<DependencyEdge> findInEpic(Integer epicId) {
+        return jdbcTemplate.query(String.format(FIND_IN_SCOPE_SQL, "epic_id"),
+                (rs, rowNum) -> new DependencyEdge(rs.getInt(1), rs.getInt(2)), epicId, epicId);
+    }
+
+    public List<DependencyEdge> findInSprint(Integer sprintId) {
+        return jdbcTemplate.query(String.format(FIND_IN_SCOPE_SQL, "sprint_id"),
+                (rs, rowNum) -> new DependencyEdge(rs.getInt(1), rs.getInt(2)), sprintId, sprintId);
+    }
+
+    public List<DependencyEdge> findForTask(Integer taskId) {
+        return jdbcTemplate.query(FIND_FOR_TASK_SQL,
+                (rs, rowNum) -> new DependencyEdge(rs.getInt(1), rs.getInt(2)), taskId, taskId);
+    }
+}
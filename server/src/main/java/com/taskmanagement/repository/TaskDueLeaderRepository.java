@@ -0,0 +1,129 @@
+package com.taskmanagement.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// one instance at a time owns the due date timers. ownership is a session advisory lock, so the leader keeps
+// a connection of its own for as long as it leads, the same connection listens for task changes from every instance
+@Repository
+public class TaskDueLeaderRepository {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueLeaderRepository.class);
+
+    static final long LOCK_KEY = 0x7461736b647565L;
+    static final String CHANNEL = "task_due_changed";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    // only used from the tracker's tick
+    private Connection connection;
+
+    public TaskDueLeaderRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryBecomeLeader() {
+        Connection candidate = null;
+        try {
+            candidate = dataSource.getConnection();
+            try (PreparedStatement statement = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, LOCK_KEY);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        try (Statement listen = candidate.createStatement()) {
+                            listen.execute("LISTEN " + CHANNEL);
+                        }
+                        connection = candidate;
+                        return true;
+                    }
+                }
+            }
+            candidate.close();
+            return false;
+        } catch (SQLException e) {
+            if (candidate != null && candidate != connection) {
+                try {
+                    candidate.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw new IllegalStateException("Could not take the task due leader lock", e);
+        }
+    }
+
+    // a dropped connection means the lock is gone with it
+    public boolean isLeader() {
+        if (connection == null) {
+            return false;
+        }
+        try {
+            if (connection.isValid(2)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.warn("Task due leader connection check failed", e);
+        }
+        closeQuietly();
+        return false;
+    }
+
+    // payloads sent since the last call, a round trip is needed before the driver hands them over
+    public List<String> fetchNotifications() {
+        List<String> payloads = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications();
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read task due notifications", e);
+        }
+        return payloads;
+    }
+
+    // runs on the caller's connection, so postgres only delivers it if the caller's transaction commits
+    public void notifyChanged(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    // the pool keeps the session open, so the lock has to be given back explicitly
+    public void release() {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+            statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+        } catch (SQLException e) {
+            logger.warn("Could not release task due leader lock", e);
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Closing task due leader connection failed", e);
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// task_closure holds a row for every ancestor and descendant pair, so moving a subtree is two set based
+// statements and the subtree totals on task_view are adjusted by deltas over the ancestor rows
+@Repository
+public class TaskHierarchyRepository {
+
+    static final long LOCK_KEY = 0x7461736b747265L;
+
+    // held until the transaction ends, two tasks made each other's parent at the same time would otherwise both
+    // pass the descendant check and close a loop
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String IS_DESCENDANT_SQL =
+            "SELECT EXISTS (SELECT 1 FROM task_closure WHERE ancestor_id = ? AND descendant_id = ?)";
+
+    private static final String FIND_TOTALS_SQL =
+            "SELECT subtask_count, completed_subtasks, subtask_points, completed_subtask_points " +
+            "FROM task_view WHERE task_id = ?";
+
+    private static final String ADD_TO_ANCESTORS_SQL =
+            "UPDATE task_view v " +
+            "SET subtask_count = v.subtask_count + ?, " +
+            "    completed_subtasks = v.completed_subtasks + ?, " +
+            "    subtask_points = v.subtask_points + ?, " +
+            "    completed_subtask_points = v.completed_subtask_points + ? " +
+            "FROM task_closure c " +
+            "WHERE c.descendant_id = ? AND v.task_id = c.ancestor_id";
+
+    // every link from above the task to the task or anything below it, links inside the subtree stay
+    private static final String DETACH_SQL =
+            "DELETE FROM task_closure " +
+            "WHERE descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = ? UNION ALL SELECT ?) " +
+            "  AND ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = ?)";
+
+    // the new parent and its ancestors, crossed with the task and its descendants
+    private static final String ATTACH_SQL =
+            "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "FROM (SELECT ancestor_id, depth FROM task_closure WHERE descendant_id = ? UNION ALL SELECT ?, 0) a " +
+            "CROSS JOIN (SELECT descendant_id, depth FROM task_closure WHERE ancestor_id = ? UNION ALL SELECT ?, 0) d";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskHierarchyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void lock() {
+        jdbcTemplate.queryForObject(LOCK_SQL, Object.class, LOCK_KEY);
+    }
+
+    public boolean isDescendant(Integer ancestorId, Integer taskId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_DESCENDANT_SQL, Boolean.class, ancestorId, taskId));
+    }
+
+    // what is below the task, without the task itself
+    public SubtreeTotals findTotals(Integer taskId) {
+        List<SubtreeTotals> totals = jdbcTemplate.query(FIND_TOTALS_SQL,
+                (rs, rowNum) -> new SubtreeTotals(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4)),
+                taskId);
+        return totals.isEmpty() ? SubtreeTotals.EMPTY : totals.get(0);
+    }
+
+    public void addToAncestors(Integer taskId, SubtreeTotals delta) {
+        jdbcTemplate.update(ADD_TO_ANCESTORS_SQL, delta.getTasks(), delta.getCompletedTasks(), delta.getPoints(),
+                delta.getCompletedPoints(), taskId);
+    }
+
+    public void detach(Integer taskId) {
+        jdbcTemplate.update(DETACH_SQL, taskId, taskId, taskId);
+    }
+
+    public void attach(Integer taskId, Integer parentTaskId) {
+        jdbcTemplate.update(ATTACH_SQL, parentTaskId, parentTaskId, taskId, taskId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanagement.model.TaskImportError;
+
+@Repository
+public interface TaskImportErrorRepository extends JpaRepository<TaskImportError, Integer> {
+    List<TaskImportError> findTop100ByImportIdOrderByRowNumber(Integer importId);
+}
@@ -0,0 +1,10 @@
+package com.taskmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanagement.model.TaskImport;
+
+@Repository
+public interface TaskImportRepository extends JpaRepository<TaskImport, Integer> {
+}
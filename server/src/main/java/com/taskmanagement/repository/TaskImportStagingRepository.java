@@ -0,0 +1,166 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.TaskImportError;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+// plain jdbc on purpose, bulk imports go through COPY and set based sql instead of one entity per row
+@Repository
+public class TaskImportStagingRepository {
+
+    private static final String COPY_SQL =
+            "COPY task_import_staging (import_id, row_number, epic_id, sprint_id, created_by_id, assigned_to_id, " +
+            "priority_id, status_id, title, description, story_points, estimated_hours, due_date, completed_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // drops every staged row of a sprint that would go over capacity together with the tasks already in it.
+    // staged rows have no parent, each one counts
+    private static final String REJECT_SPRINTS_SQL =
+            "DELETE FROM task_import_staging st " +
+            "USING (SELECT s.sprint_id, sp.capacity_points, COALESCE(ex.points, 0) AS current_points, " +
+            "              SUM(s.story_points) AS adding " +
+            "       FROM task_import_staging s " +
+            "       JOIN sprints sp ON sp.id = s.sprint_id " +
+            "       LEFT JOIN (SELECT sprint_id, SUM(story_points) AS points FROM " + TaskViewRepository.COUNTED_SPRINT_TASKS + " c " +
+            "                  GROUP BY sprint_id) ex " +
+            "              ON ex.sprint_id = s.sprint_id " +
+            "       WHERE s.import_id = ? " +
+            "       GROUP BY s.sprint_id, sp.capacity_points, ex.points " +
+            "       HAVING sp.capacity_points > 0 " +
+            "          AND COALESCE(ex.points, 0) + SUM(s.story_points) > sp.capacity_points) excess " +
+            "WHERE st.import_id = ? AND st.sprint_id = excess.sprint_id " +
+            "RETURNING st.row_number, excess.current_points, excess.adding, excess.capacity_points";
+
+    private static final String REJECT_EPICS_SQL =
+            "DELETE FROM task_import_staging st " +
+            "USING (SELECT s.epic_id, e.story_points AS capacity_points, COALESCE(ex.points, 0) AS current_points, " +
+            "              SUM(s.story_points) AS adding " +
+            "       FROM task_import_staging s " +
+            "       JOIN epics e ON e.id = s.epic_id " +
+            "       LEFT JOIN (SELECT epic_id, SUM(story_points) AS points FROM " + TaskViewRepository.COUNTED_EPIC_TASKS + " c " +
+            "                  GROUP BY epic_id) ex " +
+            "              ON ex.epic_id = s.epic_id " +
+            "       WHERE s.import_id = ? " +
+            "       GROUP BY s.epic_id, e.story_points, ex.points " +
+            "       HAVING e.story_points > 0 " +
+            "          AND COALESCE(ex.points, 0) + SUM(s.story_points) > e.story_points) excess " +
+            "WHERE st.import_id = ? AND st.epic_id = excess.epic_id " +
+            "RETURNING st.row_number, excess.current_points, excess.adding, excess.capacity_points";
+
+    // tasks, their task_view rows and the first task_status_history row of each in one statement, the other two
+    // come straight from RETURNING. returns the new task ids
+    private static final String PUBLISH_SQL =
+            "WITH inserted AS ( " +
+            "    INSERT INTO tasks (epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, title, description, " +
+            "                       status_id, story_points, estimated_hours, due_date, completed_at) " +
+            "    SELECT epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, title, description, " +
+            "           status_id, story_points, estimated_hours, due_date, completed_at " +
+            "    FROM task_import_staging WHERE import_id = ? ORDER BY row_number " +
+            "    RETURNING * " +
+            "), history AS ( " +
+            "    INSERT INTO task_status_history (task_id, from_status_id, to_status_id, sprint_id, assigned_to_id, " +
+            "                                     changed_by_id, changed_at) " +
+            "    SELECT id, NULL, status_id, sprint_id, assigned_to_id, created_by_id, created_at FROM inserted " +
+            ") " +
+            "INSERT INTO task_view (task_id, epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, status_id, " +
+            "                       title, description, story_points, estimated_hours, due_date, completed_at, " +
+            "                       assigned_to_name, status_name, priority_name, epic_name, sprint_name, updated_at) " +
+            "SELECT i.id, i.epic_id, i.sprint_id, i.created_by_id, i.assigned_to_id, i.priority_id, i.status_id, " +
+            "       i.title, i.description, i.story_points, i.estimated_hours, i.due_date, i.completed_at, " +
+            "       u.name, s.name, p.name, e.name, sp.name, i.updated_at " +
+            "FROM inserted i " +
+            "JOIN users u ON u.id = i.assigned_to_id " +
+            "JOIN task_statuses s ON s.id = i.status_id " +
+            "JOIN task_priorities p ON p.id = i.priority_id " +
+            "LEFT JOIN epics e ON e.id = i.epic_id " +
+            "LEFT JOIN sprints sp ON sp.id = i.sprint_id " +
+            "RETURNING task_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskImportStagingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long copyIn(Integer importId, List<StagedTaskRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (StagedTaskRow row : rows) {
+            csv.append(importId).append(',')
+                    .append(row.getRowNumber()).append(',')
+                    .append(value(row.getEpicId())).append(',')
+                    .append(value(row.getSprintId())).append(',')
+                    .append(row.getCreatedById()).append(',')
+                    .append(row.getAssignedToId()).append(',')
+                    .append(row.getPriorityId()).append(',')
+                    .append(row.getStatusId()).append(',')
+                    .append(quote(row.getTitle())).append(',')
+                    .append(quote(row.getDescription())).append(',')
+                    .append(row.getStoryPoints()).append(',')
+                    .append(row.getEstimatedHours()).append(',')
+                    .append(timestamp(row.getDueDate())).append(',')
+                    .append(timestamp(row.getCompletedAt()))
+                    .append('\n');
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public List<TaskImportError> rejectOverCapacitySprints(Integer importId) {
+        return jdbcTemplate.query(REJECT_SPRINTS_SQL, (rs, i) -> new TaskImportError(importId, rs.getInt(1),
+                String.format("Adding this task would exceed the sprint's capacity. Current: %d, Adding: %d, Capacity: %d",
+                        rs.getInt(2), rs.getInt(3), rs.getInt(4))), importId, importId);
+    }
+
+    public List<TaskImportError> rejectOverCapacityEpics(Integer importId) {
+        return jdbcTemplate.query(REJECT_EPICS_SQL, (rs, i) -> new TaskImportError(importId, rs.getInt(1),
+                String.format("Adding this task would exceed the epic's capacity. Current: %d, Adding: %d, Capacity: %d",
+                        rs.getInt(2), rs.getInt(3), rs.getInt(4))), importId, importId);
+    }
+
+    public List<Integer> publish(Integer importId) {
+        return jdbcTemplate.queryForList(PUBLISH_SQL, Integer.class, importId);
+    }
+
+    // the sprints the rows left after the capacity checks go into
+    public List<Integer> findSprintIds(Integer importId) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT sprint_id FROM task_import_staging WHERE import_id = ? AND sprint_id IS NOT NULL",
+                Integer.class, importId);
+    }
+
+    public void clear(Integer importId) {
+        jdbcTemplate.update("DELETE FROM task_import_staging WHERE import_id = ?", importId);
+    }
+
+    private static String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // always quoted so an empty string is not read back as null
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String timestamp(ZonedDateTime value) {
+        return value == null ? "" : value.toOffsetDateTime().toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// label facet for a filter, one aggregate over task_view instead of a count query per label
+@Repository
+public class TaskLabelRepository {
+
+    // %s is the WHERE clause built from the filter, same conditions as TaskCustomRepository
+    private static final String COUNT_LABELS_SQL =
+            "SELECT l.label, COUNT(*) FROM task_view v CROSS JOIN LATERAL unnest(v.labels) AS l(label)%s " +
+            "GROUP BY l.label ORDER BY COUNT(*) DESC, l.label";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskLabelRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // most used label first
+    public Map<String, Long> countLabels(UUID assignedToId, Integer statusId, Integer priorityId, Integer sprintId, Integer epicId,
+                                         List<String> anyLabels, List<String> allLabels) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        addCondition(conditions, args, "v.assigned_to_id = ?", assignedToId);
+        addCondition(conditions, args, "v.status_id = ?", statusId);
+        addCondition(conditions, args, "v.priority_id = ?", priorityId);
+        addCondition(conditions, args, "v.sprint_id = ?", sprintId);
+        addCondition(conditions, args, "v.epic_id = ?", epicId);
+        if (anyLabels != null && !anyLabels.isEmpty()) {
+            addCondition(conditions, args, "v.labels && ?", anyLabels.toArray(new String[0]));
+        }
+        if (allLabels != null && !allLabels.isEmpty()) {
+            addCondition(conditions, args, "v.labels @> ?", allLabels.toArray(new String[0]));
+        }
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(COUNT_LABELS_SQL, where),
+                ps -> {
+                    for (int i = 0; i < args.size(); i++) {
+                        if (args.get(i) instanceof String[] labels) {
+                            ps.setArray(i + 1, ps.getConnection().createArrayOf("text", labels));
+                        } else {
+                            ps.setObject(i + 1, args.get(i));
+                        }
+                    }
+                },
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            args.add(value);
+        }
+    }
+}
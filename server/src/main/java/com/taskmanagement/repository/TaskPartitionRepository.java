@@ -0,0 +1,24 @@
+package com.taskmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// tasks and task_comments are partitioned by month on created_at, see V9
+@Repository
+public class TaskPartitionRepository {
+
+    private static final String CREATE_PARTITIONS_SQL =
+            "SELECT create_monthly_partitions(?, CURRENT_DATE, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // returns how many partitions were missing and got created
+    public int createMonthlyPartitions(String table, int monthsAhead) {
+        Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS_SQL, Integer.class, table, monthsAhead);
+        return created != null ? created : 0;
+    }
+}
@@ -1,43 +1,92 @@
 package com.taskmanagement.repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.taskmanagement.model.Sprint;
 import com.taskmanagement.model.Task;
 import com.taskmanagement.model.User;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
+    // list reads use the Task.list graph so the dto mapping doesn't fire a select per association
+    @Override
+    @EntityGraph("Task.list")
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph("Task.detail")
+    Optional<Task> findById(Integer id);
+
+    @EntityGraph("Task.list")
     List<Task> findByAssignedTo(User assignedTo);
 
+    @EntityGraph("Task.list")
     List<Task> findByCreatedBy(User createdBy);
 
+    @EntityGraph("Task.list")
     @Query("SELECT t FROM Task t JOIN t.status s WHERE s.name = :statusName")
     List<Task> findByStatusName(@Param("statusName") String statusName);
 
+    @EntityGraph("Task.list")
     List<Task> findByEpicId(Integer epicId);
 
+    @EntityGraph("Task.list")
     List<Task> findBySprintId(Integer sprintId);
 
+    @EntityGraph("Task.list")
     List<Task> findByDueDateBeforeAndCompletedAtIsNull(ZonedDateTime now);
 
+    @EntityGraph("Task.list")
     List<Task> findByUpdatedAtAfterOrderByUpdatedAtDesc(ZonedDateTime since);
 
     // get tasks for a user
+    @EntityGraph("Task.list")
     @Query("SELECT t FROM Task t WHERE t.assignedTo.id = :userId AND (t.status.name != 'DONE' OR t.completedAt IS NULL)")
     List<Task> findUserActiveTasks(@Param("userId") UUID userId);
 
+    // moves a planned batch into a sprint, tasks picked up by another sprint in the meantime are left alone
+    @Modifying
+    @Query("UPDATE Task t SET t.sprint = :sprint WHERE t.id IN :taskIds AND t.sprint IS NULL")
+    int assignSprint(@Param("taskIds") Collection<Integer> taskIds, @Param("sprint") Sprint sprint);
+
+    // rollover of unfinished work, every open task of the sprint in one statement. clears the persistence context so
+    // the task_view rows moved next are read fresh
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.sprint = :to WHERE t.sprint = :from AND t.completedAt IS NULL")
+    int moveOpenTasks(@Param("from") Sprint from, @Param("to") Sprint to);
+
+    // hands a deactivated user's open tasks to someone else, tasks reassigned in the meantime are left alone
+    @Modifying
+    @Query("UPDATE Task t SET t.assignedTo = :to WHERE t.id IN :taskIds AND t.assignedTo = :from")
+    int reassign(@Param("taskIds") Collection<Integer> taskIds, @Param("from") User from, @Param("to") User to);
+
+    // epic deletion, the tasks stay and lose their epic
+    @Modifying
+    @Query("UPDATE Task t SET t.epic = NULL WHERE t.epic.id = :epicId")
+    int detachEpic(@Param("epicId") Integer epicId);
+
+    // epic deletion with cascade, task_view rows and comments go through the delete_task_dependents trigger
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.epic.id = :epicId")
+    int deleteInEpic(@Param("epicId") Integer epicId);
+
     // get counts for tasks in sprint with status
     @Query("SELECT COUNT(t) FROM Task t WHERE t.sprint.id = :sprintId AND t.status.id = :statusId")
     long countTasksBySprintAndStatus(@Param("sprintId") Integer sprintId, @Param("statusId") Integer statusId);
 
     // get by name
+    @EntityGraph("Task.list")
     @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     List<Task> findByTitleContainingIgnoreCase(@Param("title") String title);
 }
\ No newline at end of file
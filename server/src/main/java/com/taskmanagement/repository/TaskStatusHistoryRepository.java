@@ -0,0 +1,27 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.TaskStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskStatusHistoryRepository extends JpaRepository<TaskStatusHistory, Long> {
+    // when the task entered the status it is in now
+    Optional<TaskStatusHistory> findFirstByTaskIdOrderByChangedAtDescIdDesc(Integer taskId);
+
+    List<TaskStatusHistory> findByTaskIdOrderByChangedAtAscIdAsc(Integer taskId);
+
+    // whether the task was in the status before, a reopened task that is finished again already counted as done
+    boolean existsByTaskIdAndToStatusId(Integer taskId, Integer toStatusId);
+
+    // work on a task starts the first time it goes in progress
+    @Query("SELECT MIN(h.changedAt) FROM TaskStatusHistory h, TaskStatus s " +
+           "WHERE s.id = h.toStatusId AND s.name = 'IN_PROGRESS' AND h.taskId = :taskId")
+    ZonedDateTime findFirstStartedAt(@Param("taskId") Integer taskId);
+}
@@ -0,0 +1,122 @@
+package com.taskmanagement.repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.taskmanagement.model.TaskView;
+
+@Repository
+public interface TaskViewRepository extends JpaRepository<TaskView, Integer> {
+    List<TaskView> findByAssignedToId(UUID assignedToId);
+
+    List<TaskView> findByEpicId(Integer epicId);
+
+    List<TaskView> findBySprintId(Integer sprintId);
+
+    List<TaskView> findByDueDateBeforeAndCompletedAtIsNull(ZonedDateTime now);
+
+    List<TaskView> findByCompletedAtIsNull();
+
+    List<TaskView> findByAssignedToIdAndCompletedAtIsNull(UUID assignedToId);
+
+    // both read idx_task_view_open_assignee, due order comes from the index
+    List<TaskView> findByAssignedToIdAndCompletedAtIsNullOrderByDueDateAsc(UUID assignedToId);
+
+    List<TaskView> findByAssignedToIdAndDueDateBeforeAndCompletedAtIsNullOrderByDueDateAsc(UUID assignedToId, ZonedDateTime now);
+
+    List<TaskView> findByAssignedToIdAndUpdatedAtAfterOrderByUpdatedAtDesc(UUID assignedToId, ZonedDateTime since, Pageable pageable);
+
+    List<TaskView> findByUpdatedAtAfterOrderByUpdatedAtDesc(ZonedDateTime since);
+
+    // same rule as TaskRepository.findUserActiveTasks
+    @Query("SELECT v FROM TaskView v WHERE v.assignedToId = :userId AND (v.statusName != 'DONE' OR v.completedAt IS NULL)")
+    List<TaskView> findUserActiveTasks(@Param("userId") UUID userId);
+
+    // open BACKLOG/TODO tasks outside any sprint that are due inside the given window
+    @Query("SELECT v FROM TaskView v WHERE v.sprintId IS NULL AND v.completedAt IS NULL " +
+            "AND v.statusName IN ('BACKLOG', 'TODO') AND v.dueDate >= :start AND v.dueDate <= :end")
+    List<TaskView> findPlanningCandidates(@Param("start") ZonedDateTime start, @Param("end") ZonedDateTime end);
+
+    // the tasks whose points count against a sprint's or an epic's capacity. a subtask whose parent sits in the same
+    // sprint or epic is part of its parent's estimate and is left out. every capacity check goes through these,
+    // the bulk ones (import, clone) join them grouped by sprint_id or epic_id
+    String COUNTED_SPRINT_TASKS =
+            "(SELECT v.task_id, v.sprint_id, v.parent_task_id, v.story_points FROM task_view v " +
+            " WHERE v.sprint_id IS NOT NULL AND (v.parent_task_id IS NULL OR NOT EXISTS (" +
+            "     SELECT 1 FROM task_view p WHERE p.task_id = v.parent_task_id AND p.sprint_id = v.sprint_id)))";
+    String COUNTED_EPIC_TASKS =
+            "(SELECT v.task_id, v.epic_id, v.parent_task_id, v.story_points FROM task_view v " +
+            " WHERE v.epic_id IS NOT NULL AND (v.parent_task_id IS NULL OR NOT EXISTS (" +
+            "     SELECT 1 FROM task_view p WHERE p.task_id = v.parent_task_id AND p.epic_id = v.epic_id)))";
+
+    // points used in the sprint apart from taskId, which is about to be counted on its own, and its direct
+    // subtasks, which it then covers. 0 for no task
+    @Query(value = "SELECT COALESCE(SUM(c.story_points), 0) FROM " + COUNTED_SPRINT_TASKS + " c " +
+            "WHERE c.sprint_id = :sprintId AND c.task_id <> :taskId " +
+            "AND (c.parent_task_id IS NULL OR c.parent_task_id <> :taskId)", nativeQuery = true)
+    long sumCountedStoryPointsBySprintId(@Param("sprintId") Integer sprintId, @Param("taskId") int taskId);
+
+    @Query(value = "SELECT COALESCE(SUM(c.story_points), 0) FROM " + COUNTED_EPIC_TASKS + " c " +
+            "WHERE c.epic_id = :epicId AND c.task_id <> :taskId " +
+            "AND (c.parent_task_id IS NULL OR c.parent_task_id <> :taskId)", nativeQuery = true)
+    long sumCountedStoryPointsByEpicId(@Param("epicId") Integer epicId, @Param("taskId") int taskId);
+
+    // users without open tasks have no row
+    @Query("SELECT new com.taskmanagement.repository.AssigneeLoad(v.assignedToId, COUNT(v), COALESCE(SUM(v.storyPoints), 0L)) " +
+            "FROM TaskView v WHERE v.completedAt IS NULL AND v.assignedToId IN :userIds GROUP BY v.assignedToId")
+    List<AssigneeLoad> findOpenLoads(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT v FROM TaskView v WHERE LOWER(v.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    List<TaskView> findByTitleContainingIgnoreCase(@Param("title") String title);
+
+    // the task and everything below it, however deep, through task_closure
+    @Query(value = "SELECT v.* FROM task_view v WHERE v.task_id = :taskId " +
+            "OR v.task_id IN (SELECT c.descendant_id FROM task_closure c WHERE c.ancestor_id = :taskId) " +
+            "ORDER BY v.task_id", nativeQuery = true)
+    List<TaskView> findSubtree(@Param("taskId") Integer taskId);
+
+    // renames fan out to every task row showing the name
+    @Modifying
+    @Query("UPDATE TaskView v SET v.assignedToName = :name WHERE v.assignedToId = :userId")
+    int updateAssigneeName(@Param("userId") UUID userId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE TaskView v SET v.epicName = :name WHERE v.epicId = :epicId")
+    int updateEpicName(@Param("epicId") Integer epicId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE TaskView v SET v.sprintName = :name WHERE v.sprintId = :sprintId")
+    int updateSprintName(@Param("sprintId") Integer sprintId, @Param("name") String name);
+
+    // cleared afterwards so views loaded before the update are not flushed back over it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskView v SET v.sprintId = :sprintId, v.sprintName = :name, v.updatedAt = :now " +
+            "WHERE v.taskId IN :taskIds AND v.sprintId IS NULL")
+    int assignSprint(@Param("taskIds") Collection<Integer> taskIds, @Param("sprintId") Integer sprintId,
+                     @Param("name") String name, @Param("now") ZonedDateTime now);
+
+    // the task_view side of TaskRepository.moveOpenTasks, the moved rows come back from RETURNING
+    @Query(value = "UPDATE task_view SET sprint_id = :toSprintId, sprint_name = :name, updated_at = :now " +
+            "WHERE sprint_id = :fromSprintId AND completed_at IS NULL RETURNING *", nativeQuery = true)
+    List<TaskView> moveOpenTasks(@Param("fromSprintId") Integer fromSprintId, @Param("toSprintId") Integer toSprintId,
+                                 @Param("name") String name, @Param("now") ZonedDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskView v SET v.assignedToId = :toUserId, v.assignedToName = :name, v.updatedAt = :now " +
+            "WHERE v.taskId IN :taskIds AND v.assignedToId = :fromUserId")
+    int reassign(@Param("taskIds") Collection<Integer> taskIds, @Param("fromUserId") UUID fromUserId,
+                 @Param("toUserId") UUID toUserId, @Param("name") String name, @Param("now") ZonedDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskView v SET v.epicId = NULL, v.epicName = NULL, v.updatedAt = :now WHERE v.epicId = :epicId")
+    int detachEpic(@Param("epicId") Integer epicId, @Param("now") ZonedDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// running totals over every task that reached DONE
+@Data
+@AllArgsConstructor
+public class ThroughputTotal {
+    private int completedTasks;
+    private long totalCycleSeconds;
+    private long totalLeadSeconds;
+}
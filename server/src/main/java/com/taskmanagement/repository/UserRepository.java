@@ -1,9 +1,11 @@
 package com.taskmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,8 +15,32 @@ import com.taskmanagement.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // role is lazy but every user lookup either checks it or puts it on the dto
+    @Override
+    @EntityGraph(attributePaths = "role")
+    List<User> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findById(UUID id);
+
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByEmail(String email);
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByGoogleId(String googleId);
+    @EntityGraph(attributePaths = "role")
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<User> findByNameContainingIgnoreCase(@Param("name") String name);
-}
\ No newline at end of file
+
+    // exact email or exact name, either case
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:reference) OR LOWER(u.name) = LOWER(:reference)")
+    List<User> findByEmailOrNameIgnoreCase(@Param("reference") String reference);
+
+    // emails must already be lower case
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) IN :emails")
+    List<User> findByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u FROM User u WHERE u.role.name = :roleName AND u.isActive = true")
+    List<User> findActiveByRoleName(@Param("roleName") String roleName);
+}
@@ -0,0 +1,69 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.SprintVelocityDTO;
+import com.taskmanagement.dto.VelocityDTO;
+import com.taskmanagement.dto.WorkloadDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.repository.AnalyticsRepository;
+import com.taskmanagement.repository.SprintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// velocity only looks at closed sprints, which do not change, so a result stays valid until the next sprint closes.
+// workload is open work and is always read fresh
+@Service
+public class AnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    static final int MAX_SPRINTS = 52;
+
+    private final AnalyticsRepository analyticsRepository;
+    private final SprintRepository sprintRepository;
+
+    // keyed by the number of sprints asked for, each entry remembers which closure it was computed after
+    private final Map<Integer, VelocityDTO> velocityCache = new ConcurrentHashMap<>();
+
+    public AnalyticsService(AnalyticsRepository analyticsRepository, SprintRepository sprintRepository) {
+        this.analyticsRepository = analyticsRepository;
+        this.sprintRepository = sprintRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public VelocityDTO getVelocity(int sprints) {
+        if (sprints < 1 || sprints > MAX_SPRINTS) {
+            throw new IllegalArgumentException("Number of sprints must be between 1 and " + MAX_SPRINTS);
+        }
+
+        // a cheap indexed lookup decides whether a new sprint closed since the cached result, on any instance
+        Integer latestClosed = analyticsRepository.findLatestClosedSprintId().orElse(null);
+        VelocityDTO cached = velocityCache.get(sprints);
+        if (cached != null && Objects.equals(cached.getLatestClosedSprintId(), latestClosed)) {
+            return cached;
+        }
+
+        List<SprintVelocityDTO> rows = latestClosed != null ? analyticsRepository.findVelocity(sprints) : List.of();
+        VelocityDTO velocity = new VelocityDTO();
+        velocity.setLatestClosedSprintId(latestClosed);
+        velocity.setSprints(rows);
+        velocity.setAverageVelocity(rows.stream().mapToInt(SprintVelocityDTO::getCompletedPoints).average().orElse(0));
+
+        velocityCache.put(sprints, velocity);
+        logger.debug("Computed velocity over {} sprints after closure of sprint {}", rows.size(), latestClosed);
+        return velocity;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WorkloadDTO> getWorkload(Integer sprintId) {
+        if (sprintId != null && !sprintRepository.existsById(sprintId)) {
+            throw new ResourceNotFound("Sprint not found with id: " + sprintId);
+        }
+        return analyticsRepository.findWorkload(sprintId);
+    }
+}
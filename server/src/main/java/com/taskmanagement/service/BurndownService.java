@@ -0,0 +1,114 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.BurndownDTO;
+import com.taskmanagement.dto.BurndownPointDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.SprintBurndown;
+import com.taskmanagement.repository.SprintBurndownRepository;
+import com.taskmanagement.repository.SprintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// keeps one snapshot row per sprint per day, task writes overwrite today's row and a nightly run carries every
+// active sprint into the new day, so the chart is read from the snapshots without touching tasks
+@Service
+public class BurndownService {
+    private static final Logger logger = LoggerFactory.getLogger(BurndownService.class);
+
+    private final SprintBurndownRepository burndownRepository;
+    private final SprintRepository sprintRepository;
+
+    public BurndownService(SprintBurndownRepository burndownRepository, SprintRepository sprintRepository) {
+        this.burndownRepository = burndownRepository;
+        this.sprintRepository = sprintRepository;
+    }
+
+    // runs in the caller's transaction after the task write, ids of sprints that are not active are skipped by the query
+    @Transactional
+    public void recordChange(Integer... sprintIds) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer sprintId : sprintIds) {
+            if (sprintId != null) {
+                distinct.add(sprintId);
+            }
+        }
+        distinct.forEach(burndownRepository::snapshotIfActive);
+    }
+
+    // start and end of a sprint always get a row, the end one after the sprint is already inactive
+    @Transactional
+    public void snapshotSprint(Integer sprintId) {
+        burndownRepository.snapshot(sprintId);
+    }
+
+    @Scheduled(cron = "${taskmanagement.burndown.cron:0 5 0 * * *}")
+    public void snapshotActiveSprints() {
+        int sprints = burndownRepository.snapshotAllActive();
+        logger.info("Recorded burndown snapshots for {} active sprints", sprints);
+    }
+
+    @Transactional(readOnly = true)
+    public BurndownDTO getBurndown(Integer sprintId) {
+        Sprint sprint = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + sprintId));
+
+        BurndownDTO dto = new BurndownDTO();
+        dto.setSprintId(sprint.getId());
+        dto.setSprintName(sprint.getName());
+        dto.setStartDate(sprint.getStartDate());
+        dto.setEndDate(sprint.getEndDate());
+        dto.setPoints(buildPoints(sprint, burndownRepository.findBySprintIdOrderBySnapshotDate(sprintId)));
+        return dto;
+    }
+
+    // one point per day from the first snapshot until today or the end date, days without a write keep the previous
+    // day's numbers
+    private List<BurndownPointDTO> buildPoints(Sprint sprint, List<SprintBurndown> snapshots) {
+        List<BurndownPointDTO> points = new ArrayList<>();
+        if (snapshots.isEmpty()) {
+            return points;
+        }
+
+        LocalDate startDay = sprint.getStartDate().toLocalDate();
+        LocalDate endDay = sprint.getEndDate().toLocalDate();
+        LocalDate firstDay = snapshots.get(0).getSnapshotDate();
+        LocalDate lastSnapshotDay = snapshots.get(snapshots.size() - 1).getSnapshotDate();
+        LocalDate lastDay = LocalDate.now().isBefore(endDay) ? LocalDate.now() : endDay;
+        if (lastDay.isBefore(lastSnapshotDay)) {
+            lastDay = lastSnapshotDay;
+        }
+
+        // the ideal line runs from the first known total on the start date down to zero on the end date
+        int idealTotal = snapshots.get(0).getTotalPoints();
+        long sprintDays = Math.max(1, ChronoUnit.DAYS.between(startDay, endDay));
+
+        Iterator<SprintBurndown> iterator = snapshots.iterator();
+        SprintBurndown current = iterator.next();
+        SprintBurndown next = iterator.hasNext() ? iterator.next() : null;
+
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            while (next != null && !next.getSnapshotDate().isAfter(day)) {
+                current = next;
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+
+            long daysLeft = Math.min(sprintDays, Math.max(0, ChronoUnit.DAYS.between(day, endDay)));
+            BurndownPointDTO point = new BurndownPointDTO();
+            point.setDate(day);
+            point.setTotalPoints(current.getTotalPoints());
+            point.setCompletedPoints(current.getCompletedPoints());
+            point.setRemainingPoints(current.getRemainingPoints());
+            point.setIdealRemainingPoints((double) idealTotal * daysLeft / sprintDays);
+            points.add(point);
+        }
+        return points;
+    }
+}
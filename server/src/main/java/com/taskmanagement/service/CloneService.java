@@ -0,0 +1,141 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Epic;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.EpicRepository;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskCloneRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// deep copies of an epic or a sprint. the container is saved like any other, its tasks are copied in one
+// INSERT ... SELECT so the size of the epic or sprint does not change the number of statements
+@Service
+public class CloneService {
+    private static final Logger logger = LoggerFactory.getLogger(CloneService.class);
+
+    // what a reset copy starts as, an epic's tasks go back to the backlog, a sprint's are already planned
+    static final String EPIC_RESET_STATUS = "BACKLOG";
+    static final String SPRINT_RESET_STATUS = "TODO";
+
+    private final EpicRepository epicRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskCloneRepository taskCloneRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final EpicProgressService epicProgressService;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDueTracker taskDueTracker;
+    private final TaskDependencyGraphs taskDependencyGraphs;
+
+    public CloneService(EpicRepository epicRepository,
+                        SprintRepository sprintRepository,
+                        TaskCloneRepository taskCloneRepository,
+                        TaskViewRepository taskViewRepository,
+                        EpicProgressService epicProgressService,
+                        TaskFilterIndex taskFilterIndex,
+                        TaskDueTracker taskDueTracker,
+                        TaskDependencyGraphs taskDependencyGraphs) {
+        this.epicRepository = epicRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskCloneRepository = taskCloneRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.epicProgressService = epicProgressService;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDueTracker = taskDueTracker;
+        this.taskDependencyGraphs = taskDependencyGraphs;
+    }
+
+    @Transactional
+    public CloneDTO cloneEpic(Integer epicId, String name, int shiftDays, boolean resetStatus, UUID userId) {
+        Epic source = epicRepository.findById(epicId)
+                .orElseThrow(() -> new ResourceNotFound("Epic not found with id: " + epicId));
+
+        Epic copy = new Epic();
+        copy.setName(name != null && !name.isBlank() ? name : source.getName() + " (copy)");
+        copy.setDescription(source.getDescription());
+        copy.setOwner(source.getOwner());
+        copy.setStoryPoints(source.getStoryPoints());
+        copy.setStartDate(shift(source.getStartDate(), shiftDays));
+        copy.setTargetEndDate(shift(source.getTargetEndDate(), shiftDays));
+        // identity id, so the row is written here and the task copies can reference it
+        Epic saved = epicRepository.save(copy);
+
+        List<Integer> taskIds = taskCloneRepository.cloneEpicTasks(epicId, saved.getId(), userId,
+                resetStatus ? EPIC_RESET_STATUS : null, shiftDays);
+        afterTasksCloned(taskIds);
+        logger.info("Cloned epic {} into epic {} with {} tasks", epicId, saved.getId(), taskIds.size());
+
+        return toDTO(epicId, saved.getId(), saved.getName(), saved.getStartDate(), saved.getTargetEndDate(), taskIds);
+    }
+
+    // the copy is not started, tasks keep their epics as long as none of them goes over its capacity
+    @Transactional
+    public CloneDTO cloneSprint(Integer sprintId, String name, int shiftDays, boolean resetStatus, UUID userId) {
+        Sprint source = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + sprintId));
+
+        List<String> overCapacity = taskCloneRepository.findEpicsOverCapacity(sprintId);
+        if (!overCapacity.isEmpty()) {
+            throw new IllegalStateException("Cloning this sprint would exceed the capacity of epic(s): "
+                    + String.join(", ", overCapacity));
+        }
+
+        Sprint copy = new Sprint();
+        copy.setName(name != null && !name.isBlank() ? name : source.getName() + " (copy)");
+        copy.setGoal(source.getGoal());
+        copy.setScrumMaster(source.getScrumMaster());
+        copy.setCapacityPoints(source.getCapacityPoints());
+        copy.setStartDate(shift(source.getStartDate(), shiftDays));
+        copy.setEndDate(shift(source.getEndDate(), shiftDays));
+        copy.setActive(false);
+        Sprint saved = sprintRepository.save(copy);
+
+        List<Integer> taskIds = taskCloneRepository.cloneSprintTasks(sprintId, saved.getId(), userId,
+                resetStatus ? SPRINT_RESET_STATUS : null, shiftDays);
+        afterTasksCloned(taskIds);
+        logger.info("Cloned sprint {} into sprint {} with {} tasks", sprintId, saved.getId(), taskIds.size());
+
+        return toDTO(sprintId, saved.getId(), saved.getName(), saved.getStartDate(), saved.getEndDate(), taskIds);
+    }
+
+    private void afterTasksCloned(List<Integer> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        epicProgressService.recordInserted(taskIds);
+        // the copies were written with plain sql, the index picks them up once the transaction commits
+        for (TaskView view : taskViewRepository.findAllById(taskIds)) {
+            taskFilterIndex.upsert(view);
+            // copies come without dependencies, but they still add work to the epic and sprint they land in
+            taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.EPIC, view.getEpicId());
+            taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, view.getSprintId());
+        }
+        taskDueTracker.tasksChanged();
+    }
+
+    private ZonedDateTime shift(ZonedDateTime date, int days) {
+        return date != null ? date.plusDays(days) : null;
+    }
+
+    private CloneDTO toDTO(int sourceId, int id, String name, ZonedDateTime startDate, ZonedDateTime endDate,
+                           List<Integer> taskIds) {
+        CloneDTO dto = new CloneDTO();
+        dto.setSourceId(sourceId);
+        dto.setId(id);
+        dto.setName(name);
+        dto.setStartDate(startDate);
+        dto.setEndDate(endDate);
+        dto.setClonedTasks(taskIds.size());
+        return dto;
+    }
+}
@@ -0,0 +1,142 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CycleTimeDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.TaskStatusHistory;
+import com.taskmanagement.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+// records every status change and keeps the per sprint and per assignee totals in step with it,
+// the analytics endpoint only reads the totals
+@Service
+public class CycleTimeService {
+    private static final Logger logger = LoggerFactory.getLogger(CycleTimeService.class);
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final TaskStatusHistoryRepository historyRepository;
+    private final CycleTimeRepository cycleTimeRepository;
+    private final SprintRepository sprintRepository;
+    private final UserRepository userRepository;
+
+    public CycleTimeService(
+            TaskStatusHistoryRepository historyRepository,
+            CycleTimeRepository cycleTimeRepository,
+            SprintRepository sprintRepository,
+            UserRepository userRepository) {
+        this.historyRepository = historyRepository;
+        this.cycleTimeRepository = cycleTimeRepository;
+        this.sprintRepository = sprintRepository;
+        this.userRepository = userRepository;
+    }
+
+    // runs in the caller's transaction after the task was saved with its new status, fromStatusId is null for new tasks
+    @Transactional
+    public void recordStatusChange(Task task, Integer fromStatusId, UUID changedById) {
+        Integer toStatusId = task.getStatus().getId();
+        if (Objects.equals(fromStatusId, toStatusId)) {
+            return;
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        String sprintScope = task.getSprint() != null ? String.valueOf(task.getSprint().getId()) : null;
+        String userScope = task.getAssignedTo().getId().toString();
+
+        TaskStatusHistory history = new TaskStatusHistory();
+        history.setTaskId(task.getId());
+        history.setFromStatusId(fromStatusId);
+        history.setToStatusId(toStatusId);
+        history.setSprintId(task.getSprint() != null ? task.getSprint().getId() : null);
+        history.setAssignedToId(task.getAssignedTo().getId());
+        history.setChangedById(changedById);
+        history.setChangedAt(now);
+
+        if (fromStatusId != null) {
+            // tasks from before the history table entered their status when they were created
+            ZonedDateTime enteredAt = historyRepository.findFirstByTaskIdOrderByChangedAtDescIdDesc(task.getId())
+                    .map(TaskStatusHistory::getChangedAt)
+                    .orElse(task.getCreatedAt());
+            long seconds = secondsBetween(enteredAt, now);
+            history.setSecondsInPreviousStatus(seconds);
+
+            if (sprintScope != null) {
+                cycleTimeRepository.addStatusTime(CycleTimeRepository.SPRINT, sprintScope, fromStatusId, seconds);
+            }
+            cycleTimeRepository.addStatusTime(CycleTimeRepository.USER, userScope, fromStatusId, seconds);
+        }
+
+        // only the first time a task is finished counts towards throughput, the history row of this change is
+        // saved below so it is not found here
+        if ("DONE".equals(task.getStatus().getName())
+                && !historyRepository.existsByTaskIdAndToStatusId(task.getId(), toStatusId)) {
+            ZonedDateTime startedAt = historyRepository.findFirstStartedAt(task.getId());
+            long leadSeconds = secondsBetween(task.getCreatedAt(), now);
+            long cycleSeconds = startedAt != null ? secondsBetween(startedAt, now) : leadSeconds;
+
+            if (sprintScope != null) {
+                cycleTimeRepository.addCompletion(CycleTimeRepository.SPRINT, sprintScope, cycleSeconds, leadSeconds);
+            }
+            cycleTimeRepository.addCompletion(CycleTimeRepository.USER, userScope, cycleSeconds, leadSeconds);
+        }
+
+        historyRepository.save(history);
+        logger.debug("Recorded status change of task {} from {} to {}", task.getId(), fromStatusId, toStatusId);
+    }
+
+    // sprint wins when both are given, with neither it is the requesting user
+    @Transactional(readOnly = true)
+    public CycleTimeDTO getCycleTime(Integer sprintId, UUID userId, UUID requesterId) {
+        CycleTimeDTO dto = new CycleTimeDTO();
+        String scope;
+        String scopeId;
+
+        if (sprintId != null) {
+            if (!sprintRepository.existsById(sprintId)) {
+                throw new ResourceNotFound("Sprint not found with id: " + sprintId);
+            }
+            dto.setSprintId(sprintId);
+            scope = CycleTimeRepository.SPRINT;
+            scopeId = sprintId.toString();
+        } else {
+            UUID targetId = userId != null ? userId : requesterId;
+            if (!userRepository.existsById(targetId)) {
+                throw new ResourceNotFound("User not found with id: " + targetId);
+            }
+            dto.setUserId(targetId);
+            scope = CycleTimeRepository.USER;
+            scopeId = targetId.toString();
+        }
+
+        Map<String, Double> hoursInStatus = new LinkedHashMap<>();
+        for (StatusTimeTotal total : cycleTimeRepository.findStatusTimes(scope, scopeId)) {
+            hoursInStatus.put(total.getStatusName(), total.getTotalSeconds() / SECONDS_PER_HOUR / total.getExits());
+        }
+        dto.setAverageHoursInStatus(hoursInStatus);
+
+        cycleTimeRepository.findThroughput(scope, scopeId).ifPresentOrElse(throughput -> {
+            dto.setCompletedTasks(throughput.getCompletedTasks());
+            dto.setAverageCycleTimeHours(throughput.getTotalCycleSeconds() / SECONDS_PER_HOUR / throughput.getCompletedTasks());
+            dto.setAverageLeadTimeHours(throughput.getTotalLeadSeconds() / SECONDS_PER_HOUR / throughput.getCompletedTasks());
+        }, () -> dto.setCompletedTasks(0));
+
+        return dto;
+    }
+
+    private long secondsBetween(ZonedDateTime from, ZonedDateTime to) {
+        if (from == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(from, to).getSeconds());
+    }
+}
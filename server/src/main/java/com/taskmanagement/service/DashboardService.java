@@ -0,0 +1,67 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.DashboardDTO;
+import com.taskmanagement.dto.TaskDTO;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// two queries for the whole dashboard. the open tasks come from the partial index in due date order, so the
+// overdue ones are simply the ones at the front, and the recent window is capped to a page
+@Service
+public class DashboardService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    static final int MAX_RECENT = 100;
+
+    private final TaskViewRepository taskViewRepository;
+
+    public DashboardService(TaskViewRepository taskViewRepository) {
+        this.taskViewRepository = taskViewRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardDTO getDashboard(UUID userId, int recentHours, int recentLimit) {
+        logger.debug("Building dashboard for user: {}", userId);
+
+        if (recentHours < 1 || recentLimit < 1) {
+            throw new IllegalArgumentException("hours and limit must be at least 1");
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        List<TaskDTO> open = new ArrayList<>();
+        List<TaskDTO> overdue = new ArrayList<>();
+        int openPoints = 0;
+
+        for (TaskView view : taskViewRepository.findByAssignedToIdAndCompletedAtIsNullOrderByDueDateAsc(userId)) {
+            TaskDTO dto = TaskService.convertViewToDTO(view);
+            open.add(dto);
+            if (view.getDueDate().isBefore(now)) {
+                overdue.add(dto);
+            }
+            openPoints += view.getStoryPoints();
+        }
+
+        List<TaskDTO> recent = taskViewRepository.findByAssignedToIdAndUpdatedAtAfterOrderByUpdatedAtDesc(userId,
+                        now.minusHours(recentHours), PageRequest.of(0, Math.min(recentLimit, MAX_RECENT))).stream()
+                .map(TaskService::convertViewToDTO)
+                .toList();
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setOpenTasks(open);
+        dashboard.setOverdueTasks(overdue);
+        dashboard.setRecentTasks(recent);
+        dashboard.setOpenPoints(openPoints);
+        dashboard.setRecentHours(recentHours);
+        return dashboard;
+    }
+}
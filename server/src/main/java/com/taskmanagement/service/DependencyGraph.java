@@ -0,0 +1,175 @@
+package com.taskmanagement.service;
+
+import java.util.*;
+
+// tasks of one epic or sprint with the links between them, keeping the earliest start and finish of every task
+// in hours of remaining work. a change only walks downstream of the task or link it touches, and stops wherever
+// a finish comes out the same as before. links are expected to be acyclic, addEdge refuses one that is not.
+// not thread safe, TaskDependencyGraphs guards it
+class DependencyGraph {
+    private final Map<Integer, Node> nodes = new HashMap<>();
+
+    private static final class Node {
+        private final int taskId;
+        private final Set<Integer> dependsOn = new HashSet<>();
+        private final Set<Integer> blocks = new HashSet<>();
+        private int hours;
+        private Long dueMillis;
+        private long start;
+        private long finish;
+        // the link the start comes from, followed backwards to read off the critical path
+        private Integer criticalDependency;
+
+        private Node(int taskId) {
+            this.taskId = taskId;
+        }
+    }
+
+    boolean contains(int taskId) {
+        return nodes.containsKey(taskId);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    // adds the task or updates its remaining hours, a finished task has none left
+    void putTask(int taskId, int hours, Long dueMillis) {
+        Node node = nodes.computeIfAbsent(taskId, Node::new);
+        node.dueMillis = dueMillis;
+        if (node.hours != hours) {
+            node.hours = hours;
+            propagate(taskId);
+        }
+    }
+
+    void removeTask(int taskId) {
+        Node node = nodes.remove(taskId);
+        if (node == null) {
+            return;
+        }
+        node.dependsOn.forEach(id -> nodes.get(id).blocks.remove(taskId));
+        node.blocks.forEach(id -> nodes.get(id).dependsOn.remove(taskId));
+        node.blocks.forEach(this::propagate);
+    }
+
+    // links to tasks outside the graph are ignored, false when the link would close a cycle
+    boolean addEdge(int taskId, int dependsOnId) {
+        Node node = nodes.get(taskId);
+        Node dependency = nodes.get(dependsOnId);
+        if (node == null || dependency == null || node.dependsOn.contains(dependsOnId)) {
+            return true;
+        }
+        if (taskId == dependsOnId || dependsOn(dependsOnId, taskId)) {
+            return false;
+        }
+        node.dependsOn.add(dependsOnId);
+        dependency.blocks.add(taskId);
+        propagate(taskId);
+        return true;
+    }
+
+    void removeEdge(int taskId, int dependsOnId) {
+        Node node = nodes.get(taskId);
+        if (node != null && node.dependsOn.remove(dependsOnId)) {
+            nodes.get(dependsOnId).blocks.remove(taskId);
+            propagate(taskId);
+        }
+    }
+
+    long start(int taskId) {
+        return nodes.get(taskId).start;
+    }
+
+    long finish(int taskId) {
+        return nodes.get(taskId).finish;
+    }
+
+    // when all remaining work is done, in hours from now
+    long totalHours() {
+        long total = 0;
+        for (Node node : nodes.values()) {
+            total = Math.max(total, node.finish);
+        }
+        return total;
+    }
+
+    // the chain of links that decides totalHours, first task first. ties go to the lower task id
+    List<Integer> criticalPath() {
+        Node last = null;
+        for (Node node : nodes.values()) {
+            if (last == null || node.finish > last.finish || (node.finish == last.finish && node.taskId < last.taskId)) {
+                last = node;
+            }
+        }
+
+        if (last == null || last.finish == 0) {
+            return List.of();
+        }
+
+        LinkedList<Integer> path = new LinkedList<>();
+        for (Node node = last; node != null; node = node.criticalDependency != null ? nodes.get(node.criticalDependency) : null) {
+            path.addFirst(node.taskId);
+        }
+        return path;
+    }
+
+    // tasks that cannot finish before their due date when work starts at nowMillis, lowest id first
+    List<Integer> lateTasks(long nowMillis, long millisPerHour) {
+        List<Integer> late = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (node.hours > 0 && node.dueMillis != null && nowMillis + node.finish * millisPerHour > node.dueMillis) {
+                late.add(node.taskId);
+            }
+        }
+        Collections.sort(late);
+        return late;
+    }
+
+    // recomputes the task and then only the tasks downstream whose start actually moved
+    private void propagate(int taskId) {
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.add(taskId);
+
+        while (!pending.isEmpty()) {
+            Node node = nodes.get(pending.poll());
+            if (node == null) {
+                continue;
+            }
+
+            long start = 0;
+            Integer critical = null;
+            for (Integer id : node.dependsOn) {
+                long finish = nodes.get(id).finish;
+                if (critical == null || finish > start || (finish == start && id < critical)) {
+                    start = finish;
+                    critical = id;
+                }
+            }
+
+            long finish = start + node.hours;
+            node.start = start;
+            node.criticalDependency = critical;
+            if (finish != node.finish) {
+                node.finish = finish;
+                pending.addAll(node.blocks);
+            }
+        }
+    }
+
+    // whether taskId is anywhere upstream of fromId
+    private boolean dependsOn(int fromId, int taskId) {
+        Deque<Integer> pending = new ArrayDeque<>(nodes.get(fromId).dependsOn);
+        Set<Integer> seen = new HashSet<>();
+        while (!pending.isEmpty()) {
+            Integer id = pending.poll();
+            if (id == taskId) {
+                return true;
+            }
+            if (seen.add(id)) {
+                pending.addAll(nodes.get(id).dependsOn);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.EpicDTO;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.EpicProgressRepository;
+import com.taskmanagement.repository.EpicStatusTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+
+// keeps the per epic task counts, points by status and latest due date in step with task writes,
+// the epic list reads them in two queries however many epics there are
+@Service
+public class EpicProgressService {
+    private final EpicProgressRepository epicProgressRepository;
+
+    public EpicProgressService(EpicProgressRepository epicProgressRepository) {
+        this.epicProgressRepository = epicProgressRepository;
+    }
+
+    // what a single task adds to its epic's totals
+    public record Contribution(Integer taskId, Integer epicId, Integer statusId, int storyPoints, ZonedDateTime dueDate) {
+        public static Contribution of(TaskView view) {
+            return new Contribution(view.getTaskId(), view.getEpicId(), view.getStatusId(), view.getStoryPoints(), view.getDueDate());
+        }
+
+        public static Contribution of(Task task) {
+            return new Contribution(task.getId(), task.getEpic() != null ? task.getEpic().getId() : null,
+                    task.getStatus().getId(), task.getStoryPoints(), task.getDueDate());
+        }
+    }
+
+    // runs in the caller's transaction, previous is null for a new task and current is null for a deleted one
+    @Transactional
+    public void recordChange(Contribution previous, Contribution current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+
+        if (previous != null && previous.epicId() != null) {
+            epicProgressRepository.add(previous.epicId(), previous.statusId(), -1, -previous.storyPoints());
+            if (previous.dueDate() != null) {
+                epicProgressRepository.shrinkDueDate(previous.epicId(), previous.taskId(), previous.dueDate());
+            }
+        }
+
+        if (current != null && current.epicId() != null) {
+            epicProgressRepository.add(current.epicId(), current.statusId(), 1, current.storyPoints());
+            if (current.dueDate() != null) {
+                epicProgressRepository.extendDueDate(current.epicId(), current.dueDate());
+            }
+        }
+    }
+
+    // runs in the import's publish transaction, before its staged rows are cleared
+    @Transactional
+    public void recordImport(Integer importId) {
+        epicProgressRepository.addImported(importId);
+    }
+
+    // for tasks inserted in bulk, their task_view rows must already be written
+    @Transactional
+    public void recordInserted(List<Integer> taskIds) {
+        if (!taskIds.isEmpty()) {
+            epicProgressRepository.addTasks(taskIds);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<EpicDTO> withProgress(List<EpicDTO> epics) {
+        if (epics.isEmpty()) {
+            return epics;
+        }
+
+        List<Integer> epicIds = epics.stream().map(EpicDTO::getId).toList();
+        Map<Integer, List<EpicStatusTotal>> totals = new HashMap<>();
+        for (EpicStatusTotal total : epicProgressRepository.findStatusTotals(epicIds)) {
+            totals.computeIfAbsent(total.getEpicId(), id -> new ArrayList<>()).add(total);
+        }
+        Map<Integer, ZonedDateTime> dueDates = epicProgressRepository.findLatestDueDates(epicIds);
+
+        for (EpicDTO epic : epics) {
+            int totalTasks = 0;
+            int doneTasks = 0;
+            int inProgressTasks = 0;
+            Map<String, Integer> pointsByStatus = new LinkedHashMap<>();
+
+            for (EpicStatusTotal total : totals.getOrDefault(epic.getId(), List.of())) {
+                totalTasks += total.getTasks();
+                if ("DONE".equals(total.getStatusName())) {
+                    doneTasks += total.getTasks();
+                } else if ("IN_PROGRESS".equals(total.getStatusName())) {
+                    inProgressTasks += total.getTasks();
+                }
+                pointsByStatus.put(total.getStatusName(), total.getStoryPoints());
+            }
+
+            epic.setTotalTasks(totalTasks);
+            epic.setDoneTasks(doneTasks);
+            epic.setInProgressTasks(inProgressTasks);
+            epic.setStoryPointsByStatus(pointsByStatus);
+            epic.setLatestDueDate(dueDates.get(epic.getId()));
+        }
+        return epics;
+    }
+}
@@ -2,9 +2,15 @@ package com.taskmanagement.service;
 
 import com.taskmanagement.dto.EpicDTO;
 import com.taskmanagement.exception.EpicNotFoundException;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.exception.UnauthorizedAccessException;
 import com.taskmanagement.model.Epic;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.ArchivedTaskRepository;
 import com.taskmanagement.repository.EpicRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,18 +19,40 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class EpicService {
     private final EpicRepository epicRepository;
     private final UserRepository userRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final EpicProgressService epicProgressService;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDueTracker taskDueTracker;
+    private final BurndownService burndownService;
+    private final TaskDependencyGraphs taskDependencyGraphs;
     private static final Logger logger = LoggerFactory.getLogger(EpicService.class);
 
-    public EpicService(EpicRepository epicRepository, UserRepository userRepository) {
+    public EpicService(EpicRepository epicRepository, UserRepository userRepository, TaskViewRepository taskViewRepository,
+                       EpicProgressService epicProgressService, TaskRepository taskRepository,
+                       ArchivedTaskRepository archivedTaskRepository, TaskFilterIndex taskFilterIndex,
+                       TaskDueTracker taskDueTracker, BurndownService burndownService,
+                       TaskDependencyGraphs taskDependencyGraphs) {
         this.epicRepository = epicRepository;
         this.userRepository = userRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.epicProgressService = epicProgressService;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDueTracker = taskDueTracker;
+        this.burndownService = burndownService;
+        this.taskDependencyGraphs = taskDependencyGraphs;
     }
 
     public Epic createEpic(EpicDTO epicDTO) {
@@ -51,15 +79,20 @@ public class EpicService {
     }
 
     public List<EpicDTO> getAllEpicsWithOwner() {
-        return epicRepository.findAllWithOwner();
+        return epicProgressService.withProgress(epicRepository.findAllWithOwner());
     }
 
     public Optional<Epic> getEpicById(int id) {
         return epicRepository.findById(id);
     }
 
+    @Transactional
     public Epic updateEpic(int id, EpicDTO epicDTO) {
         return epicRepository.findById(id).map(epic -> {
+            if (epicDTO.getName() != null && !epicDTO.getName().equals(epic.getName())) {
+                taskViewRepository.updateEpicName(id, epicDTO.getName());
+            }
+
             epic.setName(epicDTO.getName());
             epic.setDescription(epicDTO.getDescription());
             epic.setStoryPoints(epicDTO.getStoryPoints() != null ? epicDTO.getStoryPoints() : 0);
@@ -73,9 +106,49 @@ public class EpicService {
         }).orElseThrow(() -> new EpicNotFoundException("Epic not found with id: " + id));
     }
 
+    // the epic's tasks are detached with one UPDATE, or deleted with one DELETE when cascading,
+    // in the same transaction as the epic itself. progress rows go with the epic through their foreign keys
     @Transactional
-    public void deleteEpic(int id) {
+    public void deleteEpic(int id, boolean cascade, UUID userId) {
         epicRepository.findById(id).orElseThrow(() -> new EpicNotFoundException("Epic not found with id: " + id));
+
+        if (cascade) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFound("User not found with id: " + userId));
+            String role = user.getRole().getName();
+            // same rule as deleting a task that is past the backlog
+            if (!(role.equals("ADMIN") || role.equals("SCRUM_MASTER"))) {
+                throw new UnauthorizedAccessException("You don't have permission to delete the tasks of this epic");
+            }
+        }
+
+        List<TaskView> views = taskViewRepository.findByEpicId(id);
+        taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.EPIC, id);
+        if (cascade) {
+            int deleted = taskRepository.deleteInEpic(id);
+            views.forEach(view -> taskFilterIndex.remove(view.getTaskId()));
+            if (deleted > 0) {
+                Integer[] sprintIds = views.stream().map(TaskView::getSprintId)
+                        .filter(Objects::nonNull).distinct().toArray(Integer[]::new);
+                taskDueTracker.tasksChanged();
+                burndownService.recordChange(sprintIds);
+                for (Integer sprintId : sprintIds) {
+                    taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, sprintId);
+                }
+            }
+            logger.info("Deleted {} tasks of epic {}", deleted, id);
+        } else {
+            int detached = taskRepository.detachEpic(id);
+            taskViewRepository.detachEpic(id, ZonedDateTime.now());
+            for (TaskView view : views) {
+                view.setEpicId(null);
+                view.setEpicName(null);
+                taskFilterIndex.upsert(view);
+            }
+            logger.info("Detached {} tasks from epic {}", detached, id);
+        }
+        archivedTaskRepository.detachEpic(id);
+
         epicRepository.deleteById(id);
         logger.info("Deleted epic with id: {}", id);
     }
@@ -86,7 +159,7 @@ public class EpicService {
 
         List<Epic> epics = epicRepository.findByNameContainingIgnoreCase(name);
 
-        return epics.stream()
+        return epicProgressService.withProgress(epics.stream()
                 .map(epic -> {
                     EpicDTO dto = new EpicDTO();
                     dto.setId(epic.getId());
@@ -99,7 +172,7 @@ public class EpicService {
                     dto.setTargetEndDate(epic.getTargetEndDate());
                     return dto;
                 })
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public boolean isOwner(Integer epicId, String name) {
@@ -0,0 +1,54 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.repository.ExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    public static final List<String> EXPORTS = List.of("tasks", "comments", "sprints", "epics");
+
+    private final ExportRepository exportRepository;
+
+    public ExportService(ExportRepository exportRepository) {
+        this.exportRepository = exportRepository;
+    }
+
+    // check before the response is committed, once streaming starts the status can no longer change
+    public void validateExport(String entity) {
+        if (!EXPORTS.contains(entity)) {
+            throw new ResourceNotFound("Unknown export: " + entity + ". Use one of " + EXPORTS);
+        }
+    }
+
+    public long export(String entity, TaskFilterDTO filterDTO, boolean gzip, OutputStream out, UUID userId) throws IOException {
+        validateExport(entity);
+        // compared against the stored form, like the task filter does
+        filterDTO.setAnyLabels(TaskService.normalizeLabels(filterDTO.getAnyLabels()));
+        filterDTO.setAllLabels(TaskService.normalizeLabels(filterDTO.getAllLabels()));
+        logger.debug("Exporting {} for user: {} (gzip: {})", entity, userId, gzip);
+
+        long rows;
+        if (gzip) {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+            rows = exportRepository.copyOut(entity, filterDTO, gzipOut);
+            gzipOut.finish();
+        } else {
+            rows = exportRepository.copyOut(entity, filterDTO, out);
+        }
+
+        logger.info("Exported {} {} rows for user: {}", rows, entity, userId);
+        return rows;
+    }
+}
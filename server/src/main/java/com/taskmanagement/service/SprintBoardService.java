@@ -0,0 +1,115 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.BoardAssigneeDTO;
+import com.taskmanagement.dto.BoardColumnDTO;
+import com.taskmanagement.dto.SprintBoardDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskStatus;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskCommentRepository;
+import com.taskmanagement.repository.TaskStatusRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+// the whole sprint board in four queries on one connection. repeatable read gives all of them the same snapshot,
+// a task written in between shows up in every part of the board or in none. each query is an index read of one
+// sprint, running them one after the other costs less than taking threads and connections from the shared pools
+@Service
+public class SprintBoardService {
+    private static final Logger logger = LoggerFactory.getLogger(SprintBoardService.class);
+
+    private final SprintRepository sprintRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskCommentRepository commentRepository;
+    private final TaskStatusRepository statusRepository;
+
+    public SprintBoardService(SprintRepository sprintRepository, TaskViewRepository taskViewRepository,
+                              TaskCommentRepository commentRepository, TaskStatusRepository statusRepository) {
+        this.sprintRepository = sprintRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.commentRepository = commentRepository;
+        this.statusRepository = statusRepository;
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SprintBoardDTO getBoard(Integer sprintId) {
+        logger.debug("Building board for sprint: {}", sprintId);
+
+        Sprint found = sprintRepository.findWithScrumMasterById(sprintId)
+                .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + sprintId));
+
+        SprintBoardDTO board = new SprintBoardDTO();
+        board.setSprint(SprintService.mapToDTO(found));
+        board.setScrumMasterName(found.getScrumMaster().getName());
+        fillTasks(board, taskViewRepository.findBySprintId(sprintId), statusRepository.findAll());
+
+        Map<Integer, Long> commentCounts = new HashMap<>();
+        commentRepository.countBySprintId(sprintId)
+                .forEach(count -> commentCounts.put(count.getTaskId(), count.getComments()));
+        board.setCommentCounts(commentCounts);
+        return board;
+    }
+
+    private void fillTasks(SprintBoardDTO board, List<TaskView> tasks, List<TaskStatus> statuses) {
+        Map<Integer, BoardColumnDTO> columns = new LinkedHashMap<>();
+        statuses.stream()
+                .sorted(Comparator.comparingInt(TaskStatus::getDisplayOrder))
+                .forEach(status -> columns.put(status.getId(), column(status.getId(), status.getName())));
+
+        Map<UUID, BoardAssigneeDTO> assignees = new HashMap<>();
+        int totalPoints = 0;
+        int completedPoints = 0;
+
+        List<TaskView> byDueDate = new ArrayList<>(tasks);
+        byDueDate.sort(Comparator.comparing(TaskView::getDueDate).thenComparing(TaskView::getTaskId));
+        for (TaskView task : byDueDate) {
+            // a status added after the statuses were read still gets its own column
+            BoardColumnDTO column = columns.computeIfAbsent(task.getStatusId(),
+                    id -> column(id, task.getStatusName()));
+            column.getTasks().add(TaskService.convertViewToDTO(task));
+            column.setTaskCount(column.getTaskCount() + 1);
+            column.setPoints(column.getPoints() + task.getStoryPoints());
+
+            BoardAssigneeDTO assignee = assignees.computeIfAbsent(task.getAssignedToId(), id -> {
+                BoardAssigneeDTO dto = new BoardAssigneeDTO();
+                dto.setUserId(id);
+                dto.setName(task.getAssignedToName());
+                return dto;
+            });
+            assignee.setTaskCount(assignee.getTaskCount() + 1);
+            assignee.setPoints(assignee.getPoints() + task.getStoryPoints());
+
+            totalPoints += task.getStoryPoints();
+            if (task.getCompletedAt() != null) {
+                assignee.setCompletedPoints(assignee.getCompletedPoints() + task.getStoryPoints());
+                completedPoints += task.getStoryPoints();
+            }
+        }
+
+        List<BoardAssigneeDTO> byPoints = new ArrayList<>(assignees.values());
+        byPoints.sort(Comparator.comparingInt(BoardAssigneeDTO::getPoints).reversed()
+                .thenComparing(BoardAssigneeDTO::getName));
+
+        board.setColumns(new ArrayList<>(columns.values()));
+        board.setAssignees(byPoints);
+        board.setTotalTasks(tasks.size());
+        board.setTotalPoints(totalPoints);
+        board.setCompletedPoints(completedPoints);
+    }
+
+    private static BoardColumnDTO column(Integer statusId, String statusName) {
+        BoardColumnDTO column = new BoardColumnDTO();
+        column.setStatusId(statusId);
+        column.setStatusName(statusName);
+        column.setTasks(new ArrayList<>());
+        return column;
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 0/1 knapsack over story points. exact dynamic programming while capacity x items stays small enough,
+// past that a greedy pass by value per point. weightless items are always taken.
+// stateless, the caller puts the items in its preferred order for ties
+final class SprintPlanner {
+    static final long MAX_EXACT_CELLS = 20_000_000L;
+
+    record Item(int weight, long value) {
+    }
+
+    record Plan(List<Integer> chosen, boolean exact) {
+    }
+
+    private SprintPlanner() {
+    }
+
+    // indexes into items of the chosen ones, in item order
+    static Plan solve(List<Item> items, int capacity) {
+        if ((long) items.size() * (capacity + 1) <= MAX_EXACT_CELLS) {
+            return new Plan(exact(items, capacity), true);
+        }
+        return new Plan(greedy(items, capacity), false);
+    }
+
+    private static List<Integer> exact(List<Item> items, int capacity) {
+        int n = items.size();
+        int words = (capacity >> 6) + 1;
+        long[] best = new long[capacity + 1];
+        // bit c of taken[i] is set when item i is in the best packing of the first i+1 items into c points
+        long[][] taken = new long[n][];
+
+        for (int i = 0; i < n; i++) {
+            Item item = items.get(i);
+            taken[i] = new long[words];
+            if (item.weight() > capacity) {
+                continue;
+            }
+            for (int c = capacity; c >= item.weight(); c--) {
+                long with = best[c - item.weight()] + item.value();
+                if (with > best[c] || item.weight() == 0) {
+                    best[c] = with;
+                    taken[i][c >> 6] |= 1L << (c & 63);
+                }
+            }
+        }
+
+        List<Integer> chosen = new ArrayList<>();
+        int c = capacity;
+        for (int i = n - 1; i >= 0; i--) {
+            if ((taken[i][c >> 6] & (1L << (c & 63))) != 0) {
+                chosen.add(i);
+                c -= items.get(i).weight();
+            }
+        }
+        chosen.sort(Comparator.naturalOrder());
+        return chosen;
+    }
+
+    private static List<Integer> greedy(List<Item> items, int capacity) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            order.add(i);
+        }
+        // stable, so equal densities keep the caller's order
+        order.sort(Comparator.comparingDouble(i -> -density(items.get(i))));
+
+        List<Integer> chosen = new ArrayList<>();
+        int remaining = capacity;
+        for (int i : order) {
+            Item item = items.get(i);
+            if (item.weight() <= remaining) {
+                chosen.add(i);
+                remaining -= item.weight();
+            }
+        }
+        chosen.sort(Comparator.naturalOrder());
+        return chosen;
+    }
+
+    private static double density(Item item) {
+        return item.weight() == 0 ? Double.MAX_VALUE : (double) item.value() / item.weight();
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.PlannedTaskDTO;
+import com.taskmanagement.dto.SprintPlanDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskPriority;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskPriorityRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// fills a sprint's free capacity from the backlog. a task is worth its priority value per story point, so the plan
+// packs as many high priority points as fit. candidates already satisfy the sprint date rules of TaskService
+@Service
+public class SprintPlanningService {
+    private static final Logger logger = LoggerFactory.getLogger(SprintPlanningService.class);
+
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskPriorityRepository priorityRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final BurndownService burndownService;
+    private final TaskDependencyGraphs taskDependencyGraphs;
+
+    public SprintPlanningService(
+            SprintRepository sprintRepository,
+            TaskRepository taskRepository,
+            TaskViewRepository taskViewRepository,
+            TaskPriorityRepository priorityRepository,
+            TaskFilterIndex taskFilterIndex,
+            BurndownService burndownService,
+            TaskDependencyGraphs taskDependencyGraphs) {
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.priorityRepository = priorityRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.burndownService = burndownService;
+        this.taskDependencyGraphs = taskDependencyGraphs;
+    }
+
+    @Transactional(readOnly = true)
+    public SprintPlanDTO planSprint(Integer sprintId) {
+        Sprint sprint = findPlannableSprint(sprintId);
+        return plan(sprint, findCandidates(sprint));
+    }
+
+    // plans again rather than trusting an earlier preview, the backlog may have moved since
+    @Transactional
+    public SprintPlanDTO applySprintPlan(Integer sprintId) {
+        Sprint sprint = findPlannableSprint(sprintId);
+        if (!sprint.isActive()) {
+            throw new IllegalStateException("Cannot add tasks to inactive sprints");
+        }
+
+        List<TaskView> candidates = findCandidates(sprint);
+        SprintPlanDTO plan = plan(sprint, candidates);
+        if (plan.getTasks().isEmpty()) {
+            return plan;
+        }
+
+        List<Integer> taskIds = plan.getTasks().stream().map(PlannedTaskDTO::getTaskId).toList();
+        int moved = taskRepository.assignSprint(taskIds, sprint);
+        if (moved != taskIds.size()) {
+            // rolls the whole batch back
+            throw new IllegalStateException("The backlog changed while the sprint was being planned, please try again");
+        }
+        taskViewRepository.assignSprint(taskIds, sprint.getId(), sprint.getName(), ZonedDateTime.now());
+
+        Set<Integer> planned = new HashSet<>(taskIds);
+        for (TaskView view : candidates) {
+            if (planned.contains(view.getTaskId())) {
+                view.setSprintId(sprint.getId());
+                view.setSprintName(sprint.getName());
+                taskFilterIndex.upsert(view);
+            }
+        }
+        burndownService.recordChange(sprint.getId());
+        // the planned tasks came from the backlog, only the sprint's graph gains tasks and it is loaded again
+        taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, sprint.getId());
+
+        plan.setApplied(true);
+        logger.info("Planned {} tasks ({} points) into sprint {}", taskIds.size(), plan.getPlannedPoints(), sprintId);
+        return plan;
+    }
+
+    private Sprint findPlannableSprint(Integer sprintId) {
+        Sprint sprint = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + sprintId));
+        if (sprint.getEndDate() != null && ZonedDateTime.now().isAfter(sprint.getEndDate())) {
+            throw new IllegalStateException(String.format("Cannot add task to completed sprint. Sprint ended on %s",
+                    sprint.getEndDate().toLocalDate()));
+        }
+        return sprint;
+    }
+
+    // ordered by due date then id, so ties between equally valuable plans go to the work that is due first
+    private List<TaskView> findCandidates(Sprint sprint) {
+        List<TaskView> candidates = new ArrayList<>(
+                taskViewRepository.findPlanningCandidates(sprint.getStartDate(), sprint.getEndDate()));
+        candidates.sort(Comparator.comparing(TaskView::getDueDate).thenComparing(TaskView::getTaskId));
+        return candidates;
+    }
+
+    private SprintPlanDTO plan(Sprint sprint, List<TaskView> candidates) {
+        int currentPoints = (int) taskViewRepository.sumCountedStoryPointsBySprintId(sprint.getId(), 0);
+        Map<Integer, Integer> priorityValues = priorityRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskPriority::getId, TaskPriority::getValue));
+
+        List<SprintPlanner.Item> items = new ArrayList<>(candidates.size());
+        for (TaskView view : candidates) {
+            long value = (long) priorityValues.getOrDefault(view.getPriorityId(), 1) * view.getStoryPoints();
+            items.add(new SprintPlanner.Item(view.getStoryPoints(), value));
+        }
+
+        // same rule as checkSprintCapacity, no capacity means no limit
+        int capacity = sprint.getCapacityPoints() > 0
+                ? Math.max(0, sprint.getCapacityPoints() - currentPoints)
+                : items.stream().mapToInt(SprintPlanner.Item::weight).sum();
+        SprintPlanner.Plan solved = SprintPlanner.solve(items, capacity);
+
+        List<PlannedTaskDTO> tasks = new ArrayList<>();
+        int plannedPoints = 0;
+        for (int index : solved.chosen()) {
+            TaskView view = candidates.get(index);
+            PlannedTaskDTO task = new PlannedTaskDTO();
+            task.setTaskId(view.getTaskId());
+            task.setTitle(view.getTitle());
+            task.setStoryPoints(view.getStoryPoints());
+            task.setPriorityName(view.getPriorityName());
+            task.setStatusName(view.getStatusName());
+            task.setDueDate(view.getDueDate());
+            tasks.add(task);
+            plannedPoints += view.getStoryPoints();
+        }
+
+        SprintPlanDTO dto = new SprintPlanDTO();
+        dto.setSprintId(sprint.getId());
+        dto.setCapacityPoints(sprint.getCapacityPoints());
+        dto.setCurrentPoints(currentPoints);
+        dto.setPlannedPoints(plannedPoints);
+        dto.setCandidateCount(candidates.size());
+        dto.setExact(solved.exact());
+        dto.setTasks(tasks);
+        return dto;
+    }
+}
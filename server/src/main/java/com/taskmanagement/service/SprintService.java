@@ -1,14 +1,19 @@
 package com.taskmanagement.service;
 
 import com.taskmanagement.dto.SprintDTO;
+import com.taskmanagement.dto.SprintEndSummaryDTO;
 import com.taskmanagement.exception.SprintNotFoundException;
 import com.taskmanagement.exception.UserNotFoundException;
 import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
 import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import com.taskmanagement.exception.UserNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -19,10 +24,22 @@ import java.util.stream.Collectors;
     public class SprintService {
         private final SprintRepository sprintRepository;
         private final UserRepository userRepository;
-
-        public SprintService(SprintRepository sprintRepository, UserRepository userRepository) {
+        private final TaskViewRepository taskViewRepository;
+        private final BurndownService burndownService;
+        private final TaskRepository taskRepository;
+        private final TaskFilterIndex taskFilterIndex;
+        private final TaskDependencyGraphs taskDependencyGraphs;
+
+        public SprintService(SprintRepository sprintRepository, UserRepository userRepository, TaskViewRepository taskViewRepository,
+                             BurndownService burndownService, TaskRepository taskRepository, TaskFilterIndex taskFilterIndex,
+                             TaskDependencyGraphs taskDependencyGraphs) {
             this.sprintRepository = sprintRepository;
             this.userRepository = userRepository;
+            this.taskViewRepository = taskViewRepository;
+            this.burndownService = burndownService;
+            this.taskRepository = taskRepository;
+            this.taskFilterIndex = taskFilterIndex;
+            this.taskDependencyGraphs = taskDependencyGraphs;
         }
 
         public SprintDTO createSprint(SprintDTO sprintDTO) {
@@ -54,19 +71,25 @@ import java.util.stream.Collectors;
 
         public SprintDTO findScumMasterName(User user) {
             return sprintRepository.findByScrumMaster(user)
-                    .map(this::mapToDTO)
+                    .map(SprintService::mapToDTO)
                     .orElseThrow(RuntimeException::new);
         }
 
         public List<SprintDTO> getAllSprints() {
             List<Sprint> sprints = sprintRepository.findAll();
-            return sprints.stream().map(this::mapToDTO).collect(Collectors.toList());
+            return sprints.stream().map(SprintService::mapToDTO).collect(Collectors.toList());
         }
 
+        @Transactional
         public SprintDTO updateSprint(Integer id, SprintDTO sprintDTO) {
             Sprint sprint = sprintRepository.findById(id)
                     .orElseThrow(() -> new SprintNotFoundException(id));
 
+            // sprint names are copied into task_view
+            if (sprintDTO.getName() != null && !sprintDTO.getName().equals(sprint.getName())) {
+                taskViewRepository.updateSprintName(id, sprintDTO.getName());
+            }
+
             sprint.setName(sprintDTO.getName());
             sprint.setGoal(sprintDTO.getGoal());
             sprint.setCapacityPoints(sprintDTO.getCapacityPoints());
@@ -99,23 +122,97 @@ import java.util.stream.Collectors;
             sprint.setUpdatedAt(ZonedDateTime.now());
 
             Sprint updatedSprint = sprintRepository.save(sprint);
+            burndownService.snapshotSprint(sprintId);
             return mapToDTO(updatedSprint);
         }
 
-        public SprintDTO endSprint(Integer sprintId) {
+        // rolloverSprintId is optional, when given every task that is not DONE moves there in one update
+        @Transactional
+        public SprintEndSummaryDTO endSprint(Integer sprintId, Integer rolloverSprintId) {
             Sprint sprint = sprintRepository.findById(sprintId)
                     .orElseThrow(() -> new SprintNotFoundException(sprintId));
 
+            Sprint target = null;
+            if (rolloverSprintId != null) {
+                target = findRolloverTarget(sprintId, rolloverSprintId);
+            }
+
+            SprintEndSummaryDTO summary = new SprintEndSummaryDTO();
+            for (TaskView view : taskViewRepository.findBySprintId(sprintId)) {
+                if (view.getCompletedAt() != null) {
+                    summary.setCompletedTasks(summary.getCompletedTasks() + 1);
+                    summary.setCompletedPoints(summary.getCompletedPoints() + view.getStoryPoints());
+                }
+            }
+
             // End the sprint: Set inactive and end date
             sprint.setActive(false);
             sprint.setEndDate(ZonedDateTime.now());
             sprint.setUpdatedAt(ZonedDateTime.now());
 
             Sprint updatedSprint = sprintRepository.save(sprint);
-            return mapToDTO(updatedSprint);
+            // final row for the closing day, taken before unfinished work leaves the sprint. velocity reads what the
+            // sprint committed to from it
+            burndownService.snapshotSprint(sprintId);
+
+            if (target != null) {
+                rollOver(updatedSprint, target, summary);
+            }
+
+            summary.setSprint(mapToDTO(updatedSprint));
+            return summary;
+        }
+
+        private Sprint findRolloverTarget(Integer sprintId, Integer rolloverSprintId) {
+            if (rolloverSprintId.equals(sprintId)) {
+                throw new IllegalArgumentException("Cannot roll a sprint over into itself");
+            }
+            Sprint target = sprintRepository.findById(rolloverSprintId)
+                    .orElseThrow(() -> new SprintNotFoundException(rolloverSprintId));
+            if (!target.isActive()) {
+                throw new IllegalStateException("Cannot add tasks to inactive sprints");
+            }
+            if (target.getEndDate() != null && ZonedDateTime.now().isAfter(target.getEndDate())) {
+                throw new IllegalStateException(String.format("Cannot add task to completed sprint. Sprint ended on %s",
+                        target.getEndDate().toLocalDate()));
+            }
+            return target;
+        }
+
+        // unfinished work is late by definition, so the due date rules for adding tasks are not applied here
+        // capacity is checked once the tasks are in the target sprint, subtasks that arrive together with their parent
+        // are then left out by the same rule as every other capacity check. going over rolls the whole end back
+        private void rollOver(Sprint from, Sprint to, SprintEndSummaryDTO summary) {
+            int current = (int) taskViewRepository.sumCountedStoryPointsBySprintId(to.getId(), 0);
+
+            int moved = taskRepository.moveOpenTasks(from, to);
+            if (moved == 0) {
+                return;
+            }
+            List<TaskView> rolledOver = taskViewRepository.moveOpenTasks(from.getId(), to.getId(), to.getName(),
+                    ZonedDateTime.now());
+            if (rolledOver.size() != moved) {
+                throw new IllegalStateException("Tasks in the sprint changed while it was being ended, please try again");
+            }
+
+            int total = (int) taskViewRepository.sumCountedStoryPointsBySprintId(to.getId(), 0);
+            if (to.getCapacityPoints() > 0 && total > to.getCapacityPoints()) {
+                throw new IllegalStateException(
+                        String.format("Rolling over would exceed the sprint's capacity. Current: %d, Adding: %d, Capacity: %d",
+                                current, total - current, to.getCapacityPoints()));
+            }
+
+            rolledOver.forEach(taskFilterIndex::upsert);
+            burndownService.recordChange(to.getId());
+            taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, from.getId());
+            taskDependencyGraphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, to.getId());
+
+            summary.setRolloverSprintId(to.getId());
+            summary.setRolledOverTasks(rolledOver.size());
+            summary.setRolledOverPoints(rolledOver.stream().mapToInt(TaskView::getStoryPoints).sum());
         }
 
-        private SprintDTO mapToDTO(Sprint sprint) {
+        static SprintDTO mapToDTO(Sprint sprint) {
             SprintDTO sprintDTO = new SprintDTO();
             sprintDTO.setId(sprint.getId());
             sprintDTO.setName(sprint.getName());
@@ -0,0 +1,83 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.TaskArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+// moves tasks completed more than after-days ago out of the hot tables, one transaction per batch
+// so a large backlog never holds locks for long
+@Service
+public class TaskArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskArchiveRepository archiveRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDependencyGraphs taskDependencyGraphs;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+
+    public TaskArchiveService(
+            TaskArchiveRepository archiveRepository,
+            TaskFilterIndex taskFilterIndex,
+            TaskDependencyGraphs taskDependencyGraphs,
+            PlatformTransactionManager transactionManager,
+            @Value("${taskmanagement.archive.enabled:true}") boolean enabled,
+            @Value("${taskmanagement.archive.after-days:90}") int afterDays,
+            @Value("${taskmanagement.archive.batch-size:1000}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDependencyGraphs = taskDependencyGraphs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${taskmanagement.archive.cron:0 0 3 * * *}")
+    public void archiveOnSchedule() {
+        if (enabled) {
+            archiveCompletedTasks();
+        }
+    }
+
+    public int archiveCompletedTasks() {
+        ZonedDateTime cutoff = ZonedDateTime.now().minusDays(afterDays);
+        logger.info("Archiving tasks completed before {}", cutoff);
+
+        int total = 0;
+        while (true) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+
+        logger.info("Archived {} tasks", total);
+        return total;
+    }
+
+    private int archiveBatch(ZonedDateTime cutoff) {
+        List<Integer> taskIds = archiveRepository.lockCompletedBefore(cutoff, batchSize);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        int archived = archiveRepository.archive(taskIds);
+        taskIds.forEach(taskFilterIndex::remove);
+        // the trigger dropped their links, the graphs holding them are loaded again when next read
+        taskDependencyGraphs.invalidateAll();
+        logger.debug("Archived batch of {} tasks", archived);
+        return taskIds.size();
+    }
+}
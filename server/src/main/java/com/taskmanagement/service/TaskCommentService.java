@@ -3,9 +3,12 @@ package com.taskmanagement.service;
 import com.taskmanagement.dto.TaskCommentDTO;
 import com.taskmanagement.exception.ResourceNotFound;
 import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.ArchivedTaskComment;
 import com.taskmanagement.model.Task;
 import com.taskmanagement.model.TaskComment;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.ArchivedTaskCommentRepository;
+import com.taskmanagement.repository.ArchivedTaskRepository;
 import com.taskmanagement.repository.TaskCommentRepository;
 import com.taskmanagement.repository.TaskRepository;
 import com.taskmanagement.repository.UserRepository;
@@ -25,21 +28,38 @@ public class TaskCommentService {
     private final TaskCommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedTaskCommentRepository archivedCommentRepository;
 
     public TaskCommentService(
             TaskCommentRepository commentRepository,
             TaskRepository taskRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            ArchivedTaskCommentRepository archivedCommentRepository) {
         this.commentRepository = commentRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
     }
 
     @Transactional(readOnly = true)
     public List<TaskCommentDTO> getCommentsByTaskId(Integer taskId, UUID userId) {
+        return getCommentsByTaskId(taskId, userId, false);
+    }
+
+    // comments move to the archive together with their task
+    @Transactional(readOnly = true)
+    public List<TaskCommentDTO> getCommentsByTaskId(Integer taskId, UUID userId, boolean includeArchived) {
         logger.debug("Fetching comments for task: {}", taskId);
 
         if (!taskRepository.existsById(taskId)) {
+            if (includeArchived && archivedTaskRepository.existsById(taskId)) {
+                return archivedCommentRepository.findByTaskIdOrderByCreatedAtDesc(taskId).stream()
+                        .map(this::convertArchivedToDTO)
+                        .collect(Collectors.toList());
+            }
             throw new ResourceNotFound("Task not found with id: " + taskId);
         }
 
@@ -125,4 +145,16 @@ public class TaskCommentService {
         dto.setUpdatedAt(comment.getUpdatedAt());
         return dto;
     }
-}
\ No newline at end of file
+
+    private TaskCommentDTO convertArchivedToDTO(ArchivedTaskComment comment) {
+        TaskCommentDTO dto = new TaskCommentDTO();
+        dto.setId(comment.getId());
+        dto.setTaskId(comment.getTaskId());
+        dto.setUserId(comment.getUserId());
+        dto.setUserName(comment.getUserName());
+        dto.setContent(comment.getContent());
+        dto.setCreatedAt(comment.getCreatedAt());
+        dto.setUpdatedAt(comment.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,223 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.DependencyEdge;
+import com.taskmanagement.repository.TaskDependencyRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// one DependencyGraph per epic and per sprint, loaded the first time its critical path is asked for and then
+// patched as tasks and links change. changes are applied after commit like the filter index, writes that move
+// many tasks at once drop the graphs they touch and the next read loads them again
+@Component
+public class TaskDependencyGraphs {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDependencyGraphs.class);
+
+    public enum Scope { EPIC, SPRINT }
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskDependencyRepository dependencyRepository;
+
+    // access ordered, the graph read least recently goes once there are more than maxGraphs
+    private final Map<String, DependencyGraph> graphs;
+    // counts the changes applied to the graphs, a graph loaded while it moved may have missed one and is not kept
+    private long changes;
+
+    public TaskDependencyGraphs(TaskViewRepository taskViewRepository,
+                                TaskDependencyRepository dependencyRepository,
+                                @Value("${taskmanagement.critical-path.max-graphs:256}") int maxGraphs) {
+        this.taskViewRepository = taskViewRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DependencyGraph> eldest) {
+                return size() > maxGraphs;
+            }
+        };
+    }
+
+    // what a single task puts into the graphs of its epic and sprint, a finished task has no hours left
+    public record Entry(Integer taskId, Integer epicId, Integer sprintId, int hours, Long dueMillis) {
+        public static Entry of(TaskView view) {
+            return new Entry(view.getTaskId(), view.getEpicId(), view.getSprintId(),
+                    view.getCompletedAt() != null ? 0 : view.getEstimatedHours(), millis(view.getDueDate()));
+        }
+
+        public static Entry of(Task task) {
+            return new Entry(task.getId(),
+                    task.getEpic() != null ? task.getEpic().getId() : null,
+                    task.getSprint() != null ? task.getSprint().getId() : null,
+                    task.getCompletedAt() != null ? 0 : task.getEstimatedHours(), millis(task.getDueDate()));
+        }
+
+        private static Long millis(ZonedDateTime date) {
+            return date != null ? date.toInstant().toEpochMilli() : null;
+        }
+    }
+
+    // loads the graph when it is not held yet. the queries run outside the lock so one slow load doesn't hold up
+    // every other graph, the reader runs under it
+    <T> T read(Scope scope, Integer id, Function<DependencyGraph, T> reader) {
+        String key = key(scope, id);
+        long seen;
+        synchronized (this) {
+            DependencyGraph graph = graphs.get(key);
+            if (graph != null) {
+                return reader.apply(graph);
+            }
+            seen = changes;
+        }
+
+        DependencyGraph loaded = load(scope, id);
+        synchronized (this) {
+            DependencyGraph graph = graphs.get(key);
+            if (graph == null) {
+                // another read may have installed it meanwhile, that one wins
+                graph = loaded;
+                if (changes == seen) {
+                    graphs.put(key, graph);
+                }
+            }
+            return reader.apply(graph);
+        }
+    }
+
+    // runs in the caller's transaction, previous is null for a new task
+    public void taskChanged(Entry previous, Entry current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        // only a task joining a graph that is already held needs its links, null means they were not looked up
+        List<DependencyEdge> edges = joinsHeldGraph(previous, current) ? dependencyRepository.findForTask(current.taskId()) : null;
+        afterCommit(() -> apply(previous, current, edges));
+    }
+
+    public void taskRemoved(Entry entry) {
+        afterCommit(() -> apply(entry, null, null));
+    }
+
+    public void edgeAdded(Integer taskId, Integer dependsOnId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                changes++;
+                // the database refused cycles already, a graph that still sees one is out of step and goes
+                graphs.values().removeIf(graph -> !graph.addEdge(taskId, dependsOnId));
+            }
+        });
+    }
+
+    public void edgeRemoved(Integer taskId, Integer dependsOnId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                changes++;
+                graphs.values().forEach(graph -> graph.removeEdge(taskId, dependsOnId));
+            }
+        });
+    }
+
+    public void invalidate(Scope scope, Integer id) {
+        if (id == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                changes++;
+                graphs.remove(key(scope, id));
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                changes++;
+                graphs.clear();
+            }
+        });
+    }
+
+    private DependencyGraph load(Scope scope, Integer id) {
+        List<TaskView> views = scope == Scope.EPIC ? taskViewRepository.findByEpicId(id) : taskViewRepository.findBySprintId(id);
+        List<DependencyEdge> edges = scope == Scope.EPIC ? dependencyRepository.findInEpic(id) : dependencyRepository.findInSprint(id);
+
+        DependencyGraph graph = new DependencyGraph();
+        for (TaskView view : views) {
+            Entry entry = Entry.of(view);
+            graph.putTask(entry.taskId(), entry.hours(), entry.dueMillis());
+        }
+        edges.forEach(edge -> graph.addEdge(edge.getTaskId(), edge.getDependsOnId()));
+        logger.debug("Loaded dependency graph of {} {} with {} tasks and {} links", scope, id, views.size(), edges.size());
+        return graph;
+    }
+
+    private synchronized boolean joinsHeldGraph(Entry previous, Entry current) {
+        boolean joinsEpic = current.epicId() != null && (previous == null || !current.epicId().equals(previous.epicId()));
+        boolean joinsSprint = current.sprintId() != null && (previous == null || !current.sprintId().equals(previous.sprintId()));
+        return (joinsEpic && graphs.containsKey(key(Scope.EPIC, current.epicId())))
+                || (joinsSprint && graphs.containsKey(key(Scope.SPRINT, current.sprintId())));
+    }
+
+    private synchronized void apply(Entry previous, Entry current, List<DependencyEdge> edges) {
+        changes++;
+        Integer taskId = previous != null ? previous.taskId() : current.taskId();
+        move(Scope.EPIC, taskId, previous != null ? previous.epicId() : null, current != null ? current.epicId() : null, current, edges);
+        move(Scope.SPRINT, taskId, previous != null ? previous.sprintId() : null, current != null ? current.sprintId() : null, current, edges);
+    }
+
+    private void move(Scope scope, Integer taskId, Integer fromId, Integer toId, Entry current, List<DependencyEdge> edges) {
+        if (fromId != null && !fromId.equals(toId)) {
+            DependencyGraph graph = graphs.get(key(scope, fromId));
+            if (graph != null) {
+                graph.removeTask(taskId);
+            }
+        }
+        if (toId == null) {
+            return;
+        }
+
+        DependencyGraph graph = graphs.get(key(scope, toId));
+        if (graph == null) {
+            return;
+        }
+        boolean joins = !graph.contains(taskId);
+        if (joins && edges == null) {
+            // the graph was loaded after the links were looked up, it gets loaded again with the task in it
+            graphs.remove(key(scope, toId));
+            return;
+        }
+        graph.putTask(taskId, current.hours(), current.dueMillis());
+        if (joins) {
+            edges.forEach(edge -> graph.addEdge(edge.getTaskId(), edge.getDependsOnId()));
+        }
+    }
+
+    private static String key(Scope scope, Integer id) {
+        return scope + ":" + id;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
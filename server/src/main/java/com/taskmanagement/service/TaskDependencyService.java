@@ -0,0 +1,191 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CriticalPathDTO;
+import com.taskmanagement.dto.ScheduledTaskDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+// "blocked by" links between tasks and the critical path they give an epic or sprint
+@Service
+public class TaskDependencyService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDependencyService.class);
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EpicRepository epicRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskDependencyGraphs dependencyGraphs;
+    // wall clock time one hour of estimated work takes, nights and weekends are not left out
+    private final Duration hourOfWork;
+
+    public TaskDependencyService(
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            EpicRepository epicRepository,
+            SprintRepository sprintRepository,
+            TaskViewRepository taskViewRepository,
+            TaskDependencyRepository dependencyRepository,
+            TaskDependencyGraphs dependencyGraphs,
+            @Value("${taskmanagement.critical-path.hours-per-day:8}") int hoursPerDay) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.epicRepository = epicRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.dependencyRepository = dependencyRepository;
+        this.dependencyGraphs = dependencyGraphs;
+        this.hourOfWork = Duration.ofDays(1).dividedBy(hoursPerDay);
+    }
+
+    @Transactional
+    public void addDependency(Integer taskId, Integer dependsOnId, UUID userId) {
+        logger.debug("Adding dependency of task: {} on task: {} by user: {}", taskId, dependsOnId, userId);
+
+        if (taskId.equals(dependsOnId)) {
+            throw new IllegalArgumentException("A task cannot depend on itself");
+        }
+
+        checkCanEdit(findTask(taskId), userId);
+        findTask(dependsOnId);
+
+        dependencyRepository.lock();
+        if (dependencyRepository.dependsOn(dependsOnId, taskId)) {
+            throw new IllegalStateException(
+                    String.format("Task %d already waits on task %d, the dependency would create a cycle", dependsOnId, taskId));
+        }
+
+        if (dependencyRepository.add(taskId, dependsOnId, userId)) {
+            dependencyGraphs.edgeAdded(taskId, dependsOnId);
+            logger.info("Task {} now depends on task {}", taskId, dependsOnId);
+        }
+    }
+
+    @Transactional
+    public void removeDependency(Integer taskId, Integer dependsOnId, UUID userId) {
+        logger.debug("Removing dependency of task: {} on task: {} by user: {}", taskId, dependsOnId, userId);
+
+        checkCanEdit(findTask(taskId), userId);
+
+        if (!dependencyRepository.remove(taskId, dependsOnId)) {
+            throw new ResourceNotFound(String.format("Task %d does not depend on task %d", taskId, dependsOnId));
+        }
+        dependencyGraphs.edgeRemoved(taskId, dependsOnId);
+        logger.info("Task {} no longer depends on task {}", taskId, dependsOnId);
+    }
+
+    @Transactional(readOnly = true)
+    public CriticalPathDTO getEpicCriticalPath(Integer epicId) {
+        if (!epicRepository.existsById(epicId)) {
+            throw new ResourceNotFound("Epic not found with id: " + epicId);
+        }
+        CriticalPathDTO dto = criticalPath(TaskDependencyGraphs.Scope.EPIC, epicId);
+        dto.setEpicId(epicId);
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public CriticalPathDTO getSprintCriticalPath(Integer sprintId) {
+        if (!sprintRepository.existsById(sprintId)) {
+            throw new ResourceNotFound("Sprint not found with id: " + sprintId);
+        }
+        CriticalPathDTO dto = criticalPath(TaskDependencyGraphs.Scope.SPRINT, sprintId);
+        dto.setSprintId(sprintId);
+        return dto;
+    }
+
+    private CriticalPathDTO criticalPath(TaskDependencyGraphs.Scope scope, Integer id) {
+        ZonedDateTime now = ZonedDateTime.now();
+        long millisPerHour = hourOfWork.toMillis();
+
+        // everything needed is copied out while the graph is locked, the names are looked up afterwards
+        Schedule schedule = dependencyGraphs.read(scope, id, graph -> {
+            List<Integer> path = graph.criticalPath();
+            List<Integer> late = graph.lateTasks(now.toInstant().toEpochMilli(), millisPerHour);
+            Map<Integer, long[]> times = new HashMap<>();
+            for (Integer taskId : path) {
+                times.put(taskId, new long[]{graph.start(taskId), graph.finish(taskId)});
+            }
+            for (Integer taskId : late) {
+                times.put(taskId, new long[]{graph.start(taskId), graph.finish(taskId)});
+            }
+            return new Schedule(graph.totalHours(), path, late, times);
+        });
+
+        Map<Integer, TaskView> views = new HashMap<>();
+        if (!schedule.times().isEmpty()) {
+            taskViewRepository.findAllById(schedule.times().keySet()).forEach(view -> views.put(view.getTaskId(), view));
+        }
+
+        CriticalPathDTO dto = new CriticalPathDTO();
+        dto.setTotalHours(schedule.totalHours());
+        dto.setEarliestFinish(now.plus(hourOfWork.multipliedBy(schedule.totalHours())));
+        dto.setCriticalPath(toScheduled(schedule.path(), schedule, views, now));
+        dto.setLateTasks(toScheduled(schedule.late(), schedule, views, now));
+        return dto;
+    }
+
+    private List<ScheduledTaskDTO> toScheduled(List<Integer> taskIds, Schedule schedule, Map<Integer, TaskView> views,
+                                               ZonedDateTime now) {
+        Set<Integer> late = new HashSet<>(schedule.late());
+        List<ScheduledTaskDTO> tasks = new ArrayList<>();
+        for (Integer taskId : taskIds) {
+            TaskView view = views.get(taskId);
+            if (view == null) {
+                // deleted since the graph was read
+                continue;
+            }
+            long[] times = schedule.times().get(taskId);
+
+            ScheduledTaskDTO dto = new ScheduledTaskDTO();
+            dto.setTaskId(taskId);
+            dto.setTitle(view.getTitle());
+            dto.setStatusName(view.getStatusName());
+            dto.setAssignedToName(view.getAssignedToName());
+            dto.setEstimatedHours(view.getEstimatedHours());
+            dto.setEarliestStart(now.plus(hourOfWork.multipliedBy(times[0])));
+            dto.setEarliestFinish(now.plus(hourOfWork.multipliedBy(times[1])));
+            dto.setDueDate(view.getDueDate());
+            dto.setLate(late.contains(taskId));
+            tasks.add(dto);
+        }
+        return tasks;
+    }
+
+    private Task findTask(Integer taskId) {
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFound("Task not found with id: " + taskId));
+    }
+
+    // same people that may update the task
+    private void checkCanEdit(Task task, UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFound("User not found with id: " + userId));
+
+        boolean isAdmin = user.getRole().getName().equals("ADMIN");
+        boolean isScrumMaster = user.getRole().getName().equals("SCRUM_MASTER");
+        boolean isCreator = task.getCreatedBy().getId().equals(userId);
+        boolean isAssignee = task.getAssignedTo().getId().equals(userId);
+
+        if (!(isAdmin || isScrumMaster || isCreator || isAssignee)) {
+            throw new UnauthorizedAccessException("You don't have permission to change the dependencies of this task");
+        }
+    }
+
+    private record Schedule(long totalHours, List<Integer> path, List<Integer> late, Map<Integer, long[]> times) {
+    }
+}
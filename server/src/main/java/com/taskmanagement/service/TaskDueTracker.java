@@ -0,0 +1,267 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.TaskDueEvent;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskDueLeaderRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// keeps a due-soon and an overdue timer per open task in a timer wheel, so the overdue list is kept in memory
+// per assignee and TaskDueEvents go out as tasks cross their due date instead of being found by a scan.
+// only the instance holding the leader lock runs the wheel, the others fall back to the database
+@Component
+public class TaskDueTracker {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueTracker.class);
+
+    static final String RELOAD_ALL = "*";
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskDueLeaderRepository leaderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long dueSoonMillis;
+
+    // only touched from tick(), which is synchronized
+    private TimerWheel<DueTimer> wheel;
+    // the live timers of each task, cancelled as soon as the task changes
+    private final Map<Integer, List<TimerWheel.Timer<DueTimer>>> timers = new HashMap<>();
+    private final Map<Integer, UUID> assignees = new HashMap<>();
+
+    // read by request threads
+    private final Set<Integer> overdue = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> dueSoon = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Integer>> overdueByAssignee = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public TaskDueTracker(TaskViewRepository taskViewRepository,
+                          TaskDueLeaderRepository leaderRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${taskmanagement.due-tracker.enabled:false}") boolean enabled,
+                          @Value("${taskmanagement.due-tracker.tick-ms:10000}") long tickMillis,
+                          @Value("${taskmanagement.due-tracker.due-soon-hours:24}") int dueSoonHours) {
+        this.taskViewRepository = taskViewRepository;
+        this.leaderRepository = leaderRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.dueSoonMillis = Duration.ofHours(dueSoonHours).toMillis();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public List<Integer> getOverdueTaskIds() {
+        return sorted(overdue);
+    }
+
+    public List<Integer> getOverdueTaskIds(UUID assignedToId) {
+        return sorted(overdueByAssignee.getOrDefault(assignedToId, Set.of()));
+    }
+
+    public List<Integer> getDueSoonTaskIds() {
+        return sorted(dueSoon);
+    }
+
+    // called inside the write transaction, postgres only delivers the notification once it commits
+    public void taskChanged(Integer taskId) {
+        if (enabled) {
+            leaderRepository.notifyChanged(taskId.toString());
+        }
+    }
+
+    // for writes that touch too many tasks to name them one by one
+    public void tasksChanged() {
+        if (enabled) {
+            leaderRepository.notifyChanged(RELOAD_ALL);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanagement.due-tracker.tick-ms:10000}")
+    public synchronized void tick() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!leaderRepository.isLeader()) {
+                if (ready) {
+                    logger.warn("Lost task due leader lock");
+                    clear();
+                }
+                if (!leaderRepository.tryBecomeLeader()) {
+                    return;
+                }
+                logger.info("Took task due leader lock, loading open tasks");
+                load();
+            }
+
+            applyChanges(leaderRepository.fetchNotifications());
+            int fired = wheel.advance(System.currentTimeMillis(), this::fire);
+            if (fired > 0) {
+                logger.debug("Fired {} due timers, {} pending", fired, wheel.size());
+            }
+        } catch (RuntimeException e) {
+            // next tick tries again, until then the endpoint reads from the database
+            logger.error("Task due tracker tick failed", e);
+            leaderRepository.release();
+            clear();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        leaderRepository.release();
+        clear();
+    }
+
+    void load() {
+        long now = System.currentTimeMillis();
+        clear();
+        wheel = new TimerWheel<>(tickMillis, now);
+        taskViewRepository.findByCompletedAtIsNull().forEach(view -> track(view.getTaskId(), view, now, false));
+        ready = true;
+        logger.info("Tracking {} open tasks, {} overdue", assignees.size(), overdue.size());
+    }
+
+    void applyChanges(List<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        if (payloads.contains(RELOAD_ALL)) {
+            load();
+            return;
+        }
+
+        Set<Integer> taskIds = new HashSet<>();
+        payloads.forEach(payload -> taskIds.add(Integer.valueOf(payload)));
+
+        Map<Integer, TaskView> views = new HashMap<>();
+        taskViewRepository.findAllById(taskIds).forEach(view -> views.put(view.getTaskId(), view));
+
+        long now = System.currentTimeMillis();
+        // deleted tasks have no view left and simply stop being tracked
+        taskIds.forEach(taskId -> track(taskId, views.get(taskId), now, true));
+    }
+
+    private void track(Integer taskId, TaskView view, long now, boolean publish) {
+        cancelTimers(taskId);
+        if (view == null || view.getCompletedAt() != null || view.getDueDate() == null) {
+            removeOverdue(taskId);
+            assignees.remove(taskId);
+            dueSoon.remove(taskId);
+            return;
+        }
+
+        // a reassigned task that is already overdue moves to its new assignee's set
+        UUID previousAssignee = assignees.put(taskId, view.getAssignedToId());
+        if (previousAssignee != null && !previousAssignee.equals(view.getAssignedToId()) && overdue.contains(taskId)) {
+            removeFromAssignee(previousAssignee, taskId);
+            addToAssignee(view.getAssignedToId(), taskId);
+        }
+
+        ZonedDateTime dueDate = view.getDueDate();
+        long due = dueDate.toInstant().toEpochMilli();
+
+        if (due <= now) {
+            dueSoon.remove(taskId);
+            if (addOverdue(taskId) && publish) {
+                publish(taskId, dueDate, TaskDueEvent.Kind.OVERDUE);
+            }
+            return;
+        }
+
+        removeOverdue(taskId);
+        List<TimerWheel.Timer<DueTimer>> scheduled = new ArrayList<>(2);
+        scheduled.add(wheel.schedule(new DueTimer(taskId, dueDate, TaskDueEvent.Kind.OVERDUE), due));
+
+        if (due - dueSoonMillis <= now) {
+            if (dueSoon.add(taskId) && publish) {
+                publish(taskId, dueDate, TaskDueEvent.Kind.DUE_SOON);
+            }
+        } else {
+            dueSoon.remove(taskId);
+            scheduled.add(wheel.schedule(new DueTimer(taskId, dueDate, TaskDueEvent.Kind.DUE_SOON), due - dueSoonMillis));
+        }
+        timers.put(taskId, scheduled);
+    }
+
+    private void cancelTimers(Integer taskId) {
+        List<TimerWheel.Timer<DueTimer>> previous = timers.remove(taskId);
+        if (previous != null) {
+            previous.forEach(wheel::cancel);
+        }
+    }
+
+    private void fire(DueTimer timer) {
+        if (timer.kind() == TaskDueEvent.Kind.OVERDUE) {
+            dueSoon.remove(timer.taskId());
+            addOverdue(timer.taskId());
+        } else {
+            dueSoon.add(timer.taskId());
+        }
+        publish(timer.taskId(), timer.dueDate(), timer.kind());
+    }
+
+    private boolean addOverdue(Integer taskId) {
+        addToAssignee(assignees.get(taskId), taskId);
+        return overdue.add(taskId);
+    }
+
+    private void removeOverdue(Integer taskId) {
+        if (overdue.remove(taskId)) {
+            removeFromAssignee(assignees.get(taskId), taskId);
+        }
+    }
+
+    private void addToAssignee(UUID assignedToId, Integer taskId) {
+        if (assignedToId != null) {
+            overdueByAssignee.computeIfAbsent(assignedToId, id -> ConcurrentHashMap.newKeySet()).add(taskId);
+        }
+    }
+
+    private void removeFromAssignee(UUID assignedToId, Integer taskId) {
+        if (assignedToId != null) {
+            overdueByAssignee.computeIfPresent(assignedToId, (id, taskIds) -> {
+                taskIds.remove(taskId);
+                return taskIds.isEmpty() ? null : taskIds;
+            });
+        }
+    }
+
+    private void publish(Integer taskId, ZonedDateTime dueDate, TaskDueEvent.Kind kind) {
+        logger.debug("Task {} is {}", taskId, kind);
+        eventPublisher.publishEvent(new TaskDueEvent(taskId, dueDate, kind));
+    }
+
+    private void clear() {
+        ready = false;
+        wheel = null;
+        timers.clear();
+        assignees.clear();
+        overdue.clear();
+        overdueByAssignee.clear();
+        dueSoon.clear();
+    }
+
+    private List<Integer> sorted(Set<Integer> taskIds) {
+        List<Integer> result = new ArrayList<>(taskIds);
+        Collections.sort(result);
+        return result;
+    }
+
+    private record DueTimer(Integer taskId, ZonedDateTime dueDate, TaskDueEvent.Kind kind) {
+    }
+}
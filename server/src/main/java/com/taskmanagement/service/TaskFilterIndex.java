@@ -0,0 +1,437 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskCustomRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// in-memory bitmaps over the filterable task columns, the database stays the source of truth
+@Component
+public class TaskFilterIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TaskFilterIndex.class);
+
+    private static final long NO_DUE_DATE = Long.MIN_VALUE;
+    // well under the 32767 bind parameters postgres takes in one statement
+    static final int ID_CHUNK_SIZE = 10_000;
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskCustomRepository taskCustomRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // one bulk load at a time, see load()
+    private final Object loading = new Object();
+
+    // changes committed while rows are being loaded, replayed over them afterwards. guarded by the write lock
+    private List<Runnable> pending;
+
+    // task id <-> dense ordinal, freed ordinals get reused so the bitmaps stay compact
+    private final Map<Integer, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int[] taskIds = new int[0];
+    private int nextOrdinal = 0;
+
+    private final BitSet live = new BitSet();
+    private final BitSet completed = new BitSet();
+    private final Map<UUID, BitSet> byAssignee = new HashMap<>();
+    private final Map<Integer, BitSet> byStatus = new HashMap<>();
+    private final Map<Integer, BitSet> byPriority = new HashMap<>();
+    private final Map<Integer, BitSet> bySprint = new HashMap<>();
+    private final Map<Integer, BitSet> byEpic = new HashMap<>();
+    private final Map<String, BitSet> byLabel = new HashMap<>();
+
+    // per ordinal values, needed to clear the old bits when a task moves
+    private UUID[] assignees = new UUID[0];
+    private Integer[] statuses = new Integer[0];
+    private Integer[] priorities = new Integer[0];
+    private Integer[] sprints = new Integer[0];
+    private Integer[] epics = new Integer[0];
+    private int[] storyPoints = new int[0];
+    private long[] dueDates = new long[0];
+    private String[][] labels = new String[0][];
+
+    private volatile boolean ready = false;
+
+    public TaskFilterIndex(TaskViewRepository taskViewRepository,
+                           TaskCustomRepository taskCustomRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${taskmanagement.filter-index.enabled:false}") boolean enabled) {
+        this.taskViewRepository = taskViewRepository;
+        this.taskCustomRepository = taskCustomRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStart() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // task_view is read through a cursor, rows are detached as they go so neither the heap nor the persistence
+    // context holds the whole table. the index is not used until the rows and the changes made meanwhile are in
+    public void rebuild() {
+        logger.info("Rebuilding task filter index");
+        ready = false;
+        int[] loaded = {0};
+
+        load(() -> {
+            lock.writeLock().lock();
+            try {
+                clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskView> rows = taskCustomRepository.streamTasksByFilters(null, null, null, null, null, null, null)) {
+                    rows.forEach(view -> {
+                        putLocked(view);
+                        loaded[0]++;
+                    });
+                }
+            });
+        });
+        ready = true;
+        logger.info("Task filter index holds {} tasks", loaded[0]);
+    }
+
+    // for tasks written in bulk outside of upsert, called once they are committed
+    public void addAll(List<Integer> taskIds) {
+        if (!enabled || taskIds.isEmpty()) {
+            return;
+        }
+        load(() -> {
+            for (int from = 0; from < taskIds.size(); from += ID_CHUNK_SIZE) {
+                taskViewRepository.findAllById(taskIds.subList(from, Math.min(from + ID_CHUNK_SIZE, taskIds.size())))
+                        .forEach(this::putLocked);
+            }
+        });
+        logger.debug("Added {} tasks to the filter index", taskIds.size());
+    }
+
+    // applied after commit so a rolled back write never shows up in the index
+    public void upsert(TaskView view) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(() -> put(view)));
+    }
+
+    public void remove(Integer taskId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(() -> {
+            Integer ordinal = ordinals.remove(taskId);
+            if (ordinal != null) {
+                unset(ordinal);
+                live.clear(ordinal);
+                completed.clear(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        }));
+    }
+
+    // a row read by a load can be older than a change committed while it ran, so changes that arrive during a
+    // load are held back and replayed once it is done, in commit order, leaving the latest state of every task
+    private void load(Runnable reader) {
+        synchronized (loading) {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                reader.run();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pending.forEach(Runnable::run);
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(TaskView view) {
+        lock.writeLock().lock();
+        try {
+            put(view);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ascending task id
+    public List<Integer> findTaskIds(TaskFilterDTO filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(filter);
+            List<Integer> result = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                result.add(taskIds[i]);
+            }
+            // ordinals are reused, task id order is what the database path returns too
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(TaskFilterDTO filter) {
+        lock.readLock().lock();
+        try {
+            return match(filter).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sumStoryPoints(TaskFilterDTO filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(filter);
+            long total = 0;
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                total += storyPoints[i];
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // how many matching tasks carry each label, most used first like TaskLabelRepository
+    public Map<String, Long> countLabels(TaskFilterDTO filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(filter);
+            List<Map.Entry<String, Long>> counts = new ArrayList<>();
+            for (Map.Entry<String, BitSet> entry : byLabel.entrySet()) {
+                BitSet bits = (BitSet) entry.getValue().clone();
+                bits.and(matches);
+                if (!bits.isEmpty()) {
+                    counts.add(Map.entry(entry.getKey(), (long) bits.cardinality()));
+                }
+            }
+            counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+            Map<String, Long> result = new LinkedHashMap<>();
+            counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // open tasks in the filter that were due before the given instant
+    public long countOverdue(TaskFilterDTO filter, long epochMillis) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(filter);
+            matches.andNot(completed);
+            long total = 0;
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                if (dueDates[i] != NO_DUE_DATE && dueDates[i] < epochMillis) {
+                    total++;
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // AND of one bitmap per set filter field, null fields do not restrict
+    private BitSet match(TaskFilterDTO filter) {
+        BitSet result = (BitSet) live.clone();
+        and(result, byAssignee, filter.getAssignedToId());
+        and(result, byStatus, filter.getStatusId());
+        and(result, byPriority, filter.getPriorityId());
+        and(result, bySprint, filter.getSprintId());
+        and(result, byEpic, filter.getEpicId());
+        if (filter.getAnyLabels() != null && !filter.getAnyLabels().isEmpty()) {
+            BitSet any = new BitSet();
+            for (String label : filter.getAnyLabels()) {
+                BitSet bits = byLabel.get(label);
+                if (bits != null) {
+                    any.or(bits);
+                }
+            }
+            result.and(any);
+        }
+        if (filter.getAllLabels() != null) {
+            filter.getAllLabels().forEach(label -> and(result, byLabel, label));
+        }
+        return result;
+    }
+
+    private static <K> void and(BitSet result, Map<K, BitSet> dimension, K key) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = dimension.get(key);
+        if (bits == null) {
+            result.clear();
+        } else {
+            result.and(bits);
+        }
+    }
+
+    private void put(TaskView view) {
+        Integer ordinal = ordinals.get(view.getTaskId());
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+            ensureCapacity(ordinal + 1);
+            ordinals.put(view.getTaskId(), ordinal);
+            taskIds[ordinal] = view.getTaskId();
+        } else {
+            unset(ordinal);
+        }
+
+        assignees[ordinal] = view.getAssignedToId();
+        statuses[ordinal] = view.getStatusId();
+        priorities[ordinal] = view.getPriorityId();
+        sprints[ordinal] = view.getSprintId();
+        epics[ordinal] = view.getEpicId();
+        storyPoints[ordinal] = view.getStoryPoints();
+        dueDates[ordinal] = view.getDueDate() != null ? view.getDueDate().toInstant().toEpochMilli() : NO_DUE_DATE;
+        labels[ordinal] = view.getLabels();
+
+        set(byAssignee, assignees[ordinal], ordinal);
+        set(byStatus, statuses[ordinal], ordinal);
+        set(byPriority, priorities[ordinal], ordinal);
+        set(bySprint, sprints[ordinal], ordinal);
+        set(byEpic, epics[ordinal], ordinal);
+        if (labels[ordinal] != null) {
+            for (String label : labels[ordinal]) {
+                set(byLabel, label, ordinal);
+            }
+        }
+        completed.set(ordinal, view.getCompletedAt() != null);
+        live.set(ordinal);
+    }
+
+    private void unset(int ordinal) {
+        clearBit(byAssignee, assignees[ordinal], ordinal);
+        clearBit(byStatus, statuses[ordinal], ordinal);
+        clearBit(byPriority, priorities[ordinal], ordinal);
+        clearBit(bySprint, sprints[ordinal], ordinal);
+        clearBit(byEpic, epics[ordinal], ordinal);
+        if (labels[ordinal] != null) {
+            for (String label : labels[ordinal]) {
+                clearBit(byLabel, label, ordinal);
+            }
+        }
+    }
+
+    private static <K> void set(Map<K, BitSet> dimension, K key, int ordinal) {
+        if (key != null) {
+            dimension.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> dimension, K key, int ordinal) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = dimension.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                dimension.remove(key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= taskIds.length) {
+            return;
+        }
+        int newSize = Math.max(size, Math.max(16, taskIds.length * 2));
+        taskIds = Arrays.copyOf(taskIds, newSize);
+        assignees = Arrays.copyOf(assignees, newSize);
+        statuses = Arrays.copyOf(statuses, newSize);
+        priorities = Arrays.copyOf(priorities, newSize);
+        sprints = Arrays.copyOf(sprints, newSize);
+        epics = Arrays.copyOf(epics, newSize);
+        storyPoints = Arrays.copyOf(storyPoints, newSize);
+        dueDates = Arrays.copyOf(dueDates, newSize);
+        labels = Arrays.copyOf(labels, newSize);
+    }
+
+    private void clear() {
+        ordinals.clear();
+        freeOrdinals.clear();
+        nextOrdinal = 0;
+        live.clear();
+        completed.clear();
+        byAssignee.clear();
+        byStatus.clear();
+        byPriority.clear();
+        bySprint.clear();
+        byEpic.clear();
+        byLabel.clear();
+        taskIds = new int[0];
+        assignees = new UUID[0];
+        statuses = new Integer[0];
+        priorities = new Integer[0];
+        sprints = new Integer[0];
+        epics = new Integer[0];
+        storyPoints = new int[0];
+        dueDates = new long[0];
+        labels = new String[0][];
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
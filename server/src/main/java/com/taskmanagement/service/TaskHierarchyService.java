@@ -0,0 +1,78 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.SubtreeTotals;
+import com.taskmanagement.repository.TaskHierarchyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+
+// keeps task_closure and the subtree totals on task_view in step with task writes. a task moving to another
+// parent takes its whole subtree along, its totals leave the old ancestors and are added to the new ones.
+// deletes are handled by the delete_task_dependents trigger, which moves the subtasks up a level
+@Service
+public class TaskHierarchyService {
+    private final TaskHierarchyRepository hierarchyRepository;
+
+    public TaskHierarchyService(TaskHierarchyRepository hierarchyRepository) {
+        this.hierarchyRepository = hierarchyRepository;
+    }
+
+    // where a single task hangs and what it adds to the totals of everything above it
+    public record Node(Integer taskId, Integer parentTaskId, int storyPoints, boolean done) {
+        public static Node of(TaskView view) {
+            return new Node(view.getTaskId(), view.getParentTaskId(), view.getStoryPoints(), view.getCompletedAt() != null);
+        }
+
+        public static Node of(Task task) {
+            return new Node(task.getId(), task.getParentTask() != null ? task.getParentTask().getId() : null,
+                    task.getStoryPoints(), task.getCompletedAt() != null);
+        }
+
+        SubtreeTotals own() {
+            return new SubtreeTotals(1, done ? 1 : 0, storyPoints, done ? storyPoints : 0);
+        }
+    }
+
+    // runs in the caller's transaction, parent changes are made one at a time from here until it ends
+    @Transactional
+    public void lock() {
+        hierarchyRepository.lock();
+    }
+
+    // true when taskId sits anywhere below ancestorId
+    @Transactional(readOnly = true)
+    public boolean isDescendant(Integer ancestorId, Integer taskId) {
+        return hierarchyRepository.isDescendant(ancestorId, taskId);
+    }
+
+    // runs in the caller's transaction, previous is null for a new task
+    @Transactional
+    public void recordChange(Node previous, Node current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+
+        if (previous != null && Objects.equals(previous.parentTaskId(), current.parentTaskId())) {
+            if (current.parentTaskId() != null) {
+                hierarchyRepository.addToAncestors(current.taskId(), current.own().plus(previous.own().negate()));
+            }
+            return;
+        }
+
+        // a new task has nothing below it yet
+        SubtreeTotals below = previous != null ? hierarchyRepository.findTotals(current.taskId()) : SubtreeTotals.EMPTY;
+
+        if (previous != null && previous.parentTaskId() != null) {
+            hierarchyRepository.addToAncestors(previous.taskId(), previous.own().plus(below).negate());
+            hierarchyRepository.detach(previous.taskId());
+        }
+
+        if (current.parentTaskId() != null) {
+            hierarchyRepository.attach(current.taskId(), current.parentTaskId());
+            hierarchyRepository.addToAncestors(current.taskId(), current.own().plus(below));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+// reads an import file one row at a time as column -> value, csv needs a header row, ndjson is one object per line
+class TaskImportReader implements Iterator<Map<String, String>>, Closeable {
+    static final String CSV = "csv";
+    static final String NDJSON = "ndjson";
+
+    private final BufferedReader reader;
+    private final String format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private Map<String, String> next;
+
+    TaskImportReader(BufferedReader reader, String format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = CSV.equals(format) ? readCsvRow() : readJsonRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, String> row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, String> readJsonRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        Map<String, Object> values;
+        try {
+            values = objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            // keep the row so it gets reported with its number instead of aborting the whole file
+            return Map.of("_error", "Invalid JSON: " + e.getOriginalMessage());
+        }
+
+        Map<String, String> row = new HashMap<>();
+        values.forEach((key, value) -> {
+            if (value != null) {
+                row.put(key, value.toString());
+            }
+        });
+        return row;
+    }
+
+    private Map<String, String> readCsvRow() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(String::trim).toList();
+        }
+
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                row.put(header.get(i), values.get(i));
+            }
+        }
+        return row;
+    }
+
+    // rfc 4180, quoted fields may contain commas, doubled quotes and line breaks
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,466 @@
+package com.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.TaskImportDTO;
+import com.taskmanagement.dto.TaskImportErrorDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.*;
+import com.taskmanagement.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// bulk task import: the upload is spooled to disk, then read in chunks on a worker thread.
+// every chunk resolves its references with one query per kind, valid rows are copied into
+// task_import_staging and the whole import is published with a single INSERT ... SELECT
+@Service
+public class TaskImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final TaskImportRepository importRepository;
+    private final TaskImportErrorRepository errorRepository;
+    private final TaskImportStagingRepository stagingRepository;
+    private final UserRepository userRepository;
+    private final EpicRepository epicRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskStatusRepository statusRepository;
+    private final TaskPriorityRepository priorityRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDueTracker taskDueTracker;
+    private final EpicProgressService epicProgressService;
+    private final BurndownService burndownService;
+    private final TaskDependencyGraphs taskDependencyGraphs;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskImportService(
+            TaskImportRepository importRepository,
+            TaskImportErrorRepository errorRepository,
+            TaskImportStagingRepository stagingRepository,
+            UserRepository userRepository,
+            EpicRepository epicRepository,
+            SprintRepository sprintRepository,
+            TaskStatusRepository statusRepository,
+            TaskPriorityRepository priorityRepository,
+            TaskFilterIndex taskFilterIndex,
+            TaskDueTracker taskDueTracker,
+            EpicProgressService epicProgressService,
+            BurndownService burndownService,
+            TaskDependencyGraphs taskDependencyGraphs,
+            ObjectMapper objectMapper,
+            TaskExecutor taskExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.importRepository = importRepository;
+        this.errorRepository = errorRepository;
+        this.stagingRepository = stagingRepository;
+        this.userRepository = userRepository;
+        this.epicRepository = epicRepository;
+        this.sprintRepository = sprintRepository;
+        this.statusRepository = statusRepository;
+        this.priorityRepository = priorityRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDueTracker = taskDueTracker;
+        this.epicProgressService = epicProgressService;
+        this.burndownService = burndownService;
+        this.taskDependencyGraphs = taskDependencyGraphs;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // returns straight away, the client polls getImport for progress and row errors
+    public TaskImportDTO startImport(InputStream body, String format, UUID userId) throws IOException {
+        logger.debug("Starting {} task import for user: {}", format, userId);
+
+        if (!TaskImportReader.CSV.equals(format) && !TaskImportReader.NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + ". Use csv or ndjson.");
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFound("User not found with id: " + userId);
+        }
+
+        Path file = Files.createTempFile("task-import-", "." + format);
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        TaskImport taskImport = new TaskImport();
+        taskImport.setCreatedById(userId);
+        taskImport.setFormat(format);
+        taskImport.setStatus(TaskImport.PENDING);
+        TaskImport saved = importRepository.save(taskImport);
+
+        taskExecutor.execute(() -> runImport(saved, file));
+        logger.info("Queued task import {} for user: {}", saved.getId(), userId);
+
+        return convertToDTO(saved, List.of());
+    }
+
+    public TaskImportDTO getImport(Integer importId, UUID userId) {
+        TaskImport taskImport = importRepository.findById(importId)
+                .orElseThrow(() -> new ResourceNotFound("Import not found with id: " + importId));
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFound("User not found with id: " + userId));
+
+        boolean isAdmin = user.getRole().getName().equals("ADMIN");
+        if (!isAdmin && !taskImport.getCreatedById().equals(userId)) {
+            throw new UnauthorizedAccessException("You don't have permission to view this import");
+        }
+
+        return convertToDTO(taskImport, errorRepository.findTop100ByImportIdOrderByRowNumber(importId));
+    }
+
+    void runImport(TaskImport taskImport, Path file) {
+        Integer importId = taskImport.getId();
+        taskImport.setStatus(TaskImport.RUNNING);
+        importRepository.save(taskImport);
+        List<Integer> importedTaskIds = List.of();
+
+        try (TaskImportReader reader = new TaskImportReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), taskImport.getFormat(), objectMapper)) {
+
+            ImportLookups lookups = new ImportLookups();
+            List<Map<String, String>> chunk = new ArrayList<>(CHUNK_SIZE);
+            int rowNumber = 0;
+
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(taskImport, chunk, rowNumber + 1, lookups);
+                    rowNumber += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(taskImport, chunk, rowNumber + 1, lookups);
+            }
+
+            importedTaskIds = transactionTemplate.execute(status -> publish(taskImport));
+            logger.info("Task import {} finished: {} imported, {} failed",
+                    importId, taskImport.getImportedRows(), taskImport.getFailedRows());
+        } catch (Exception e) {
+            logger.error("Task import {} failed", importId, e);
+            stagingRepository.clear(importId);
+            taskImport.setStatus(TaskImport.FAILED);
+            taskImport.setMessage(truncate(e.getMessage()));
+            taskImport.setCompletedAt(ZonedDateTime.now());
+            importRepository.save(taskImport);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", file, e);
+            }
+        }
+
+        // committed by now, only the new tasks are read into the index
+        taskFilterIndex.addAll(importedTaskIds);
+    }
+
+    // capacity is checked over the whole import at once, then everything left goes in together
+    private List<Integer> publish(TaskImport taskImport) {
+        Integer importId = taskImport.getId();
+
+        List<TaskImportError> rejected = new ArrayList<>(stagingRepository.rejectOverCapacitySprints(importId));
+        rejected.addAll(stagingRepository.rejectOverCapacityEpics(importId));
+        errorRepository.saveAll(rejected);
+
+        List<Integer> taskIds = stagingRepository.publish(importId);
+        int imported = taskIds.size();
+        epicProgressService.recordImport(importId);
+        burndownService.recordChange(stagingRepository.findSprintIds(importId).toArray(Integer[]::new));
+        stagingRepository.clear(importId);
+        if (imported > 0) {
+            taskDueTracker.tasksChanged();
+            taskDependencyGraphs.invalidateAll();
+        }
+
+        taskImport.setFailedRows(taskImport.getFailedRows() + rejected.size());
+        taskImport.setImportedRows(imported);
+        taskImport.setStatus(TaskImport.COMPLETED);
+        taskImport.setCompletedAt(ZonedDateTime.now());
+        importRepository.save(taskImport);
+        return taskIds;
+    }
+
+    private void processChunk(TaskImport taskImport, List<Map<String, String>> rows, int firstRowNumber,
+                              ImportLookups lookups) {
+        lookups.load(rows);
+
+        List<StagedTaskRow> staged = new ArrayList<>(rows.size());
+        List<TaskImportError> errors = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = firstRowNumber + i;
+            try {
+                staged.add(resolveRow(rows.get(i), rowNumber, taskImport.getCreatedById(), lookups));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                errors.add(new TaskImportError(taskImport.getId(), rowNumber, truncate(e.getMessage())));
+            }
+        }
+
+        stagingRepository.copyIn(taskImport.getId(), staged);
+        errorRepository.saveAll(errors);
+
+        taskImport.setProcessedRows(taskImport.getProcessedRows() + rows.size());
+        taskImport.setFailedRows(taskImport.getFailedRows() + errors.size());
+        importRepository.save(taskImport);
+    }
+
+    // same rules as TaskService.createTask, capacity excluded as that needs the whole import
+    StagedTaskRow resolveRow(Map<String, String> row, int rowNumber, UUID creatorId, ImportLookups lookups) {
+        if (row.containsKey("_error")) {
+            throw new IllegalArgumentException(row.get("_error"));
+        }
+
+        String title = required(row, "title");
+        if (title.length() > 150) {
+            throw new IllegalArgumentException("Title must be at most 150 characters");
+        }
+
+        String email = required(row, "assignee").toLowerCase();
+        User assignee = lookups.users.get(email);
+        if (assignee == null) {
+            throw new IllegalArgumentException("Assigned user not found with email: " + email);
+        }
+        if (assignee.getIsActive() == null || !assignee.getIsActive()) {
+            throw new IllegalStateException("Cannot assign task to inactive user: " + assignee.getName());
+        }
+
+        String statusName = required(row, "status").toUpperCase();
+        TaskStatus status = lookups.statuses.get(statusName);
+        if (status == null) {
+            throw new IllegalArgumentException("Status not found with name: " + statusName);
+        }
+
+        String priorityName = required(row, "priority").toUpperCase();
+        TaskPriority priority = lookups.priorities.get(priorityName);
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority not found with name: " + priorityName);
+        }
+
+        StagedTaskRow staged = new StagedTaskRow();
+        staged.setRowNumber(rowNumber);
+        staged.setCreatedById(creatorId);
+        staged.setAssignedToId(assignee.getId());
+        staged.setStatusId(status.getId());
+        staged.setPriorityId(priority.getId());
+        staged.setTitle(title);
+        staged.setDescription(row.getOrDefault("description", ""));
+        staged.setStoryPoints(parseInt(row, "storyPoints"));
+        staged.setEstimatedHours(parseInt(row, "estimatedHours"));
+        staged.setDueDate(parseDate(required(row, "dueDate")));
+
+        if (row.containsKey("epicId")) {
+            Integer epicId = parseId(row, "epicId");
+            Epic epic = lookups.epics.get(epicId);
+            if (epic == null) {
+                throw new IllegalArgumentException("Epic not found with id: " + epicId);
+            }
+            validateEpicDates(staged.getDueDate(), epic);
+            staged.setEpicId(epicId);
+        }
+
+        if (row.containsKey("sprintId")) {
+            Integer sprintId = parseId(row, "sprintId");
+            Sprint sprint = lookups.sprints.get(sprintId);
+            if (sprint == null) {
+                throw new IllegalArgumentException("Sprint not found with id: " + sprintId);
+            }
+            validateSprintDates(staged.getDueDate(), sprint);
+            staged.setSprintId(sprintId);
+        }
+
+        if (status.getName().equals("DONE")) {
+            staged.setCompletedAt(ZonedDateTime.now());
+        }
+
+        return staged;
+    }
+
+    private void validateSprintDates(ZonedDateTime dueDate, Sprint sprint) {
+        if (sprint.getEndDate() != null && dueDate.isAfter(sprint.getEndDate())) {
+            throw new IllegalStateException(String.format("Task due date (%s) is after sprint end date (%s)",
+                    dueDate.toLocalDate(), sprint.getEndDate().toLocalDate()));
+        }
+        if (sprint.getStartDate() != null && dueDate.isBefore(sprint.getStartDate())) {
+            throw new IllegalStateException(String.format("Task due date (%s) is before sprint start date (%s)",
+                    dueDate.toLocalDate(), sprint.getStartDate().toLocalDate()));
+        }
+        if (sprint.getEndDate() != null && ZonedDateTime.now().isAfter(sprint.getEndDate())) {
+            throw new IllegalStateException(String.format("Cannot add task to completed sprint. Sprint ended on %s",
+                    sprint.getEndDate().toLocalDate()));
+        }
+    }
+
+    private void validateEpicDates(ZonedDateTime dueDate, Epic epic) {
+        if (epic.getTargetEndDate() != null && dueDate.isAfter(epic.getTargetEndDate())) {
+            throw new IllegalStateException(String.format("Task due date (%s) is after epic target end date (%s)",
+                    dueDate.toLocalDate(), epic.getTargetEndDate().toLocalDate()));
+        }
+        if (epic.getStartDate() != null && dueDate.isBefore(epic.getStartDate())) {
+            throw new IllegalStateException(String.format("Task due date (%s) is before epic start date (%s)",
+                    dueDate.toLocalDate(), epic.getStartDate().toLocalDate()));
+        }
+        if (epic.getActualEndDate() != null) {
+            throw new IllegalStateException(String.format("Cannot add task to completed epic. Epic was completed on %s",
+                    epic.getActualEndDate().toLocalDate()));
+        }
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required column: " + column);
+        }
+        return value.trim();
+    }
+
+    private static int parseInt(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException(column + " cannot be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + column + ": " + value);
+        }
+    }
+
+    private static Integer parseId(Map<String, String> row, String column) {
+        try {
+            return Integer.valueOf(row.get(column).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id for " + column + ": " + row.get(column));
+        }
+    }
+
+    private static ZonedDateTime parseDate(String value) {
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault());
+        } catch (DateTimeParseException e) {
+            try {
+                return ZonedDateTime.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid date format. Please use yyyy-MM-dd format.");
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Unknown error";
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private TaskImportDTO convertToDTO(TaskImport taskImport, List<TaskImportError> errors) {
+        TaskImportDTO dto = new TaskImportDTO();
+        dto.setId(taskImport.getId());
+        dto.setCreatedById(taskImport.getCreatedById());
+        dto.setFormat(taskImport.getFormat());
+        dto.setStatus(taskImport.getStatus());
+        dto.setProcessedRows(taskImport.getProcessedRows());
+        dto.setImportedRows(taskImport.getImportedRows());
+        dto.setFailedRows(taskImport.getFailedRows());
+        dto.setMessage(taskImport.getMessage());
+        dto.setCreatedAt(taskImport.getCreatedAt());
+        dto.setCompletedAt(taskImport.getCompletedAt());
+        dto.setErrors(errors.stream()
+                .map(error -> new TaskImportErrorDTO(error.getRowNumber(), error.getMessage()))
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    // lookup maps shared by all chunks of one import, each chunk only queries the keys it has not seen yet
+    class ImportLookups {
+        final Map<String, TaskStatus> statuses;
+        final Map<String, TaskPriority> priorities;
+        final Map<String, User> users = new HashMap<>();
+        final Map<Integer, Epic> epics = new HashMap<>();
+        final Map<Integer, Sprint> sprints = new HashMap<>();
+
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<Integer> seenEpics = new HashSet<>();
+        private final Set<Integer> seenSprints = new HashSet<>();
+
+        ImportLookups() {
+            statuses = statusRepository.findAll().stream()
+                    .collect(Collectors.toMap(status -> status.getName().toUpperCase(), Function.identity()));
+            priorities = priorityRepository.findAll().stream()
+                    .collect(Collectors.toMap(priority -> priority.getName().toUpperCase(), Function.identity()));
+        }
+
+        void load(List<Map<String, String>> rows) {
+            Set<String> emails = new HashSet<>();
+            Set<Integer> epicIds = new HashSet<>();
+            Set<Integer> sprintIds = new HashSet<>();
+
+            for (Map<String, String> row : rows) {
+                String email = row.get("assignee");
+                if (email != null && seenEmails.add(email.trim().toLowerCase())) {
+                    emails.add(email.trim().toLowerCase());
+                }
+                addId(row.get("epicId"), seenEpics, epicIds);
+                addId(row.get("sprintId"), seenSprints, sprintIds);
+            }
+
+            if (!emails.isEmpty()) {
+                userRepository.findByEmailIn(emails)
+                        .forEach(user -> users.put(user.getEmail().toLowerCase(), user));
+            }
+            if (!epicIds.isEmpty()) {
+                epicRepository.findAllById(epicIds).forEach(epic -> epics.put(epic.getId(), epic));
+            }
+            if (!sprintIds.isEmpty()) {
+                sprintRepository.findAllById(sprintIds).forEach(sprint -> sprints.put(sprint.getId(), sprint));
+            }
+        }
+
+        private void addId(String value, Set<Integer> seen, Set<Integer> toLoad) {
+            if (value == null) {
+                return;
+            }
+            try {
+                Integer id = Integer.valueOf(value.trim());
+                if (seen.add(id)) {
+                    toLoad.add(id);
+                }
+            } catch (NumberFormatException e) {
+                // reported when the row itself is resolved
+            }
+        }
+    }
+}
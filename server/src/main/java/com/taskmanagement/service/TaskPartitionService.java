@@ -0,0 +1,58 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.TaskPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// keeps monthly partitions for tasks and task_comments created ahead of time,
+// so new rows never end up in the default partition
+@Service
+public class TaskPartitionService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskPartitionService.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("tasks", "task_comments");
+
+    private final TaskPartitionRepository partitionRepository;
+    private final int monthsAhead;
+
+    public TaskPartitionService(
+            TaskPartitionRepository partitionRepository,
+            @Value("${taskmanagement.partitions.months-ahead:3}") int monthsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStart() {
+        createFuturePartitions();
+    }
+
+    @Scheduled(cron = "${taskmanagement.partitions.cron:0 30 2 * * *}")
+    public void createPartitionsOnSchedule() {
+        createFuturePartitions();
+    }
+
+    public int createFuturePartitions() {
+        int created = 0;
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                created += partitionRepository.createMonthlyPartitions(table, monthsAhead);
+            } catch (RuntimeException e) {
+                // a failed run is retried by the next one, there are months of partitions in hand
+                logger.error("Could not create partitions for {}", table, e);
+            }
+        }
+
+        if (created > 0) {
+            logger.info("Created {} partitions", created);
+        }
+        return created;
+    }
+}
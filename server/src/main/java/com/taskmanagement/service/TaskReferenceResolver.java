@@ -0,0 +1,99 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.exception.AmbiguousNameException;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.TaskPriority;
+import com.taskmanagement.model.TaskStatus;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.TaskPriorityRepository;
+import com.taskmanagement.repository.TaskStatusRepository;
+import com.taskmanagement.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// turns the names clients type into ids, so a client does not have to look them up before every write.
+// statuses and priorities are a handful of rows that only change through migrations, they are held in memory
+// and read again only when a name is not found. users change all the time and are one indexed query each
+@Component
+public class TaskReferenceResolver {
+    private static final int MAX_LISTED = 5;
+
+    private final UserRepository userRepository;
+    private final TaskStatusRepository statusRepository;
+    private final TaskPriorityRepository priorityRepository;
+
+    // by normalized name, replaced as a whole on reload
+    private volatile Map<String, Integer> statusIds = Map.of();
+    private volatile Map<String, Integer> priorityIds = Map.of();
+
+    public TaskReferenceResolver(UserRepository userRepository, TaskStatusRepository statusRepository,
+                                 TaskPriorityRepository priorityRepository) {
+        this.userRepository = userRepository;
+        this.statusRepository = statusRepository;
+        this.priorityRepository = priorityRepository;
+    }
+
+    // "in progress", "In-Progress" and "IN_PROGRESS" are all the same status
+    public Integer statusId(String name) {
+        Integer id = statusIds.get(normalize(name));
+        if (id == null) {
+            statusIds = statusRepository.findAll().stream()
+                    .collect(Collectors.toUnmodifiableMap(status -> normalize(status.getName()), TaskStatus::getId));
+            id = statusIds.get(normalize(name));
+        }
+        if (id == null) {
+            throw new ResourceNotFound("Status not found with name: " + name + ". Known statuses: " + known(statusIds));
+        }
+        return id;
+    }
+
+    public Integer priorityId(String name) {
+        Integer id = priorityIds.get(normalize(name));
+        if (id == null) {
+            priorityIds = priorityRepository.findAll().stream()
+                    .collect(Collectors.toUnmodifiableMap(priority -> normalize(priority.getName()), TaskPriority::getId));
+            id = priorityIds.get(normalize(name));
+        }
+        if (id == null) {
+            throw new ResourceNotFound("Priority not found with name: " + name + ". Known priorities: " + known(priorityIds));
+        }
+        return id;
+    }
+
+    // an exact email or name first, then part of a name. deactivated users only count when no active one matches
+    public UUID userId(String reference) {
+        String trimmed = reference.trim();
+        List<User> matches = userRepository.findByEmailOrNameIgnoreCase(trimmed);
+        if (matches.isEmpty()) {
+            matches = userRepository.findByNameContainingIgnoreCase(trimmed);
+        }
+
+        List<User> active = matches.stream().filter(user -> Boolean.TRUE.equals(user.getIsActive())).toList();
+        if (!active.isEmpty()) {
+            matches = active;
+        }
+
+        if (matches.isEmpty()) {
+            throw new ResourceNotFound("No user found matching: " + trimmed);
+        }
+        if (matches.size() > 1) {
+            String listed = matches.stream()
+                    .limit(MAX_LISTED)
+                    .map(user -> user.getName() + " <" + user.getEmail() + ">")
+                    .collect(Collectors.joining(", "));
+            throw new AmbiguousNameException(String.format("'%s' matches %d users: %s%s. Use the email to pick one",
+                    trimmed, matches.size(), listed, matches.size() > MAX_LISTED ? ", ..." : ""));
+        }
+        return matches.get(0).getId();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+    }
+
+    private static String known(Map<String, Integer> ids) {
+        return ids.keySet().stream().sorted().collect(Collectors.joining(", "));
+    }
+}
@@ -1,9 +1,13 @@
 package com.taskmanagement.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanagement.dto.TaskDTO;
 import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.dto.TaskPatchDTO;
 import com.taskmanagement.dto.TaskPriorityDTO;
 import com.taskmanagement.dto.TaskStatusDTO;
+import com.taskmanagement.dto.TaskTreeDTO;
 import com.taskmanagement.exception.ResourceNotFound;
 import com.taskmanagement.exception.UnauthorizedAccessException;
 import com.taskmanagement.model.*;
@@ -13,14 +17,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
@@ -33,6 +49,18 @@ public class TaskService {
     private final TaskStatusRepository statusRepository;
     private final TaskPriorityRepository priorityRepository;
     private final TaskCustomRepository taskCustomRepository;
+    private final TaskLabelRepository taskLabelRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDueTracker taskDueTracker;
+    private final CycleTimeService cycleTimeService;
+    private final BurndownService burndownService;
+    private final EpicProgressService epicProgressService;
+    private final TaskHierarchyService taskHierarchyService;
+    private final TaskDependencyGraphs taskDependencyGraphs;
+    private final TaskReferenceResolver referenceResolver;
+    private final ObjectMapper objectMapper;
 
     public TaskService(
             TaskRepository taskRepository,
@@ -41,7 +69,19 @@ public class TaskService {
             SprintRepository sprintRepository,
             TaskStatusRepository statusRepository,
             TaskPriorityRepository priorityRepository,
-            TaskCustomRepository taskCustomRepository) {
+            TaskCustomRepository taskCustomRepository,
+            TaskLabelRepository taskLabelRepository,
+            TaskViewRepository taskViewRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            TaskFilterIndex taskFilterIndex,
+            TaskDueTracker taskDueTracker,
+            CycleTimeService cycleTimeService,
+            BurndownService burndownService,
+            EpicProgressService epicProgressService,
+            TaskHierarchyService taskHierarchyService,
+            TaskDependencyGraphs taskDependencyGraphs,
+            TaskReferenceResolver referenceResolver,
+            ObjectMapper objectMapper) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.epicRepository = epicRepository;
@@ -49,6 +89,54 @@ public class TaskService {
         this.statusRepository = statusRepository;
         this.priorityRepository = priorityRepository;
         this.taskCustomRepository = taskCustomRepository;
+        this.taskLabelRepository = taskLabelRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDueTracker = taskDueTracker;
+        this.cycleTimeService = cycleTimeService;
+        this.burndownService = burndownService;
+        this.epicProgressService = epicProgressService;
+        this.taskHierarchyService = taskHierarchyService;
+        this.taskDependencyGraphs = taskDependencyGraphs;
+        this.referenceResolver = referenceResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    private Integer sprintIdOf(Task task) {
+        return task.getSprint() != null ? task.getSprint().getId() : null;
+    }
+
+    // clients may name the assignee, status and priority instead of sending their ids, the ids win when both are given
+    private void resolveReferences(TaskDTO taskDTO) {
+        if (taskDTO.getAssignedToId() == null && taskDTO.getAssignee() != null) {
+            taskDTO.setAssignedToId(referenceResolver.userId(taskDTO.getAssignee()));
+        }
+        if (taskDTO.getStatusId() == null && taskDTO.getStatusName() != null) {
+            taskDTO.setStatusId(referenceResolver.statusId(taskDTO.getStatusName()));
+        }
+        if (taskDTO.getPriorityId() == null && taskDTO.getPriorityName() != null) {
+            taskDTO.setPriorityId(referenceResolver.priorityId(taskDTO.getPriorityName()));
+        }
+    }
+
+    // trimmed, lower case and without blanks or repeats, in the order given
+    static List<String> normalizeLabels(List<String> labels) {
+        if (labels == null) {
+            return null;
+        }
+        return labels.stream()
+                .filter(Objects::nonNull)
+                .map(label -> label.trim().toLowerCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    // filter labels are compared against the stored form
+    private void normalizeLabelFilters(TaskFilterDTO filterDTO) {
+        filterDTO.setAnyLabels(normalizeLabels(filterDTO.getAnyLabels()));
+        filterDTO.setAllLabels(normalizeLabels(filterDTO.getAllLabels()));
     }
 
     // parsing zonedate from string
@@ -70,13 +158,44 @@ public class TaskService {
 
     @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks(UUID userId) {
+        return getAllTasks(userId, false);
+    }
+
+    // archived tasks are only read when asked for, they live in tasks_archive
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getAllTasks(UUID userId, boolean includeArchived) {
         logger.debug("Fetching all tasks for user: {}", userId);
-        return taskRepository.findAll().stream()
-                .map(this::convertToDTO)
+        List<TaskDTO> tasks = taskViewRepository.findAll().stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            addArchived(tasks, archivedTaskRepository.findAll());
+        }
+        return tasks;
     }
 
 
+    // rows for the ids the filter index matched, in the order they were given. read in chunks so a broad filter
+    // stays under the bind parameter limit of a single query
+    private List<TaskView> findViewsInOrder(List<Integer> taskIds) {
+        Map<Integer, TaskView> views = new HashMap<>(taskIds.size() * 2);
+        int chunk = TaskFilterIndex.ID_CHUNK_SIZE;
+        for (int from = 0; from < taskIds.size(); from += chunk) {
+            taskViewRepository.findAllById(taskIds.subList(from, Math.min(from + chunk, taskIds.size())))
+                    .forEach(view -> views.put(view.getTaskId(), view));
+        }
+
+        List<TaskView> ordered = new ArrayList<>(views.size());
+        for (Integer taskId : taskIds) {
+            // a task deleted since the index was read is just left out
+            TaskView view = views.get(taskId);
+            if (view != null) {
+                ordered.add(view);
+            }
+        }
+        return ordered;
+    }
+
     // get tasks based on filter dto
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByFilter(TaskFilterDTO filterDTO, UUID userId) {
@@ -84,33 +203,159 @@ public class TaskService {
 
         Integer statusId = filterDTO.getStatusId();
         Integer priorityId = filterDTO.getPriorityId();
+        normalizeLabelFilters(filterDTO);
+
+        logger.debug("Params: statusId={}, priorityId={}, anyLabels={}, allLabels={}",
+                statusId, priorityId, filterDTO.getAnyLabels(), filterDTO.getAllLabels());
+
+        List<TaskDTO> tasks;
+
+        // bitmap index answers which ids match, the rows still come from the database
+        if (taskFilterIndex.isReady()) {
+            tasks = findViewsInOrder(taskFilterIndex.findTaskIds(filterDTO)).stream()
+                    .map(TaskService::convertViewToDTO)
+                    .collect(Collectors.toList());
+        } else {
+            List<TaskView> filteredTasks = taskCustomRepository.findTasksByFilters(
+                    filterDTO.getAssignedToId(),
+                    statusId,
+                    priorityId,
+                    filterDTO.getSprintId(),
+                    filterDTO.getEpicId(),
+                    filterDTO.getAnyLabels(),
+                    filterDTO.getAllLabels()
+            );
+
+            tasks = filteredTasks.stream()
+                    .map(TaskService::convertViewToDTO)
+                    .collect(Collectors.toList());
+        }
+
+        // the index only holds live tasks, archived ones always go to the database
+        if (filterDTO.isIncludeArchived()) {
+            addArchived(tasks, taskCustomRepository.findArchivedTasksByFilters(
+                    filterDTO.getAssignedToId(),
+                    statusId,
+                    priorityId,
+                    filterDTO.getSprintId(),
+                    filterDTO.getEpicId(),
+                    filterDTO.getAnyLabels(),
+                    filterDTO.getAllLabels()
+            ));
+        }
+
+        return tasks;
+    }
+
+    // writes matching tasks as newline delimited json one row at a time, memory use does not depend on the row count
+    @Transactional(readOnly = true)
+    public long writeTasksAsNdjson(TaskFilterDTO filterDTO, OutputStream out, UUID userId) throws IOException {
+        logger.debug("Streaming tasks for user: {}", userId);
+
+        normalizeLabelFilters(filterDTO);
+        long written = 0;
+        try (Stream<TaskView> tasks = taskCustomRepository.streamTasksByFilters(
+                filterDTO.getAssignedToId(),
+                filterDTO.getStatusId(),
+                filterDTO.getPriorityId(),
+                filterDTO.getSprintId(),
+                filterDTO.getEpicId(),
+                filterDTO.getAnyLabels(),
+                filterDTO.getAllLabels());
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+
+            generator.setRootValueSeparator(null);
+            Iterator<TaskView> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(convertViewToDTO(iterator.next()));
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+
+        logger.info("Streamed {} tasks for user: {}", written, userId);
+        return written;
+    }
 
-        logger.debug("Params: statusId={}, priorityId={}", statusId, priorityId);
+    // counts for a filter without loading the tasks
+    @Transactional(readOnly = true)
+    public Map<String, Long> getFilterStats(TaskFilterDTO filterDTO, UUID userId) {
+        logger.debug("Calculating filter statistics for user: {}", userId);
+
+        normalizeLabelFilters(filterDTO);
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long now = ZonedDateTime.now().toInstant().toEpochMilli();
+
+        if (taskFilterIndex.isReady()) {
+            stats.put("count", taskFilterIndex.count(filterDTO));
+            stats.put("storyPoints", taskFilterIndex.sumStoryPoints(filterDTO));
+            stats.put("overdue", taskFilterIndex.countOverdue(filterDTO, now));
+            return stats;
+        }
 
-        List<Task> filteredTasks = taskCustomRepository.findTasksByFilters(
+        List<TaskView> filteredTasks = taskCustomRepository.findTasksByFilters(
                 filterDTO.getAssignedToId(),
-                statusId,
-                priorityId,
+                filterDTO.getStatusId(),
+                filterDTO.getPriorityId(),
                 filterDTO.getSprintId(),
-                filterDTO.getEpicId()
+                filterDTO.getEpicId(),
+                filterDTO.getAnyLabels(),
+                filterDTO.getAllLabels()
         );
 
-        return filteredTasks.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        stats.put("count", (long) filteredTasks.size());
+        stats.put("storyPoints", filteredTasks.stream()
+                .mapToLong(TaskView::getStoryPoints)
+                .sum());
+        stats.put("overdue", filteredTasks.stream()
+                .filter(task -> task.getCompletedAt() == null && task.getDueDate() != null
+                        && task.getDueDate().toInstant().toEpochMilli() < now)
+                .count());
+        return stats;
+    }
+
+    // how many tasks in the filter carry each label, most used first
+    @Transactional(readOnly = true)
+    public Map<String, Long> getLabelCounts(TaskFilterDTO filterDTO, UUID userId) {
+        logger.debug("Counting labels for user: {}", userId);
+
+        normalizeLabelFilters(filterDTO);
+        if (taskFilterIndex.isReady()) {
+            return taskFilterIndex.countLabels(filterDTO);
+        }
+
+        return taskLabelRepository.countLabels(
+                filterDTO.getAssignedToId(),
+                filterDTO.getStatusId(),
+                filterDTO.getPriorityId(),
+                filterDTO.getSprintId(),
+                filterDTO.getEpicId(),
+                filterDTO.getAnyLabels(),
+                filterDTO.getAllLabels()
+        );
     }
 
     // get tasks assigned to person
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByAssignee(UUID assigneeId, UUID requesterId) {
+        return getTasksByAssignee(assigneeId, requesterId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksByAssignee(UUID assigneeId, UUID requesterId, boolean includeArchived) {
         logger.debug("Fetching tasks assigned to user: {}", assigneeId);
 
-        User assignee = userRepository.findById(assigneeId)
-                .orElseThrow(() -> new ResourceNotFound("User not found with id: " + assigneeId));
+        if (!userRepository.existsById(assigneeId)) {
+            throw new ResourceNotFound("User not found with id: " + assigneeId);
+        }
 
-        return taskRepository.findByAssignedTo(assignee).stream()
-                .map(this::convertToDTO)
+        List<TaskDTO> tasks = taskViewRepository.findByAssignedToId(assigneeId).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            addArchived(tasks, archivedTaskRepository.findByAssignedToId(assigneeId));
+        }
+        return tasks;
     }
 
     // get active tasks
@@ -118,37 +363,55 @@ public class TaskService {
     public List<TaskDTO> getUserActiveTasks(UUID userId) {
         logger.debug("Fetching active tasks for user: {}", userId);
 
-        return taskRepository.findUserActiveTasks(userId).stream()
-                .map(this::convertToDTO)
+        return taskViewRepository.findUserActiveTasks(userId).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
     }
 
     // get tasks for epic
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByEpic(Integer epicId, UUID userId) {
+        return getTasksByEpic(epicId, userId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksByEpic(Integer epicId, UUID userId, boolean includeArchived) {
         logger.debug("Fetching tasks for epic: {}", epicId);
 
         if (!epicRepository.existsById(epicId)) {
             throw new ResourceNotFound("Epic not found with id: " + epicId);
         }
 
-        return taskRepository.findByEpicId(epicId).stream()
-                .map(this::convertToDTO)
+        List<TaskDTO> tasks = taskViewRepository.findByEpicId(epicId).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            addArchived(tasks, archivedTaskRepository.findByEpicId(epicId));
+        }
+        return tasks;
     }
 
     // get tasks for sprint
     @Transactional(readOnly = true)
     public List<TaskDTO> getTasksBySprint(Integer sprintId, UUID userId) {
+        return getTasksBySprint(sprintId, userId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksBySprint(Integer sprintId, UUID userId, boolean includeArchived) {
         logger.debug("Fetching tasks for sprint: {}", sprintId);
 
         if (!sprintRepository.existsById(sprintId)) {
             throw new ResourceNotFound("Sprint not found with id: " + sprintId);
         }
 
-        return taskRepository.findBySprintId(sprintId).stream()
-                .map(this::convertToDTO)
+        List<TaskDTO> tasks = taskViewRepository.findBySprintId(sprintId).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            addArchived(tasks, archivedTaskRepository.findBySprintId(sprintId));
+        }
+        return tasks;
     }
 
     // get stats for a sprint
@@ -175,18 +438,60 @@ public class TaskService {
     // get task by an id
     @Transactional(readOnly = true)
     public TaskDTO getTaskById(Integer id, UUID userId) {
+        return getTaskById(id, userId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskDTO getTaskById(Integer id, UUID userId, boolean includeArchived) {
         logger.debug("Fetching task: {} for user: {}", id, userId);
 
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFound("Task not found with id: " + id));
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isPresent()) {
+            return convertToDTO(task.get());
+        }
+
+        if (includeArchived) {
+            return archivedTaskRepository.findById(id)
+                    .map(this::convertArchivedToDTO)
+                    .orElseThrow(() -> new ResourceNotFound("Task not found with id: " + id));
+        }
 
-        return convertToDTO(task);
+        throw new ResourceNotFound("Task not found with id: " + id);
+    }
+
+    // one query for the whole subtree, the nesting is put together here from each task's parent
+    @Transactional(readOnly = true)
+    public TaskTreeDTO getTaskSubtree(Integer id, UUID userId) {
+        logger.debug("Fetching subtree of task: {} for user: {}", id, userId);
+
+        Map<Integer, TaskTreeDTO> nodes = new LinkedHashMap<>();
+        for (TaskView view : taskViewRepository.findSubtree(id)) {
+            TaskTreeDTO node = new TaskTreeDTO();
+            node.setTask(convertViewToDTO(view));
+            nodes.put(view.getTaskId(), node);
+        }
+
+        TaskTreeDTO root = nodes.get(id);
+        if (root == null) {
+            throw new ResourceNotFound("Task not found with id: " + id);
+        }
+
+        // rows come ordered by id, so subtasks are listed in the order they were created
+        for (TaskTreeDTO node : nodes.values()) {
+            Integer parentTaskId = node.getTask().getParentTaskId();
+            if (node != root && nodes.containsKey(parentTaskId)) {
+                nodes.get(parentTaskId).getSubtasks().add(node);
+            }
+        }
+
+        return root;
     }
 
     // creating a task
     @Transactional
     public TaskDTO createTask(TaskDTO taskDTO, UUID creatorId) {
         logger.debug("Creating new task by user: {}", creatorId);
+        resolveReferences(taskDTO);
 
         User creator = userRepository.findById(creatorId)
                 .orElseThrow(() -> new ResourceNotFound("User not found with id: " + creatorId));
@@ -214,13 +519,17 @@ public class TaskService {
         task.setStoryPoints(taskDTO.getStoryPoints());
         task.setEstimatedHours(taskDTO.getEstimatedHours());
         task.setDueDate(taskDTO.getDueDate());
+        task.setParentTask(resolveParentTask(taskDTO.getParentTaskId(), null));
+        if (taskDTO.getLabels() != null) {
+            task.setLabels(normalizeLabels(taskDTO.getLabels()).toArray(new String[0]));
+        }
 
         if (taskDTO.getEpicId() != null) {
             Epic epic = epicRepository.findById(taskDTO.getEpicId())
                     .orElseThrow(() -> new ResourceNotFound("Epic not found with id: " + taskDTO.getEpicId()));
 
             // check epic capacity
-            checkEpicCapacity(epic, task.getStoryPoints(), 0);
+            checkEpicCapacity(epic, task, task.getStoryPoints());
 
             // check date compatibility
             validateTaskEpicDateCompatibility(task.getDueDate(), epic);
@@ -233,7 +542,7 @@ public class TaskService {
                     .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + taskDTO.getSprintId()));
 
             // check sprint capacity
-            checkSprintCapacity(sprint, task.getStoryPoints(), 0);
+            checkSprintCapacity(sprint, task, task.getStoryPoints());
 
             // check sprint date compatibility
             validateTaskSprintDateCompatibility(task.getDueDate(), sprint);
@@ -246,6 +555,10 @@ public class TaskService {
         }
 
         Task savedTask = taskRepository.save(task);
+        updateTaskView(savedTask);
+        taskDueTracker.taskChanged(savedTask.getId());
+        cycleTimeService.recordStatusChange(savedTask, null, creatorId);
+        burndownService.recordChange(sprintIdOf(savedTask));
         logger.info("Created new task with ID: {}", savedTask.getId());
 
         return convertToDTO(savedTask);
@@ -255,6 +568,7 @@ public class TaskService {
     @Transactional
     public TaskDTO updateTask(TaskDTO taskDTO, UUID updaterId) {
         logger.debug("Updating task: {} by user: {}", taskDTO.getId(), updaterId);
+        resolveReferences(taskDTO);
 
         Task existingTask = taskRepository.findById(taskDTO.getId())
                 .orElseThrow(() -> new ResourceNotFound("Task not found with id: " + taskDTO.getId()));
@@ -284,6 +598,7 @@ public class TaskService {
         TaskPriority priority = priorityRepository.findById(taskDTO.getPriorityId())
                 .orElseThrow(() -> new ResourceNotFound("Priority not found with id: " + taskDTO.getPriorityId()));
 
+        Integer oldStatusId = existingTask.getStatus().getId();
         existingTask.setAssignedTo(assignee);
         existingTask.setStatus(status);
         existingTask.setPriority(priority);
@@ -294,19 +609,25 @@ public class TaskService {
         existingTask.setStoryPoints(taskDTO.getStoryPoints());
         existingTask.setEstimatedHours(taskDTO.getEstimatedHours());
         existingTask.setDueDate(taskDTO.getDueDate());
+        // clients from before labels send none, that must not wipe them
+        if (taskDTO.getLabels() != null) {
+            existingTask.setLabels(normalizeLabels(taskDTO.getLabels()).toArray(new String[0]));
+        }
+
+        Integer oldParentTaskId = existingTask.getParentTask() != null ? existingTask.getParentTask().getId() : null;
+        boolean parentChanged = !Objects.equals(oldParentTaskId, taskDTO.getParentTaskId());
+        if (parentChanged) {
+            existingTask.setParentTask(resolveParentTask(taskDTO.getParentTaskId(), existingTask.getId()));
+        }
 
         if (taskDTO.getEpicId() != null) {
             Epic epic = epicRepository.findById(taskDTO.getEpicId())
                     .orElseThrow(() -> new ResourceNotFound("Epic not found with id: " + taskDTO.getEpicId()));
             if (existingTask.getEpic() == null || !(existingTask.getEpic().getId()==(epic.getId())) ||
-                    oldStoryPoints != taskDTO.getStoryPoints()) {
+                    oldStoryPoints != taskDTO.getStoryPoints() || parentChanged) {
 
-                // have to consider old point values
-                int pointsToConsider = existingTask.getEpic() != null &&
-                        existingTask.getEpic().getId()==(epic.getId()) ?
-                        oldStoryPoints : 0;
-
-                checkEpicCapacity(epic, taskDTO.getStoryPoints(), pointsToConsider);
+                // the task's own old points are left out of the current total
+                checkEpicCapacity(epic, existingTask, taskDTO.getStoryPoints());
             }
 
             validateTaskEpicDateCompatibility(existingTask.getDueDate(), epic);
@@ -316,6 +637,7 @@ public class TaskService {
             existingTask.setEpic(null);
         }
 
+        Integer oldSprintId = sprintIdOf(existingTask);
         if (taskDTO.getSprintId() != null) {
             Sprint sprint = sprintRepository.findById(taskDTO.getSprintId())
                     .orElseThrow(() -> new ResourceNotFound("Sprint not found with id: " + taskDTO.getSprintId()));
@@ -325,14 +647,10 @@ public class TaskService {
             }
 
             if (existingTask.getSprint() == null || !(existingTask.getSprint().getId()==(sprint.getId())) ||
-                    oldStoryPoints != taskDTO.getStoryPoints()) {
-
-                // same as epic need to consider existing point totals
-                int pointsToConsider = existingTask.getSprint() != null &&
-                        existingTask.getSprint().getId() == (sprint.getId()) ?
-                        oldStoryPoints : 0;
+                    oldStoryPoints != taskDTO.getStoryPoints() || parentChanged) {
 
-                checkSprintCapacity(sprint, taskDTO.getStoryPoints(), pointsToConsider);
+                // same as epic
+                checkSprintCapacity(sprint, existingTask, taskDTO.getStoryPoints());
             }
 
             validateTaskSprintDateCompatibility(existingTask.getDueDate(), sprint);
@@ -350,18 +668,69 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(existingTask);
+        updateTaskView(updatedTask);
+        taskDueTracker.taskChanged(updatedTask.getId());
+        cycleTimeService.recordStatusChange(updatedTask, oldStatusId, updaterId);
+        burndownService.recordChange(oldSprintId, sprintIdOf(updatedTask));
         logger.info("Updated task with ID: {}", updatedTask.getId());
 
         return convertToDTO(updatedTask);
     }
 
+    // changes only the fields that are given, on top of the task as it is now, so a client needs no read first
+    @Transactional
+    public TaskDTO patchTask(Integer taskId, TaskPatchDTO patch, UUID updaterId) {
+        logger.debug("Patching task: {} by user: {}", taskId, updaterId);
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFound("Task not found with id: " + taskId));
+
+        TaskDTO taskDTO = convertToDTO(task);
+        if (patch.getTitle() != null) taskDTO.setTitle(patch.getTitle());
+        if (patch.getDescription() != null) taskDTO.setDescription(patch.getDescription());
+        if (patch.getAssignedToId() != null) {
+            taskDTO.setAssignedToId(patch.getAssignedToId());
+        } else if (patch.getAssignee() != null) {
+            taskDTO.setAssignedToId(referenceResolver.userId(patch.getAssignee()));
+        }
+        if (patch.getStatusId() != null) {
+            taskDTO.setStatusId(patch.getStatusId());
+        } else if (patch.getStatusName() != null) {
+            taskDTO.setStatusId(referenceResolver.statusId(patch.getStatusName()));
+        }
+        if (patch.getPriorityId() != null) {
+            taskDTO.setPriorityId(patch.getPriorityId());
+        } else if (patch.getPriorityName() != null) {
+            taskDTO.setPriorityId(referenceResolver.priorityId(patch.getPriorityName()));
+        }
+        if (patch.getStoryPoints() != null) taskDTO.setStoryPoints(patch.getStoryPoints());
+        if (patch.getEstimatedHours() != null) taskDTO.setEstimatedHours(patch.getEstimatedHours());
+        if (patch.getDueDate() != null) taskDTO.setDueDate(patch.getDueDate());
+        if (patch.getEpicId() != null) taskDTO.setEpicId(patch.getEpicId() == 0 ? null : patch.getEpicId());
+        if (patch.getSprintId() != null) taskDTO.setSprintId(patch.getSprintId() == 0 ? null : patch.getSprintId());
+        if (patch.getParentTaskId() != null) taskDTO.setParentTaskId(patch.getParentTaskId() == 0 ? null : patch.getParentTaskId());
+        // null keeps the labels, same as a full update
+        taskDTO.setLabels(patch.getLabels());
+
+        return updateTask(taskDTO, updaterId);
+    }
+
     // ability to search by a title
     @Transactional(readOnly = true)
     public List<TaskDTO> searchTasksByTitle(String title, UUID userId) {
+        return searchTasksByTitle(title, userId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchTasksByTitle(String title, UUID userId, boolean includeArchived) {
         logger.debug("Searching for tasks with title containing: {}", title);
-        return taskRepository.findByTitleContainingIgnoreCase(title).stream()
-                .map(this::convertToDTO)
+        List<TaskDTO> tasks = taskViewRepository.findByTitleContainingIgnoreCase(title).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            addArchived(tasks, archivedTaskRepository.findByTitleContainingIgnoreCase(title));
+        }
+        return tasks;
     }
 
     // change statuses
@@ -388,6 +757,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFound("Status not found with id: " + statusId));
 
         String oldStatusName = task.getStatus().getName();
+        Integer oldStatusId = task.getStatus().getId();
 
         task.setStatus(newStatus);
 
@@ -399,12 +769,21 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
+        taskDueTracker.taskChanged(updatedTask.getId());
+        cycleTimeService.recordStatusChange(updatedTask, oldStatusId, userId);
+        burndownService.recordChange(sprintIdOf(updatedTask));
         logger.info("Changed task {} status from {} to {}",
                 updatedTask.getId(), oldStatusName, newStatus.getName());
 
         return convertToDTO(updatedTask);
     }
 
+    @Transactional
+    public TaskDTO changeTaskStatusByName(Integer taskId, String statusName, UUID userId) {
+        return changeTaskStatus(taskId, referenceResolver.statusId(statusName), userId);
+    }
+
     // assign task to someone
     @Transactional
     public TaskDTO assignTask(Integer taskId, UUID assigneeId, UUID userId) {
@@ -439,12 +818,20 @@ public class TaskService {
         task.setAssignedTo(assignee);
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
+        taskDueTracker.taskChanged(updatedTask.getId());
         logger.info("Assigned task {} from user {} to user {}",
                 updatedTask.getId(), oldAssigneeId, assignee.getId());
 
         return convertToDTO(updatedTask);
     }
 
+    // assignee is an email or a name
+    @Transactional
+    public TaskDTO assignTaskByName(Integer taskId, String assignee, UUID userId) {
+        return assignTask(taskId, referenceResolver.userId(assignee), userId);
+    }
+
     // add tasks to sprints
     @Transactional
     public TaskDTO addTaskToSprint(Integer taskId, Integer sprintId, UUID userId) {
@@ -462,9 +849,7 @@ public class TaskService {
             throw new IllegalStateException("Cannot add tasks to inactive sprints");
         }
 
-        int pointsToConsider = task.getSprint() != null && task.getSprint().getId()==(sprint.getId()) ?
-                task.getStoryPoints() : 0;
-        checkSprintCapacity(sprint, task.getStoryPoints(), pointsToConsider);
+        checkSprintCapacity(sprint, task, task.getStoryPoints());
 
         // still validate point totals
         validateTaskSprintDateCompatibility(task.getDueDate(), sprint);
@@ -474,6 +859,8 @@ public class TaskService {
         task.setSprint(sprint);
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
+        burndownService.recordChange(previousSprintId, sprintId);
         logger.info("Added task {} to sprint {} (previous sprint: {})",
                 taskId, sprintId, previousSprintId);
 
@@ -497,6 +884,8 @@ public class TaskService {
         task.setSprint(null);
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
+        burndownService.recordChange(previousSprintId);
         logger.info("Removed task {} from sprint {}", taskId, previousSprintId);
 
         return convertToDTO(updatedTask);
@@ -514,9 +903,7 @@ public class TaskService {
                 .orElseThrow(() -> new ResourceNotFound("Epic not found with id: " + epicId));
 
         // need date and point validity
-        int pointsToConsider = task.getEpic() != null && task.getEpic().getId()==(epic.getId()) ?
-                task.getStoryPoints() : 0;
-        checkEpicCapacity(epic, task.getStoryPoints(), pointsToConsider);
+        checkEpicCapacity(epic, task, task.getStoryPoints());
 
         validateTaskEpicDateCompatibility(task.getDueDate(), epic);
 
@@ -525,6 +912,7 @@ public class TaskService {
         task.setEpic(epic);
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
         logger.info("Added task {} to epic {} (previous epic: {})",
                 taskId, epicId, previousEpicId);
 
@@ -548,6 +936,7 @@ public class TaskService {
         task.setEpic(null);
 
         Task updatedTask = taskRepository.save(task);
+        updateTaskView(updatedTask);
         logger.info("Removed task {} from epic {}", taskId, previousEpicId);
 
         return convertToDTO(updatedTask);
@@ -572,18 +961,39 @@ public class TaskService {
             throw new UnauthorizedAccessException("You don't have permission to delete this task");
         }
 
+        Integer sprintId = sprintIdOf(task);
+        EpicProgressService.Contribution contribution = EpicProgressService.Contribution.of(task);
+        TaskDependencyGraphs.Entry entry = TaskDependencyGraphs.Entry.of(task);
+
+        // task_view row, comments and dependencies go with it through the delete_task_dependents trigger
         taskRepository.deleteById(id);
+        taskFilterIndex.remove(id);
+        taskDependencyGraphs.taskRemoved(entry);
+        taskDueTracker.taskChanged(id);
+        burndownService.recordChange(sprintId);
+        epicProgressService.recordChange(contribution, null);
         logger.info("Deleted task with ID: {}", id);
     }
 
+    // the caller's own overdue tasks. the leader instance keeps them in memory per assignee, everyone else
+    // reads one range of the open tasks index
     @Transactional(readOnly = true)
     public List<TaskDTO> getOverdueTasks(UUID userId) {
         logger.debug("Fetching overdue tasks for user: {}", userId);
 
-        ZonedDateTime now = ZonedDateTime.now();
+        if (taskDueTracker.isReady()) {
+            List<Integer> taskIds = taskDueTracker.getOverdueTaskIds(userId);
+            if (taskIds.isEmpty()) {
+                return List.of();
+            }
+            return taskViewRepository.findAllById(taskIds).stream()
+                    .sorted(Comparator.comparing(TaskView::getDueDate).thenComparing(TaskView::getTaskId))
+                    .map(TaskService::convertViewToDTO)
+                    .collect(Collectors.toList());
+        }
 
-        return taskRepository.findByDueDateBeforeAndCompletedAtIsNull(now).stream()
-                .map(this::convertToDTO)
+        return taskViewRepository.findByAssignedToIdAndDueDateBeforeAndCompletedAtIsNullOrderByDueDateAsc(userId, ZonedDateTime.now()).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -593,8 +1003,8 @@ public class TaskService {
 
         ZonedDateTime since = ZonedDateTime.now().minusHours(hoursAgo);
 
-        return taskRepository.findByUpdatedAtAfterOrderByUpdatedAtDesc(since).stream()
-                .map(this::convertToDTO)
+        return taskViewRepository.findByUpdatedAtAfterOrderByUpdatedAtDesc(since).stream()
+                .map(TaskService::convertViewToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -682,15 +1092,15 @@ public class TaskService {
         }
     }
 
-    // capacity helper for epics, get all tasks and add
-    private void checkEpicCapacity(Epic epic, int taskStoryPoints, int existingPointsToSubtract) {
-        List<Task> epicTasks = taskRepository.findByEpicId(epic.getId());
-
-        int currentStoryPoints = epicTasks.stream()
-                .mapToInt(Task::getStoryPoints)
-                .sum();
+    // capacity helper for epics, counted the way TaskViewRepository.COUNTED_EPIC_TASKS does
+    private void checkEpicCapacity(Epic epic, Task task, int taskStoryPoints) {
+        // a subtask of a task in the same epic is part of its parent's estimate
+        Task parent = task.getParentTask();
+        if (parent != null && parent.getEpic() != null && epic.getId() == parent.getEpic().getId()) {
+            return;
+        }
 
-        currentStoryPoints -= existingPointsToSubtract;
+        int currentStoryPoints = (int) taskViewRepository.sumCountedStoryPointsByEpicId(epic.getId(), idOrZero(task));
 
         int newTotal = currentStoryPoints + taskStoryPoints;
 
@@ -702,14 +1112,13 @@ public class TaskService {
     }
 
     // capacity helper for sprints
-    private void checkSprintCapacity(Sprint sprint, int taskStoryPoints, int existingPointsToSubtract) {
-        List<Task> sprintTasks = taskRepository.findBySprintId(sprint.getId());
-
-        int currentStoryPoints = sprintTasks.stream()
-                .mapToInt(Task::getStoryPoints)
-                .sum();
+    private void checkSprintCapacity(Sprint sprint, Task task, int taskStoryPoints) {
+        Task parent = task.getParentTask();
+        if (parent != null && parent.getSprint() != null && sprint.getId() == parent.getSprint().getId()) {
+            return;
+        }
 
-        currentStoryPoints -= existingPointsToSubtract;
+        int currentStoryPoints = (int) taskViewRepository.sumCountedStoryPointsBySprintId(sprint.getId(), idOrZero(task));
 
         int newTotal = currentStoryPoints + taskStoryPoints;
 
@@ -720,6 +1129,145 @@ public class TaskService {
         }
     }
 
+    // a task that is not saved yet has no id, no task has 0
+    private static int idOrZero(Task task) {
+        return task.getId() != null ? task.getId() : 0;
+    }
+
+    // the parent has to be a live task and must not sit below the task, or the hierarchy would loop
+    private Task resolveParentTask(Integer parentTaskId, Integer taskId) {
+        if (parentTaskId == null) {
+            return null;
+        }
+
+        if (parentTaskId.equals(taskId)) {
+            throw new IllegalArgumentException("A task cannot be its own parent");
+        }
+
+        Task parent = taskRepository.findById(parentTaskId)
+                .orElseThrow(() -> new ResourceNotFound("Parent task not found with id: " + parentTaskId));
+
+        // a new task has nothing below it, moving an existing one waits for any other move to commit first
+        if (taskId != null) {
+            taskHierarchyService.lock();
+            if (taskHierarchyService.isDescendant(taskId, parentTaskId)) {
+                throw new IllegalArgumentException(
+                        String.format("Task %d is a subtask of task %d and cannot be its parent", parentTaskId, taskId));
+            }
+        }
+
+        return parent;
+    }
+
+    // keep the read model in step with the task, runs inside the caller's transaction
+    private void updateTaskView(Task task) {
+        // taken before the save, which would copy the new values onto the managed row
+        Optional<TaskView> previousView = taskViewRepository.findById(task.getId());
+        EpicProgressService.Contribution previous = previousView
+                .map(EpicProgressService.Contribution::of)
+                .orElse(null);
+        TaskHierarchyService.Node previousNode = previousView
+                .map(TaskHierarchyService.Node::of)
+                .orElse(null);
+        TaskDependencyGraphs.Entry previousEntry = previousView
+                .map(TaskDependencyGraphs.Entry::of)
+                .orElse(null);
+
+        TaskView view = new TaskView();
+        view.setTaskId(task.getId());
+        view.setParentTaskId(task.getParentTask() != null ? task.getParentTask().getId() : null);
+        view.setCreatedById(task.getCreatedBy().getId());
+        view.setAssignedToId(task.getAssignedTo().getId());
+        view.setAssignedToName(task.getAssignedTo().getName());
+        view.setStatusId(task.getStatus().getId());
+        view.setStatusName(task.getStatus().getName());
+        view.setPriorityId(task.getPriority().getId());
+        view.setPriorityName(task.getPriority().getName());
+        view.setTitle(task.getTitle());
+        view.setDescription(task.getDescription());
+        view.setStoryPoints(task.getStoryPoints());
+        view.setEstimatedHours(task.getEstimatedHours());
+        view.setDueDate(task.getDueDate());
+        view.setCompletedAt(task.getCompletedAt());
+        view.setLabels(task.getLabels().clone());
+
+        if (task.getEpic() != null) {
+            view.setEpicId(task.getEpic().getId());
+            view.setEpicName(task.getEpic().getName());
+        }
+
+        if (task.getSprint() != null) {
+            view.setSprintId(task.getSprint().getId());
+            view.setSprintName(task.getSprint().getName());
+        }
+
+        taskViewRepository.save(view);
+        taskFilterIndex.upsert(view);
+        epicProgressService.recordChange(previous, EpicProgressService.Contribution.of(view));
+        taskHierarchyService.recordChange(previousNode, TaskHierarchyService.Node.of(view));
+        taskDependencyGraphs.taskChanged(previousEntry, TaskDependencyGraphs.Entry.of(view));
+    }
+
+    static TaskDTO convertViewToDTO(TaskView view) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(view.getTaskId());
+        dto.setTitle(view.getTitle());
+        dto.setDescription(view.getDescription());
+        dto.setStoryPoints(view.getStoryPoints());
+        dto.setEstimatedHours(view.getEstimatedHours());
+        dto.setDueDate(view.getDueDate());
+        dto.setCompletedAt(view.getCompletedAt());
+        dto.setLabels(Arrays.asList(view.getLabels()));
+        dto.setCreatedById(view.getCreatedById());
+        dto.setAssignedToId(view.getAssignedToId());
+        dto.setAssignedToName(view.getAssignedToName());
+        dto.setStatusId(view.getStatusId());
+        dto.setStatusName(view.getStatusName());
+        dto.setPriorityId(view.getPriorityId());
+        dto.setPriorityName(view.getPriorityName());
+        dto.setEpicId(view.getEpicId());
+        dto.setEpicName(view.getEpicName());
+        dto.setSprintId(view.getSprintId());
+        dto.setSprintName(view.getSprintName());
+        dto.setParentTaskId(view.getParentTaskId());
+        dto.setSubtaskCount(view.getSubtaskCount());
+        dto.setCompletedSubtasks(view.getCompletedSubtasks());
+        dto.setSubtaskPoints(view.getSubtaskPoints());
+        dto.setCompletedSubtaskPoints(view.getCompletedSubtaskPoints());
+        return dto;
+    }
+
+    private void addArchived(List<TaskDTO> tasks, List<ArchivedTask> archived) {
+        archived.stream()
+                .map(this::convertArchivedToDTO)
+                .forEach(tasks::add);
+    }
+
+    private TaskDTO convertArchivedToDTO(ArchivedTask archived) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(archived.getId());
+        dto.setTitle(archived.getTitle());
+        dto.setDescription(archived.getDescription());
+        dto.setStoryPoints(archived.getStoryPoints());
+        dto.setEstimatedHours(archived.getEstimatedHours());
+        dto.setDueDate(archived.getDueDate());
+        dto.setCompletedAt(archived.getCompletedAt());
+        dto.setLabels(Arrays.asList(archived.getLabels()));
+        dto.setCreatedById(archived.getCreatedById());
+        dto.setAssignedToId(archived.getAssignedToId());
+        dto.setAssignedToName(archived.getAssignedToName());
+        dto.setStatusId(archived.getStatusId());
+        dto.setStatusName(archived.getStatusName());
+        dto.setPriorityId(archived.getPriorityId());
+        dto.setPriorityName(archived.getPriorityName());
+        dto.setParentTaskId(archived.getParentTaskId());
+        dto.setEpicId(archived.getEpicId());
+        dto.setEpicName(archived.getEpicName());
+        dto.setSprintId(archived.getSprintId());
+        dto.setSprintName(archived.getSprintName());
+        return dto;
+    }
+
     private TaskDTO convertToDTO(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
@@ -729,6 +1277,7 @@ public class TaskService {
         dto.setEstimatedHours(task.getEstimatedHours());
         dto.setDueDate(task.getDueDate());
         dto.setCompletedAt(task.getCompletedAt());
+        dto.setLabels(Arrays.asList(task.getLabels()));
 
         dto.setCreatedById(task.getCreatedBy().getId());
         dto.setAssignedToId(task.getAssignedTo().getId());
@@ -750,6 +1299,10 @@ public class TaskService {
             dto.setSprintName(task.getSprint().getName());
         }
 
+        if (task.getParentTask() != null) {
+            dto.setParentTaskId(task.getParentTask().getId());
+        }
+
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.taskmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// hierarchical timer wheel, LEVELS wheels of SLOTS slots where a slot on level n spans SLOTS^n ticks.
+// scheduling is O(1), a timer is moved down a level each time its slot comes round until it fires from level 0.
+// schedule hands back the timer so it can be cancelled, a cancelled timer leaves its slot at once.
+// not thread safe, one thread schedules and advances
+class TimerWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    @SuppressWarnings("unchecked")
+    private final List<Timer<T>>[][] wheels = new List[LEVELS][SLOTS];
+    private final List<Timer<T>> expired = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimerWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    Timer<T> schedule(T payload, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(payload, deadlineMillis / tickMillis);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    // false when the timer already fired or was cancelled before
+    boolean cancel(Timer<T> timer) {
+        if (timer.slot == null || !timer.slot.remove(timer)) {
+            return false;
+        }
+        timer.slot = null;
+        size--;
+        return true;
+    }
+
+    // moves the wheel up to nowMillis, handing every timer that came due to onExpired one tick at a time
+    int advance(long nowMillis, Consumer<T> onExpired) {
+        int fired = fireExpired(onExpired);
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & MASK);
+            List<Timer<T>> timers = wheels[0][slot];
+            if (timers != null) {
+                wheels[0][slot] = null;
+                timers.forEach(timer -> timer.slot = null);
+                for (Timer<T> timer : timers) {
+                    onExpired.accept(timer.payload);
+                }
+                fired += timers.size();
+                size -= timers.size();
+            }
+            fired += fireExpired(onExpired);
+        }
+        return fired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expired.add(timer);
+            timer.slot = expired;
+            return;
+        }
+
+        // anything past the top level waits in its last slot and is placed again when that slot cascades
+        long tick = delta > MAX_DELTA ? currentTick + MAX_DELTA : timer.deadlineTick;
+        delta = tick - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+        if (wheels[level][slot] == null) {
+            wheels[level][slot] = new ArrayList<>();
+        }
+        wheels[level][slot].add(timer);
+        timer.slot = wheels[level][slot];
+    }
+
+    // when a lower level wraps, the next slot of the level above is spread back over the levels below it
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+            List<Timer<T>> timers = wheels[level][slot];
+            if (timers != null) {
+                wheels[level][slot] = null;
+                timers.forEach(this::place);
+            }
+        }
+    }
+
+    private int fireExpired(Consumer<T> onExpired) {
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Timer<T>> timers = new ArrayList<>(expired);
+        expired.clear();
+        timers.forEach(timer -> timer.slot = null);
+        timers.forEach(timer -> onExpired.accept(timer.payload));
+        size -= timers.size();
+        return timers.size();
+    }
+
+    // identity matters, two timers for the same payload and tick are still two timers
+    static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+        // the list the timer waits in, null once it fired or was cancelled
+        private List<Timer<T>> slot;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
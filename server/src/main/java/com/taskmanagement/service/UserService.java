@@ -1,16 +1,23 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.dto.ReassignmentDTO;
 import com.taskmanagement.dto.UserDTO;
+import com.taskmanagement.dto.UserDeactivationDTO;
 import com.taskmanagement.exception.ResourceNotFound;
 import com.taskmanagement.exception.UserNotFoundException;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.AssigneeLoad;
+import com.taskmanagement.repository.RoleRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
-import java.util.UUID;
+import java.time.ZonedDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,10 +26,21 @@ public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
-
-    public UserService(UserRepository userRepository) {
+    private final TaskViewRepository taskViewRepository;
+    private final TaskRepository taskRepository;
+    private final RoleRepository roleRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskDueTracker taskDueTracker;
+
+    public UserService(UserRepository userRepository, TaskViewRepository taskViewRepository,
+                       TaskRepository taskRepository, RoleRepository roleRepository,
+                       TaskFilterIndex taskFilterIndex, TaskDueTracker taskDueTracker) {
         this.userRepository = userRepository;
-
+        this.taskViewRepository = taskViewRepository;
+        this.taskRepository = taskRepository;
+        this.roleRepository = roleRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskDueTracker = taskDueTracker;
     }
 
     @Transactional(readOnly = true)
@@ -49,6 +67,7 @@ public class UserService {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFound("User not found with ID: " + id));
 
+        boolean nameChanged = userDTO.getName() != null && !userDTO.getName().equals(existingUser.getName());
         if (userDTO.getName() != null) {
             existingUser.setName(userDTO.getName());
         }
@@ -64,6 +83,12 @@ public class UserService {
 
         User updatedUser = userRepository.save(existingUser);
 
+        // assignee names are copied into task_view
+        if (nameChanged) {
+            int rows = taskViewRepository.updateAssigneeName(id, updatedUser.getName());
+            logger.debug("Updated assignee name on {} task view rows", rows);
+        }
+
         return convertToDTO(updatedUser);
     }
 
@@ -74,16 +99,134 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    // without a policy the open tasks stay where they are, with one they are handed over in the same transaction
+    // using one UPDATE per new assignee on tasks and on task_view
     @Transactional
-    public boolean deactivateUser(UUID id) {
+    public UserDeactivationDTO deactivateUser(UUID id, ReassignmentDTO reassignment) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
+        // resolved before anything changes so a bad policy leaves the user active
+        List<User> candidates = reassignment != null && reassignment.getPolicy() != null
+                ? findReassignmentCandidates(id, reassignment)
+                : List.of();
+
         user.setIsActive(false);
-        userRepository.save(user);
+        User deactivated = userRepository.save(user);
+
+        UserDeactivationDTO summary = new UserDeactivationDTO();
+        if (!candidates.isEmpty()) {
+            List<TaskView> open = taskViewRepository.findByAssignedToIdAndCompletedAtIsNull(id);
+            if (!open.isEmpty()) {
+                reassign(deactivated, open, planReassignment(reassignment.getPolicy(), open, candidates), summary);
+            }
+        }
+        summary.setUser(convertToDTO(deactivated));
+
+        logger.info("User with ID: {} has been deactivated, {} open tasks reassigned.", id, summary.getReassignedTasks());
+        return summary;
+    }
+
+    private List<User> findReassignmentCandidates(UUID id, ReassignmentDTO reassignment) {
+        if (reassignment.getPolicy() == ReassignmentDTO.Policy.USER) {
+            if (reassignment.getTargetUserId() == null) {
+                throw new IllegalArgumentException("A target user is required to reassign to a single user");
+            }
+            if (reassignment.getTargetUserId().equals(id)) {
+                throw new IllegalArgumentException("Cannot reassign tasks to the user being deactivated");
+            }
+            User target = userRepository.findById(reassignment.getTargetUserId())
+                    .orElseThrow(() -> new ResourceNotFound("User not found with id: " + reassignment.getTargetUserId()));
+            if (target.getIsActive() == null || !target.getIsActive()) {
+                throw new IllegalStateException("Cannot assign task to inactive user: " + target.getName());
+            }
+            return List.of(target);
+        }
+
+        if (reassignment.getRoleName() == null) {
+            throw new IllegalArgumentException("A role is required for " + reassignment.getPolicy() + " reassignment");
+        }
+        roleRepository.findByName(reassignment.getRoleName())
+                .orElseThrow(() -> new ResourceNotFound("Role not found with name: " + reassignment.getRoleName()));
+
+        // sorted so round robin hands tasks out in the same order every time
+        List<User> candidates = userRepository.findActiveByRoleName(reassignment.getRoleName()).stream()
+                .filter(candidate -> !candidate.getId().equals(id))
+                .sorted(Comparator.comparing(User::getName).thenComparing(User::getId))
+                .toList();
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No other active users with role " + reassignment.getRoleName() + " to reassign tasks to");
+        }
+        return candidates;
+    }
+
+    // decides every task's new assignee in memory, keyed by assignee in candidate order
+    private Map<User, List<TaskView>> planReassignment(ReassignmentDTO.Policy policy, List<TaskView> open, List<User> candidates) {
+        Map<User, List<TaskView>> plan = new LinkedHashMap<>();
+        candidates.forEach(candidate -> plan.put(candidate, new ArrayList<>()));
+
+        if (policy == ReassignmentDTO.Policy.LEAST_LOADED) {
+            Map<UUID, long[]> load = new HashMap<>();
+            candidates.forEach(candidate -> load.put(candidate.getId(), new long[2]));
+            for (AssigneeLoad row : taskViewRepository.findOpenLoads(load.keySet())) {
+                load.put(row.getUserId(), new long[]{row.getOpenPoints(), row.getOpenTasks()});
+            }
+
+            // biggest tasks first so the small ones even out what is left, ties on points go to fewer tasks
+            Comparator<User> byLoad = Comparator.<User>comparingLong(candidate -> load.get(candidate.getId())[0])
+                    .thenComparingLong(candidate -> load.get(candidate.getId())[1])
+                    .thenComparingInt(candidates::indexOf);
+            PriorityQueue<User> queue = new PriorityQueue<>(byLoad);
+            queue.addAll(candidates);
+
+            List<TaskView> ordered = new ArrayList<>(open);
+            ordered.sort(Comparator.comparingInt(TaskView::getStoryPoints).reversed().thenComparing(TaskView::getTaskId));
+            for (TaskView view : ordered) {
+                User next = queue.poll();
+                plan.get(next).add(view);
+                long[] current = load.get(next.getId());
+                current[0] += view.getStoryPoints();
+                current[1]++;
+                queue.add(next);
+            }
+        } else {
+            List<TaskView> ordered = new ArrayList<>(open);
+            ordered.sort(Comparator.comparing(TaskView::getTaskId));
+            for (int i = 0; i < ordered.size(); i++) {
+                plan.get(candidates.get(i % candidates.size())).add(ordered.get(i));
+            }
+        }
+        return plan;
+    }
+
+    private void reassign(User from, List<TaskView> open, Map<User, List<TaskView>> plan, UserDeactivationDTO summary) {
+        ZonedDateTime now = ZonedDateTime.now();
+        for (Map.Entry<User, List<TaskView>> entry : plan.entrySet()) {
+            User to = entry.getKey();
+            List<TaskView> views = entry.getValue();
+            if (views.isEmpty()) {
+                continue;
+            }
+
+            List<Integer> taskIds = views.stream().map(TaskView::getTaskId).toList();
+            int moved = taskRepository.reassign(taskIds, from, to);
+            if (moved != taskIds.size()) {
+                throw new IllegalStateException("Tasks of the user changed while it was being deactivated, please try again");
+            }
+            taskViewRepository.reassign(taskIds, from.getId(), to.getId(), to.getName(), now);
+
+            for (TaskView view : views) {
+                view.setAssignedToId(to.getId());
+                view.setAssignedToName(to.getName());
+                taskFilterIndex.upsert(view);
+                // the overdue ones move to the new assignee's set
+                taskDueTracker.taskChanged(view.getTaskId());
+            }
+            summary.getReassignedTo().put(to.getId().toString(), taskIds.size());
+        }
 
-        logger.info("User with ID: {} has been deactivated.", id);
-        return true;
+        summary.setReassignedTasks(open.size());
+        summary.setReassignedPoints(open.stream().mapToInt(TaskView::getStoryPoints).sum());
     }
 
     private UserDTO convertToDTO(User user) {
@@ -0,0 +1,50 @@
+-- One row per status change, written in the same transaction as the change and never updated.
+-- No foreign key to tasks, history outlives archived and deleted tasks.
+CREATE TABLE task_status_history (
+    id BIGSERIAL PRIMARY KEY,
+    task_id INT NOT NULL,
+    from_status_id INT REFERENCES task_statuses(id),
+    to_status_id INT NOT NULL REFERENCES task_statuses(id),
+    sprint_id INT,
+    assigned_to_id UUID NOT NULL,
+    changed_by_id UUID NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    seconds_in_previous_status BIGINT
+);
+
+CREATE INDEX idx_task_status_history_task_id ON task_status_history(task_id, changed_at);
+
+CREATE OR REPLACE FUNCTION reject_history_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'task_status_history is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER task_status_history_append_only BEFORE UPDATE OR DELETE ON task_status_history
+    FOR EACH ROW EXECUTE FUNCTION reject_history_change();
+
+-- running totals per sprint and per assignee, bumped with every transition so reads never go through history.
+-- scope is SPRINT or USER, scope_id the sprint id or user id as text
+CREATE TABLE status_time_aggregates (
+    scope VARCHAR(10) NOT NULL,
+    scope_id VARCHAR(36) NOT NULL,
+    status_id INT NOT NULL REFERENCES task_statuses(id),
+    total_seconds BIGINT NOT NULL DEFAULT 0,
+    exits INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope, scope_id, status_id)
+);
+
+CREATE TABLE throughput_aggregates (
+    scope VARCHAR(10) NOT NULL,
+    scope_id VARCHAR(36) NOT NULL,
+    completed_tasks INT NOT NULL DEFAULT 0,
+    total_cycle_seconds BIGINT NOT NULL DEFAULT 0,
+    total_lead_seconds BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (scope, scope_id)
+);
+
+-- existing tasks get the status they are in now as their starting point
+INSERT INTO task_status_history (task_id, from_status_id, to_status_id, sprint_id, assigned_to_id, changed_by_id, changed_at)
+SELECT id, NULL, status_id, sprint_id, assigned_to_id, created_by_id, created_at
+FROM tasks;
@@ -0,0 +1,21 @@
+-- One row per sprint per day with the story point totals at the end of that day (or so far, for today).
+-- Rewritten whenever a task in an active sprint changes, and once a night for every active sprint.
+CREATE TABLE sprint_burndown (
+    sprint_id INT NOT NULL REFERENCES sprints(id) ON DELETE CASCADE,
+    snapshot_date DATE NOT NULL,
+    total_points INT NOT NULL,
+    completed_points INT NOT NULL,
+    remaining_points INT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (sprint_id, snapshot_date)
+);
+
+INSERT INTO sprint_burndown (sprint_id, snapshot_date, total_points, completed_points, remaining_points)
+SELECT s.id, CURRENT_DATE,
+       COALESCE(SUM(v.story_points), 0),
+       COALESCE(SUM(v.story_points) FILTER (WHERE v.completed_at IS NOT NULL), 0),
+       COALESCE(SUM(v.story_points) FILTER (WHERE v.completed_at IS NULL), 0)
+FROM sprints s
+LEFT JOIN task_view v ON v.sprint_id = s.id
+WHERE s.is_active
+GROUP BY s.id;
@@ -0,0 +1,28 @@
+-- Per epic rollups kept in step with every task write, so the epic list shows progress without reading tasks.
+-- Archived tasks still count towards their epic, the rows only move from task_view to tasks_archive.
+CREATE TABLE epic_status_totals (
+    epic_id INT NOT NULL REFERENCES epics(id) ON DELETE CASCADE,
+    status_id INT NOT NULL REFERENCES task_statuses(id),
+    tasks INT NOT NULL DEFAULT 0,
+    story_points INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (epic_id, status_id)
+);
+
+CREATE TABLE epic_progress (
+    epic_id INT PRIMARY KEY REFERENCES epics(id) ON DELETE CASCADE,
+    latest_due_date TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO epic_status_totals (epic_id, status_id, tasks, story_points)
+SELECT epic_id, status_id, COUNT(*), SUM(story_points)
+FROM (SELECT epic_id, status_id, story_points FROM task_view WHERE epic_id IS NOT NULL
+      UNION ALL
+      SELECT epic_id, status_id, story_points FROM tasks_archive WHERE epic_id IS NOT NULL) t
+GROUP BY epic_id, status_id;
+
+INSERT INTO epic_progress (epic_id, latest_due_date)
+SELECT epic_id, MAX(due_date)
+FROM (SELECT epic_id, due_date FROM task_view WHERE epic_id IS NOT NULL
+      UNION ALL
+      SELECT epic_id, due_date FROM tasks_archive WHERE epic_id IS NOT NULL) t
+GROUP BY epic_id;
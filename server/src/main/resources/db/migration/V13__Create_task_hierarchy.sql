@@ -0,0 +1,55 @@
+-- Parent/child tasks. tasks.parent_task_id is the link that gets edited, task_closure holds every ancestor and
+-- descendant pair below it so a whole subtree is one indexed lookup instead of a recursive walk. Only proper
+-- pairs are stored, a task without parent or subtasks has no rows.
+-- task_view carries the parent and the totals over each task's subtree, kept up to date by deltas like
+-- epic_status_totals. There is no foreign key to tasks(id) since V9, deletes are handled by the trigger below.
+
+ALTER TABLE tasks ADD COLUMN parent_task_id INT;
+CREATE INDEX idx_tasks_parent_task_id ON tasks(parent_task_id) WHERE parent_task_id IS NOT NULL;
+
+ALTER TABLE task_view ADD COLUMN parent_task_id INT;
+ALTER TABLE task_view ADD COLUMN subtask_count INT NOT NULL DEFAULT 0;
+ALTER TABLE task_view ADD COLUMN completed_subtasks INT NOT NULL DEFAULT 0;
+ALTER TABLE task_view ADD COLUMN subtask_points INT NOT NULL DEFAULT 0;
+ALTER TABLE task_view ADD COLUMN completed_subtask_points INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_task_view_parent_task_id ON task_view(parent_task_id) WHERE parent_task_id IS NOT NULL;
+
+CREATE TABLE task_closure (
+    ancestor_id INT NOT NULL,
+    descendant_id INT NOT NULL,
+    depth INT NOT NULL CHECK (depth > 0),
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_task_closure_descendant_id ON task_closure(descendant_id);
+
+-- a deleted task leaves the totals of everything above it, and its subtasks move up to its own parent.
+-- AFTER ROW triggers run once the whole DELETE is done, so deleting a parent together with its subtasks
+-- (an epic cascade, an archive batch) only finds rows that are still there
+CREATE OR REPLACE FUNCTION delete_task_dependents()
+RETURNS TRIGGER AS $$
+DECLARE
+    done INT := CASE WHEN OLD.completed_at IS NOT NULL THEN 1 ELSE 0 END;
+BEGIN
+    DELETE FROM task_comments WHERE task_id = OLD.id;
+
+    UPDATE task_view v
+    SET subtask_count = v.subtask_count - 1,
+        completed_subtasks = v.completed_subtasks - done,
+        subtask_points = v.subtask_points - OLD.story_points,
+        completed_subtask_points = v.completed_subtask_points - done * OLD.story_points
+    FROM task_closure c
+    WHERE c.descendant_id = OLD.id AND v.task_id = c.ancestor_id;
+
+    UPDATE task_closure SET depth = depth - 1
+    WHERE ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = OLD.id)
+      AND descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = OLD.id);
+    DELETE FROM task_closure WHERE ancestor_id = OLD.id OR descendant_id = OLD.id;
+
+    UPDATE tasks SET parent_task_id = OLD.parent_task_id WHERE parent_task_id = OLD.id;
+    UPDATE task_view SET parent_task_id = OLD.parent_task_id WHERE parent_task_id = OLD.id;
+
+    DELETE FROM task_view WHERE task_id = OLD.id;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,43 @@
+-- "blocked by" links between tasks, task_id can only start once depends_on_id is finished.
+-- inserts go through TaskDependencyRepository, which serializes them and refuses any link that would close a cycle.
+-- like task_closure there is no foreign key to the partitioned tasks table, deletes are handled by the trigger
+CREATE TABLE task_dependencies (
+    task_id INT NOT NULL,
+    depends_on_id INT NOT NULL,
+    created_by_id UUID REFERENCES users(id),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (task_id, depends_on_id),
+    CHECK (task_id <> depends_on_id)
+);
+
+CREATE INDEX idx_task_dependencies_depends_on_id ON task_dependencies(depends_on_id);
+
+-- same as V13, a deleted task also drops the links on either side of it
+CREATE OR REPLACE FUNCTION delete_task_dependents()
+RETURNS TRIGGER AS $$
+DECLARE
+    done INT := CASE WHEN OLD.completed_at IS NOT NULL THEN 1 ELSE 0 END;
+BEGIN
+    DELETE FROM task_comments WHERE task_id = OLD.id;
+    DELETE FROM task_dependencies WHERE task_id = OLD.id OR depends_on_id = OLD.id;
+
+    UPDATE task_view v
+    SET subtask_count = v.subtask_count - 1,
+        completed_subtasks = v.completed_subtasks - done,
+        subtask_points = v.subtask_points - OLD.story_points,
+        completed_subtask_points = v.completed_subtask_points - done * OLD.story_points
+    FROM task_closure c
+    WHERE c.descendant_id = OLD.id AND v.task_id = c.ancestor_id;
+
+    UPDATE task_closure SET depth = depth - 1
+    WHERE ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = OLD.id)
+      AND descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = OLD.id);
+    DELETE FROM task_closure WHERE ancestor_id = OLD.id OR descendant_id = OLD.id;
+
+    UPDATE tasks SET parent_task_id = OLD.parent_task_id WHERE parent_task_id = OLD.id;
+    UPDATE task_view SET parent_task_id = OLD.parent_task_id WHERE parent_task_id = OLD.id;
+
+    DELETE FROM task_view WHERE task_id = OLD.id;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
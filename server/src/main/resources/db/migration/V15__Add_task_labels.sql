@@ -0,0 +1,11 @@
+-- Free-form labels (component, customer, team ...) as a text array on the task, copied to task_view and
+-- tasks_archive like the other filter columns. Labels are stored trimmed and lower case.
+-- GIN indexes serve the any-of (&&) and all-of (@>) filters, the facet counts read the same rows.
+ALTER TABLE tasks ADD COLUMN labels TEXT[] NOT NULL DEFAULT '{}';
+CREATE INDEX idx_tasks_labels ON tasks USING GIN (labels);
+
+ALTER TABLE task_view ADD COLUMN labels TEXT[] NOT NULL DEFAULT '{}';
+CREATE INDEX idx_task_view_labels ON task_view USING GIN (labels);
+
+ALTER TABLE tasks_archive ADD COLUMN labels TEXT[] NOT NULL DEFAULT '{}';
+CREATE INDEX idx_tasks_archive_labels ON tasks_archive USING GIN (labels);
@@ -0,0 +1,9 @@
+-- A user's open tasks are read by the dashboard, the open load per assignee and deactivation, all of them
+-- "assigned to X and not completed". Partial indexes keep only the open rows, so they stay small however many
+-- finished tasks pile up. due_date is in the task_view key so the open list comes back already in due order
+-- and the overdue ones are the leading part of the same scan.
+CREATE INDEX idx_task_view_open_assignee ON task_view(assigned_to_id, due_date) WHERE completed_at IS NULL;
+CREATE INDEX idx_tasks_open_assignee ON tasks(assigned_to_id) WHERE completed_at IS NULL;
+
+-- the dashboard's recent window, newest first for one user, finished tasks included
+CREATE INDEX idx_task_view_assignee_updated_at ON task_view(assigned_to_id, updated_at);
@@ -0,0 +1,73 @@
+-- Follow up to V9.
+--
+-- updated_at and due_date have nothing to do with where a row sits on disk: an update writes the new row version
+-- wherever there is room and due dates are set by hand. A BRIN summary of either column covers nearly every value
+-- in every page range, so the planner never picks it and it only costs writes. created_at is the partition key and
+-- rows are appended in its order, that BRIN index stays.
+DROP INDEX IF EXISTS idx_tasks_updated_at_brin;
+DROP INDEX IF EXISTS idx_tasks_due_date_brin;
+
+-- what the overdue scan (findByDueDateBeforeAndCompletedAtIsNull) actually needs, only open tasks are in it
+CREATE INDEX idx_tasks_open_due_date ON tasks(due_date) WHERE completed_at IS NULL AND due_date IS NOT NULL;
+
+-- Lookups by id alone (findById, the task_id joins from task_view, comments and dependencies) cannot be pruned,
+-- the id says nothing about created_at. Each one probes the (id, created_at) primary key index of every
+-- partition, so its cost grows with the number of months kept: a handful of buffers per partition, about 40
+-- partitions after three years plus the default one. Reads that can carry created_at, or go through task_view
+-- (one btree on task_id), do not pay this. server/benchmark/partition_pruning.sql compares both layouts.
+
+-- A partition can't be created for a month the default partition already holds rows for, postgres refuses because
+-- those rows would then be in the wrong partition. That happens when created_at is set by hand (imports, clones of
+-- old tasks) or when the scheduled job has not run for a while. The month is now built as a plain table, the rows
+-- are moved out of the default partition into it and it is attached afterwards. Both tables are partitioned on
+-- created_at. User triggers on the default partition are off while its rows move, they are not deleted tasks and
+-- delete_task_dependents must not remove their comments and task_view rows.
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    month_end DATE;
+    last_month DATE := (date_trunc('month', NOW()) + make_interval(months => months_ahead))::DATE;
+    partition_name TEXT;
+    default_partition REGCLASS;
+    has_rows BOOLEAN;
+    created INT := 0;
+BEGIN
+    SELECT c.oid::REGCLASS INTO default_partition
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = parent::REGCLASS
+      AND pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT';
+
+    WHILE month_start <= last_month LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        partition_name := parent || '_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            has_rows := FALSE;
+            IF default_partition IS NOT NULL THEN
+                EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE created_at >= %L AND created_at < %L)',
+                               default_partition, month_start, month_end) INTO has_rows;
+            END IF;
+
+            IF has_rows THEN
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               partition_name, parent);
+                EXECUTE format('ALTER TABLE %s DISABLE TRIGGER USER', default_partition);
+                EXECUTE format('WITH moved AS (DELETE FROM %s WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                               'INSERT INTO %I SELECT * FROM moved',
+                               default_partition, month_start, month_end, partition_name);
+                EXECUTE format('ALTER TABLE %s ENABLE TRIGGER USER', default_partition);
+                -- indexes, the primary key and row triggers of the parent are added to the table here
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent, partition_name, month_start, month_end);
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               partition_name, parent, month_start, month_end);
+            END IF;
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
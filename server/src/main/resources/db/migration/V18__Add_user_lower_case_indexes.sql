@@ -0,0 +1,6 @@
+-- Names and emails from task writes and imports are matched case-insensitively with LOWER(column) = LOWER(?),
+-- which the unique index on email can't serve. With an expression index on each side the OR in
+-- findByEmailOrNameIgnoreCase becomes a BitmapOr of two index scans, and the email list of an import chunk
+-- (findByEmailIn) one scan of the email index, instead of reading every user.
+CREATE INDEX idx_users_lower_email ON users(LOWER(email));
+CREATE INDEX idx_users_lower_name ON users(LOWER(name));
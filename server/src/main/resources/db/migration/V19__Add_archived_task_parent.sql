@@ -0,0 +1,4 @@
+-- Archived subtasks keep the link to their parent like the other columns copied from tasks. The parent may be
+-- archived itself or still live, so there is no foreign key, the same as tasks.parent_task_id.
+ALTER TABLE tasks_archive ADD COLUMN parent_task_id INT;
+CREATE INDEX idx_tasks_archive_parent_task_id ON tasks_archive(parent_task_id) WHERE parent_task_id IS NOT NULL;
@@ -0,0 +1,44 @@
+-- Denormalized read model for the task list endpoints, one row per task with the names already resolved.
+-- Maintained from the service layer in the same transaction as the write.
+CREATE TABLE task_view (
+    task_id INT PRIMARY KEY REFERENCES tasks(id) ON DELETE CASCADE,
+    epic_id INT,
+    sprint_id INT,
+    created_by_id UUID NOT NULL,
+    assigned_to_id UUID NOT NULL,
+    priority_id INT NOT NULL,
+    status_id INT NOT NULL,
+    title VARCHAR(150) NOT NULL,
+    description TEXT NOT NULL,
+    story_points INT NOT NULL,
+    estimated_hours INT NOT NULL,
+    due_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    assigned_to_name VARCHAR(100) NOT NULL,
+    status_name VARCHAR(30) NOT NULL,
+    priority_name VARCHAR(30) NOT NULL,
+    epic_name VARCHAR(100),
+    sprint_name VARCHAR(100),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_task_view_assigned_to_id ON task_view(assigned_to_id);
+CREATE INDEX idx_task_view_epic_id ON task_view(epic_id);
+CREATE INDEX idx_task_view_sprint_id ON task_view(sprint_id);
+CREATE INDEX idx_task_view_status_id ON task_view(status_id);
+CREATE INDEX idx_task_view_priority_id ON task_view(priority_id);
+CREATE INDEX idx_task_view_open_due_date ON task_view(due_date) WHERE completed_at IS NULL;
+CREATE INDEX idx_task_view_updated_at ON task_view(updated_at);
+
+INSERT INTO task_view (task_id, epic_id, sprint_id, created_by_id, assigned_to_id, priority_id, status_id,
+                       title, description, story_points, estimated_hours, due_date, completed_at,
+                       assigned_to_name, status_name, priority_name, epic_name, sprint_name, updated_at)
+SELECT t.id, t.epic_id, t.sprint_id, t.created_by_id, t.assigned_to_id, t.priority_id, t.status_id,
+       t.title, t.description, t.story_points, t.estimated_hours, t.due_date, t.completed_at,
+       u.name, s.name, p.name, e.name, sp.name, t.updated_at
+FROM tasks t
+JOIN users u ON u.id = t.assigned_to_id
+JOIN task_statuses s ON s.id = t.status_id
+JOIN task_priorities p ON p.id = t.priority_id
+LEFT JOIN epics e ON e.id = t.epic_id
+LEFT JOIN sprints sp ON sp.id = t.sprint_id;
@@ -0,0 +1,41 @@
+CREATE TABLE task_imports (
+    id SERIAL PRIMARY KEY,
+    created_by_id UUID NOT NULL REFERENCES users(id),
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_rows INT NOT NULL DEFAULT 0,
+    imported_rows INT NOT NULL DEFAULT 0,
+    failed_rows INT NOT NULL DEFAULT 0,
+    message VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE task_import_errors (
+    id SERIAL PRIMARY KEY,
+    import_id INT NOT NULL REFERENCES task_imports(id) ON DELETE CASCADE,
+    row_number INT NOT NULL,
+    message VARCHAR(255) NOT NULL
+);
+
+CREATE INDEX idx_task_import_errors_import_id ON task_import_errors(import_id, row_number);
+
+-- rows are resolved to ids before they are copied in, only lives until the import is published
+CREATE UNLOGGED TABLE task_import_staging (
+    import_id INT NOT NULL,
+    row_number INT NOT NULL,
+    epic_id INT,
+    sprint_id INT,
+    created_by_id UUID NOT NULL,
+    assigned_to_id UUID NOT NULL,
+    priority_id INT NOT NULL,
+    status_id INT NOT NULL,
+    title VARCHAR(150) NOT NULL,
+    description TEXT NOT NULL,
+    story_points INT NOT NULL,
+    estimated_hours INT NOT NULL,
+    due_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_task_import_staging_import_id ON task_import_staging(import_id);
@@ -0,0 +1,45 @@
+-- cold storage for tasks completed long ago, rows keep their original ids and the names
+-- task_view had at the time so archived reads need no joins
+CREATE TABLE tasks_archive (
+    id INT PRIMARY KEY,
+    epic_id INT,
+    sprint_id INT,
+    created_by_id UUID NOT NULL,
+    assigned_to_id UUID NOT NULL,
+    priority_id INT NOT NULL,
+    status_id INT NOT NULL,
+    title VARCHAR(150) NOT NULL,
+    description TEXT NOT NULL,
+    story_points INT NOT NULL,
+    estimated_hours INT NOT NULL,
+    due_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    assigned_to_name VARCHAR(100) NOT NULL,
+    status_name VARCHAR(30) NOT NULL,
+    priority_name VARCHAR(30) NOT NULL,
+    epic_name VARCHAR(100),
+    sprint_name VARCHAR(100),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_tasks_archive_assigned_to_id ON tasks_archive(assigned_to_id);
+CREATE INDEX idx_tasks_archive_epic_id ON tasks_archive(epic_id);
+CREATE INDEX idx_tasks_archive_sprint_id ON tasks_archive(sprint_id);
+
+CREATE TABLE task_comments_archive (
+    id INT PRIMARY KEY,
+    task_id INT NOT NULL REFERENCES tasks_archive(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    user_name VARCHAR(100) NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_task_comments_archive_task_id ON task_comments_archive(task_id);
+
+-- the archiver scans by completion date
+CREATE INDEX idx_tasks_completed_at ON tasks(completed_at) WHERE completed_at IS NOT NULL;
@@ -0,0 +1,90 @@
+-- Range partition tasks and task_comments by month on created_at.
+-- Old partitions stop being touched once their tasks are done, so BRIN indexes on the time columns stay small and
+-- accurate. The primary key has to include the partition key, which means nothing can hold a foreign key to
+-- tasks(id) any more, the ON DELETE CASCADE to comments and task_view is done by a trigger instead.
+
+-- creates one partition per month from from_month up to months_ahead months past the current one, skips existing ones
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::DATE;
+    last_month DATE := (date_trunc('month', NOW()) + make_interval(months => months_ahead))::DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := parent || '_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, parent, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE task_view DROP CONSTRAINT task_view_task_id_fkey;
+
+ALTER TABLE task_comments RENAME TO task_comments_old;
+ALTER TABLE tasks RENAME TO tasks_old;
+
+CREATE TABLE tasks (LIKE tasks_old INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at);
+CREATE TABLE task_comments (LIKE task_comments_old INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at);
+
+-- rows outside every monthly range land here instead of failing the insert
+CREATE TABLE tasks_default PARTITION OF tasks DEFAULT;
+CREATE TABLE task_comments_default PARTITION OF task_comments DEFAULT;
+
+SELECT create_monthly_partitions('tasks', COALESCE((SELECT MIN(created_at) FROM tasks_old), NOW())::DATE, 3);
+SELECT create_monthly_partitions('task_comments', COALESCE((SELECT MIN(created_at) FROM task_comments_old), NOW())::DATE, 3);
+
+INSERT INTO tasks SELECT * FROM tasks_old;
+INSERT INTO task_comments SELECT * FROM task_comments_old;
+
+ALTER SEQUENCE tasks_id_seq OWNED BY tasks.id;
+ALTER SEQUENCE task_comments_id_seq OWNED BY task_comments.id;
+
+DROP TABLE task_comments_old;
+DROP TABLE tasks_old;
+
+ALTER TABLE tasks ADD PRIMARY KEY (id, created_at);
+ALTER TABLE tasks ADD FOREIGN KEY (epic_id) REFERENCES epics(id);
+ALTER TABLE tasks ADD FOREIGN KEY (sprint_id) REFERENCES sprints(id);
+ALTER TABLE tasks ADD FOREIGN KEY (created_by_id) REFERENCES users(id);
+ALTER TABLE tasks ADD FOREIGN KEY (assigned_to_id) REFERENCES users(id);
+ALTER TABLE tasks ADD FOREIGN KEY (priority_id) REFERENCES task_priorities(id);
+ALTER TABLE tasks ADD FOREIGN KEY (status_id) REFERENCES task_statuses(id);
+
+ALTER TABLE task_comments ADD PRIMARY KEY (id, created_at);
+ALTER TABLE task_comments ADD FOREIGN KEY (user_id) REFERENCES users(id);
+
+CREATE INDEX idx_tasks_assigned_to_id ON tasks(assigned_to_id);
+CREATE INDEX idx_tasks_created_by_id ON tasks(created_by_id);
+CREATE INDEX idx_tasks_epic_id ON tasks(epic_id);
+CREATE INDEX idx_tasks_sprint_id ON tasks(sprint_id);
+CREATE INDEX idx_tasks_status_id ON tasks(status_id);
+CREATE INDEX idx_tasks_priority_id ON tasks(priority_id);
+CREATE INDEX idx_tasks_completed_at ON tasks(completed_at) WHERE completed_at IS NOT NULL;
+CREATE INDEX idx_task_comments_task_id ON task_comments(task_id);
+
+-- rows are appended in time order, a BRIN summary per range of pages is enough and a fraction of a btree's size
+CREATE INDEX idx_tasks_created_at_brin ON tasks USING BRIN (created_at);
+CREATE INDEX idx_tasks_updated_at_brin ON tasks USING BRIN (updated_at);
+CREATE INDEX idx_tasks_due_date_brin ON tasks USING BRIN (due_date);
+CREATE INDEX idx_task_comments_created_at_brin ON task_comments USING BRIN (created_at);
+
+CREATE TRIGGER update_task_updated_at BEFORE UPDATE ON tasks FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER update_task_comment_updated_at BEFORE UPDATE ON task_comments FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE OR REPLACE FUNCTION delete_task_dependents()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM task_comments WHERE task_id = OLD.id;
+    DELETE FROM task_view WHERE task_id = OLD.id;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER delete_task_dependents AFTER DELETE ON tasks FOR EACH ROW EXECUTE FUNCTION delete_task_dependents();
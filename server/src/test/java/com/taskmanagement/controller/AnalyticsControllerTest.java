@@ -0,0 +1,144 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.CycleTimeDTO;
+import com.taskmanagement.dto.SprintVelocityDTO;
+import com.taskmanagement.dto.VelocityDTO;
+import com.taskmanagement.dto.WorkloadDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.security.JWTFilter;
+import com.taskmanagement.security.JWTTokenProvider;
+import com.taskmanagement.service.AnalyticsService;
+import com.taskmanagement.service.CycleTimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+public class AnalyticsControllerTest {
+
+    @MockBean
+    private JWTTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JWTFilter jwtFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CycleTimeService cycleTimeService;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    private UUID userId;
+    private User userDetails;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_ADMIN")
+        );
+        userDetails = new User(userId.toString(), "", authorities);
+
+        when(jwtTokenProvider.validateToken(any())).thenReturn(true);
+        when(jwtTokenProvider.getAuthentication(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken(userDetails, "", authorities)
+        );
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void getCycleTime_ShouldReturnSprintAggregates() throws Exception {
+        CycleTimeDTO cycleTime = new CycleTimeDTO();
+        cycleTime.setSprintId(3);
+        cycleTime.setCompletedTasks(4);
+        cycleTime.setAverageCycleTimeHours(12.5);
+        Map<String, Double> hours = new LinkedHashMap<>();
+        hours.put("TODO", 2.0);
+        hours.put("IN_PROGRESS", 10.0);
+        cycleTime.setAverageHoursInStatus(hours);
+
+        when(cycleTimeService.getCycleTime(3, null, userId)).thenReturn(cycleTime);
+
+        mockMvc.perform(get("/api/analytics/cycle-time")
+                        .param("sprintId", "3")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedTasks").value(4))
+                .andExpect(jsonPath("$.averageCycleTimeHours").value(12.5))
+                .andExpect(jsonPath("$.averageHoursInStatus.IN_PROGRESS").value(10.0));
+    }
+
+    @Test
+    void getCycleTime_ShouldReturnNotFound_WhenSprintMissing() throws Exception {
+        when(cycleTimeService.getCycleTime(99, null, userId)).thenThrow(new ResourceNotFound("Sprint not found with id: 99"));
+
+        mockMvc.perform(get("/api/analytics/cycle-time")
+                        .param("sprintId", "99")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getVelocity_ShouldDefaultToSixSprints() throws Exception {
+        SprintVelocityDTO sprint = new SprintVelocityDTO();
+        sprint.setSprintId(5);
+        sprint.setCompletedPoints(21);
+        VelocityDTO velocity = new VelocityDTO();
+        velocity.setLatestClosedSprintId(5);
+        velocity.setAverageVelocity(21.0);
+        velocity.setSprints(List.of(sprint));
+
+        when(analyticsService.getVelocity(6)).thenReturn(velocity);
+
+        mockMvc.perform(get("/api/analytics/velocity")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageVelocity").value(21.0))
+                .andExpect(jsonPath("$.sprints[0].completedPoints").value(21));
+    }
+
+    @Test
+    void getWorkload_ShouldPassSprintFilter() throws Exception {
+        WorkloadDTO workload = new WorkloadDTO();
+        workload.setUserId(userId);
+        workload.setOpenPoints(13);
+        workload.setRank(1);
+
+        when(analyticsService.getWorkload(3)).thenReturn(List.of(workload));
+
+        mockMvc.perform(get("/api/analytics/workload")
+                        .param("sprintId", "3")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].openPoints").value(13))
+                .andExpect(jsonPath("$[0].rank").value(1));
+    }
+}
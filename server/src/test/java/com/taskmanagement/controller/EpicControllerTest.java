@@ -8,10 +8,14 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.dto.CriticalPathDTO;
 import com.taskmanagement.dto.EpicDTO;
 import com.taskmanagement.model.Epic;
 import com.taskmanagement.model.User;
+import com.taskmanagement.service.CloneService;
 import com.taskmanagement.service.EpicService;
+import com.taskmanagement.service.TaskDependencyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
 
 @ExtendWith(MockitoExtension.class)
 class EpicControllerTest {
@@ -27,6 +32,12 @@ class EpicControllerTest {
     @Mock
     private EpicService epicService;
 
+    @Mock
+    private CloneService cloneService;
+
+    @Mock
+    private TaskDependencyService taskDependencyService;
+
     @InjectMocks
     private EpicController epicController;
 
@@ -105,11 +116,44 @@ class EpicControllerTest {
 
     @Test
     void deleteEpic_shouldReturnNoContent() {
-        doNothing().when(epicService).deleteEpic(epicId);
+        UUID userId = UUID.randomUUID();
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn(userId.toString());
 
-        ResponseEntity<Void> response = epicController.deleteEpic(epicId);
+        ResponseEntity<Void> response = epicController.deleteEpic(epicId, true, userDetails);
 
-        verify(epicService, times(1)).deleteEpic(epicId);
+        verify(epicService, times(1)).deleteEpic(epicId, true, userId);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
+
+    @Test
+    void cloneEpic_shouldReturnCreatedCopy() {
+        UUID userId = UUID.randomUUID();
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn(userId.toString());
+        CloneDTO clone = new CloneDTO();
+        clone.setSourceId(epicId);
+        clone.setId(2);
+        when(cloneService.cloneEpic(epicId, null, 90, false, userId)).thenReturn(clone);
+
+        ResponseEntity<CloneDTO> response = epicController.cloneEpic(epicId, null, 90, false, userDetails);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, response.getBody().getId());
+    }
+
+    @Test
+    void getCriticalPath_shouldReturnCriticalPath() {
+        CriticalPathDTO criticalPath = new CriticalPathDTO();
+        criticalPath.setEpicId(epicId);
+        criticalPath.setTotalHours(16);
+        criticalPath.setCriticalPath(List.of());
+        criticalPath.setLateTasks(List.of());
+        when(taskDependencyService.getEpicCriticalPath(epicId)).thenReturn(criticalPath);
+
+        ResponseEntity<CriticalPathDTO> response = epicController.getCriticalPath(epicId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(16L, response.getBody().getTotalHours());
+    }
 }
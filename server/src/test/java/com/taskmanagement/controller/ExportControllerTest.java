@@ -0,0 +1,122 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.security.JWTFilter;
+import com.taskmanagement.security.JWTTokenProvider;
+import com.taskmanagement.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+public class ExportControllerTest {
+
+    @MockBean
+    private JWTTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JWTFilter jwtFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    private UUID userId;
+    private User userDetails;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_ADMIN")
+        );
+        userDetails = new User(userId.toString(), "", authorities);
+
+        when(jwtTokenProvider.validateToken(any())).thenReturn(true);
+        when(jwtTokenProvider.getAuthentication(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken(userDetails, "", authorities)
+        );
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void export_ShouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("id,title\n1,Test Task\n".getBytes());
+            return 1L;
+        }).when(exportService).export(eq("tasks"), any(TaskFilterDTO.class), eq(false), any(OutputStream.class), eq(userId));
+
+        MvcResult result = mockMvc.perform(get("/api/export/tasks")
+                        .param("sprintId", "2")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("tasks.csv")))
+                .andExpect(content().string("id,title\n1,Test Task\n"));
+
+        verify(exportService).export(eq("tasks"), eq(new TaskFilterDTO(null, null, null, 2, null)),
+                eq(false), any(OutputStream.class), eq(userId));
+    }
+
+    @Test
+    void export_ShouldNameGzipDownload() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/export/comments")
+                        .param("gzip", "true")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("comments.csv.gz")));
+    }
+
+    @Test
+    void export_ShouldReturnNotFound_WhenEntityUnknown() throws Exception {
+        doThrow(new ResourceNotFound("Unknown export: users")).when(exportService).validateExport("users");
+
+        mockMvc.perform(get("/api/export/users")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.DashboardDTO;
+import com.taskmanagement.dto.TaskDTO;
+import com.taskmanagement.security.JWTFilter;
+import com.taskmanagement.security.JWTTokenProvider;
+import com.taskmanagement.service.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MeController.class)
+public class MeControllerTest {
+
+    @MockBean
+    private JWTTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JWTFilter jwtFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    private UUID userId;
+    private User userDetails;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_DEVELOPER")
+        );
+        userDetails = new User(userId.toString(), "", authorities);
+
+        when(jwtTokenProvider.validateToken(any())).thenReturn(true);
+        when(jwtTokenProvider.getAuthentication(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken(userDetails, "", authorities)
+        );
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void getDashboard_ShouldUseCallerAndDefaults() throws Exception {
+        TaskDTO task = new TaskDTO();
+        task.setId(7);
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setOpenTasks(List.of(task));
+        dashboard.setOverdueTasks(List.of(task));
+        dashboard.setRecentTasks(List.of());
+        dashboard.setOpenPoints(5);
+        dashboard.setRecentHours(24);
+
+        when(dashboardService.getDashboard(userId, 24, 20)).thenReturn(dashboard);
+
+        mockMvc.perform(get("/api/me/dashboard")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openTasks[0].id").value(7))
+                .andExpect(jsonPath("$.overdueTasks.length()").value(1))
+                .andExpect(jsonPath("$.openPoints").value(5));
+    }
+}
@@ -3,8 +3,19 @@ package com.taskmanagement.controller;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.taskmanagement.dto.BurndownDTO;
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.dto.CriticalPathDTO;
+import com.taskmanagement.dto.SprintBoardDTO;
 import com.taskmanagement.dto.SprintDTO;
+import com.taskmanagement.dto.SprintEndSummaryDTO;
+import com.taskmanagement.dto.SprintPlanDTO;
+import com.taskmanagement.service.BurndownService;
+import com.taskmanagement.service.CloneService;
+import com.taskmanagement.service.SprintBoardService;
+import com.taskmanagement.service.SprintPlanningService;
 import com.taskmanagement.service.SprintService;
+import com.taskmanagement.service.TaskDependencyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -24,6 +36,21 @@ class SprintControllerTest {
     @Mock
     private SprintService sprintService;
 
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private SprintPlanningService sprintPlanningService;
+
+    @Mock
+    private CloneService cloneService;
+
+    @Mock
+    private TaskDependencyService taskDependencyService;
+
+    @Mock
+    private SprintBoardService sprintBoardService;
+
     @InjectMocks
     private SprintController sprintController;
 
@@ -98,11 +125,100 @@ class SprintControllerTest {
     @Test
     void endSprint_shouldReturnEndedSprint() {
         sprintDTO.setActive(false);
-        when(sprintService.endSprint(sprintId)).thenReturn(sprintDTO);
+        SprintEndSummaryDTO summary = new SprintEndSummaryDTO();
+        summary.setSprint(sprintDTO);
+        when(sprintService.endSprint(sprintId, null)).thenReturn(summary);
 
-        ResponseEntity<SprintDTO> response = sprintController.endSprint(sprintId);
+        ResponseEntity<SprintEndSummaryDTO> response = sprintController.endSprint(sprintId, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(sprintDTO, response.getBody());
+        assertEquals(sprintDTO, response.getBody().getSprint());
+    }
+
+    @Test
+    void endSprint_shouldPassRolloverTarget() {
+        SprintEndSummaryDTO summary = new SprintEndSummaryDTO();
+        summary.setSprint(sprintDTO);
+        summary.setRolloverSprintId(2);
+        summary.setRolledOverTasks(12);
+        when(sprintService.endSprint(sprintId, 2)).thenReturn(summary);
+
+        ResponseEntity<SprintEndSummaryDTO> response = sprintController.endSprint(sprintId, 2);
+
+        assertEquals(12, response.getBody().getRolledOverTasks());
+        verify(sprintService).endSprint(sprintId, 2);
+    }
+
+    @Test
+    void getBurndown_shouldReturnBurndown() {
+        BurndownDTO burndown = new BurndownDTO();
+        burndown.setSprintId(sprintId);
+        burndown.setPoints(List.of());
+        when(burndownService.getBurndown(sprintId)).thenReturn(burndown);
+
+        ResponseEntity<BurndownDTO> response = sprintController.getBurndown(sprintId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(burndown, response.getBody());
+        verify(burndownService).getBurndown(sprintId);
+    }
+
+    @Test
+    void getCriticalPath_shouldReturnCriticalPath() {
+        CriticalPathDTO criticalPath = new CriticalPathDTO();
+        criticalPath.setSprintId(sprintId);
+        criticalPath.setCriticalPath(List.of());
+        criticalPath.setLateTasks(List.of());
+        when(taskDependencyService.getSprintCriticalPath(sprintId)).thenReturn(criticalPath);
+
+        ResponseEntity<CriticalPathDTO> response = sprintController.getCriticalPath(sprintId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(criticalPath, response.getBody());
+    }
+
+    @Test
+    void getBoard_shouldReturnBoard() {
+        SprintBoardDTO board = new SprintBoardDTO();
+        board.setSprint(sprintDTO);
+        board.setColumns(List.of());
+        when(sprintBoardService.getBoard(sprintId)).thenReturn(board);
+
+        ResponseEntity<SprintBoardDTO> response = sprintController.getBoard(sprintId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(board, response.getBody());
+    }
+
+    @Test
+    void applySprintPlan_shouldReturnAppliedPlan() {
+        SprintPlanDTO plan = new SprintPlanDTO();
+        plan.setSprintId(sprintId);
+        plan.setApplied(true);
+        plan.setTasks(List.of());
+        when(sprintPlanningService.applySprintPlan(sprintId)).thenReturn(plan);
+
+        ResponseEntity<SprintPlanDTO> response = sprintController.applySprintPlan(sprintId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isApplied());
+        verify(sprintPlanningService, never()).planSprint(any());
+    }
+
+    @Test
+    void cloneSprint_shouldReturnCreatedCopy() {
+        UUID userId = UUID.randomUUID();
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn(userId.toString());
+        CloneDTO clone = new CloneDTO();
+        clone.setSourceId(sprintId);
+        clone.setId(2);
+        clone.setClonedTasks(12);
+        when(cloneService.cloneSprint(sprintId, "Sprint 2", 14, true, userId)).thenReturn(clone);
+
+        ResponseEntity<CloneDTO> response = sprintController.cloneSprint(sprintId, "Sprint 2", 14, true, userDetails);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(12, response.getBody().getClonedTasks());
     }
-}
\ No newline at end of file
+}
@@ -96,7 +96,7 @@ public class TaskCommentControllerTest {
 
     @Test
     void getCommentsByTaskId_ShouldReturnComments() throws Exception {
-        when(commentService.getCommentsByTaskId(taskId, userId)).thenReturn(Arrays.asList(commentDTO));
+        when(commentService.getCommentsByTaskId(taskId, userId, false)).thenReturn(Arrays.asList(commentDTO));
 
         mockMvc.perform(get("/api/comments/task/" + taskId)
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -3,8 +3,10 @@ package com.taskmanagement.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanagement.dto.TaskDTO;
 import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.exception.AmbiguousNameException;
 import com.taskmanagement.security.JWTFilter;
 import com.taskmanagement.security.JWTTokenProvider;
+import com.taskmanagement.service.TaskDependencyService;
 import com.taskmanagement.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,15 +21,19 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.OutputStream;
 import java.time.ZonedDateTime;
 import java.util.*;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -49,6 +55,9 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskDependencyService taskDependencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -102,7 +111,7 @@ public class TaskControllerTest {
     void getTasksByAssignee_ShouldReturnAssigneeTasks() throws Exception {
 
         UUID assigneeId = UUID.randomUUID();
-        when(taskService.getTasksByAssignee(assigneeId, userId)).thenReturn(taskDTOList);
+        when(taskService.getTasksByAssignee(assigneeId, userId, false)).thenReturn(taskDTOList);
 
         mockMvc.perform(get("/api/tasks/assignee/" + assigneeId)
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -115,7 +124,7 @@ public class TaskControllerTest {
     @Test
     void getTasksByEpic_ShouldReturnEpicTasks() throws Exception {
         Integer epicId = rand.nextInt();
-        when(taskService.getTasksByEpic(epicId, userId)).thenReturn(taskDTOList);
+        when(taskService.getTasksByEpic(epicId, userId, false)).thenReturn(taskDTOList);
 
         mockMvc.perform(get("/api/tasks/epic/" + epicId)
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -128,7 +137,7 @@ public class TaskControllerTest {
     @Test
     void getTasksBySprint_ShouldReturnSprintTasks() throws Exception {
         Integer sprintId = rand.nextInt();
-        when(taskService.getTasksBySprint(sprintId, userId)).thenReturn(taskDTOList);
+        when(taskService.getTasksBySprint(sprintId, userId, false)).thenReturn(taskDTOList);
 
         mockMvc.perform(get("/api/tasks/sprint/" + sprintId)
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -222,6 +231,37 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.assignedToId", is(assigneeId.toString())));
     }
 
+    @Test
+    void assignTaskByName_ShouldReturnBadRequest_WhenNameIsAmbiguous() throws Exception {
+        when(taskService.assignTaskByName(1, "ann", userId))
+                .thenThrow(new AmbiguousNameException("'ann' matches 2 users: Ann <ann@example.com>, Anne <anne@example.com>. Use the email to pick one"));
+
+        mockMvc.perform(patch("/api/tasks/1/assign")
+                        .param("assignee", "ann")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Use the email")));
+    }
+
+    @Test
+    void patchTask_ShouldPassOnlyGivenFields() throws Exception {
+        TaskDTO patched = new TaskDTO();
+        patched.setId(1);
+        patched.setStatusName("DONE");
+
+        when(taskService.patchTask(eq(1), argThat(patch -> "done".equals(patch.getStatusName())
+                && patch.getTitle() == null && patch.getStoryPoints() == null), eq(userId))).thenReturn(patched);
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"statusName\": \"done\"}")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statusName", is("DONE")));
+    }
+
     @Test
     void addTaskToSprint_ShouldAddTaskToSprint_WhenSprintExists() throws Exception {
 
@@ -309,6 +349,28 @@ public class TaskControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void addDependency_ShouldReturnNoContent() throws Exception {
+
+        mockMvc.perform(post("/api/tasks/1/dependencies/2")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(taskDependencyService).addDependency(1, 2, userId);
+    }
+
+    @Test
+    void removeDependency_ShouldReturnNoContent() throws Exception {
+
+        mockMvc.perform(delete("/api/tasks/1/dependencies/2")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(taskDependencyService).removeDependency(1, 2, userId);
+    }
+
     @Test
     void getTasksByFilter_ShouldReturnFilteredTasks() throws Exception {
 
@@ -329,6 +391,77 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].title", is("Test Task")));
     }
 
+    @Test
+    void streamTasks_ShouldWriteNdjson() throws Exception {
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+            return 2L;
+        }).when(taskService).writeTasksAsNdjson(any(TaskFilterDTO.class), any(OutputStream.class), eq(userId));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream")
+                        .param("sprintId", "3")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        Mockito.verify(taskService).writeTasksAsNdjson(
+                eq(new TaskFilterDTO(null, null, null, 3, null)), any(OutputStream.class), eq(userId));
+    }
+
+    @Test
+    void getLabelCounts_ShouldReturnCountsInOrder() throws Exception {
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("backend", 7L);
+        counts.put("acme", 2L);
+
+        when(taskService.getLabelCounts(any(TaskFilterDTO.class), eq(userId))).thenReturn(counts);
+
+        mockMvc.perform(post("/api/tasks/filter/labels")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sprintId\": 3, \"anyLabels\": [\"backend\", \"acme\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.backend", is(7)))
+                .andExpect(jsonPath("$.acme", is(2)));
+
+        Mockito.verify(taskService).getLabelCounts(
+                Mockito.argThat(filter -> filter.getSprintId() == 3 && filter.getAnyLabels().equals(List.of("backend", "acme"))),
+                eq(userId));
+    }
+
+    @Test
+    void getFilterStats_ShouldReturnCounts() throws Exception {
+
+        TaskFilterDTO filterDTO = new TaskFilterDTO();
+        filterDTO.setSprintId(1);
+
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("count", 4L);
+        stats.put("storyPoints", 13L);
+        stats.put("overdue", 1L);
+
+        when(taskService.getFilterStats(any(TaskFilterDTO.class), eq(userId))).thenReturn(stats);
+
+        mockMvc.perform(post("/api/tasks/filter/stats")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(filterDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(4)))
+                .andExpect(jsonPath("$.storyPoints", is(13)))
+                .andExpect(jsonPath("$.overdue", is(1)));
+    }
+
     @Test
     void getMyTasks_ShouldReturnUserTasks() throws Exception {
 
@@ -345,7 +478,7 @@ public class TaskControllerTest {
     @Test
     void getAllTasks_ShouldReturnTasks() throws Exception {
 
-        when(taskService.getAllTasks(userId)).thenReturn(taskDTOList);
+        when(taskService.getAllTasks(userId, false)).thenReturn(taskDTOList);
 
         mockMvc.perform(get("/api/tasks")
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -358,7 +491,7 @@ public class TaskControllerTest {
     @Test
     void getTaskById_ShouldReturnTask_WhenTaskExists() throws Exception {
 
-        when(taskService.getTaskById(1, userId)).thenReturn(taskDTO);
+        when(taskService.getTaskById(1, userId, false)).thenReturn(taskDTO);
 
         mockMvc.perform(get("/api/tasks/1")
                         .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
@@ -0,0 +1,129 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskImportDTO;
+import com.taskmanagement.dto.TaskImportErrorDTO;
+import com.taskmanagement.model.TaskImport;
+import com.taskmanagement.security.JWTFilter;
+import com.taskmanagement.security.JWTTokenProvider;
+import com.taskmanagement.service.TaskImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskImportController.class)
+public class TaskImportControllerTest {
+
+    @MockBean
+    private JWTTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JWTFilter jwtFilter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskImportService importService;
+
+    private UUID userId;
+    private TaskImportDTO importDTO;
+    private User userDetails;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+        importDTO = new TaskImportDTO();
+        importDTO.setId(7);
+        importDTO.setCreatedById(userId);
+        importDTO.setStatus(TaskImport.PENDING);
+
+        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_ADMIN")
+        );
+        userDetails = new User(userId.toString(), "", authorities);
+
+        when(jwtTokenProvider.validateToken(any())).thenReturn(true);
+        when(jwtTokenProvider.getAuthentication(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken(userDetails, "", authorities)
+        );
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void startImport_ShouldAcceptCsv() throws Exception {
+        importDTO.setFormat("csv");
+        when(importService.startImport(any(InputStream.class), eq("csv"), eq(userId))).thenReturn(importDTO);
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType("text/csv")
+                        .content("title,assignee,status,priority,dueDate\nTask,a@example.com,TODO,HIGH,2030-01-01\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    void startImport_ShouldAcceptNdjson() throws Exception {
+        importDTO.setFormat("ndjson");
+        when(importService.startImport(any(InputStream.class), eq("ndjson"), eq(userId))).thenReturn(importDTO);
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails))
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Task\"}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.format", is("ndjson")));
+    }
+
+    @Test
+    void getImport_ShouldReturnProgressAndErrors() throws Exception {
+        importDTO.setStatus(TaskImport.COMPLETED);
+        importDTO.setProcessedRows(3);
+        importDTO.setImportedRows(2);
+        importDTO.setFailedRows(1);
+        importDTO.setErrors(List.of(new TaskImportErrorDTO(2, "Missing required column: title")));
+        when(importService.getImport(7, userId)).thenReturn(importDTO);
+
+        mockMvc.perform(get("/api/tasks/import/7")
+                        .with(SecurityMockMvcRequestPostProcessors.user(userDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].rowNumber", is(2)));
+    }
+}
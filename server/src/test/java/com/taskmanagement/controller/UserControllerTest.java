@@ -1,6 +1,9 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.dto.ReassignmentDTO;
 import com.taskmanagement.dto.UserDTO;
+import com.taskmanagement.dto.UserDeactivationDTO;
+import com.taskmanagement.exception.UserNotFoundException;
 import com.taskmanagement.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -114,24 +117,35 @@ class UserControllerTest {
 
     @Test
     void testDeactivateUser_Success() {
-        when(userService.deactivateUser(testUserId)).thenReturn(true);
+        UserDeactivationDTO summary = new UserDeactivationDTO();
+        when(userService.deactivateUser(testUserId, null)).thenReturn(summary);
 
-        ResponseEntity<String> response = userController.deactivateUser(testUserId, userDetails);
+        ResponseEntity<UserDeactivationDTO> response = userController.deactivateUser(testUserId, null, userDetails);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertTrue(response.getBody().contains("deactivated successfully"));
+        assertSame(summary, response.getBody());
     }
 
     @Test
-    void testDeactivateUser_UserNotFound() {
-        when(userService.deactivateUser(testUserId)).thenReturn(false);
+    void testDeactivateUser_WithReassignment() {
+        ReassignmentDTO reassignment = new ReassignmentDTO();
+        reassignment.setPolicy(ReassignmentDTO.Policy.LEAST_LOADED);
+        reassignment.setRoleName("DEVELOPER");
+        UserDeactivationDTO summary = new UserDeactivationDTO();
+        summary.setReassignedTasks(3);
+        when(userService.deactivateUser(testUserId, reassignment)).thenReturn(summary);
 
-        ResponseEntity<String> response = userController.deactivateUser(testUserId, userDetails);
+        ResponseEntity<UserDeactivationDTO> response = userController.deactivateUser(testUserId, reassignment, userDetails);
 
-        assertEquals(404, response.getStatusCodeValue());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody().contains("No user found") ||
-                response.getBody().contains("not found") ||
-                response.getBody().contains("User") && response.getBody().contains("found"));
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody().getReassignedTasks());
+        verify(userService).deactivateUser(testUserId, reassignment);
+    }
+
+    @Test
+    void testDeactivateUser_UserNotFound() {
+        when(userService.deactivateUser(testUserId, null)).thenThrow(new UserNotFoundException(testUserId));
+
+        assertThrows(UserNotFoundException.class, () -> userController.deactivateUser(testUserId, null, userDetails));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportRepositoryTest {
+
+    private final ExportRepository exportRepository = new ExportRepository(null);
+
+    @Test
+    void buildQuery_ShouldInlineLabelFilters() {
+        TaskFilterDTO filter = new TaskFilterDTO(null, null, null, 4, null);
+        filter.setAnyLabels(List.of("backend", "api"));
+        filter.setAllLabels(List.of("customer"));
+
+        String sql = exportRepository.buildQuery("tasks", filter);
+
+        assertTrue(sql.contains("v.labels, v.updated_at FROM task_view v"));
+        assertTrue(sql.endsWith("WHERE v.sprint_id = 4 AND v.labels && ARRAY[E'backend', E'api']::text[] "
+                + "AND v.labels @> ARRAY[E'customer']::text[] ORDER BY v.task_id"));
+    }
+
+    @Test
+    void textArray_ShouldEscapeQuotesAndBackslashes() {
+        assertEquals("ARRAY[E'it\\'s', E'a\\\\\\' OR true --']::text[]",
+                ExportRepository.textArray(List.of("it's", "a\\' OR true --")));
+    }
+
+    @Test
+    void buildQuery_ShouldLeaveLabelsOut_WhenEmpty() {
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setAnyLabels(List.of());
+
+        assertEquals("SELECT c.id", exportRepository.buildQuery("comments", filter).substring(0, 11));
+        assertFalse(exportRepository.buildQuery("comments", filter).contains("WHERE"));
+    }
+}
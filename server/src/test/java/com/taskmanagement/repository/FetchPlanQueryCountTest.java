@@ -0,0 +1,223 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// counts the sql statements each read path runs, flyway scripts are postgres only so the schema comes from the entities
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplans;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class FetchPlanQueryCountTest {
+
+    private static final int TASK_COUNT = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCommentRepository commentRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    private Statistics statistics;
+    private Integer firstTaskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Role role = new Role();
+        role.setName("DEVELOPER");
+        role.setDescription("Software developer role");
+        entityManager.persist(role);
+
+        TaskStatus status = new TaskStatus();
+        status.setName("TODO");
+        status.setDisplayOrder(2);
+        entityManager.persist(status);
+
+        TaskPriority priority = new TaskPriority();
+        priority.setName("HIGH");
+        priority.setValue(3);
+        entityManager.persist(priority);
+
+        User owner = persistUser(role, "owner");
+
+        Epic epic = new Epic();
+        epic.setName("Epic");
+        epic.setDescription("Epic description");
+        epic.setOwner(owner);
+        epic.setStoryPoints(100);
+        epic.setStartDate(ZonedDateTime.now());
+        epic.setTargetEndDate(ZonedDateTime.now().plusDays(30));
+        entityManager.persist(epic);
+
+        Sprint sprint = new Sprint();
+        sprint.setName("Sprint");
+        sprint.setGoal("Goal");
+        sprint.setScrumMaster(owner);
+        sprint.setCapacityPoints(50);
+        sprint.setStartDate(ZonedDateTime.now());
+        sprint.setEndDate(ZonedDateTime.now().plusDays(14));
+        sprint.setActive(true);
+        entityManager.persist(sprint);
+
+        // a different assignee per task is the worst case for the old eager mapping
+        for (int i = 0; i < TASK_COUNT; i++) {
+            User assignee = persistUser(role, "assignee" + i);
+
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description " + i);
+            task.setCreatedBy(owner);
+            task.setAssignedTo(assignee);
+            task.setStatus(status);
+            task.setPriority(priority);
+            task.setStoryPoints(1);
+            task.setEstimatedHours(1);
+            task.setDueDate(ZonedDateTime.now().plusDays(7));
+            task.setEpic(epic);
+            task.setSprint(sprint);
+            entityManager.persist(task);
+
+            if (firstTaskId == null) {
+                firstTaskId = task.getId();
+            }
+
+            TaskComment comment = new TaskComment();
+            comment.setTask(task);
+            comment.setUser(assignee);
+            comment.setContent("Comment " + i);
+            entityManager.persist(comment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void taskList_ShouldRunSingleStatement() {
+        List<Task> tasks = taskRepository.findAll();
+        tasks.forEach(this::readLikeTaskDTO);
+
+        assertEquals(TASK_COUNT, tasks.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void taskList_ShouldRunFewerStatementsThanUnplannedQuery() {
+        List<Task> unplanned = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Task t", Task.class)
+                .getResultList();
+        unplanned.forEach(this::readLikeTaskDTO);
+        long unplannedCount = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+
+        taskRepository.findAll().forEach(this::readLikeTaskDTO);
+
+        assertTrue(statistics.getPrepareStatementCount() < unplannedCount,
+                "Entity graph should beat per-association selects (" + unplannedCount + ")");
+    }
+
+    @Test
+    void taskDetail_ShouldRunSingleStatement() {
+        Task task = taskRepository.findById(firstTaskId).orElseThrow();
+        readLikeTaskDTO(task);
+        task.getCreatedBy().getName();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void sprintTaskList_ShouldRunSingleStatement() {
+        Integer sprintId = firstSprintId();
+        statistics.clear();
+
+        List<Task> tasks = taskRepository.findBySprintId(sprintId);
+        tasks.forEach(this::readLikeTaskDTO);
+
+        assertEquals(TASK_COUNT, tasks.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void commentList_ShouldNotLoadTaskGraph() {
+        List<TaskComment> comments = commentRepository.findByTaskIdOrderByCreatedAtDesc(firstTaskId);
+        for (TaskComment comment : comments) {
+            comment.getTask().getId();
+            comment.getUser().getId();
+            comment.getUser().getName();
+        }
+
+        assertEquals(1, comments.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void epicList_ShouldLoadOwnerAndRoleInSingleStatement() {
+        List<Epic> epics = epicRepository.findAll();
+        for (Epic epic : epics) {
+            epic.getOwner().getName();
+            epic.getOwner().getRole().getName();
+        }
+
+        assertEquals(1, epics.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Integer firstSprintId() {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT s.id FROM Sprint s", Integer.class)
+                .getSingleResult();
+    }
+
+    private User persistUser(Role role, String name) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        user.setEmail(name + "@example.com");
+        user.setName(name);
+        user.setIsActive(true);
+        user.setGoogleId("google-" + name);
+        entityManager.persist(user);
+        return user;
+    }
+
+    // touches the same associations TaskService.convertToDTO does
+    private void readLikeTaskDTO(Task task) {
+        task.getCreatedBy().getId();
+        task.getAssignedTo().getName();
+        task.getStatus().getName();
+        task.getPriority().getName();
+        task.getEpic().getName();
+        task.getSprint().getName();
+    }
+}
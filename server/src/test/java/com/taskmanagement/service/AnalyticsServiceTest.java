@@ -0,0 +1,102 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.SprintVelocityDTO;
+import com.taskmanagement.dto.VelocityDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.repository.AnalyticsRepository;
+import com.taskmanagement.repository.SprintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceTest {
+
+    @Mock
+    private AnalyticsRepository analyticsRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        analyticsService = new AnalyticsService(analyticsRepository, sprintRepository);
+    }
+
+    @Test
+    void getVelocity_averagesCompletedPoints() {
+        when(analyticsRepository.findLatestClosedSprintId()).thenReturn(Optional.of(4));
+        when(analyticsRepository.findVelocity(3)).thenReturn(List.of(sprint(2, 10), sprint(3, 20), sprint(4, 30)));
+
+        VelocityDTO velocity = analyticsService.getVelocity(3);
+
+        assertEquals(3, velocity.getSprints().size());
+        assertEquals(20.0, velocity.getAverageVelocity(), 0.001);
+        assertEquals(4, velocity.getLatestClosedSprintId());
+    }
+
+    @Test
+    void getVelocity_isCachedUntilNextSprintCloses() {
+        when(analyticsRepository.findLatestClosedSprintId()).thenReturn(Optional.of(4), Optional.of(4), Optional.of(5));
+        when(analyticsRepository.findVelocity(6)).thenReturn(List.of(sprint(4, 30)), List.of(sprint(4, 30), sprint(5, 12)));
+
+        VelocityDTO first = analyticsService.getVelocity(6);
+        VelocityDTO second = analyticsService.getVelocity(6);
+        VelocityDTO afterClosure = analyticsService.getVelocity(6);
+
+        assertSame(first, second);
+        assertEquals(2, afterClosure.getSprints().size());
+        verify(analyticsRepository, times(2)).findVelocity(6);
+    }
+
+    @Test
+    void getVelocity_withoutClosedSprints_isEmpty() {
+        when(analyticsRepository.findLatestClosedSprintId()).thenReturn(Optional.empty());
+
+        VelocityDTO velocity = analyticsService.getVelocity(6);
+
+        assertTrue(velocity.getSprints().isEmpty());
+        assertEquals(0.0, velocity.getAverageVelocity());
+        verify(analyticsRepository, never()).findVelocity(anyInt());
+    }
+
+    @Test
+    void getVelocity_outOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getVelocity(0));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getVelocity(AnalyticsService.MAX_SPRINTS + 1));
+        verifyNoInteractions(analyticsRepository);
+    }
+
+    @Test
+    void getWorkload_unknownSprint_throws() {
+        when(sprintRepository.existsById(99)).thenReturn(false);
+
+        assertThrows(ResourceNotFound.class, () -> analyticsService.getWorkload(99));
+        verify(analyticsRepository, never()).findWorkload(any());
+    }
+
+    @Test
+    void getWorkload_withoutSprint_readsWholeTeam() {
+        analyticsService.getWorkload(null);
+
+        verify(analyticsRepository).findWorkload(null);
+        verifyNoInteractions(sprintRepository);
+    }
+
+    private SprintVelocityDTO sprint(int id, int completedPoints) {
+        SprintVelocityDTO dto = new SprintVelocityDTO();
+        dto.setSprintId(id);
+        dto.setCompletedPoints(completedPoints);
+        return dto;
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.BurndownDTO;
+import com.taskmanagement.dto.BurndownPointDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.SprintBurndown;
+import com.taskmanagement.repository.SprintBurndownRepository;
+import com.taskmanagement.repository.SprintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BurndownServiceTest {
+
+    @Mock
+    private SprintBurndownRepository burndownRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    private BurndownService burndownService;
+
+    private Sprint sprint;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        burndownService = new BurndownService(burndownRepository, sprintRepository);
+
+        start = LocalDate.now().minusDays(4);
+        sprint = new Sprint();
+        sprint.setId(7);
+        sprint.setName("Sprint 7");
+        sprint.setStartDate(start.atStartOfDay(ZonedDateTime.now().getZone()));
+        sprint.setEndDate(start.plusDays(10).atStartOfDay(ZonedDateTime.now().getZone()));
+    }
+
+    @Test
+    void recordChange_snapshotsEachSprintOnce() {
+        burndownService.recordChange(3, null, 3, 5);
+
+        verify(burndownRepository).snapshotIfActive(3);
+        verify(burndownRepository).snapshotIfActive(5);
+        verifyNoMoreInteractions(burndownRepository);
+    }
+
+    @Test
+    void recordChange_withoutSprint_doesNothing() {
+        burndownService.recordChange((Integer) null);
+
+        verifyNoInteractions(burndownRepository);
+    }
+
+    @Test
+    void getBurndown_fillsDaysWithoutSnapshots() {
+        when(sprintRepository.findById(7)).thenReturn(Optional.of(sprint));
+        when(burndownRepository.findBySprintIdOrderBySnapshotDate(7)).thenReturn(List.of(
+                snapshot(start, 20, 0),
+                snapshot(start.plusDays(2), 20, 8)));
+
+        BurndownDTO burndown = burndownService.getBurndown(7);
+
+        assertEquals(7, burndown.getSprintId());
+        assertEquals("Sprint 7", burndown.getSprintName());
+
+        List<BurndownPointDTO> points = burndown.getPoints();
+        // start day up to and including today
+        assertEquals(5, points.size());
+        assertEquals(20, points.get(0).getRemainingPoints());
+        assertEquals(20, points.get(1).getRemainingPoints());
+        assertEquals(start.plusDays(1), points.get(1).getDate());
+        assertEquals(12, points.get(2).getRemainingPoints());
+        assertEquals(8, points.get(4).getCompletedPoints());
+
+        assertEquals(20.0, points.get(0).getIdealRemainingPoints(), 0.001);
+        assertEquals(12.0, points.get(4).getIdealRemainingPoints(), 0.001);
+    }
+
+    @Test
+    void getBurndown_stopsAtEndDate() {
+        sprint.setEndDate(start.plusDays(1).atStartOfDay(ZonedDateTime.now().getZone()));
+        when(sprintRepository.findById(7)).thenReturn(Optional.of(sprint));
+        when(burndownRepository.findBySprintIdOrderBySnapshotDate(7)).thenReturn(List.of(snapshot(start, 10, 10)));
+
+        List<BurndownPointDTO> points = burndownService.getBurndown(7).getPoints();
+
+        assertEquals(2, points.size());
+        assertEquals(0.0, points.get(1).getIdealRemainingPoints(), 0.001);
+    }
+
+    @Test
+    void getBurndown_withoutSnapshots_isEmpty() {
+        when(sprintRepository.findById(7)).thenReturn(Optional.of(sprint));
+        when(burndownRepository.findBySprintIdOrderBySnapshotDate(7)).thenReturn(List.of());
+
+        assertTrue(burndownService.getBurndown(7).getPoints().isEmpty());
+    }
+
+    @Test
+    void getBurndown_unknownSprint_throws() {
+        when(sprintRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFound.class, () -> burndownService.getBurndown(99));
+        verify(burndownRepository, never()).findBySprintIdOrderBySnapshotDate(anyInt());
+    }
+
+    private SprintBurndown snapshot(LocalDate date, int total, int completed) {
+        SprintBurndown snapshot = new SprintBurndown();
+        snapshot.setSprintId(7);
+        snapshot.setSnapshotDate(date);
+        snapshot.setTotalPoints(total);
+        snapshot.setCompletedPoints(completed);
+        snapshot.setRemainingPoints(total - completed);
+        return snapshot;
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CloneDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Epic;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.EpicRepository;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskCloneRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CloneServiceTest {
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private TaskCloneRepository taskCloneRepository;
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private EpicProgressService epicProgressService;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDueTracker taskDueTracker;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
+    @InjectMocks
+    private CloneService cloneService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final ZonedDateTime start = ZonedDateTime.now();
+    private Epic epic;
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        User owner = new User();
+        owner.setId(UUID.randomUUID());
+
+        epic = new Epic();
+        epic.setId(1);
+        epic.setName("Checkout");
+        epic.setDescription("Q1 checkout work");
+        epic.setOwner(owner);
+        epic.setStoryPoints(40);
+        epic.setStartDate(start);
+        epic.setTargetEndDate(start.plusDays(80));
+
+        sprint = new Sprint();
+        sprint.setId(3);
+        sprint.setName("Sprint 3");
+        sprint.setGoal("Ship it");
+        sprint.setScrumMaster(owner);
+        sprint.setCapacityPoints(30);
+        sprint.setStartDate(start);
+        sprint.setEndDate(start.plusDays(14));
+        sprint.setActive(true);
+    }
+
+    @Test
+    void cloneEpic_copiesEpicAndTasksWithShiftedDates() {
+        when(epicRepository.findById(1)).thenReturn(Optional.of(epic));
+        when(epicRepository.save(any(Epic.class))).thenAnswer(invocation -> {
+            Epic saved = invocation.getArgument(0);
+            saved.setId(9);
+            return saved;
+        });
+        when(taskCloneRepository.cloneEpicTasks(1, 9, userId, "BACKLOG", 91)).thenReturn(List.of(101, 102));
+        TaskView view = new TaskView();
+        when(taskViewRepository.findAllById(List.of(101, 102))).thenReturn(List.of(view));
+
+        CloneDTO result = cloneService.cloneEpic(1, null, 91, true, userId);
+
+        ArgumentCaptor<Epic> captor = ArgumentCaptor.forClass(Epic.class);
+        verify(epicRepository).save(captor.capture());
+        Epic copy = captor.getValue();
+        assertEquals("Checkout (copy)", copy.getName());
+        assertEquals(start.plusDays(91), copy.getStartDate());
+        assertEquals(start.plusDays(171), copy.getTargetEndDate());
+        assertSame(epic.getOwner(), copy.getOwner());
+
+        assertEquals(1, result.getSourceId());
+        assertEquals(9, result.getId());
+        assertEquals(2, result.getClonedTasks());
+        verify(epicProgressService).recordInserted(List.of(101, 102));
+        verify(taskFilterIndex).upsert(view);
+        verify(taskDueTracker).tasksChanged();
+    }
+
+    @Test
+    void cloneEpic_withoutTasks_skipsTaskBookkeeping() {
+        when(epicRepository.findById(1)).thenReturn(Optional.of(epic));
+        when(epicRepository.save(any(Epic.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskCloneRepository.cloneEpicTasks(anyInt(), anyInt(), any(), isNull(), anyInt())).thenReturn(List.of());
+
+        CloneDTO result = cloneService.cloneEpic(1, "Checkout Q2", 0, false, userId);
+
+        assertEquals("Checkout Q2", result.getName());
+        assertEquals(0, result.getClonedTasks());
+        verifyNoInteractions(epicProgressService, taskFilterIndex, taskDueTracker);
+    }
+
+    @Test
+    void cloneEpic_notFound() {
+        when(epicRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFound.class, () -> cloneService.cloneEpic(1, null, 0, false, userId));
+        verify(taskCloneRepository, never()).cloneEpicTasks(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void cloneSprint_createsInactiveCopy() {
+        when(sprintRepository.findById(3)).thenReturn(Optional.of(sprint));
+        when(taskCloneRepository.findEpicsOverCapacity(3)).thenReturn(List.of());
+        when(sprintRepository.save(any(Sprint.class))).thenAnswer(invocation -> {
+            Sprint saved = invocation.getArgument(0);
+            saved.setId(4);
+            return saved;
+        });
+        when(taskCloneRepository.cloneSprintTasks(3, 4, userId, "TODO", 14)).thenReturn(List.of(201));
+
+        CloneDTO result = cloneService.cloneSprint(3, "Sprint 4", 14, true, userId);
+
+        ArgumentCaptor<Sprint> captor = ArgumentCaptor.forClass(Sprint.class);
+        verify(sprintRepository).save(captor.capture());
+        Sprint copy = captor.getValue();
+        assertFalse(copy.isActive());
+        assertEquals(30, copy.getCapacityPoints());
+        assertEquals(start.plusDays(14), copy.getStartDate());
+        assertEquals(start.plusDays(28), copy.getEndDate());
+        assertEquals(4, result.getId());
+        assertEquals(1, result.getClonedTasks());
+    }
+
+    @Test
+    void cloneSprint_overEpicCapacity_Throws() {
+        when(sprintRepository.findById(3)).thenReturn(Optional.of(sprint));
+        when(taskCloneRepository.findEpicsOverCapacity(3)).thenReturn(List.of("Checkout"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> cloneService.cloneSprint(3, null, 14, false, userId));
+
+        assertTrue(e.getMessage().contains("Checkout"));
+        verify(sprintRepository, never()).save(any());
+    }
+}
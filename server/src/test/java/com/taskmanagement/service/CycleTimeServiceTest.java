@@ -0,0 +1,176 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CycleTimeDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.*;
+import com.taskmanagement.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CycleTimeServiceTest {
+
+    @Mock
+    private TaskStatusHistoryRepository historyRepository;
+
+    @Mock
+    private CycleTimeRepository cycleTimeRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CycleTimeService cycleTimeService;
+
+    private Task task;
+    private User assignee;
+    private UUID changedBy;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cycleTimeService = new CycleTimeService(historyRepository, cycleTimeRepository, sprintRepository, userRepository);
+
+        assignee = new User();
+        assignee.setId(UUID.randomUUID());
+        changedBy = UUID.randomUUID();
+
+        Sprint sprint = new Sprint();
+        sprint.setId(3);
+
+        task = new Task();
+        task.setId(10);
+        task.setAssignedTo(assignee);
+        task.setSprint(sprint);
+        task.setCreatedAt(ZonedDateTime.now().minusHours(10));
+    }
+
+    @Test
+    void recordStatusChange_ShouldAddTimeInPreviousStatusToBothScopes() {
+        task.setStatus(status(3, "IN_PROGRESS"));
+        TaskStatusHistory previous = new TaskStatusHistory();
+        previous.setChangedAt(ZonedDateTime.now().minusHours(2));
+        when(historyRepository.findFirstByTaskIdOrderByChangedAtDescIdDesc(10)).thenReturn(Optional.of(previous));
+
+        cycleTimeService.recordStatusChange(task, 2, changedBy);
+
+        verify(cycleTimeRepository).addStatusTime(eq(CycleTimeRepository.SPRINT), eq("3"), eq(2), longThat(s -> s >= 7199 && s <= 7201));
+        verify(cycleTimeRepository).addStatusTime(eq(CycleTimeRepository.USER), eq(assignee.getId().toString()), eq(2), anyLong());
+        verify(cycleTimeRepository, never()).addCompletion(any(), any(), anyLong(), anyLong());
+
+        ArgumentCaptor<TaskStatusHistory> saved = ArgumentCaptor.forClass(TaskStatusHistory.class);
+        verify(historyRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getFromStatusId());
+        assertEquals(3, saved.getValue().getToStatusId());
+        assertEquals(3, saved.getValue().getSprintId());
+        assertEquals(changedBy, saved.getValue().getChangedById());
+    }
+
+    @Test
+    void recordStatusChange_ShouldCountCompletion_WhenTaskIsDone() {
+        task.setStatus(status(5, "DONE"));
+        when(historyRepository.findFirstByTaskIdOrderByChangedAtDescIdDesc(10)).thenReturn(Optional.empty());
+        when(historyRepository.findFirstStartedAt(10)).thenReturn(ZonedDateTime.now().minusHours(4));
+
+        cycleTimeService.recordStatusChange(task, 4, changedBy);
+
+        // no history yet, so the review time counts from creation
+        verify(cycleTimeRepository).addStatusTime(eq(CycleTimeRepository.SPRINT), eq("3"), eq(4), longThat(s -> s >= 35999));
+        verify(cycleTimeRepository).addCompletion(eq(CycleTimeRepository.SPRINT), eq("3"),
+                longThat(cycle -> cycle >= 14399 && cycle <= 14401), longThat(lead -> lead >= 35999 && lead <= 36001));
+        verify(cycleTimeRepository).addCompletion(eq(CycleTimeRepository.USER), eq(assignee.getId().toString()), anyLong(), anyLong());
+    }
+
+    @Test
+    void recordStatusChange_ShouldNotCountCompletionAgain_WhenReopenedTaskIsDoneAgain() {
+        task.setStatus(status(5, "DONE"));
+        when(historyRepository.findFirstByTaskIdOrderByChangedAtDescIdDesc(10)).thenReturn(Optional.empty());
+        when(historyRepository.existsByTaskIdAndToStatusId(10, 5)).thenReturn(true);
+
+        cycleTimeService.recordStatusChange(task, 4, changedBy);
+
+        verify(cycleTimeRepository).addStatusTime(eq(CycleTimeRepository.SPRINT), eq("3"), eq(4), anyLong());
+        verify(cycleTimeRepository, never()).addCompletion(any(), any(), anyLong(), anyLong());
+        verify(historyRepository).save(any(TaskStatusHistory.class));
+    }
+
+    @Test
+    void recordStatusChange_ShouldOnlyWriteHistory_ForNewTaskWithoutSprint() {
+        task.setSprint(null);
+        task.setStatus(status(2, "TODO"));
+
+        cycleTimeService.recordStatusChange(task, null, changedBy);
+
+        verify(historyRepository).save(any(TaskStatusHistory.class));
+        verifyNoInteractions(cycleTimeRepository);
+    }
+
+    @Test
+    void recordStatusChange_ShouldDoNothing_WhenStatusUnchanged() {
+        task.setStatus(status(2, "TODO"));
+
+        cycleTimeService.recordStatusChange(task, 2, changedBy);
+
+        verifyNoInteractions(historyRepository, cycleTimeRepository);
+    }
+
+    @Test
+    void getCycleTime_ShouldAverageTotals() {
+        when(sprintRepository.existsById(3)).thenReturn(true);
+        when(cycleTimeRepository.findStatusTimes(CycleTimeRepository.SPRINT, "3")).thenReturn(List.of(
+                new StatusTimeTotal("TODO", 7200, 2),
+                new StatusTimeTotal("IN_PROGRESS", 36000, 2)));
+        when(cycleTimeRepository.findThroughput(CycleTimeRepository.SPRINT, "3"))
+                .thenReturn(Optional.of(new ThroughputTotal(2, 72000, 144000)));
+
+        CycleTimeDTO result = cycleTimeService.getCycleTime(3, null, changedBy);
+
+        assertEquals(3, result.getSprintId());
+        assertEquals(List.of("TODO", "IN_PROGRESS"), List.copyOf(result.getAverageHoursInStatus().keySet()));
+        assertEquals(1.0, result.getAverageHoursInStatus().get("TODO"));
+        assertEquals(5.0, result.getAverageHoursInStatus().get("IN_PROGRESS"));
+        assertEquals(2, result.getCompletedTasks());
+        assertEquals(10.0, result.getAverageCycleTimeHours());
+        assertEquals(20.0, result.getAverageLeadTimeHours());
+    }
+
+    @Test
+    void getCycleTime_ShouldDefaultToRequester() {
+        when(userRepository.existsById(changedBy)).thenReturn(true);
+        when(cycleTimeRepository.findStatusTimes(CycleTimeRepository.USER, changedBy.toString())).thenReturn(List.of());
+        when(cycleTimeRepository.findThroughput(CycleTimeRepository.USER, changedBy.toString())).thenReturn(Optional.empty());
+
+        CycleTimeDTO result = cycleTimeService.getCycleTime(null, null, changedBy);
+
+        assertEquals(changedBy, result.getUserId());
+        assertEquals(0, result.getCompletedTasks());
+        assertNull(result.getAverageCycleTimeHours());
+    }
+
+    @Test
+    void getCycleTime_ShouldThrow_WhenSprintMissing() {
+        when(sprintRepository.existsById(99)).thenReturn(false);
+
+        assertThrows(ResourceNotFound.class, () -> cycleTimeService.getCycleTime(99, null, changedBy));
+    }
+
+    private TaskStatus status(Integer id, String name) {
+        TaskStatus status = new TaskStatus();
+        status.setId(id);
+        status.setName(name);
+        return status;
+    }
+}
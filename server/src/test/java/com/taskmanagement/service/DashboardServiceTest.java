@@ -0,0 +1,78 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.DashboardDTO;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    private DashboardService dashboardService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final ZonedDateTime now = ZonedDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dashboardService = new DashboardService(taskViewRepository);
+    }
+
+    @Test
+    void getDashboard_splitsOverdueOffTheOpenScan() {
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNullOrderByDueDateAsc(userId)).thenReturn(List.of(
+                view(1, now.minusDays(2), 3),
+                view(2, now.minusHours(1), 5),
+                view(3, now.plusDays(4), 8)));
+        when(taskViewRepository.findByAssignedToIdAndUpdatedAtAfterOrderByUpdatedAtDesc(eq(userId), any(), any()))
+                .thenReturn(List.of(view(3, now.plusDays(4), 8)));
+
+        DashboardDTO dashboard = dashboardService.getDashboard(userId, 24, 20);
+
+        assertEquals(List.of(1, 2, 3), dashboard.getOpenTasks().stream().map(t -> t.getId()).toList());
+        assertEquals(List.of(1, 2), dashboard.getOverdueTasks().stream().map(t -> t.getId()).toList());
+        assertEquals(List.of(3), dashboard.getRecentTasks().stream().map(t -> t.getId()).toList());
+        assertEquals(16, dashboard.getOpenPoints());
+        verify(taskViewRepository, never()).findByDueDateBeforeAndCompletedAtIsNull(any());
+    }
+
+    @Test
+    void getDashboard_capsTheRecentWindow() {
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNullOrderByDueDateAsc(userId)).thenReturn(List.of());
+
+        dashboardService.getDashboard(userId, 24, 5000);
+
+        verify(taskViewRepository).findByAssignedToIdAndUpdatedAtAfterOrderByUpdatedAtDesc(eq(userId), any(),
+                eq(PageRequest.of(0, DashboardService.MAX_RECENT)));
+    }
+
+    @Test
+    void getDashboard_rejectsEmptyWindow() {
+        assertThrows(IllegalArgumentException.class, () -> dashboardService.getDashboard(userId, 0, 20));
+        verifyNoInteractions(taskViewRepository);
+    }
+
+    private TaskView view(int id, ZonedDateTime dueDate, int points) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setAssignedToId(userId);
+        view.setDueDate(dueDate);
+        view.setStoryPoints(points);
+        return view;
+    }
+}
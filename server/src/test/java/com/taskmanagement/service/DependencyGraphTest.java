@@ -0,0 +1,108 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static final long HOUR = 3_600_000;
+
+    // 1 <- 2 <- 4 and 1 <- 3 <- 4, the branch through 3 is longer
+    private DependencyGraph diamond() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.putTask(1, 2, null);
+        graph.putTask(2, 3, null);
+        graph.putTask(3, 5, null);
+        graph.putTask(4, 1, null);
+        graph.addEdge(2, 1);
+        graph.addEdge(3, 1);
+        graph.addEdge(4, 2);
+        graph.addEdge(4, 3);
+        return graph;
+    }
+
+    @Test
+    void criticalPath_ShouldFollowTheLongestChain() {
+        DependencyGraph graph = diamond();
+
+        assertEquals(8, graph.totalHours());
+        assertEquals(List.of(1, 3, 4), graph.criticalPath());
+        assertEquals(7, graph.start(4));
+        assertEquals(2, graph.start(2));
+    }
+
+    @Test
+    void putTask_ShouldMoveTheCriticalPath_WhenHoursChange() {
+        DependencyGraph graph = diamond();
+
+        graph.putTask(2, 10, null);
+
+        assertEquals(13, graph.totalHours());
+        assertEquals(List.of(1, 2, 4), graph.criticalPath());
+
+        // a finished task has no hours left
+        graph.putTask(2, 0, null);
+        graph.putTask(3, 0, null);
+        assertEquals(3, graph.totalHours());
+        assertEquals(List.of(1, 2, 4), graph.criticalPath());
+    }
+
+    @Test
+    void removeEdge_ShouldLetTheTaskStartEarlier() {
+        DependencyGraph graph = diamond();
+
+        graph.removeEdge(4, 3);
+
+        assertEquals(5, graph.start(4));
+        assertEquals(List.of(1, 3), graph.criticalPath());
+        assertEquals(7, graph.totalHours());
+    }
+
+    @Test
+    void removeTask_ShouldDropItsLinks() {
+        DependencyGraph graph = diamond();
+
+        graph.removeTask(1);
+
+        assertFalse(graph.contains(1));
+        assertEquals(0, graph.start(3));
+        assertEquals(List.of(3, 4), graph.criticalPath());
+        assertEquals(6, graph.totalHours());
+    }
+
+    @Test
+    void addEdge_ShouldRefuseCycles() {
+        DependencyGraph graph = diamond();
+
+        assertFalse(graph.addEdge(1, 4));
+        assertFalse(graph.addEdge(1, 1));
+        assertEquals(8, graph.totalHours());
+        // links to tasks the graph does not hold are ignored
+        assertTrue(graph.addEdge(4, 99));
+    }
+
+    @Test
+    void criticalPath_ShouldBeEmpty_WhenNoWorkIsLeft() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.putTask(1, 0, null);
+
+        assertEquals(List.of(), graph.criticalPath());
+        assertEquals(0, graph.totalHours());
+    }
+
+    @Test
+    void lateTasks_ShouldListTasksFinishingAfterTheirDueDate() {
+        DependencyGraph graph = new DependencyGraph();
+        long now = 1_000 * HOUR;
+        graph.putTask(1, 4, now + 10 * HOUR);
+        graph.putTask(2, 4, now + 6 * HOUR);
+        graph.putTask(3, 4, now + 2 * HOUR);
+        graph.putTask(4, 0, now - HOUR);
+        graph.addEdge(2, 1);
+
+        assertEquals(List.of(2, 3), graph.lateTasks(now, HOUR));
+    }
+}
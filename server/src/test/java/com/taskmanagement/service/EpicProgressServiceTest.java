@@ -0,0 +1,113 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.EpicDTO;
+import com.taskmanagement.repository.EpicProgressRepository;
+import com.taskmanagement.repository.EpicStatusTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EpicProgressServiceTest {
+
+    @Mock
+    private EpicProgressRepository epicProgressRepository;
+
+    private EpicProgressService epicProgressService;
+
+    private ZonedDateTime dueDate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        epicProgressService = new EpicProgressService(epicProgressRepository);
+        dueDate = ZonedDateTime.now().plusDays(5);
+    }
+
+    @Test
+    void recordChange_newTask_addsToEpic() {
+        epicProgressService.recordChange(null, new EpicProgressService.Contribution(10, 2, 1, 5, dueDate));
+
+        verify(epicProgressRepository).add(2, 1, 1, 5);
+        verify(epicProgressRepository).extendDueDate(2, dueDate);
+        verifyNoMoreInteractions(epicProgressRepository);
+    }
+
+    @Test
+    void recordChange_statusChange_movesTaskBetweenStatuses() {
+        epicProgressService.recordChange(
+                new EpicProgressService.Contribution(10, 2, 1, 5, dueDate),
+                new EpicProgressService.Contribution(10, 2, 5, 8, dueDate));
+
+        verify(epicProgressRepository).add(2, 1, -1, -5);
+        verify(epicProgressRepository).add(2, 5, 1, 8);
+    }
+
+    @Test
+    void recordChange_movedToOtherEpic_shrinksOldDueDate() {
+        epicProgressService.recordChange(
+                new EpicProgressService.Contribution(10, 2, 1, 5, dueDate),
+                new EpicProgressService.Contribution(10, 3, 1, 5, dueDate));
+
+        verify(epicProgressRepository).add(2, 1, -1, -5);
+        verify(epicProgressRepository).shrinkDueDate(2, 10, dueDate);
+        verify(epicProgressRepository).add(3, 1, 1, 5);
+        verify(epicProgressRepository).extendDueDate(3, dueDate);
+    }
+
+    @Test
+    void recordChange_deletedTask_removesFromEpic() {
+        epicProgressService.recordChange(new EpicProgressService.Contribution(10, 2, 5, 3, dueDate), null);
+
+        verify(epicProgressRepository).add(2, 5, -1, -3);
+        verify(epicProgressRepository).shrinkDueDate(2, 10, dueDate);
+        verify(epicProgressRepository, never()).extendDueDate(anyInt(), any());
+    }
+
+    @Test
+    void recordChange_unchangedOrWithoutEpic_doesNothing() {
+        EpicProgressService.Contribution contribution = new EpicProgressService.Contribution(10, 2, 1, 5, dueDate);
+        epicProgressService.recordChange(contribution, contribution);
+        epicProgressService.recordChange(null, new EpicProgressService.Contribution(11, null, 1, 5, dueDate));
+
+        verifyNoInteractions(epicProgressRepository);
+    }
+
+    @Test
+    void withProgress_fillsCountsAndPoints() {
+        EpicDTO epic = new EpicDTO(2, "Checkout", "Owner");
+        EpicDTO empty = new EpicDTO(3, "Search", "Owner");
+        when(epicProgressRepository.findStatusTotals(List.of(2, 3))).thenReturn(List.of(
+                new EpicStatusTotal(2, "TODO", 3, 8),
+                new EpicStatusTotal(2, "IN_PROGRESS", 1, 5),
+                new EpicStatusTotal(2, "DONE", 2, 13)));
+        when(epicProgressRepository.findLatestDueDates(List.of(2, 3))).thenReturn(Map.of(2, dueDate));
+
+        List<EpicDTO> epics = epicProgressService.withProgress(List.of(epic, empty));
+
+        assertEquals(6, epics.get(0).getTotalTasks());
+        assertEquals(2, epics.get(0).getDoneTasks());
+        assertEquals(1, epics.get(0).getInProgressTasks());
+        assertEquals(List.of("TODO", "IN_PROGRESS", "DONE"), List.copyOf(epics.get(0).getStoryPointsByStatus().keySet()));
+        assertEquals(13, epics.get(0).getStoryPointsByStatus().get("DONE"));
+        assertEquals(dueDate, epics.get(0).getLatestDueDate());
+
+        assertEquals(0, epics.get(1).getTotalTasks());
+        assertTrue(epics.get(1).getStoryPointsByStatus().isEmpty());
+        assertNull(epics.get(1).getLatestDueDate());
+    }
+
+    @Test
+    void withProgress_emptyList_skipsQueries() {
+        assertTrue(epicProgressService.withProgress(List.of()).isEmpty());
+        verifyNoInteractions(epicProgressRepository);
+    }
+}
@@ -1,10 +1,16 @@
 package com.taskmanagement.service;
 
 import com.taskmanagement.exception.EpicNotFoundException;
+import com.taskmanagement.exception.UnauthorizedAccessException;
 import com.taskmanagement.model.Epic;
 import com.taskmanagement.dto.EpicDTO;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.ArchivedTaskRepository;
 import com.taskmanagement.repository.EpicRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +34,30 @@ public class EpicServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private EpicProgressService epicProgressService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDueTracker taskDueTracker;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
     @InjectMocks
     private EpicService epicService;
 
@@ -43,6 +73,9 @@ public class EpicServiceTest {
         user = new User();
         user.setId(userId);
         user.setName("User Name");
+        Role role = new Role();
+        role.setName("DEVELOPER");
+        user.setRole(role);
 
         epicDTO = new EpicDTO();
         epicDTO.setName("Epic 1");
@@ -68,6 +101,7 @@ public class EpicServiceTest {
         when(epicRepository.findById(1)).thenReturn(Optional.of(epic));
         when(epicRepository.findAll()).thenReturn(List.of(epic));
         when(epicRepository.findAllWithOwner()).thenReturn(List.of(new EpicDTO()));
+        when(epicProgressService.withProgress(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -96,15 +130,53 @@ public class EpicServiceTest {
         assertEquals(updatedEpicDTO.getName(), updatedEpic.getName());
         assertEquals(updatedEpicDTO.getDescription(), updatedEpic.getDescription());
         assertEquals(updatedEpicDTO.getStoryPoints(), updatedEpic.getStoryPoints());
+        verify(taskViewRepository, times(1)).updateEpicName(1, "Updated Epic");
     }
 
     @Test
     public void testDeleteEpic_Success() {
-        epicService.deleteEpic(1);
+        TaskView view = view(7, 3);
+        when(taskViewRepository.findByEpicId(1)).thenReturn(List.of(view));
+        when(taskRepository.detachEpic(1)).thenReturn(1);
+
+        epicService.deleteEpic(1, false, user.getId());
+
+        verify(taskRepository, times(1)).detachEpic(1);
+        verify(taskViewRepository, times(1)).detachEpic(eq(1), any());
+        verify(archivedTaskRepository, times(1)).detachEpic(1);
+        verify(taskRepository, never()).deleteInEpic(any());
+        verify(taskFilterIndex).upsert(view);
+        assertNull(view.getEpicId());
+        assertNull(view.getEpicName());
+        verify(epicRepository, times(1)).deleteById(1);
+    }
 
+    @Test
+    public void testDeleteEpic_Cascade() {
+        user.getRole().setName("SCRUM_MASTER");
+        when(taskViewRepository.findByEpicId(1)).thenReturn(List.of(view(7, 3), view(8, 3), view(9, null)));
+        when(taskRepository.deleteInEpic(1)).thenReturn(3);
+
+        epicService.deleteEpic(1, true, user.getId());
+
+        verify(taskRepository, times(1)).deleteInEpic(1);
+        verify(taskRepository, never()).detachEpic(any());
+        verify(taskFilterIndex).remove(7);
+        verify(taskFilterIndex).remove(8);
+        verify(taskFilterIndex).remove(9);
+        verify(taskDueTracker).tasksChanged();
+        verify(burndownService).recordChange(3);
         verify(epicRepository, times(1)).deleteById(1);
     }
 
+    @Test
+    public void testDeleteEpic_CascadeNotAllowed() {
+        assertThrows(UnauthorizedAccessException.class, () -> epicService.deleteEpic(1, true, user.getId()));
+
+        verify(taskRepository, never()).deleteInEpic(any());
+        verify(epicRepository, never()).deleteById(any());
+    }
+
     @Test
     public void testGetAllEpics() {
         List<Epic> epics = epicService.getAllEpics();
@@ -120,6 +192,7 @@ public class EpicServiceTest {
 
         assertNotNull(epics);
         assertEquals(1, epics.size());
+        verify(epicProgressService).withProgress(epics);
     }
 
     @Test
@@ -156,7 +229,16 @@ public class EpicServiceTest {
     public void testDeleteEpic_NotFound() {
         when(epicRepository.findById(1)).thenReturn(Optional.empty());
 
-        assertThrows(EpicNotFoundException.class, () -> epicService.deleteEpic(1));
+        assertThrows(EpicNotFoundException.class, () -> epicService.deleteEpic(1, false, user.getId()));
+    }
+
+    private TaskView view(int taskId, Integer sprintId) {
+        TaskView view = new TaskView();
+        view.setTaskId(taskId);
+        view.setEpicId(1);
+        view.setEpicName("Epic 1");
+        view.setSprintId(sprintId);
+        return view;
     }
 }
 
@@ -0,0 +1,76 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.repository.ExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private static final String CSV = "id,title\n1,Test Task\n";
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    private ExportService exportService;
+
+    private UUID userId;
+    private TaskFilterDTO filterDTO;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        exportService = new ExportService(exportRepository);
+        userId = UUID.randomUUID();
+        filterDTO = new TaskFilterDTO(null, null, null, 1, null);
+
+        when(exportRepository.copyOut(eq("tasks"), eq(filterDTO), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(CSV.getBytes());
+            return 1L;
+        });
+    }
+
+    @Test
+    void export_ShouldWritePlainCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export("tasks", filterDTO, false, out, userId);
+
+        assertEquals(1, rows);
+        assertEquals(CSV, out.toString());
+    }
+
+    @Test
+    void export_ShouldGzipOutput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export("tasks", filterDTO, true, out, userId);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(CSV, new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void export_ShouldThrow_WhenEntityUnknown() {
+        assertThrows(ResourceNotFound.class,
+                () -> exportService.export("users", filterDTO, false, new ByteArrayOutputStream(), userId));
+
+        verifyNoInteractions(exportRepository);
+    }
+}
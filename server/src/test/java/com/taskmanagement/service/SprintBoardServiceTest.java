@@ -0,0 +1,131 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.BoardColumnDTO;
+import com.taskmanagement.dto.SprintBoardDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskStatus;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.CommentCount;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskCommentRepository;
+import com.taskmanagement.repository.TaskStatusRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SprintBoardServiceTest {
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskCommentRepository commentRepository;
+
+    @Mock
+    private TaskStatusRepository statusRepository;
+
+    private SprintBoardService boardService;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final ZonedDateTime now = ZonedDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        boardService = new SprintBoardService(sprintRepository, taskViewRepository, commentRepository,
+                statusRepository);
+
+        User scrumMaster = new User();
+        scrumMaster.setId(UUID.randomUUID());
+        scrumMaster.setName("Sam");
+
+        Sprint sprint = new Sprint();
+        sprint.setId(4);
+        sprint.setName("Sprint 4");
+        sprint.setScrumMaster(scrumMaster);
+
+        when(sprintRepository.findWithScrumMasterById(4)).thenReturn(Optional.of(sprint));
+        when(statusRepository.findAll()).thenReturn(List.of(status(3, "DONE", 3), status(1, "TODO", 1), status(2, "IN_PROGRESS", 2)));
+    }
+
+    @Test
+    void getBoard_groupsTasksByStatusAndTotalsPerAssignee() {
+        when(taskViewRepository.findBySprintId(4)).thenReturn(List.of(
+                task(10, 1, "TODO", alice, "Alice", 3, false, 2),
+                task(11, 3, "DONE", bob, "Bob", 5, true, 1),
+                task(12, 1, "TODO", bob, "Bob", 2, false, 1)));
+        when(commentRepository.countBySprintId(4)).thenReturn(List.of(new CommentCount(11, 4)));
+
+        SprintBoardDTO board = boardService.getBoard(4);
+
+        assertEquals("Sam", board.getScrumMasterName());
+        assertEquals(4, board.getSprint().getId());
+
+        // every status in display order, the empty one too, tasks due first come first
+        List<BoardColumnDTO> columns = board.getColumns();
+        assertEquals(List.of("TODO", "IN_PROGRESS", "DONE"), columns.stream().map(BoardColumnDTO::getStatusName).toList());
+        assertEquals(List.of(12, 10), columns.get(0).getTasks().stream().map(t -> t.getId()).toList());
+        assertEquals(5, columns.get(0).getPoints());
+        assertEquals(0, columns.get(1).getTaskCount());
+        assertEquals(1, columns.get(2).getTaskCount());
+
+        assertEquals(bob, board.getAssignees().get(0).getUserId());
+        assertEquals(7, board.getAssignees().get(0).getPoints());
+        assertEquals(5, board.getAssignees().get(0).getCompletedPoints());
+        assertEquals(3, board.getAssignees().get(1).getPoints());
+
+        assertEquals(3, board.getTotalTasks());
+        assertEquals(10, board.getTotalPoints());
+        assertEquals(5, board.getCompletedPoints());
+        assertEquals(Map.of(11, 4L), board.getCommentCounts());
+    }
+
+    @Test
+    void getBoard_throwsWhenSprintIsMissing() {
+        when(sprintRepository.findWithScrumMasterById(9)).thenReturn(Optional.empty());
+        when(taskViewRepository.findBySprintId(9)).thenReturn(List.of());
+        when(commentRepository.countBySprintId(9)).thenReturn(List.of());
+
+        assertThrows(ResourceNotFound.class, () -> boardService.getBoard(9));
+    }
+
+    private TaskStatus status(int id, String name, int displayOrder) {
+        TaskStatus status = new TaskStatus();
+        status.setId(id);
+        status.setName(name);
+        status.setDisplayOrder(displayOrder);
+        return status;
+    }
+
+    private TaskView task(int id, int statusId, String statusName, UUID assignee, String assigneeName, int points,
+                          boolean completed, int dueInDays) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setSprintId(4);
+        view.setStatusId(statusId);
+        view.setStatusName(statusName);
+        view.setAssignedToId(assignee);
+        view.setAssignedToName(assigneeName);
+        view.setStoryPoints(points);
+        view.setDueDate(now.plusDays(dueInDays));
+        view.setCompletedAt(completed ? now : null);
+        return view;
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SprintPlannerTest {
+
+    @Test
+    void solve_findsBestPackingWhereGreedyWouldNot() {
+        // by value per point the first item wins, but the other two together are worth more
+        List<SprintPlanner.Item> items = List.of(
+                new SprintPlanner.Item(6, 42),
+                new SprintPlanner.Item(5, 30),
+                new SprintPlanner.Item(5, 30));
+
+        SprintPlanner.Plan plan = SprintPlanner.solve(items, 10);
+
+        assertTrue(plan.exact());
+        assertEquals(List.of(1, 2), plan.chosen());
+    }
+
+    @Test
+    void solve_alwaysTakesWeightlessItems() {
+        List<SprintPlanner.Item> items = List.of(
+                new SprintPlanner.Item(0, 0),
+                new SprintPlanner.Item(20, 80),
+                new SprintPlanner.Item(3, 9));
+
+        assertEquals(List.of(0, 2), SprintPlanner.solve(items, 5).chosen());
+    }
+
+    @Test
+    void solve_withNoCapacity_takesOnlyWeightless() {
+        List<SprintPlanner.Item> items = List.of(new SprintPlanner.Item(1, 4), new SprintPlanner.Item(0, 0));
+
+        assertEquals(List.of(1), SprintPlanner.solve(items, 0).chosen());
+    }
+
+    @Test
+    void solve_largeBacklog_fallsBackToGreedyWithinCapacity() {
+        Random random = new Random(7);
+        List<SprintPlanner.Item> items = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int points = 1 + random.nextInt(13);
+            items.add(new SprintPlanner.Item(points, (long) points * (1 + random.nextInt(4))));
+        }
+        int capacity = 2_000;
+
+        long start = System.nanoTime();
+        SprintPlanner.Plan plan = SprintPlanner.solve(items, capacity);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(plan.exact());
+        int used = plan.chosen().stream().mapToInt(i -> items.get(i).weight()).sum();
+        assertTrue(used <= capacity);
+        assertTrue(used > capacity - 13);
+        assertTrue(millis < 1_000, "took " + millis + "ms");
+    }
+
+    @Test
+    void solve_thousandsOfCandidatesExactly() {
+        Random random = new Random(11);
+        List<SprintPlanner.Item> items = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int points = 1 + random.nextInt(13);
+            items.add(new SprintPlanner.Item(points, (long) points * (1 + random.nextInt(4))));
+        }
+
+        SprintPlanner.Plan plan = SprintPlanner.solve(items, 200);
+
+        assertTrue(plan.exact());
+        assertEquals(200, plan.chosen().stream().mapToInt(i -> items.get(i).weight()).sum());
+        // with this many candidates every chosen point can be a top priority one
+        assertEquals(800, plan.chosen().stream().mapToLong(i -> items.get(i).value()).sum());
+    }
+}
@@ -0,0 +1,149 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.SprintPlanDTO;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskPriority;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskPriorityRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SprintPlanningServiceTest {
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskPriorityRepository priorityRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
+    private SprintPlanningService planningService;
+
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        planningService = new SprintPlanningService(sprintRepository, taskRepository, taskViewRepository,
+                priorityRepository, taskFilterIndex, burndownService, taskDependencyGraphs);
+
+        sprint = new Sprint();
+        sprint.setId(4);
+        sprint.setName("Sprint 4");
+        sprint.setActive(true);
+        sprint.setCapacityPoints(20);
+        sprint.setStartDate(ZonedDateTime.now().minusDays(2));
+        sprint.setEndDate(ZonedDateTime.now().plusDays(12));
+
+        when(sprintRepository.findById(4)).thenReturn(Optional.of(sprint));
+        when(priorityRepository.findAll()).thenReturn(List.of(priority(1, 1), priority(3, 3)));
+        when(taskViewRepository.sumCountedStoryPointsBySprintId(4, 0)).thenReturn(12L);
+        when(taskViewRepository.findPlanningCandidates(sprint.getStartDate(), sprint.getEndDate())).thenReturn(List.of(
+                candidate(1, 5, 1, 3),
+                candidate(2, 5, 3, 5),
+                candidate(3, 3, 3, 4)));
+    }
+
+    @Test
+    void planSprint_prefersHighPriorityWithinFreeCapacity() {
+        SprintPlanDTO plan = planningService.planSprint(4);
+
+        // 8 points are left, the two high priority tasks fill them
+        assertEquals(12, plan.getCurrentPoints());
+        assertEquals(8, plan.getPlannedPoints());
+        assertEquals(List.of(3, 2), plan.getTasks().stream().map(t -> t.getTaskId()).toList());
+        assertEquals(3, plan.getCandidateCount());
+        assertTrue(plan.isExact());
+        assertFalse(plan.isApplied());
+        verify(taskRepository, never()).assignSprint(any(), any());
+    }
+
+    @Test
+    void applySprintPlan_movesChosenTasksInOneBatch() {
+        when(taskRepository.assignSprint(List.of(3, 2), sprint)).thenReturn(2);
+
+        SprintPlanDTO plan = planningService.applySprintPlan(4);
+
+        assertTrue(plan.isApplied());
+        verify(taskViewRepository).assignSprint(eq(List.of(3, 2)), eq(4), eq("Sprint 4"), any());
+        verify(taskFilterIndex, times(2)).upsert(any());
+        verify(burndownService).recordChange(4);
+        verify(taskDependencyGraphs).invalidate(TaskDependencyGraphs.Scope.SPRINT, 4);
+    }
+
+    @Test
+    void applySprintPlan_whenBacklogMoved_throws() {
+        when(taskRepository.assignSprint(List.of(3, 2), sprint)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> planningService.applySprintPlan(4));
+        verify(taskViewRepository, never()).assignSprint(any(), any(), any(), any());
+    }
+
+    @Test
+    void applySprintPlan_inactiveSprint_throws() {
+        sprint.setActive(false);
+
+        assertThrows(IllegalStateException.class, () -> planningService.applySprintPlan(4));
+        verify(taskRepository, never()).assignSprint(any(), any());
+    }
+
+    @Test
+    void planSprint_endedSprint_throws() {
+        sprint.setEndDate(ZonedDateTime.now().minusDays(1));
+
+        assertThrows(IllegalStateException.class, () -> planningService.planSprint(4));
+    }
+
+    @Test
+    void planSprint_unknownSprint_throws() {
+        when(sprintRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFound.class, () -> planningService.planSprint(99));
+    }
+
+    private TaskPriority priority(int id, int value) {
+        TaskPriority priority = new TaskPriority();
+        priority.setId(id);
+        priority.setValue(value);
+        return priority;
+    }
+
+    private TaskView candidate(int id, int points, int priorityId, int dueInDays) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setTitle("Task " + id);
+        view.setStoryPoints(points);
+        view.setPriorityId(priorityId);
+        view.setStatusName("TODO");
+        view.setDueDate(ZonedDateTime.now().plusDays(dueInDays));
+        return view;
+    }
+}
@@ -1,11 +1,15 @@
 package com.taskmanagement.service;
 
 import com.taskmanagement.dto.SprintDTO;
+import com.taskmanagement.dto.SprintEndSummaryDTO;
 import com.taskmanagement.exception.SprintNotFoundException;
 import com.taskmanagement.exception.UserNotFoundException;
 import com.taskmanagement.model.Sprint;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
 import com.taskmanagement.repository.SprintRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +33,21 @@ public class SprintServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
     @InjectMocks
     private SprintService sprintService;
 
@@ -114,6 +133,7 @@ public class SprintServiceTest {
         assertNotNull(updatedSprint);
         assertEquals(updatedSprintDTO.getName(), updatedSprint.getName());
         assertEquals(updatedSprintDTO.getGoal(), updatedSprint.getGoal());
+        verify(taskViewRepository, times(1)).updateSprintName(1, "Updated Sprint");
     }
 
 
@@ -123,14 +143,108 @@ public class SprintServiceTest {
 
         assertNotNull(startedSprint);
         assertTrue(startedSprint.isActive());
+        verify(burndownService).snapshotSprint(1);
     }
 
     @Test
     public void testEndSprint_Success() {
-        SprintDTO endedSprint = sprintService.endSprint(1);
+        SprintDTO endedSprint = sprintService.endSprint(1, null).getSprint();
 
         assertNotNull(endedSprint);
         assertFalse(endedSprint.isActive());
+        verify(burndownService).snapshotSprint(1);
+    }
+
+    @Test
+    public void testEndSprint_RollsUnfinishedTasksOverInOneUpdate() {
+        Sprint target = rolloverTarget(20);
+        when(taskViewRepository.findBySprintId(1)).thenReturn(List.of(view(10, "DONE", 5), view(11, "TODO", 3), view(12, "IN_PROGRESS", 8)));
+        when(taskViewRepository.sumCountedStoryPointsBySprintId(2, 0)).thenReturn(6L).thenReturn(17L);
+        when(taskRepository.moveOpenTasks(sprint, target)).thenReturn(2);
+        when(taskViewRepository.moveOpenTasks(eq(1), eq(2), eq("Sprint 2"), any()))
+                .thenReturn(List.of(view(11, "TODO", 3), view(12, "IN_PROGRESS", 8)));
+
+        SprintEndSummaryDTO summary = sprintService.endSprint(1, 2);
+
+        assertEquals(1, summary.getCompletedTasks());
+        assertEquals(5, summary.getCompletedPoints());
+        assertEquals(2, summary.getRolloverSprintId());
+        assertEquals(2, summary.getRolledOverTasks());
+        assertEquals(11, summary.getRolledOverPoints());
+        verify(taskFilterIndex, times(2)).upsert(any());
+        verify(burndownService).recordChange(2);
+    }
+
+    @Test
+    public void testEndSprint_RolloverOverCapacity() {
+        Sprint target = rolloverTarget(10);
+        when(taskViewRepository.findBySprintId(1)).thenReturn(List.of(view(11, "TODO", 3), view(12, "TODO", 5)));
+        when(taskViewRepository.sumCountedStoryPointsBySprintId(2, 0)).thenReturn(6L).thenReturn(14L);
+        when(taskRepository.moveOpenTasks(sprint, target)).thenReturn(2);
+        when(taskViewRepository.moveOpenTasks(eq(1), eq(2), eq("Sprint 2"), any()))
+                .thenReturn(List.of(view(11, "TODO", 3), view(12, "TODO", 5)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> sprintService.endSprint(1, 2));
+        assertTrue(exception.getMessage().contains("Adding: 8"));
+        verify(taskFilterIndex, never()).upsert(any());
+        verify(burndownService, never()).recordChange(2);
+    }
+
+    @Test
+    public void testEndSprint_RolloverCountsSubtasksMovedWithTheirParentOnce() {
+        Sprint target = rolloverTarget(10);
+        when(taskViewRepository.findBySprintId(1)).thenReturn(List.of(view(11, "TODO", 3), view(12, "TODO", 5)));
+        // 12 is a subtask of 11, once both are in sprint 2 only 11 counts
+        when(taskViewRepository.sumCountedStoryPointsBySprintId(2, 0)).thenReturn(6L).thenReturn(9L);
+        when(taskRepository.moveOpenTasks(sprint, target)).thenReturn(2);
+        when(taskViewRepository.moveOpenTasks(eq(1), eq(2), eq("Sprint 2"), any()))
+                .thenReturn(List.of(view(11, "TODO", 3), view(12, "TODO", 5)));
+
+        SprintEndSummaryDTO summary = sprintService.endSprint(1, 2);
+
+        assertEquals(2, summary.getRolledOverTasks());
+        verify(burndownService).recordChange(2);
+    }
+
+    @Test
+    public void testEndSprint_RolloverStopsWhenTheTaskViewMissesMovedTasks() {
+        Sprint target = rolloverTarget(20);
+        when(taskRepository.moveOpenTasks(sprint, target)).thenReturn(2);
+        when(taskViewRepository.moveOpenTasks(eq(1), eq(2), eq("Sprint 2"), any()))
+                .thenReturn(List.of(view(11, "TODO", 3)));
+
+        assertThrows(IllegalStateException.class, () -> sprintService.endSprint(1, 2));
+        verify(taskFilterIndex, never()).upsert(any());
+    }
+
+    @Test
+    public void testEndSprint_RolloverIntoInactiveSprint() {
+        rolloverTarget(20).setActive(false);
+
+        assertThrows(IllegalStateException.class, () -> sprintService.endSprint(1, 2));
+        verify(sprintRepository, never()).save(any());
+    }
+
+    private Sprint rolloverTarget(int capacity) {
+        Sprint target = new Sprint();
+        target.setId(2);
+        target.setName("Sprint 2");
+        target.setActive(true);
+        target.setCapacityPoints(capacity);
+        target.setEndDate(ZonedDateTime.now().plusWeeks(2));
+        when(sprintRepository.findById(2)).thenReturn(Optional.of(target));
+        return target;
+    }
+
+    private TaskView view(int taskId, String statusName, int storyPoints) {
+        TaskView view = new TaskView();
+        view.setTaskId(taskId);
+        view.setStatusName(statusName);
+        view.setStoryPoints(storyPoints);
+        if ("DONE".equals(statusName)) {
+            view.setCompletedAt(ZonedDateTime.now());
+        }
+        return view;
     }
 
     @Test
@@ -0,0 +1,77 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.TaskArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskArchiveServiceTest {
+
+    @Mock
+    private TaskArchiveRepository archiveRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        archiveService = new TaskArchiveService(archiveRepository, taskFilterIndex, taskDependencyGraphs, transactionManager, true, 90, 2);
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldLoopUntilBatchIsNotFull() {
+        when(archiveRepository.lockCompletedBefore(any(ZonedDateTime.class), eq(2)))
+                .thenReturn(List.of(1, 2))
+                .thenReturn(List.of(3));
+        when(archiveRepository.archive(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        int archived = archiveService.archiveCompletedTasks();
+
+        assertEquals(3, archived);
+        verify(archiveRepository).archive(List.of(1, 2));
+        verify(archiveRepository).archive(List.of(3));
+        verify(taskFilterIndex).remove(1);
+        verify(taskFilterIndex).remove(2);
+        verify(taskFilterIndex).remove(3);
+        // one transaction per batch
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void archiveCompletedTasks_ShouldUseCutoffFromAfterDays() {
+        when(archiveRepository.lockCompletedBefore(any(ZonedDateTime.class), eq(2))).thenReturn(List.of());
+
+        archiveService.archiveCompletedTasks();
+
+        verify(archiveRepository).lockCompletedBefore(argThat(cutoff ->
+                cutoff.isBefore(ZonedDateTime.now().minusDays(89)) && cutoff.isAfter(ZonedDateTime.now().minusDays(91))), eq(2));
+        verify(archiveRepository, never()).archive(anyList());
+    }
+
+    @Test
+    void archiveOnSchedule_ShouldDoNothing_WhenDisabled() {
+        TaskArchiveService disabled = new TaskArchiveService(archiveRepository, taskFilterIndex, taskDependencyGraphs, transactionManager, false, 90, 2);
+
+        disabled.archiveOnSchedule();
+
+        verifyNoInteractions(archiveRepository);
+    }
+}
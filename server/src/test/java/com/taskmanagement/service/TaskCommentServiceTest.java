@@ -3,10 +3,13 @@ package com.taskmanagement.service;
 import com.taskmanagement.dto.TaskCommentDTO;
 import com.taskmanagement.exception.ResourceNotFound;
 import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.ArchivedTaskComment;
 import com.taskmanagement.model.Role;
 import com.taskmanagement.model.Task;
 import com.taskmanagement.model.TaskComment;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.ArchivedTaskCommentRepository;
+import com.taskmanagement.repository.ArchivedTaskRepository;
 import com.taskmanagement.repository.TaskCommentRepository;
 import com.taskmanagement.repository.TaskRepository;
 import com.taskmanagement.repository.UserRepository;
@@ -39,6 +42,12 @@ public class TaskCommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ArchivedTaskCommentRepository archivedCommentRepository;
+
     @InjectMocks
     private TaskCommentService commentService;
 
@@ -125,6 +134,27 @@ public class TaskCommentServiceTest {
         verify(commentRepository, never()).findByTaskIdOrderByCreatedAtDesc(taskId);
     }
 
+    @Test
+    void getCommentsByTaskId_ShouldReadArchive_WhenTaskIsArchived() {
+        ArchivedTaskComment archived = new ArchivedTaskComment();
+        archived.setId(commentId);
+        archived.setTaskId(taskId);
+        archived.setUserId(userId);
+        archived.setUserName("Test User");
+        archived.setContent("Archived Comment");
+
+        when(taskRepository.existsById(taskId)).thenReturn(false);
+        when(archivedTaskRepository.existsById(taskId)).thenReturn(true);
+        when(archivedCommentRepository.findByTaskIdOrderByCreatedAtDesc(taskId)).thenReturn(List.of(archived));
+
+        List<TaskCommentDTO> comments = commentService.getCommentsByTaskId(taskId, userId, true);
+
+        assertEquals(1, comments.size());
+        assertEquals("Archived Comment", comments.get(0).getContent());
+        assertEquals("Test User", comments.get(0).getUserName());
+        verify(commentRepository, never()).findByTaskIdOrderByCreatedAtDesc(taskId);
+    }
+
     @Test
     void addComment_ShouldCreateComment_WhenAllDataIsValid() {
         TaskCommentDTO commentDTO = new TaskCommentDTO();
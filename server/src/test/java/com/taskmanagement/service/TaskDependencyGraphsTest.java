@@ -0,0 +1,71 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskDependencyRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskDependencyGraphsTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskDependencyRepository dependencyRepository;
+
+    private TaskDependencyGraphs graphs;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        graphs = new TaskDependencyGraphs(taskViewRepository, dependencyRepository, 8);
+
+        when(dependencyRepository.findInSprint(4)).thenReturn(List.of());
+    }
+
+    @Test
+    void read_ShouldLoadTheGraphOnce() {
+        when(taskViewRepository.findBySprintId(4)).thenReturn(List.of(view(1)));
+
+        assertTrue(contains(1));
+        assertTrue(contains(1));
+
+        verify(taskViewRepository, times(1)).findBySprintId(4);
+    }
+
+    @Test
+    void read_ShouldNotKeepTheGraph_WhenAChangeWasAppliedWhileItLoaded() {
+        // no transaction in tests, the invalidation is applied at once while the first load is still reading
+        when(taskViewRepository.findBySprintId(4))
+                .thenAnswer(invocation -> {
+                    graphs.invalidate(TaskDependencyGraphs.Scope.SPRINT, 4);
+                    return List.of(view(1));
+                })
+                .thenReturn(List.of(view(1), view(2)));
+
+        assertFalse(contains(2));
+        assertTrue(contains(2));
+
+        verify(taskViewRepository, times(2)).findBySprintId(4);
+    }
+
+    private boolean contains(int taskId) {
+        return graphs.read(TaskDependencyGraphs.Scope.SPRINT, 4, graph -> graph.contains(taskId));
+    }
+
+    private static TaskView view(Integer taskId) {
+        TaskView view = new TaskView();
+        view.setTaskId(taskId);
+        view.setSprintId(4);
+        view.setEstimatedHours(2);
+        return view;
+    }
+}
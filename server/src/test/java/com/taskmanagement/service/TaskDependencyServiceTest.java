@@ -0,0 +1,142 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDependencyServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskDependencyRepository dependencyRepository;
+
+    @Mock
+    private TaskDependencyGraphs dependencyGraphs;
+
+    private TaskDependencyService taskDependencyService;
+
+    private UUID userId;
+    private User user;
+    private Task task;
+    private Task dependency;
+
+    @BeforeEach
+    void setUp() {
+        taskDependencyService = new TaskDependencyService(taskRepository, userRepository, epicRepository,
+                sprintRepository, taskViewRepository, dependencyRepository, dependencyGraphs, 8);
+
+        userId = UUID.randomUUID();
+        Role role = new Role();
+        role.setName("DEVELOPER");
+        user = new User();
+        user.setId(userId);
+        user.setRole(role);
+
+        task = new Task();
+        task.setId(1);
+        task.setCreatedBy(user);
+        task.setAssignedTo(user);
+
+        dependency = new Task();
+        dependency.setId(2);
+        dependency.setCreatedBy(user);
+        dependency.setAssignedTo(user);
+    }
+
+    @Test
+    void addDependency_ShouldAddLinkAndPatchGraphs() {
+        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(2)).thenReturn(Optional.of(dependency));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(dependencyRepository.dependsOn(2, 1)).thenReturn(false);
+        when(dependencyRepository.add(1, 2, userId)).thenReturn(true);
+
+        taskDependencyService.addDependency(1, 2, userId);
+
+        verify(dependencyRepository).lock();
+        verify(dependencyGraphs).edgeAdded(1, 2);
+    }
+
+    @Test
+    void addDependency_ShouldThrow_WhenItWouldCreateACycle() {
+        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(2)).thenReturn(Optional.of(dependency));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(dependencyRepository.dependsOn(2, 1)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> taskDependencyService.addDependency(1, 2, userId));
+
+        verify(dependencyRepository, never()).add(anyInt(), anyInt(), any());
+        verify(dependencyGraphs, never()).edgeAdded(anyInt(), anyInt());
+    }
+
+    @Test
+    void addDependency_ShouldThrow_WhenTaskDependsOnItself() {
+        assertThrows(IllegalArgumentException.class, () -> taskDependencyService.addDependency(1, 1, userId));
+
+        verifyNoInteractions(dependencyRepository);
+    }
+
+    @Test
+    void addDependency_ShouldThrow_WhenUserMayNotEditTask() {
+        User other = new User();
+        other.setId(UUID.randomUUID());
+        other.setRole(user.getRole());
+        task.setCreatedBy(other);
+        task.setAssignedTo(other);
+        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        assertThrows(UnauthorizedAccessException.class, () -> taskDependencyService.addDependency(1, 2, userId));
+
+        verifyNoInteractions(dependencyRepository);
+    }
+
+    @Test
+    void removeDependency_ShouldThrow_WhenLinkDoesNotExist() {
+        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(dependencyRepository.remove(1, 2)).thenReturn(false);
+
+        assertThrows(ResourceNotFound.class, () -> taskDependencyService.removeDependency(1, 2, userId));
+
+        verify(dependencyGraphs, never()).edgeRemoved(anyInt(), anyInt());
+    }
+
+    @Test
+    void getEpicCriticalPath_ShouldThrow_WhenEpicDoesNotExist() {
+        when(epicRepository.existsById(5)).thenReturn(false);
+
+        assertThrows(ResourceNotFound.class, () -> taskDependencyService.getEpicCriticalPath(5));
+    }
+}
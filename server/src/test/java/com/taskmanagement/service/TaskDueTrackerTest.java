@@ -0,0 +1,151 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.event.TaskDueEvent;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskDueLeaderRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskDueTrackerTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskDueLeaderRepository leaderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskDueTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tracker = new TaskDueTracker(taskViewRepository, leaderRepository, eventPublisher, true, 10, 24);
+
+        when(leaderRepository.isLeader()).thenReturn(false, true);
+        when(leaderRepository.tryBecomeLeader()).thenReturn(true);
+        when(leaderRepository.fetchNotifications()).thenReturn(List.of());
+        when(taskViewRepository.findByCompletedAtIsNull()).thenReturn(List.of(
+                view(1, ZonedDateTime.now().minusDays(1), null),
+                view(2, ZonedDateTime.now().plusDays(5), null),
+                view(3, ZonedDateTime.now().plusHours(2), null)));
+    }
+
+    @Test
+    void tick_ShouldLoadOpenTasks_WhenLockIsTaken() {
+        tracker.tick();
+
+        assertTrue(tracker.isReady());
+        assertEquals(List.of(1), tracker.getOverdueTaskIds());
+        assertEquals(List.of(3), tracker.getDueSoonTaskIds());
+        // tasks that were already late at startup are not announced again
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void tick_ShouldLeaveTasksToDatabase_WhenAnotherInstanceLeads() {
+        when(leaderRepository.tryBecomeLeader()).thenReturn(false);
+
+        tracker.tick();
+
+        assertFalse(tracker.isReady());
+        verify(taskViewRepository, never()).findByCompletedAtIsNull();
+    }
+
+    @Test
+    void tick_ShouldApplyChangedTasks() {
+        tracker.tick();
+
+        when(leaderRepository.fetchNotifications()).thenReturn(List.of("1", "2", "9"));
+        when(taskViewRepository.findAllById(any())).thenReturn(List.of(
+                view(1, ZonedDateTime.now().minusDays(1), ZonedDateTime.now()),
+                view(2, ZonedDateTime.now().minusMinutes(5), null)));
+        tracker.tick();
+
+        // 1 was completed, 2 had its due date moved into the past, 9 no longer exists
+        assertEquals(List.of(2), tracker.getOverdueTaskIds());
+        ArgumentCaptor<TaskDueEvent> event = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getTaskId());
+        assertEquals(TaskDueEvent.Kind.OVERDUE, event.getValue().getKind());
+    }
+
+    @Test
+    void tick_ShouldFireOverdue_WhenDueDatePasses() throws Exception {
+        when(taskViewRepository.findByCompletedAtIsNull()).thenReturn(List.of(
+                view(4, ZonedDateTime.now().plusNanos(30_000_000), null)));
+        tracker.tick();
+        assertEquals(List.of(4), tracker.getDueSoonTaskIds());
+
+        Thread.sleep(60);
+        tracker.tick();
+
+        assertEquals(List.of(4), tracker.getOverdueTaskIds());
+        assertTrue(tracker.getDueSoonTaskIds().isEmpty());
+        ArgumentCaptor<TaskDueEvent> event = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TaskDueEvent.Kind.OVERDUE, event.getValue().getKind());
+    }
+
+    @Test
+    void getOverdueTaskIds_ShouldFollowTheAssignee() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        when(taskViewRepository.findByCompletedAtIsNull()).thenReturn(List.of(
+                view(1, alice, ZonedDateTime.now().minusDays(1)),
+                view(2, bob, ZonedDateTime.now().minusDays(2)),
+                view(3, alice, ZonedDateTime.now().plusDays(2))));
+        tracker.tick();
+
+        assertEquals(List.of(1), tracker.getOverdueTaskIds(alice));
+        assertEquals(List.of(2), tracker.getOverdueTaskIds(bob));
+
+        // 1 is handed to bob
+        when(leaderRepository.fetchNotifications()).thenReturn(List.of("1"));
+        when(taskViewRepository.findAllById(any())).thenReturn(List.of(view(1, bob, ZonedDateTime.now().minusDays(1))));
+        tracker.tick();
+
+        assertTrue(tracker.getOverdueTaskIds(alice).isEmpty());
+        assertEquals(List.of(1, 2), tracker.getOverdueTaskIds(bob));
+    }
+
+    @Test
+    void reloadAll_ShouldReloadEveryOpenTask() {
+        tracker.tick();
+        when(leaderRepository.fetchNotifications()).thenReturn(List.of(TaskDueTracker.RELOAD_ALL));
+
+        tracker.tick();
+
+        verify(taskViewRepository, times(2)).findByCompletedAtIsNull();
+        verify(taskViewRepository, never()).findAllById(any());
+    }
+
+    private TaskView view(Integer id, UUID assignedToId, ZonedDateTime dueDate) {
+        TaskView view = view(id, dueDate, null);
+        view.setAssignedToId(assignedToId);
+        return view;
+    }
+
+    private TaskView view(Integer id, ZonedDateTime dueDate, ZonedDateTime completedAt) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setDueDate(dueDate);
+        view.setCompletedAt(completedAt);
+        return view;
+    }
+}
@@ -0,0 +1,181 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.model.TaskView;
+import com.taskmanagement.repository.TaskCustomRepository;
+import com.taskmanagement.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskFilterIndexTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskCustomRepository taskCustomRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskFilterIndex index;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new TaskFilterIndex(taskViewRepository, taskCustomRepository, transactionManager, true);
+
+        when(taskCustomRepository.streamTasksByFilters(null, null, null, null, null, null, null)).thenAnswer(invocation -> Stream.of(
+                view(1, alice, 1, 1, 10, 3, ZonedDateTime.now().minusDays(1), null),
+                view(2, alice, 2, 1, 10, 5, ZonedDateTime.now().plusDays(1), null),
+                view(3, bob, 1, 2, 10, 8, ZonedDateTime.now().minusDays(2), ZonedDateTime.now()),
+                view(4, bob, 1, 2, null, 2, null, null)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    void isReady_ShouldBeFalse_WhenDisabled() {
+        TaskFilterIndex disabled = new TaskFilterIndex(taskViewRepository, taskCustomRepository, transactionManager, false);
+        disabled.rebuildOnStart();
+
+        assertFalse(disabled.isReady());
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void findTaskIds_ShouldIntersectDimensions() {
+        assertEquals(List.of(1, 2, 3, 4), index.findTaskIds(new TaskFilterDTO()));
+        assertEquals(List.of(1, 2), index.findTaskIds(new TaskFilterDTO(alice, null, null, null, null)));
+        assertEquals(List.of(3, 4), index.findTaskIds(new TaskFilterDTO(bob, 1, null, null, null)));
+        assertEquals(List.of(3), index.findTaskIds(new TaskFilterDTO(bob, 1, null, 10, null)));
+        assertTrue(index.findTaskIds(new TaskFilterDTO(alice, 1, 2, null, null)).isEmpty());
+        assertTrue(index.findTaskIds(new TaskFilterDTO(null, 99, null, null, null)).isEmpty());
+    }
+
+    @Test
+    void aggregates_ShouldOnlyCountMatchingTasks() {
+        TaskFilterDTO sprintFilter = new TaskFilterDTO(null, null, null, 10, null);
+        long now = ZonedDateTime.now().toInstant().toEpochMilli();
+
+        assertEquals(3, index.count(sprintFilter));
+        assertEquals(16, index.sumStoryPoints(sprintFilter));
+        // task 3 is overdue but already completed
+        assertEquals(1, index.countOverdue(sprintFilter, now));
+    }
+
+    @Test
+    void upsert_ShouldMoveTaskBetweenBitmaps() {
+        index.upsert(view(1, bob, 2, 1, 10, 3, null, null));
+
+        assertEquals(List.of(2), index.findTaskIds(new TaskFilterDTO(alice, null, null, null, null)));
+        assertEquals(List.of(1, 3, 4), index.findTaskIds(new TaskFilterDTO(bob, null, null, null, null)));
+        assertEquals(List.of(1, 2), index.findTaskIds(new TaskFilterDTO(null, 2, null, null, null)));
+    }
+
+    @Test
+    void remove_ShouldReuseOrdinal() {
+        index.remove(2);
+        index.upsert(view(5, alice, 2, 1, null, 1, null, null));
+
+        assertEquals(List.of(1, 5), index.findTaskIds(new TaskFilterDTO(alice, null, null, null, null)));
+        assertEquals(4, index.count(new TaskFilterDTO()));
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesCommittedWhileRowsAreRead() {
+        // task 1 is handed to bob after the cursor started, the row it then hands out is the old one
+        when(taskCustomRepository.streamTasksByFilters(null, null, null, null, null, null, null)).thenAnswer(invocation -> Stream.of(
+                view(1, alice, 1, 1, 10, 3, null, null),
+                view(2, alice, 2, 1, 10, 5, null, null)
+        ).peek(view -> {
+            if (view.getTaskId() == 1) {
+                index.upsert(view(1, bob, 1, 1, 10, 3, null, null));
+            }
+        }));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(2), index.findTaskIds(new TaskFilterDTO(alice, null, null, null, null)));
+        assertEquals(List.of(1), index.findTaskIds(new TaskFilterDTO(bob, null, null, null, null)));
+    }
+
+    @Test
+    void addAll_ShouldOnlyReadTheGivenTasks() {
+        when(taskViewRepository.findAllById(List.of(5, 6))).thenReturn(Arrays.asList(
+                view(5, alice, 1, 1, 10, 1, null, null),
+                view(6, bob, 1, 1, 10, 1, null, null)));
+
+        index.addAll(List.of(5, 6));
+
+        assertEquals(List.of(1, 2, 5), index.findTaskIds(new TaskFilterDTO(alice, null, null, null, null)));
+        assertEquals(6, index.count(new TaskFilterDTO()));
+        verify(taskCustomRepository, times(1)).streamTasksByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void labels_ShouldMatchAnyOrAllAndCount() {
+        index.upsert(labelled(view(1, alice, 1, 1, 10, 3, null, null), "backend", "acme"));
+        index.upsert(labelled(view(2, alice, 2, 1, 10, 5, null, null), "frontend", "acme"));
+        index.upsert(labelled(view(3, bob, 1, 2, 10, 8, null, null), "backend"));
+
+        TaskFilterDTO any = new TaskFilterDTO();
+        any.setAnyLabels(List.of("backend", "frontend"));
+        assertEquals(List.of(1, 2, 3), index.findTaskIds(any));
+
+        TaskFilterDTO all = new TaskFilterDTO(alice, null, null, null, null);
+        all.setAllLabels(List.of("backend", "acme"));
+        assertEquals(List.of(1), index.findTaskIds(all));
+
+        TaskFilterDTO unknown = new TaskFilterDTO();
+        unknown.setAnyLabels(List.of("mobile"));
+        assertTrue(index.findTaskIds(unknown).isEmpty());
+
+        Map<String, Long> counts = index.countLabels(new TaskFilterDTO(alice, null, null, null, null));
+        assertEquals(List.of("acme", "backend", "frontend"), List.copyOf(counts.keySet()));
+        assertEquals(2L, counts.get("acme"));
+
+        // relabelling drops the old bits
+        index.upsert(labelled(view(3, bob, 1, 2, 10, 8, null, null), "mobile"));
+        TaskFilterDTO backend = new TaskFilterDTO();
+        backend.setAllLabels(List.of("backend"));
+        assertEquals(List.of(1), index.findTaskIds(backend));
+    }
+
+    private TaskView labelled(TaskView view, String... labels) {
+        view.setLabels(labels);
+        return view;
+    }
+
+    private TaskView view(Integer id, UUID assignee, Integer statusId, Integer priorityId, Integer sprintId,
+                          Integer points, ZonedDateTime dueDate, ZonedDateTime completedAt) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setAssignedToId(assignee);
+        view.setStatusId(statusId);
+        view.setPriorityId(priorityId);
+        view.setSprintId(sprintId);
+        view.setStoryPoints(points);
+        view.setDueDate(dueDate);
+        view.setCompletedAt(completedAt);
+        return view;
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.SubtreeTotals;
+import com.taskmanagement.repository.TaskHierarchyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.*;
+
+class TaskHierarchyServiceTest {
+
+    @Mock
+    private TaskHierarchyRepository hierarchyRepository;
+
+    private TaskHierarchyService taskHierarchyService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskHierarchyService = new TaskHierarchyService(hierarchyRepository);
+    }
+
+    @Test
+    void recordChange_newTopLevelTask_touchesNothing() {
+        taskHierarchyService.recordChange(null, new TaskHierarchyService.Node(10, null, 5, false));
+
+        verifyNoInteractions(hierarchyRepository);
+    }
+
+    @Test
+    void recordChange_newSubtask_attachesAndAddsItself() {
+        taskHierarchyService.recordChange(null, new TaskHierarchyService.Node(10, 2, 5, false));
+
+        InOrder inOrder = inOrder(hierarchyRepository);
+        inOrder.verify(hierarchyRepository).attach(10, 2);
+        inOrder.verify(hierarchyRepository).addToAncestors(10, new SubtreeTotals(1, 0, 5, 0));
+        verifyNoMoreInteractions(hierarchyRepository);
+    }
+
+    @Test
+    void recordChange_subtaskCompleted_addsDeltaOnly() {
+        taskHierarchyService.recordChange(
+                new TaskHierarchyService.Node(10, 2, 5, false),
+                new TaskHierarchyService.Node(10, 2, 8, true));
+
+        verify(hierarchyRepository).addToAncestors(10, new SubtreeTotals(0, 1, 3, 8));
+        verifyNoMoreInteractions(hierarchyRepository);
+    }
+
+    @Test
+    void recordChange_unchangedTopLevelTask_touchesNothing() {
+        taskHierarchyService.recordChange(
+                new TaskHierarchyService.Node(10, null, 5, false),
+                new TaskHierarchyService.Node(10, null, 8, true));
+
+        verifyNoInteractions(hierarchyRepository);
+    }
+
+    @Test
+    void recordChange_movedToOtherParent_takesSubtreeAlong() {
+        when(hierarchyRepository.findTotals(10)).thenReturn(new SubtreeTotals(3, 1, 7, 2));
+
+        taskHierarchyService.recordChange(
+                new TaskHierarchyService.Node(10, 2, 5, true),
+                new TaskHierarchyService.Node(10, 4, 5, true));
+
+        InOrder inOrder = inOrder(hierarchyRepository);
+        inOrder.verify(hierarchyRepository).addToAncestors(10, new SubtreeTotals(-4, -2, -12, -7));
+        inOrder.verify(hierarchyRepository).detach(10);
+        inOrder.verify(hierarchyRepository).attach(10, 4);
+        inOrder.verify(hierarchyRepository).addToAncestors(10, new SubtreeTotals(4, 2, 12, 7));
+    }
+
+    @Test
+    void recordChange_promotedToTopLevel_onlyDetaches() {
+        when(hierarchyRepository.findTotals(10)).thenReturn(SubtreeTotals.EMPTY);
+
+        taskHierarchyService.recordChange(
+                new TaskHierarchyService.Node(10, 2, 5, false),
+                new TaskHierarchyService.Node(10, null, 5, false));
+
+        verify(hierarchyRepository).addToAncestors(10, new SubtreeTotals(-1, 0, -5, 0));
+        verify(hierarchyRepository).detach(10);
+        verify(hierarchyRepository, never()).attach(anyInt(), anyInt());
+    }
+}
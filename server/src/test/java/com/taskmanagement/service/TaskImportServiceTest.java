@@ -0,0 +1,282 @@
+package com.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.TaskImportDTO;
+import com.taskmanagement.exception.UnauthorizedAccessException;
+import com.taskmanagement.model.*;
+import com.taskmanagement.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskImportRepository importRepository;
+
+    @Mock
+    private TaskImportErrorRepository errorRepository;
+
+    @Mock
+    private TaskImportStagingRepository stagingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private SprintRepository sprintRepository;
+
+    @Mock
+    private TaskStatusRepository statusRepository;
+
+    @Mock
+    private TaskPriorityRepository priorityRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDueTracker taskDueTracker;
+
+    @Mock
+    private EpicProgressService epicProgressService;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskImportService importService;
+
+    private UUID creatorId;
+    private User assignee;
+    private Sprint sprint;
+    private TaskImport taskImport;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importService = new TaskImportService(importRepository, errorRepository, stagingRepository, userRepository,
+                epicRepository, sprintRepository, statusRepository, priorityRepository, taskFilterIndex,
+                taskDueTracker, epicProgressService, burndownService, taskDependencyGraphs, new ObjectMapper(), taskExecutor, transactionManager);
+
+        creatorId = UUID.randomUUID();
+
+        assignee = new User();
+        assignee.setId(UUID.randomUUID());
+        assignee.setName("Dev");
+        assignee.setEmail("dev@example.com");
+        assignee.setIsActive(true);
+
+        TaskStatus todo = new TaskStatus();
+        todo.setId(2);
+        todo.setName("TODO");
+
+        TaskPriority high = new TaskPriority();
+        high.setId(3);
+        high.setName("HIGH");
+
+        sprint = new Sprint();
+        sprint.setId(4);
+        sprint.setName("Sprint 1");
+        sprint.setStartDate(ZonedDateTime.now().minusDays(1));
+        sprint.setEndDate(ZonedDateTime.now().plusDays(13));
+        sprint.setCapacityPoints(20);
+
+        taskImport = new TaskImport();
+        taskImport.setId(7);
+        taskImport.setCreatedById(creatorId);
+        taskImport.setFormat("csv");
+        taskImport.setStatus(TaskImport.PENDING);
+
+        when(statusRepository.findAll()).thenReturn(List.of(todo));
+        when(priorityRepository.findAll()).thenReturn(List.of(high));
+        when(userRepository.findByEmailIn(any())).thenReturn(List.of(assignee));
+        when(sprintRepository.findAllById(any())).thenReturn(List.of(sprint));
+        when(importRepository.save(any(TaskImport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void runImport_ShouldStageValidRowsAndRecordRowErrors() throws Exception {
+        String dueDate = ZonedDateTime.now().plusDays(5).toLocalDate().toString();
+        file = write(
+                "title,description,assignee,status,priority,storyPoints,dueDate,sprintId\n" +
+                "First,\"Has, a comma\",DEV@example.com,todo,HIGH,3," + dueDate + ",4\n" +
+                ",Missing title,dev@example.com,TODO,HIGH,1," + dueDate + ",\n" +
+                "Third,,nobody@example.com,TODO,HIGH,1," + dueDate + ",\n" +
+                "Fourth,\"Quoted \"\"word\"\"\",dev@example.com,TODO,HIGH,2," + dueDate + ",\n");
+        when(stagingRepository.publish(7)).thenReturn(List.of(101, 102));
+        when(stagingRepository.findSprintIds(7)).thenReturn(List.of(4));
+
+        importService.runImport(taskImport, file);
+
+        ArgumentCaptor<List<StagedTaskRow>> staged = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository).copyIn(eq(7), staged.capture());
+        assertEquals(2, staged.getValue().size());
+        assertEquals("Has, a comma", staged.getValue().get(0).getDescription());
+        assertEquals(4, staged.getValue().get(0).getSprintId());
+        assertEquals(assignee.getId(), staged.getValue().get(0).getAssignedToId());
+        assertEquals(creatorId, staged.getValue().get(0).getCreatedById());
+        assertEquals("Quoted \"word\"", staged.getValue().get(1).getDescription());
+        assertEquals(4, staged.getValue().get(1).getRowNumber());
+
+        ArgumentCaptor<List<TaskImportError>> errors = ArgumentCaptor.forClass(List.class);
+        verify(errorRepository, times(2)).saveAll(errors.capture());
+        List<TaskImportError> rowErrors = errors.getAllValues().get(0);
+        assertEquals(2, rowErrors.size());
+        assertEquals(2, rowErrors.get(0).getRowNumber());
+        assertEquals("Missing required column: title", rowErrors.get(0).getMessage());
+        assertEquals("Assigned user not found with email: nobody@example.com", rowErrors.get(1).getMessage());
+
+        // one lookup per kind for the whole chunk
+        verify(userRepository, times(1)).findByEmailIn(Set.of("dev@example.com", "nobody@example.com"));
+        verify(sprintRepository, times(1)).findAllById(Set.of(4));
+
+        assertEquals(TaskImport.COMPLETED, taskImport.getStatus());
+        assertEquals(4, taskImport.getProcessedRows());
+        assertEquals(2, taskImport.getImportedRows());
+        assertEquals(2, taskImport.getFailedRows());
+        assertFalse(Files.exists(file));
+        verify(taskDueTracker, times(1)).tasksChanged();
+        // only the new tasks go into the filter index, once they are committed
+        verify(taskFilterIndex).addAll(List.of(101, 102));
+        verify(taskFilterIndex, never()).rebuild();
+        // staged rows are still there when the epic totals pick them up
+        InOrder publishOrder = inOrder(stagingRepository, epicProgressService, burndownService);
+        publishOrder.verify(stagingRepository).publish(7);
+        publishOrder.verify(epicProgressService).recordImport(7);
+        publishOrder.verify(burndownService).recordChange(4);
+        publishOrder.verify(stagingRepository).clear(7);
+    }
+
+    @Test
+    void runImport_ShouldCountCapacityRejections() throws Exception {
+        String dueDate = ZonedDateTime.now().plusDays(5).toLocalDate().toString();
+        taskImport.setFormat("ndjson");
+        file = write(
+                "{\"title\":\"One\",\"assignee\":\"dev@example.com\",\"status\":\"TODO\",\"priority\":\"HIGH\"," +
+                "\"storyPoints\":15,\"dueDate\":\"" + dueDate + "\",\"sprintId\":4}\n" +
+                "\n" +
+                "{\"title\":\"Two\",\"assignee\":\"dev@example.com\",\"status\":\"TODO\",\"priority\":\"HIGH\"," +
+                "\"storyPoints\":15,\"dueDate\":\"" + dueDate + "\",\"sprintId\":4}\n");
+        when(stagingRepository.rejectOverCapacitySprints(7)).thenReturn(List.of(
+                new TaskImportError(7, 1, "Adding this task would exceed the sprint's capacity. Current: 0, Adding: 30, Capacity: 20"),
+                new TaskImportError(7, 2, "Adding this task would exceed the sprint's capacity. Current: 0, Adding: 30, Capacity: 20")));
+        when(stagingRepository.publish(7)).thenReturn(List.of());
+
+        importService.runImport(taskImport, file);
+
+        verify(stagingRepository).copyIn(eq(7), argThat(rows -> rows.size() == 2));
+        assertEquals(TaskImport.COMPLETED, taskImport.getStatus());
+        assertEquals(2, taskImport.getProcessedRows());
+        assertEquals(0, taskImport.getImportedRows());
+        assertEquals(2, taskImport.getFailedRows());
+    }
+
+    @Test
+    void runImport_ShouldMarkImportFailed_WhenPublishFails() throws Exception {
+        file = write("title,assignee,status,priority,dueDate\n");
+        when(stagingRepository.publish(7)).thenThrow(new IllegalStateException("copy failed"));
+
+        importService.runImport(taskImport, file);
+
+        assertEquals(TaskImport.FAILED, taskImport.getStatus());
+        assertEquals("copy failed", taskImport.getMessage());
+        verify(stagingRepository, atLeastOnce()).clear(7);
+        verify(taskFilterIndex, never()).rebuild();
+        verify(taskFilterIndex).addAll(List.of());
+    }
+
+    @Test
+    void resolveRow_ShouldRejectDueDateAfterSprintEnd() {
+        TaskImportService.ImportLookups lookups = importService.new ImportLookups();
+        Map<String, String> row = new HashMap<>(Map.of(
+                "title", "Late", "assignee", "dev@example.com", "status", "TODO", "priority", "HIGH",
+                "dueDate", ZonedDateTime.now().plusDays(30).toLocalDate().toString(), "sprintId", "4"));
+        lookups.load(List.of(row));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> importService.resolveRow(row, 1, creatorId, lookups));
+
+        assertTrue(exception.getMessage().startsWith("Task due date"));
+    }
+
+    @Test
+    void startImport_ShouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> importService.startImport(
+                new ByteArrayInputStream(new byte[0]), "xlsx", creatorId));
+
+        verify(taskExecutor, never()).execute(any());
+    }
+
+    @Test
+    void startImport_ShouldQueueImport() throws Exception {
+        when(userRepository.existsById(creatorId)).thenReturn(true);
+        when(importRepository.save(any(TaskImport.class))).thenAnswer(invocation -> {
+            TaskImport saved = invocation.getArgument(0);
+            saved.setId(7);
+            return saved;
+        });
+
+        TaskImportDTO result = importService.startImport(
+                new ByteArrayInputStream("title\n".getBytes()), "csv", creatorId);
+
+        assertEquals(7, result.getId());
+        assertEquals(TaskImport.PENDING, result.getStatus());
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void getImport_ShouldThrow_WhenUserDidNotStartIt() {
+        Role developer = new Role();
+        developer.setName("DEVELOPER");
+        User other = new User();
+        other.setId(UUID.randomUUID());
+        other.setRole(developer);
+
+        when(importRepository.findById(7)).thenReturn(Optional.of(taskImport));
+        when(userRepository.findById(other.getId())).thenReturn(Optional.of(other));
+
+        assertThrows(UnauthorizedAccessException.class, () -> importService.getImport(7, other.getId()));
+    }
+
+    private Path write(String content) throws Exception {
+        Path path = Files.createTempFile("task-import-test-", ".txt");
+        Files.writeString(path, content);
+        return path;
+    }
+}
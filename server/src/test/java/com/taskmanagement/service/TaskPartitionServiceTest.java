@@ -0,0 +1,41 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.repository.TaskPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class TaskPartitionServiceTest {
+
+    @Mock
+    private TaskPartitionRepository partitionRepository;
+
+    private TaskPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        partitionService = new TaskPartitionService(partitionRepository, 3);
+    }
+
+    @Test
+    void createFuturePartitions_ShouldCoverBothTables() {
+        when(partitionRepository.createMonthlyPartitions("tasks", 3)).thenReturn(1);
+        when(partitionRepository.createMonthlyPartitions("task_comments", 3)).thenReturn(1);
+
+        assertEquals(2, partitionService.createFuturePartitions());
+    }
+
+    @Test
+    void createFuturePartitions_ShouldContinue_WhenOneTableFails() {
+        when(partitionRepository.createMonthlyPartitions("tasks", 3)).thenThrow(new IllegalStateException("overlap"));
+        when(partitionRepository.createMonthlyPartitions("task_comments", 3)).thenReturn(1);
+
+        assertEquals(1, partitionService.createFuturePartitions());
+        verify(partitionRepository).createMonthlyPartitions("task_comments", 3);
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.exception.AmbiguousNameException;
+import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.TaskStatus;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.TaskPriorityRepository;
+import com.taskmanagement.repository.TaskStatusRepository;
+import com.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskReferenceResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskStatusRepository statusRepository;
+
+    @Mock
+    private TaskPriorityRepository priorityRepository;
+
+    private TaskReferenceResolver resolver;
+
+    private final List<TaskStatus> statuses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        resolver = new TaskReferenceResolver(userRepository, statusRepository, priorityRepository);
+
+        statuses.add(status(1, "TODO"));
+        statuses.add(status(2, "IN_PROGRESS"));
+        when(statusRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(statuses));
+    }
+
+    @Test
+    void statusId_ShouldMatchNamesWrittenDifferently_AndReadStatusesOnce() {
+        assertEquals(2, resolver.statusId("in progress"));
+        assertEquals(2, resolver.statusId("In-Progress"));
+        assertEquals(1, resolver.statusId(" todo "));
+
+        verify(statusRepository, times(1)).findAll();
+    }
+
+    @Test
+    void statusId_ShouldReloadStatuses_WhenNameIsUnknown() {
+        assertEquals(1, resolver.statusId("todo"));
+        statuses.add(status(3, "REVIEW"));
+
+        assertEquals(3, resolver.statusId("review"));
+        verify(statusRepository, times(2)).findAll();
+    }
+
+    @Test
+    void statusId_ShouldListKnownStatuses_WhenNameDoesNotExist() {
+        ResourceNotFound exception = assertThrows(ResourceNotFound.class, () -> resolver.statusId("blocked"));
+
+        assertTrue(exception.getMessage().contains("IN_PROGRESS, TODO"));
+    }
+
+    @Test
+    void userId_ShouldPreferExactMatch_OverPartialMatch() {
+        User ann = user("Ann", "ann@example.com", true);
+        when(userRepository.findByEmailOrNameIgnoreCase("ann@example.com")).thenReturn(List.of(ann));
+
+        assertEquals(ann.getId(), resolver.userId("ann@example.com"));
+        verify(userRepository, never()).findByNameContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void userId_ShouldThrowAmbiguousNameException_WhenSeveralUsersMatch() {
+        when(userRepository.findByEmailOrNameIgnoreCase("ann")).thenReturn(List.of());
+        when(userRepository.findByNameContainingIgnoreCase("ann")).thenReturn(List.of(
+                user("Ann Smith", "ann@example.com", true),
+                user("Joanne Lee", "joanne@example.com", true)));
+
+        AmbiguousNameException exception = assertThrows(AmbiguousNameException.class, () -> resolver.userId("ann"));
+
+        assertTrue(exception.getMessage().contains("matches 2 users"));
+        assertTrue(exception.getMessage().contains("Ann Smith <ann@example.com>"));
+    }
+
+    @Test
+    void userId_ShouldIgnoreDeactivatedNamesake_WhenActiveUserMatches() {
+        User active = user("Ann Smith", "ann@example.com", true);
+        when(userRepository.findByEmailOrNameIgnoreCase("ann smith")).thenReturn(List.of(
+                active,
+                user("Ann Smith", "ann.smith@example.com", false)));
+
+        assertEquals(active.getId(), resolver.userId("ann smith"));
+    }
+
+    @Test
+    void userId_ShouldThrowResourceNotFound_WhenNobodyMatches() {
+        when(userRepository.findByEmailOrNameIgnoreCase("zed")).thenReturn(List.of());
+        when(userRepository.findByNameContainingIgnoreCase("zed")).thenReturn(List.of());
+
+        assertThrows(ResourceNotFound.class, () -> resolver.userId("zed"));
+    }
+
+    private static TaskStatus status(Integer id, String name) {
+        TaskStatus status = new TaskStatus();
+        status.setId(id);
+        status.setName(name);
+        return status;
+    }
+
+    private static User user(String name, String email, boolean active) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setEmail(email);
+        user.setIsActive(active);
+        return user;
+    }
+}
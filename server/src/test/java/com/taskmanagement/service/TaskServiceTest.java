@@ -1,7 +1,10 @@
 package com.taskmanagement.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanagement.dto.TaskDTO;
 import com.taskmanagement.dto.TaskFilterDTO;
+import com.taskmanagement.dto.TaskPatchDTO;
+import com.taskmanagement.dto.TaskTreeDTO;
 import com.taskmanagement.exception.ResourceNotFound;
 import com.taskmanagement.exception.UnauthorizedAccessException;
 import com.taskmanagement.model.*;
@@ -10,15 +13,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +54,42 @@ public class TaskServiceTest {
     @Mock
     private TaskCustomRepository taskCustomRepository;
 
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDueTracker taskDueTracker;
+
+    @Mock
+    private CycleTimeService cycleTimeService;
+
+    @Mock
+    private BurndownService burndownService;
+
+    @Mock
+    private EpicProgressService epicProgressService;
+
+    @Mock
+    private TaskHierarchyService taskHierarchyService;
+
+    @Mock
+    private TaskDependencyGraphs taskDependencyGraphs;
+
+    @Mock
+    private TaskLabelRepository taskLabelRepository;
+
+    @Mock
+    private TaskReferenceResolver referenceResolver;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -66,6 +111,7 @@ public class TaskServiceTest {
     private TaskPriority priority;
     private Role adminRole;
     private Role devRole;
+    private TaskView taskView;
 
     @BeforeEach
     void setUp() {
@@ -139,18 +185,37 @@ public class TaskServiceTest {
         task.setDueDate(ZonedDateTime.now().plusDays(7));
         task.setEpic(epic);
         task.setSprint(sprint);
+
+        taskView = new TaskView();
+        taskView.setTaskId(taskId);
+        taskView.setTitle("Test Task");
+        taskView.setDescription("Test Description");
+        taskView.setCreatedById(userId);
+        taskView.setAssignedToId(assigneeId);
+        taskView.setAssignedToName("Test Assignee");
+        taskView.setStatusId(statusId);
+        taskView.setStatusName("IN_PROGRESS");
+        taskView.setPriorityId(priorityId);
+        taskView.setPriorityName("HIGH");
+        taskView.setEpicId(epicId);
+        taskView.setEpicName("Test Epic");
+        taskView.setSprintId(sprintId);
+        taskView.setSprintName("Test Sprint");
     }
 
     @Test
     void getAllTasks_ShouldReturnAllTasks() {
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task));
+        when(taskViewRepository.findAll()).thenReturn(Arrays.asList(taskView));
 
         List<TaskDTO> tasks = taskService.getAllTasks(userId);
 
         assertEquals(1, tasks.size());
         assertEquals(taskId, tasks.get(0).getId());
         assertEquals("Test Task", tasks.get(0).getTitle());
-        verify(taskRepository, times(1)).findAll();
+        assertEquals("Test Assignee", tasks.get(0).getAssignedToName());
+        assertEquals("Test Sprint", tasks.get(0).getSprintName());
+        verify(taskViewRepository, times(1)).findAll();
+        verify(taskRepository, never()).findAll();
     }
 
     @Test
@@ -178,6 +243,24 @@ public class TaskServiceTest {
         verify(taskRepository, times(1)).findById(taskId);
     }
 
+    @Test
+    void getTaskById_ShouldReadArchive_WhenIncludeArchived() {
+        ArchivedTask archived = new ArchivedTask();
+        archived.setId(taskId);
+        archived.setTitle("Archived Task");
+        archived.setAssignedToId(assigneeId);
+        archived.setStatusName("DONE");
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findById(taskId)).thenReturn(Optional.of(archived));
+
+        TaskDTO result = taskService.getTaskById(taskId, userId, true);
+
+        assertEquals(taskId, result.getId());
+        assertEquals("Archived Task", result.getTitle());
+        assertEquals("DONE", result.getStatusName());
+    }
+
     @Test
     void createTask_ShouldCreateTask_WhenAllDataIsValid() {
         TaskDTO taskDTO = new TaskDTO();
@@ -191,6 +274,7 @@ public class TaskServiceTest {
         taskDTO.setDueDate(ZonedDateTime.now().plusDays(7));
         taskDTO.setEpicId(epicId);
         taskDTO.setSprintId(sprintId);
+        taskDTO.setLabels(Arrays.asList(" UI ", "ui", "Acme"));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
@@ -211,6 +295,52 @@ public class TaskServiceTest {
         assertEquals("New Task", result.getTitle());
         assertEquals(assigneeId, result.getAssignedToId());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskViewRepository, times(1)).save(argThat(view ->
+                taskId.equals(view.getTaskId())
+                        && "Test Assignee".equals(view.getAssignedToName())
+                        && "Test Epic".equals(view.getEpicName())
+                        && "Test Sprint".equals(view.getSprintName())
+                        && Arrays.equals(new String[]{"ui", "acme"}, view.getLabels())));
+        assertEquals(List.of("ui", "acme"), result.getLabels());
+    }
+
+    @Test
+    void createTask_ShouldNotCountSubtask_WhenParentIsInSameSprint() {
+        sprint.setCapacityPoints(10);
+
+        Task parent = new Task();
+        parent.setId(2);
+        parent.setStoryPoints(8);
+        parent.setSprint(sprint);
+
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle("Subtask");
+        taskDTO.setDescription("Part of the parent");
+        taskDTO.setAssignedToId(assigneeId);
+        taskDTO.setStatusId(statusId);
+        taskDTO.setPriorityId(priorityId);
+        taskDTO.setStoryPoints(5);
+        taskDTO.setDueDate(ZonedDateTime.now().plusDays(7));
+        taskDTO.setSprintId(sprintId);
+        taskDTO.setParentTaskId(2);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
+        when(statusRepository.findById(statusId)).thenReturn(Optional.of(status));
+        when(priorityRepository.findById(priorityId)).thenReturn(Optional.of(priority));
+        when(taskRepository.findById(2)).thenReturn(Optional.of(parent));
+        when(sprintRepository.findById(sprintId)).thenReturn(Optional.of(sprint));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task savedTask = invocation.getArgument(0);
+            savedTask.setId(taskId);
+            return savedTask;
+        });
+
+        TaskDTO result = taskService.createTask(taskDTO, userId);
+
+        assertEquals(2, result.getParentTaskId());
+        verify(taskViewRepository).save(argThat(view -> Integer.valueOf(2).equals(view.getParentTaskId())));
+        verify(taskHierarchyService).recordChange(isNull(), argThat(node -> Integer.valueOf(2).equals(node.parentTaskId())));
     }
 
     @Test
@@ -264,6 +394,151 @@ public class TaskServiceTest {
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void createTask_ShouldResolveNames_WhenIdsAreMissing() {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle("New Task");
+        taskDTO.setDescription("New Description");
+        taskDTO.setAssignee("assignee@example.com");
+        taskDTO.setStatusName("in progress");
+        taskDTO.setPriorityName("high");
+        taskDTO.setDueDate(ZonedDateTime.now().plusDays(7));
+
+        when(referenceResolver.userId("assignee@example.com")).thenReturn(assigneeId);
+        when(referenceResolver.statusId("in progress")).thenReturn(statusId);
+        when(referenceResolver.priorityId("high")).thenReturn(priorityId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
+        when(statusRepository.findById(statusId)).thenReturn(Optional.of(status));
+        when(priorityRepository.findById(priorityId)).thenReturn(Optional.of(priority));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task savedTask = invocation.getArgument(0);
+            savedTask.setId(taskId);
+            return savedTask;
+        });
+
+        TaskDTO result = taskService.createTask(taskDTO, userId);
+
+        assertEquals(assigneeId, result.getAssignedToId());
+        assertEquals("IN_PROGRESS", result.getStatusName());
+        assertEquals("HIGH", result.getPriorityName());
+    }
+
+    @Test
+    void patchTask_ShouldOnlyChangeGivenFields() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatusName("done");
+
+        when(referenceResolver.statusId("done")).thenReturn(5);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
+        when(statusRepository.findById(5)).thenReturn(Optional.of(doneStatus));
+        when(priorityRepository.findById(priorityId)).thenReturn(Optional.of(priority));
+        when(epicRepository.findById(epicId)).thenReturn(Optional.of(epic));
+        when(sprintRepository.findById(sprintId)).thenReturn(Optional.of(sprint));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDTO result = taskService.patchTask(taskId, patch, userId);
+
+        assertEquals("DONE", result.getStatusName());
+        assertNotNull(result.getCompletedAt());
+        assertEquals("Test Task", result.getTitle());
+        assertEquals(5, result.getStoryPoints());
+        assertEquals(assigneeId, result.getAssignedToId());
+        assertEquals(epicId, result.getEpicId());
+        assertEquals(sprintId, result.getSprintId());
+        verify(referenceResolver, never()).userId(any());
+    }
+
+    @Test
+    void patchTask_ShouldTakeTaskOutOfEpicAndSprint_WhenZeroIsGiven() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setEpicId(0);
+        patch.setSprintId(0);
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
+        when(statusRepository.findById(statusId)).thenReturn(Optional.of(status));
+        when(priorityRepository.findById(priorityId)).thenReturn(Optional.of(priority));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDTO result = taskService.patchTask(taskId, patch, userId);
+
+        assertNull(result.getEpicId());
+        assertNull(result.getSprintId());
+        verify(epicRepository, never()).findById(any());
+        verify(sprintRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateTask_ShouldThrowException_WhenParentIsASubtask() {
+        Task subtask = new Task();
+        subtask.setId(7);
+
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(taskId);
+        taskDTO.setTitle("Updated Task");
+        taskDTO.setDescription("Updated Description");
+        taskDTO.setAssignedToId(assigneeId);
+        taskDTO.setStatusId(statusId);
+        taskDTO.setPriorityId(priorityId);
+        taskDTO.setDueDate(ZonedDateTime.now().plusDays(7));
+        taskDTO.setParentTaskId(7);
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findById(assigneeId)).thenReturn(Optional.of(assignee));
+        when(statusRepository.findById(statusId)).thenReturn(Optional.of(status));
+        when(priorityRepository.findById(priorityId)).thenReturn(Optional.of(priority));
+        when(taskRepository.findById(7)).thenReturn(Optional.of(subtask));
+        when(taskHierarchyService.isDescendant(taskId, 7)).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            taskService.updateTask(taskDTO, userId);
+        });
+
+        assertTrue(exception.getMessage().contains("cannot be its parent"));
+        InOrder order = inOrder(taskHierarchyService);
+        order.verify(taskHierarchyService).lock();
+        order.verify(taskHierarchyService).isDescendant(taskId, 7);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void getTaskSubtree_ShouldNestSubtasksUnderTheirParents() {
+        TaskView child = subtaskView(2, taskId);
+        TaskView grandchild = subtaskView(3, 2);
+        TaskView secondChild = subtaskView(4, taskId);
+        taskView.setSubtaskCount(3);
+
+        when(taskViewRepository.findSubtree(taskId)).thenReturn(List.of(taskView, child, grandchild, secondChild));
+
+        TaskTreeDTO tree = taskService.getTaskSubtree(taskId, userId);
+
+        assertEquals(taskId, tree.getTask().getId());
+        assertEquals(3, tree.getTask().getSubtaskCount());
+        assertEquals(List.of(2, 4), tree.getSubtasks().stream().map(node -> node.getTask().getId()).toList());
+        assertEquals(3, tree.getSubtasks().get(0).getSubtasks().get(0).getTask().getId());
+        assertTrue(tree.getSubtasks().get(1).getSubtasks().isEmpty());
+    }
+
+    @Test
+    void getTaskSubtree_ShouldThrowException_WhenTaskDoesNotExist() {
+        when(taskViewRepository.findSubtree(taskId)).thenReturn(List.of());
+
+        assertThrows(ResourceNotFound.class, () -> taskService.getTaskSubtree(taskId, userId));
+    }
+
+    private TaskView subtaskView(Integer id, Integer parentTaskId) {
+        TaskView view = new TaskView();
+        view.setTaskId(id);
+        view.setParentTaskId(parentTaskId);
+        view.setTitle("Subtask " + id);
+        return view;
+    }
+
     @Test
     void updateTask_ShouldThrowException_WhenUserIsNotAuthorized() {
         UUID anotherUserId = UUID.randomUUID();
@@ -289,6 +564,7 @@ public class TaskServiceTest {
 
         assertEquals("You don't have permission to update this task", exception.getMessage());
         verify(taskRepository, never()).save(any(Task.class));
+        verify(taskViewRepository, never()).save(any(TaskView.class));
     }
 
     @Test
@@ -304,6 +580,36 @@ public class TaskServiceTest {
         assertEquals(taskId, result.getId());
         assertEquals("DONE", result.getStatusName());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskViewRepository, times(1)).save(argThat(view ->
+                "DONE".equals(view.getStatusName()) && view.getCompletedAt() != null));
+        verify(taskDueTracker, times(1)).taskChanged(taskId);
+        verify(cycleTimeService, times(1)).recordStatusChange(eq(task), any(), eq(userId));
+    }
+
+    @Test
+    void getOverdueTasks_ShouldServeCallersSliceFromTracker_WhenTrackerIsReady() {
+        when(taskDueTracker.isReady()).thenReturn(true);
+        when(taskDueTracker.getOverdueTaskIds(assigneeId)).thenReturn(List.of(taskId));
+        when(taskViewRepository.findAllById(List.of(taskId))).thenReturn(List.of(taskView));
+
+        List<TaskDTO> results = taskService.getOverdueTasks(assigneeId);
+
+        assertEquals(1, results.size());
+        assertEquals(taskId, results.get(0).getId());
+        verify(taskViewRepository, never()).findByAssignedToIdAndDueDateBeforeAndCompletedAtIsNullOrderByDueDateAsc(any(), any());
+    }
+
+    @Test
+    void getOverdueTasks_ShouldOnlyReadCallersOpenTasks() {
+        when(taskViewRepository.findByAssignedToIdAndDueDateBeforeAndCompletedAtIsNullOrderByDueDateAsc(eq(assigneeId), any()))
+                .thenReturn(List.of(taskView));
+
+        List<TaskDTO> results = taskService.getOverdueTasks(assigneeId);
+
+        assertEquals(1, results.size());
+        assertEquals(taskId, results.get(0).getId());
+        verify(taskViewRepository, never()).findByDueDateBeforeAndCompletedAtIsNull(any());
+        verify(taskDueTracker, never()).getOverdueTaskIds(any());
     }
 
     @Test
@@ -349,6 +655,7 @@ public class TaskServiceTest {
         assertEquals(taskId, result.getId());
         assertEquals(newAssigneeId, result.getAssignedToId());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskDueTracker, times(1)).taskChanged(taskId);
     }
 
     @Test
@@ -536,27 +843,152 @@ public class TaskServiceTest {
         filterDTO.setPriorityId(priorityId);
 
         when(taskCustomRepository.findTasksByFilters(
-                eq(assigneeId), eq(statusId), eq(priorityId), eq(null), eq(null)))
-                .thenReturn(Arrays.asList(task));
+                eq(assigneeId), eq(statusId), eq(priorityId), eq(null), eq(null), eq(null), eq(null)))
+                .thenReturn(Arrays.asList(taskView));
 
         List<TaskDTO> results = taskService.getTasksByFilter(filterDTO, userId);
 
         assertEquals(1, results.size());
         assertEquals(taskId, results.get(0).getId());
         verify(taskCustomRepository, times(1)).findTasksByFilters(
-                eq(assigneeId), eq(statusId), eq(priorityId), eq(null), eq(null));
+                eq(assigneeId), eq(statusId), eq(priorityId), eq(null), eq(null), eq(null), eq(null));
+    }
+
+    @Test
+    void getTasksByFilter_ShouldPassNormalizedLabels() {
+        TaskFilterDTO filterDTO = new TaskFilterDTO();
+        filterDTO.setAnyLabels(Arrays.asList(" Backend", "frontend ", "backend"));
+        filterDTO.setAllLabels(Arrays.asList("ACME", " "));
+
+        when(taskCustomRepository.findTasksByFilters(null, null, null, null, null,
+                List.of("backend", "frontend"), List.of("acme")))
+                .thenReturn(Arrays.asList(taskView));
+
+        List<TaskDTO> results = taskService.getTasksByFilter(filterDTO, userId);
+
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void getLabelCounts_ShouldUseAggregateQuery_WhenIndexNotReady() {
+        TaskFilterDTO filterDTO = new TaskFilterDTO(null, null, null, sprintId, null);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("backend", 4L);
+        counts.put("acme", 1L);
+
+        when(taskLabelRepository.countLabels(null, null, null, sprintId, null, null, null)).thenReturn(counts);
+
+        assertEquals(counts, taskService.getLabelCounts(filterDTO, userId));
+        verify(taskFilterIndex, never()).countLabels(any());
+    }
+
+    @Test
+    void getTasksByFilter_ShouldUseIndex_WhenReady() {
+        TaskFilterDTO filterDTO = new TaskFilterDTO();
+        filterDTO.setSprintId(sprintId);
+
+        when(taskFilterIndex.isReady()).thenReturn(true);
+        when(taskFilterIndex.findTaskIds(filterDTO)).thenReturn(Arrays.asList(taskId));
+        when(taskViewRepository.findAllById(Arrays.asList(taskId))).thenReturn(Arrays.asList(taskView));
+
+        List<TaskDTO> results = taskService.getTasksByFilter(filterDTO, userId);
+
+        assertEquals(1, results.size());
+        assertEquals(taskId, results.get(0).getId());
+        verify(taskCustomRepository, never()).findTasksByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTasksByFilter_ShouldReadIndexMatchesInChunks_AndKeepIndexOrder() {
+        TaskFilterDTO filterDTO = new TaskFilterDTO();
+        List<Integer> taskIds = new ArrayList<>();
+        for (int id = 1; id <= 10_001; id++) {
+            taskIds.add(id);
+        }
+
+        when(taskFilterIndex.isReady()).thenReturn(true);
+        when(taskFilterIndex.findTaskIds(filterDTO)).thenReturn(taskIds);
+        when(taskViewRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<TaskView> views = new ArrayList<>();
+            for (Integer id : invocation.<Iterable<Integer>>getArgument(0)) {
+                TaskView view = new TaskView();
+                view.setTaskId(id);
+                view.setLabels(new String[0]);
+                views.add(0, view);
+            }
+            return views;
+        });
+
+        List<TaskDTO> results = taskService.getTasksByFilter(filterDTO, userId);
+
+        assertEquals(10_001, results.size());
+        assertEquals(1, results.get(0).getId());
+        assertEquals(10_001, results.get(10_000).getId());
+        verify(taskViewRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void getTasksByFilter_ShouldAppendArchivedTasks_WhenIncludeArchived() {
+        TaskFilterDTO filterDTO = new TaskFilterDTO(null, null, null, sprintId, null);
+        filterDTO.setIncludeArchived(true);
+
+        ArchivedTask archived = new ArchivedTask();
+        archived.setId(taskId + 100);
+        archived.setSprintId(sprintId);
+
+        when(taskCustomRepository.findTasksByFilters(null, null, null, sprintId, null, null, null))
+                .thenReturn(Arrays.asList(taskView));
+        when(taskCustomRepository.findArchivedTasksByFilters(null, null, null, sprintId, null, null, null))
+                .thenReturn(Arrays.asList(archived));
+
+        List<TaskDTO> results = taskService.getTasksByFilter(filterDTO, userId);
+
+        assertEquals(2, results.size());
+        assertEquals(taskId + 100, results.get(1).getId());
+    }
+
+    @Test
+    void writeTasksAsNdjson_ShouldWriteOneLinePerTask() throws Exception {
+        TaskView second = new TaskView();
+        second.setTaskId(taskId + 1);
+        second.setTitle("Second Task");
+        second.setAssignedToId(assigneeId);
+
+        when(taskCustomRepository.streamTasksByFilters(null, null, null, sprintId, null, null, null))
+                .thenReturn(Stream.of(taskView, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = taskService.writeTasksAsNdjson(
+                new TaskFilterDTO(null, null, null, sprintId, null), out, userId);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertEquals("Test Task", objectMapper.readValue(lines[0], TaskDTO.class).getTitle());
+        assertEquals(taskId + 1, objectMapper.readValue(lines[1], TaskDTO.class).getId());
+    }
+
+    @Test
+    void deleteTask_ShouldRemoveTaskFromIndex() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        taskService.deleteTask(taskId, userId);
+
+        verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskFilterIndex, times(1)).remove(taskId);
     }
 
     @Test
     void getUserActiveTasks_ShouldReturnUserActiveTasks() {
-        when(taskRepository.findUserActiveTasks(userId))
-                .thenReturn(Arrays.asList(task));
+        when(taskViewRepository.findUserActiveTasks(userId))
+                .thenReturn(Arrays.asList(taskView));
 
         List<TaskDTO> results = taskService.getUserActiveTasks(userId);
 
         assertEquals(1, results.size());
         assertEquals(taskId, results.get(0).getId());
-        verify(taskRepository, times(1)).findUserActiveTasks(userId);
+        verify(taskViewRepository, times(1)).findUserActiveTasks(userId);
     }
 
     @Test
@@ -653,8 +1085,6 @@ public class TaskServiceTest {
         completedEpic.setTargetEndDate(ZonedDateTime.now().minusDays(10));
         completedEpic.setActualEndDate(ZonedDateTime.now().minusDays(5)); // Already completed
 
-        when(taskRepository.findByEpicId(epicId)).thenReturn(Collections.emptyList());
-
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
         when(epicRepository.findById(epicId)).thenReturn(Optional.of(completedEpic));
 
@@ -0,0 +1,93 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void advance_ShouldFireTimersOnlyOnceTheirTickIsReached() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        wheel.schedule("a", 5 * TICK);
+        wheel.schedule("b", 3 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(2 * TICK, fired::add));
+        assertEquals(1, wheel.advance(4 * TICK, fired::add));
+        assertEquals(List.of("b"), fired);
+
+        wheel.advance(5 * TICK, fired::add);
+        assertEquals(List.of("b", "a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldCascadeTimersFromHigherLevels() {
+        TimerWheel<Long> wheel = new TimerWheel<>(TICK, 63 * TICK);
+        // one per level, the last one past the range of the top level
+        long[] deadlines = {70, 4_158, 300_000, 16_000_000, 25_000_000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline * TICK);
+        }
+
+        for (long deadline : deadlines) {
+            List<Long> fired = new ArrayList<>();
+            wheel.advance((deadline - 1) * TICK, fired::add);
+            assertTrue(fired.isEmpty(), "fired early: " + fired);
+
+            wheel.advance(deadline * TICK, fired::add);
+            assertEquals(List.of(deadline), fired);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldRemoveTheTimerFromItsSlot() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        TimerWheel.Timer<String> near = wheel.schedule("near", 3 * TICK);
+        TimerWheel.Timer<String> far = wheel.schedule("far", 5_000 * TICK);
+        wheel.schedule("kept", 4 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        assertTrue(wheel.cancel(near));
+        assertTrue(wheel.cancel(far));
+        assertFalse(wheel.cancel(near));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(6_000 * TICK, fired::add);
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldFollowTheTimer_WhenItCascades() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        TimerWheel.Timer<String> timer = wheel.schedule("a", 100 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        // level 1 slot has cascaded into level 0 by now
+        wheel.advance(70 * TICK, fired::add);
+        assertTrue(wheel.cancel(timer));
+
+        wheel.advance(200 * TICK, fired::add);
+        assertTrue(fired.isEmpty());
+        assertFalse(wheel.cancel(timer));
+    }
+
+    @Test
+    void schedule_ShouldFireOnNextAdvance_WhenDeadlineHasPassed() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 10 * TICK);
+        wheel.schedule("late", 2 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(10 * TICK, fired::add);
+
+        assertEquals(List.of("late"), fired);
+    }
+}
@@ -1,8 +1,16 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.dto.ReassignmentDTO;
 import com.taskmanagement.dto.UserDTO;
+import com.taskmanagement.dto.UserDeactivationDTO;
 import com.taskmanagement.exception.ResourceNotFound;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.TaskView;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.AssigneeLoad;
+import com.taskmanagement.repository.RoleRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskViewRepository;
 import com.taskmanagement.repository.UserRepository;
 import com.taskmanagement.exception.UserNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +28,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private TaskFilterIndex taskFilterIndex;
+
+    @Mock
+    private TaskDueTracker taskDueTracker;
+
     private UUID testUserId;
     private UUID requesterId;
     private User testUser;
@@ -79,6 +102,21 @@ class UserServiceTest {
         assertNotNull(updatedUser);
         assertEquals("Updated Name", updatedUser.getName());
         verify(userRepository).save(any(User.class));
+        verify(taskViewRepository).updateAssigneeName(testUserId, "Updated Name");
+    }
+
+    @Test
+    void testUpdateUser_SameName_DoesNotTouchTaskView() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setName(testUser.getName());
+        userDTO.setEmail("new@example.com");
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.updateUser(userDTO, testUserId, requesterId);
+
+        verify(taskViewRepository, never()).updateAssigneeName(any(), any());
     }
 
     @Test
@@ -100,11 +138,13 @@ class UserServiceTest {
         when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
-        boolean result = userService.deactivateUser(testUserId);
+        UserDeactivationDTO result = userService.deactivateUser(testUserId, null);
 
-        assertTrue(result);
+        assertFalse(result.getUser().getIsActive());
+        assertEquals(0, result.getReassignedTasks());
         assertFalse(testUser.getIsActive());
         verify(userRepository).save(testUser);
+        verify(taskViewRepository, never()).findByAssignedToIdAndCompletedAtIsNull(any());
     }
 
     @Test
@@ -112,9 +152,150 @@ class UserServiceTest {
         when(userRepository.findById(testUserId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.deactivateUser(testUserId);
+            userService.deactivateUser(testUserId, null);
         });
 
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeactivateUser_ReassignToSingleUser() {
+        User target = user("target");
+        ReassignmentDTO reassignment = new ReassignmentDTO();
+        reassignment.setPolicy(ReassignmentDTO.Policy.USER);
+        reassignment.setTargetUserId(target.getId());
+
+        List<TaskView> open = List.of(view(1, 3), view(2, 5));
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(target.getId())).thenReturn(Optional.of(target));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNull(testUserId)).thenReturn(open);
+        when(taskRepository.reassign(List.of(1, 2), testUser, target)).thenReturn(2);
+
+        UserDeactivationDTO result = userService.deactivateUser(testUserId, reassignment);
+
+        assertEquals(2, result.getReassignedTasks());
+        assertEquals(8, result.getReassignedPoints());
+        assertEquals(Map.of(target.getId().toString(), 2), result.getReassignedTo());
+        verify(taskViewRepository).reassign(eq(List.of(1, 2)), eq(testUserId), eq(target.getId()), eq("target"), any());
+        verify(taskFilterIndex, times(2)).upsert(any(TaskView.class));
+        verify(taskDueTracker).taskChanged(1);
+        verify(taskDueTracker).taskChanged(2);
+        assertEquals(target.getId(), open.get(0).getAssignedToId());
+    }
+
+    @Test
+    void testDeactivateUser_ReassignToInactiveUser_LeavesUserActive() {
+        User target = user("target");
+        target.setIsActive(false);
+        ReassignmentDTO reassignment = new ReassignmentDTO();
+        reassignment.setPolicy(ReassignmentDTO.Policy.USER);
+        reassignment.setTargetUserId(target.getId());
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(target.getId())).thenReturn(Optional.of(target));
+
+        assertThrows(IllegalStateException.class, () -> userService.deactivateUser(testUserId, reassignment));
+
+        assertTrue(testUser.getIsActive());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testDeactivateUser_RoundRobin() {
+        User alice = user("alice");
+        User bob = user("bob");
+        ReassignmentDTO reassignment = roleReassignment(ReassignmentDTO.Policy.ROUND_ROBIN);
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(userRepository.findActiveByRoleName("DEVELOPER")).thenReturn(List.of(bob, testUser, alice));
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNull(testUserId))
+                .thenReturn(List.of(view(3, 1), view(1, 1), view(2, 1)));
+        when(taskRepository.reassign(List.of(1, 3), testUser, alice)).thenReturn(2);
+        when(taskRepository.reassign(List.of(2), testUser, bob)).thenReturn(1);
+
+        UserDeactivationDTO result = userService.deactivateUser(testUserId, reassignment);
+
+        assertEquals(3, result.getReassignedTasks());
+        assertEquals(2, result.getReassignedTo().get(alice.getId().toString()));
+        assertEquals(1, result.getReassignedTo().get(bob.getId().toString()));
+        verify(taskRepository, never()).reassign(any(), eq(testUser), eq(testUser));
+    }
+
+    @Test
+    void testDeactivateUser_LeastLoaded_UsesOneLoadQuery() {
+        User alice = user("alice");
+        User bob = user("bob");
+        ReassignmentDTO reassignment = roleReassignment(ReassignmentDTO.Policy.LEAST_LOADED);
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(userRepository.findActiveByRoleName("DEVELOPER")).thenReturn(List.of(alice, bob));
+        // alice starts 6 points ahead, bob takes the 8, alice the 2, and the 1 goes to bob who has fewer tasks
+        when(taskViewRepository.findOpenLoads(any())).thenReturn(List.of(new AssigneeLoad(alice.getId(), 2, 6)));
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNull(testUserId))
+                .thenReturn(List.of(view(1, 2), view(2, 8), view(3, 1)));
+        when(taskRepository.reassign(List.of(2, 3), testUser, bob)).thenReturn(2);
+        when(taskRepository.reassign(List.of(1), testUser, alice)).thenReturn(1);
+
+        UserDeactivationDTO result = userService.deactivateUser(testUserId, reassignment);
+
+        assertEquals(11, result.getReassignedPoints());
+        assertEquals(2, result.getReassignedTo().get(bob.getId().toString()));
+        assertEquals(1, result.getReassignedTo().get(alice.getId().toString()));
+        verify(taskViewRepository, times(1)).findOpenLoads(any());
+    }
+
+    @Test
+    void testDeactivateUser_ConcurrentChange_Throws() {
+        User target = user("target");
+        ReassignmentDTO reassignment = new ReassignmentDTO();
+        reassignment.setPolicy(ReassignmentDTO.Policy.USER);
+        reassignment.setTargetUserId(target.getId());
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(target.getId())).thenReturn(Optional.of(target));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        when(taskViewRepository.findByAssignedToIdAndCompletedAtIsNull(testUserId)).thenReturn(List.of(view(1, 3), view(2, 5)));
+        when(taskRepository.reassign(List.of(1, 2), testUser, target)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> userService.deactivateUser(testUserId, reassignment));
+        verify(taskFilterIndex, never()).upsert(any());
+    }
+
+    @Test
+    void testDeactivateUser_NoCandidatesInRole() {
+        ReassignmentDTO reassignment = roleReassignment(ReassignmentDTO.Policy.ROUND_ROBIN);
+
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findActiveByRoleName("DEVELOPER")).thenReturn(List.of(testUser));
+
+        assertThrows(IllegalStateException.class, () -> userService.deactivateUser(testUserId, reassignment));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    private ReassignmentDTO roleReassignment(ReassignmentDTO.Policy policy) {
+        ReassignmentDTO reassignment = new ReassignmentDTO();
+        reassignment.setPolicy(policy);
+        reassignment.setRoleName("DEVELOPER");
+        when(roleRepository.findByName("DEVELOPER")).thenReturn(Optional.of(new Role()));
+        return reassignment;
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private TaskView view(int taskId, int storyPoints) {
+        TaskView view = new TaskView();
+        view.setTaskId(taskId);
+        view.setStoryPoints(storyPoints);
+        view.setAssignedToId(testUserId);
+        return view;
+    }
+}